@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache;
+
+/**
+ * A listener which is notified when entries in an {@link ICache} are updated
+ * or removed, including changes made by other users of a distributed cache.
+ * This can be used to invalidate local copies of the cache entries.
+ *
+ * @param <K> The object type that acts as the key for the cache
+ */
+public interface CacheInvalidationListener<K> {
+
+    /**
+     * Called when the entry associated with the key has been updated or removed.
+     *
+     * @param key the key of the entry that has changed
+     */
+    void invalidate(final K key);
+
+    /**
+     * Called when all the entries in the cache may have changed, for example
+     * when the cache has been cleared.
+     */
+    void invalidateAll();
+}
@@ -16,11 +16,21 @@
 
 package uk.gov.gchq.gaffer.cache;
 
+import com.google.common.collect.Iterables;
+
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Interface that All cache objects must abide by so components may instantiate any implementation of a cache - no
@@ -57,17 +67,155 @@ public interface ICache<K, V> {
      * @throws OverwritingException    if the specified key already exists in the cache with a non-null value
      */
     default void putSafe(final K key, final V value) throws OverwritingException, CacheOperationException {
-        if (null == get(key)) {
-            try {
-                put(key, value);
-            } catch (final CacheOperationException e) {
-                throw e;
-            }
-        } else {
+        if (null != putIfAbsent(key, value)) {
             throw new OverwritingException("Cache entry already exists for key: " + key);
         }
     }
 
+    /**
+     * Add a new key-value pair to the cache if there is no existing entry
+     * associated with the specified key. Implementations should do this
+     * atomically where the underlying cache allows it, the default
+     * implementation is a get followed by a put.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return the existing value, or null if the new value was added
+     * @throws CacheOperationException if there is an error adding the new key-value pair to the cache
+     */
+    default V putIfAbsent(final K key, final V value) throws CacheOperationException {
+        final V existing = get(key);
+        if (null == existing) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    /**
+     * Compute a new value for the specified key from the existing value, or
+     * from null if there is no existing value. If the new value is null then
+     * the entry is removed. Implementations should do this atomically where
+     * the underlying cache allows it, the default implementation is a get
+     * followed by a put or remove.
+     *
+     * @param key               the key of the entry to compute
+     * @param remappingFunction the function to compute the new value
+     * @return the new value
+     * @throws CacheOperationException if there is an error updating the cache
+     */
+    default V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws CacheOperationException {
+        final V value = remappingFunction.apply(key, get(key));
+        if (null == value) {
+            remove(key);
+        } else {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Retrieve the values associated with the given keys. Keys that are not
+     * in the cache are not included in the result.
+     *
+     * @param keys the keys to lookup in the cache
+     * @return a {@link Map} of the keys that were found to their values
+     */
+    default Map<K, V> getAll(final Collection<? extends K> keys) {
+        final Map<K, V> values = new LinkedHashMap<>();
+        for (final K key : keys) {
+            final V value = get(key);
+            if (null != value) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Add all of the key-value pairs to the cache.
+     *
+     * @param entries the key-value pairs to add
+     * @throws CacheOperationException if there is an error adding the key-value pairs to the cache
+     */
+    default void putAll(final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        for (final Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Lazily stream all of the values in the cache. The keys are fetched up
+     * front and the values are then fetched using {@link #getAll(Collection)}
+     * in batches of the given size, so only one batch of values needs to be
+     * held in memory at a time. Entries removed after the stream is created
+     * are skipped.
+     *
+     * @param batchSize the number of values to fetch at a time
+     * @return a {@link Stream} of the cache values
+     */
+    default Stream<V> streamValues(final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        final Iterable<List<K>> batches = Iterables.partition(new ArrayList<>(getAllKeys()), batchSize);
+        return StreamSupport.stream(batches.spliterator(), false)
+                .flatMap(batch -> getAll(batch).values().stream());
+    }
+
+    /**
+     * Asynchronously retrieve the value associated with the given key. The
+     * default implementation completes the lookup before returning.
+     *
+     * @param key the key to lookup in the cache
+     * @return a {@link CompletableFuture} of the value associated with the key
+     */
+    default CompletableFuture<V> getAsync(final K key) {
+        try {
+            return CompletableFuture.completedFuture(get(key));
+        } catch (final RuntimeException e) {
+            final CompletableFuture<V> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * Asynchronously add a new key-value pair to the cache. The default
+     * implementation completes the put before returning.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return a {@link CompletableFuture} which completes when the value has been added
+     */
+    default CompletableFuture<Void> putAsync(final K key, final V value) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            put(key, value);
+            future.complete(null);
+        } catch (final CacheOperationException | RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Asynchronously remove the entry associated with the specified key. The
+     * default implementation completes the removal before returning.
+     *
+     * @param key the key of the entry to remove
+     * @return a {@link CompletableFuture} which completes when the entry has been removed
+     */
+    default CompletableFuture<Void> removeAsync(final K key) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            remove(key);
+            future.complete(null);
+        } catch (final RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
     /**
      * Remove the entry associated with the specified key.
      *
@@ -105,4 +253,16 @@ public interface ICache<K, V> {
      */
     void clear() throws CacheOperationException;
 
+    /**
+     * Register a listener to be notified when entries in the cache are updated
+     * or removed. Caches that are not able to notify listeners should return
+     * false, in which case any local copies of the entries should be expired
+     * in some other way.
+     *
+     * @param listener the listener to register
+     * @return true if the listener was registered
+     */
+    default boolean addInvalidationListener(final CacheInvalidationListener<K> listener) {
+        return false;
+    }
 }
@@ -19,8 +19,10 @@ package uk.gov.gchq.gaffer.cache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * The cache service interface which enables the cache service loader to instantiate
@@ -96,6 +98,49 @@ public interface ICacheService {
         cache.putSafe(key, value);
     }
 
+    /**
+     * Get the values associated with the specified keys in the specified cache.
+     *
+     * @param cacheName the name of the cache to look in
+     * @param keys      the keys of the entries to lookup
+     * @param <K>       The object type that acts as the key for the cache
+     * @param <V>       The value that is stored in the cache
+     * @return a map of the keys that were found to their values
+     */
+    default <K, V> Map<K, V> getAllFromCache(final String cacheName, final Collection<? extends K> keys) {
+        final ICache<K, V> cache = getCache(cacheName);
+        return cache.getAll(keys);
+    }
+
+    /**
+     * Add all of the key-value pairs to the specified cache.
+     *
+     * @param cacheName the name of the cache
+     * @param entries   the key-value pairs to add
+     * @param <K>       The object type that acts as the key for the cache
+     * @param <V>       The value that is stored in the cache
+     * @throws CacheOperationException if there is an error adding the key-value pairs to the cache
+     */
+    default <K, V> void putAllInCache(final String cacheName, final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        final ICache<K, V> cache = getCache(cacheName);
+        cache.putAll(entries);
+    }
+
+    /**
+     * Lazily stream the values in the specified cache, fetching them in
+     * batches of the given size.
+     *
+     * @param cacheName the name of the cache to look in
+     * @param batchSize the number of values to fetch at a time
+     * @param <K>       The object type that acts as the key for the cache
+     * @param <V>       The value that is stored in the cache
+     * @return a stream of the cache values
+     */
+    default <K, V> Stream<V> streamValuesFromCache(final String cacheName, final int batchSize) {
+        final ICache<K, V> cache = getCache(cacheName);
+        return cache.streamValues(batchSize);
+    }
+
     /**
      * Remove the entry associated with the specified key from the specified cache.
      *
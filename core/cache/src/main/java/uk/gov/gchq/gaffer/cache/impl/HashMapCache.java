@@ -20,92 +20,315 @@ import com.google.common.collect.Lists;
 
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 /**
- * Simple implementation of the {@link ICache} interface, using a {@link HashMap}
+ * Simple implementation of the {@link ICache} interface, using in memory maps
  * as the cache data store.
+ * <p>
+ * The entries are split between a number of shards, each guarded by its own
+ * lock, so the cache is thread safe and concurrent operations on different
+ * keys rarely contend. The cache can optionally be bounded, in which case the
+ * max size is spread across the shards and the least recently used entry of a
+ * shard is evicted once that shard is full. Eviction is therefore only
+ * approximately least recently used across the whole cache, and an entry can
+ * be evicted before the cache holds max size entries if its keys are unevenly
+ * spread between the shards. Entries can optionally expire a fixed time after
+ * they were written.
+ * </p>
+ * <p>
+ * If a serialiser is provided then values are serialised when they are added
+ * and deserialised each time they are read, so callers always get a copy of
+ * the value.
+ * </p>
  *
- * @param <K> The object type that acts as the key for the HashMap
- * @param <V> The value that is stored in the HashMap
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
  */
 public class HashMapCache<K, V> implements ICache<K, V> {
+    public static final int DEFAULT_SHARDS = 16;
     private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
-    private boolean useJavaSerialisation;
-    private HashMap<K, Object> cache = new HashMap<>();
+
+    private final ToBytesSerialiser<? super V> serialiser;
+    private final long timeToLive;
+    private final Shard<K>[] shards;
 
     public HashMapCache(final boolean useJavaSerialisation) {
-        this.useJavaSerialisation = useJavaSerialisation;
+        this(useJavaSerialisation ? JAVA_SERIALISER : null, 0, 0);
     }
 
     public HashMapCache() {
         this(false);
     }
 
+    /**
+     * Constructs a HashMapCache.
+     *
+     * @param serialiser the serialiser to store the values with, or null to
+     *                   store the values themselves
+     * @param maxSize    the maximum number of entries, or 0 for no limit. The
+     *                   limit is divided between the shards, so the shard
+     *                   sizes add up to the max size.
+     * @param timeToLive the time in milliseconds to keep each entry after it
+     *                   is written, or 0 to keep entries until they are removed
+     */
+    public HashMapCache(final ToBytesSerialiser<? super V> serialiser, final int maxSize, final long timeToLive) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size must not be negative");
+        }
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("Time to live must not be negative");
+        }
+        this.serialiser = serialiser;
+        this.timeToLive = timeToLive;
+
+        final int numShards = 0 == maxSize ? DEFAULT_SHARDS : Math.min(DEFAULT_SHARDS, maxSize);
+        this.shards = new Shard[numShards];
+        for (int i = 0; i < numShards; i++) {
+            shards[i] = new Shard<>(getMaxShardSize(maxSize, numShards, i));
+        }
+    }
+
     @Override
     public V get(final K key) {
-        try {
-            return (V) (useJavaSerialisation
-                    ? JAVA_SERIALISER.deserialise((byte[]) cache.get(key))
-                    : cache.get(key));
-        } catch (final SerialisationException e) {
-            throw new RuntimeException(e);
+        final Shard<K> shard = getShard(key);
+        final Object stored;
+        synchronized (shard) {
+            stored = getLive(shard, key);
         }
+        return fromStored(stored);
     }
 
     @Override
     public void put(final K key, final V value) {
-        if (useJavaSerialisation) {
-            try {
-                cache.put(key, JAVA_SERIALISER.serialise(value));
-            } catch (final SerialisationException e) {
-                throw new RuntimeException(e);
+        final Object stored = toStored(value);
+        final Shard<K> shard = getShard(key);
+        synchronized (shard) {
+            shard.put(key, new Entry(stored, getExpiryTime()));
+        }
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        final Object stored = toStored(value);
+        final Shard<K> shard = getShard(key);
+        final Object existing;
+        synchronized (shard) {
+            existing = getLive(shard, key);
+            if (null == existing) {
+                shard.put(key, new Entry(stored, getExpiryTime()));
+            }
+        }
+        return fromStored(existing);
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        final Shard<K> shard = getShard(key);
+        synchronized (shard) {
+            final V value = remappingFunction.apply(key, fromStored(getLive(shard, key)));
+            if (null == value) {
+                shard.remove(key);
+            } else {
+                shard.put(key, new Entry(toStored(value), getExpiryTime()));
+            }
+            return value;
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        final Map<K, V> values = new LinkedHashMap<>();
+        for (final K key : keys) {
+            final V value = get(key);
+            if (null != value) {
+                values.put(key, value);
             }
-        } else {
-            cache.<K, V>put(key, value);
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> entries) {
+        for (final Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+            put(entry.getKey(), entry.getValue());
         }
     }
 
     @Override
     public void remove(final K key) {
-        cache.remove(key);
+        final Shard<K> shard = getShard(key);
+        synchronized (shard) {
+            shard.remove(key);
+        }
     }
 
     @Override
     public Collection<V> getAllValues() {
-        ArrayList<V> rtn = Lists.newArrayList();
-        if (useJavaSerialisation) {
-            cache.values()
-                    .forEach((Object o) -> {
-                        try {
-                            rtn.add((V) JAVA_SERIALISER.deserialise((byte[]) o));
-                        } catch (final SerialisationException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-        } else {
-            rtn.addAll((Collection<V>) cache.values());
+        final List<Object> storedValues = new ArrayList<>();
+        for (final Shard<K> shard : shards) {
+            synchronized (shard) {
+                removeExpired(shard);
+                for (final Entry entry : shard.values()) {
+                    storedValues.add(entry.stored);
+                }
+            }
+        }
+
+        final ArrayList<V> rtn = Lists.newArrayListWithCapacity(storedValues.size());
+        for (final Object stored : storedValues) {
+            rtn.add(fromStored(stored));
         }
         return rtn;
     }
 
     @Override
     public Set<K> getAllKeys() {
-        return cache.keySet();
+        final Set<K> keys = new HashSet<>();
+        for (final Shard<K> shard : shards) {
+            synchronized (shard) {
+                removeExpired(shard);
+                keys.addAll(shard.keySet());
+            }
+        }
+        return keys;
     }
 
     @Override
     public int size() {
-        return cache.size();
+        int size = 0;
+        for (final Shard<K> shard : shards) {
+            synchronized (shard) {
+                removeExpired(shard);
+                size += shard.size();
+            }
+        }
+        return size;
     }
 
     @Override
     public void clear() {
-        cache.clear();
+        for (final Shard<K> shard : shards) {
+            synchronized (shard) {
+                shard.clear();
+            }
+        }
+    }
+
+    // Spreads the remainder of the max size over the first shards, so no
+    // capacity is lost to rounding down.
+    private static int getMaxShardSize(final int maxSize, final int numShards, final int shard) {
+        if (0 == maxSize) {
+            return 0;
+        }
+        return maxSize / numShards + (shard < maxSize % numShards ? 1 : 0);
+    }
+
+    private Shard<K> getShard(final K key) {
+        final int hash = Objects.hashCode(key);
+        return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
+    }
+
+    private long getExpiryTime() {
+        return 0 == timeToLive ? 0 : System.currentTimeMillis() + timeToLive;
+    }
+
+    // Gets the stored value for the key, removing the entry if it has
+    // expired. Must be called while holding the shard lock.
+    private Object getLive(final Shard<K> shard, final K key) {
+        final Entry entry = shard.get(key);
+        if (null == entry) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            shard.remove(key);
+            return null;
+        }
+        return entry.stored;
+    }
+
+    // Removes all of the expired entries from the shard. Must be called while
+    // holding the shard lock.
+    private void removeExpired(final Shard<K> shard) {
+        if (0 != timeToLive) {
+            final long now = System.currentTimeMillis();
+            final Iterator<Entry> itr = shard.values().iterator();
+            while (itr.hasNext()) {
+                if (itr.next().isExpired(now)) {
+                    itr.remove();
+                }
+            }
+        }
+    }
+
+    // Converts a value to the form it is held in the map, serialising it if
+    // a serialiser has been provided.
+    private Object toStored(final V value) {
+        if (null == serialiser) {
+            return value;
+        }
+        try {
+            return serialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // Converts a value held in the map back to a value, deserialising it if
+    // a serialiser has been provided.
+    private V fromStored(final Object stored) {
+        if (null == serialiser || null == stored) {
+            return (V) stored;
+        }
+        try {
+            return (V) serialiser.deserialise((byte[]) stored);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final Object stored;
+        private final long expiryTime;
+
+        private Entry(final Object stored, final long expiryTime) {
+            this.stored = stored;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean isExpired(final long now) {
+            return 0 != expiryTime && now >= expiryTime;
+        }
+    }
+
+    /**
+     * A map of entries in least recently used order, which evicts the least
+     * recently used entry once the maximum size is exceeded.
+     */
+    private static final class Shard<K> extends LinkedHashMap<K, Entry> {
+        private static final long serialVersionUID = -2938417625184038251L;
+        private final int maxSize;
+
+        private Shard(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, Entry> eldest) {
+            return 0 != maxSize && size() > maxSize;
+        }
     }
 }
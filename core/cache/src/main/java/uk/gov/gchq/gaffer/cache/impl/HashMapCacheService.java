@@ -18,27 +18,51 @@ package uk.gov.gchq.gaffer.cache.impl;
 
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.ICacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simple implementation of the {@link ICacheService} interface which uses a
  * {@link HashMapCache} as the cache implementation.
+ * <p>
+ * The size of a cache and the time to live of its entries can be set using
+ * the {@link CacheProperties#CACHE_MAX_SIZE} and
+ * {@link CacheProperties#CACHE_TIME_TO_LIVE} properties suffixed with the
+ * name of the cache. Caches are unbounded by default. If the values should
+ * be copied when they are added to and read from the cache then the
+ * {@link JavaSerialiser} can be enabled for all caches using
+ * {@link #JAVA_SERIALISATION_CACHE}. Alternatively a {@link ToBytesSerialiser}
+ * can be set for a single cache using {@link #SERIALISER_CLASS} suffixed with
+ * the name of the cache, for example one of the Gaffer type serialisers
+ * matching the values in that cache, which are typically much faster.
+ * </p>
  */
 public class HashMapCacheService implements ICacheService {
     public static final String STATIC_CACHE = "gaffer.cache.hashmap.static";
     public static final String JAVA_SERIALISATION_CACHE = "gaffer.cache.hashmap.useJavaSerialisation";
-    private static final HashMap<String, HashMapCache> STATIC_CACHES = new HashMap<>();
-    private final HashMap<String, HashMapCache> nonStaticCaches = new HashMap<>();
-    private boolean useJavaSerialisation = false;
+    public static final String SERIALISER_CLASS = "gaffer.cache.hashmap.serialiser.class";
+    private static final ConcurrentHashMap<String, HashMapCache> STATIC_CACHES = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, HashMapCache> nonStaticCaches = new ConcurrentHashMap<>();
+    private final Map<String, ToBytesSerialiser> serialisers = new HashMap<>();
+    private ToBytesSerialiser defaultSerialiser;
+    private Properties properties = new Properties();
 
-    private HashMap<String, HashMapCache> caches = nonStaticCaches;
+    private ConcurrentHashMap<String, HashMapCache> caches = nonStaticCaches;
 
     @Override
     public void initialise(final Properties properties) {
+        serialisers.clear();
+        defaultSerialiser = null;
+        this.properties = new Properties();
         if (properties != null) {
-            useJavaSerialisation = Boolean.parseBoolean(properties.getProperty(JAVA_SERIALISATION_CACHE));
+            this.properties.putAll(properties);
+            createSerialisers(properties);
         }
 
         if (properties != null && Boolean.parseBoolean(properties.getProperty(STATIC_CACHE))) {
@@ -55,8 +79,41 @@ public class HashMapCacheService implements ICacheService {
 
     @Override
     public <K, V> ICache<K, V> getCache(final String cacheName) {
-        HashMapCache<K, V> cache = caches.computeIfAbsent(cacheName, k -> new HashMapCache<>(useJavaSerialisation));
+        HashMapCache<K, V> cache = caches.computeIfAbsent(cacheName, k -> new HashMapCache<>(getSerialiser(k), getMaxSize(k), getTimeToLive(k)));
 
         return cache;
     }
+
+    private int getMaxSize(final String cacheName) {
+        return Integer.parseInt(properties.getProperty(CacheProperties.CACHE_MAX_SIZE + "." + cacheName, "0"));
+    }
+
+    private long getTimeToLive(final String cacheName) {
+        return Long.parseLong(properties.getProperty(CacheProperties.CACHE_TIME_TO_LIVE + "." + cacheName, "0"));
+    }
+
+    private ToBytesSerialiser getSerialiser(final String cacheName) {
+        return serialisers.getOrDefault(cacheName, defaultSerialiser);
+    }
+
+    private void createSerialisers(final Properties properties) {
+        final String prefix = SERIALISER_CLASS + ".";
+        for (final String name : properties.stringPropertyNames()) {
+            if (name.startsWith(prefix)) {
+                serialisers.put(name.substring(prefix.length()), createSerialiser(properties.getProperty(name)));
+            }
+        }
+
+        if (Boolean.parseBoolean(properties.getProperty(JAVA_SERIALISATION_CACHE))) {
+            defaultSerialiser = new JavaSerialiser();
+        }
+    }
+
+    private static ToBytesSerialiser createSerialiser(final String serialiserClass) {
+        try {
+            return Class.forName(serialiserClass).asSubclass(ToBytesSerialiser.class).newInstance();
+        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Failed to instantiate cache serialiser using class " + serialiserClass, e);
+        }
+    }
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import uk.gov.gchq.gaffer.cache.CacheInvalidationListener;
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * An {@link ICache} which keeps a bounded local copy of the most recently read
+ * entries of another cache, so repeated reads of the same keys do not need to
+ * go to the backing cache.
+ * <p>
+ * The local entries are evicted in least recently used order once the maximum
+ * size is reached, and expire after the time to live. If the backing cache
+ * supports {@link CacheInvalidationListener}s then entries are also
+ * invalidated as soon as they are changed by any user of the backing cache.
+ * Writes always go to the backing cache and invalidate the local entry, so
+ * the local copy is only populated from the backing cache.
+ * </p>
+ * <p>
+ * The same value instance is returned for every local read, so values
+ * should not be modified after they have been retrieved.
+ * </p>
+ *
+ * @param <K> The object type that acts as the key for the cache
+ * @param <V> The value that is stored in the cache
+ */
+public class NearCache<K, V> implements ICache<K, V>, CacheInvalidationListener<K> {
+    private final ICache<K, V> backingCache;
+    private final long timeToLive;
+    private final Map<K, LocalEntry<V>> localCache;
+    private final boolean invalidatedByBackingCache;
+
+    /**
+     * Incremented on every invalidation, so a value read from the backing
+     * cache is not stored locally if it was invalidated during the read.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Constructs a NearCache.
+     *
+     * @param backingCache the cache to keep a local copy of
+     * @param maxSize      the maximum number of entries to keep locally
+     * @param timeToLive   the time in milliseconds to keep the local entries,
+     *                     or 0 to keep them until they are evicted or invalidated
+     */
+    public NearCache(final ICache<K, V> backingCache, final int maxSize, final long timeToLive) {
+        if (null == backingCache) {
+            throw new IllegalArgumentException("Backing cache is required");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1");
+        }
+        this.backingCache = backingCache;
+        this.timeToLive = timeToLive;
+        this.localCache = new LinkedHashMap<K, LocalEntry<V>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 5393616373862016463L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, LocalEntry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.invalidatedByBackingCache = backingCache.addInvalidationListener(this);
+    }
+
+    @Override
+    public V get(final K key) {
+        synchronized (localCache) {
+            final LocalEntry<V> entry = localCache.get(key);
+            if (null != entry) {
+                if (!entry.isExpired()) {
+                    return entry.value;
+                }
+                localCache.remove(key);
+            }
+        }
+
+        final long versionBeforeRead = version.get();
+        final V value = backingCache.get(key);
+        if (null != value) {
+            synchronized (localCache) {
+                if (versionBeforeRead == version.get()) {
+                    localCache.put(key, new LocalEntry<>(value, timeToLive));
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void put(final K key, final V value) throws CacheOperationException {
+        try {
+            backingCache.put(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException, CacheOperationException {
+        try {
+            backingCache.putSafe(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) throws CacheOperationException {
+        try {
+            return backingCache.putIfAbsent(key, value);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws CacheOperationException {
+        try {
+            return backingCache.compute(key, remappingFunction);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Gets the values that are held locally and fetches the rest from the
+     * backing cache in a single bulk read. The values fetched from the backing
+     * cache are not added to the local cache.
+     *
+     * @param keys the keys to lookup in the cache
+     * @return a map of the keys that were found to their values
+     */
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        final Map<K, V> values = new LinkedHashMap<>();
+        final List<K> missingKeys = new ArrayList<>();
+        synchronized (localCache) {
+            for (final K key : keys) {
+                final LocalEntry<V> entry = localCache.get(key);
+                if (null != entry && !entry.isExpired()) {
+                    values.put(key, entry.value);
+                } else {
+                    missingKeys.add(key);
+                }
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            values.putAll(backingCache.getAll(missingKeys));
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        try {
+            backingCache.putAll(entries);
+        } finally {
+            for (final K key : entries.keySet()) {
+                invalidate(key);
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<V> getAsync(final K key) {
+        synchronized (localCache) {
+            final LocalEntry<V> entry = localCache.get(key);
+            if (null != entry && !entry.isExpired()) {
+                return CompletableFuture.completedFuture(entry.value);
+            }
+        }
+        return backingCache.getAsync(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(final K key, final V value) {
+        invalidate(key);
+        return backingCache.putAsync(key, value).whenComplete((result, e) -> invalidate(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(final K key) {
+        invalidate(key);
+        return backingCache.removeAsync(key).whenComplete((result, e) -> invalidate(key));
+    }
+
+    @Override
+    public void remove(final K key) {
+        try {
+            backingCache.remove(key);
+        } finally {
+            invalidate(key);
+        }
+    }
+
+    @Override
+    public Collection<V> getAllValues() {
+        return backingCache.getAllValues();
+    }
+
+    @Override
+    public Set<K> getAllKeys() {
+        return backingCache.getAllKeys();
+    }
+
+    @Override
+    public int size() {
+        return backingCache.size();
+    }
+
+    @Override
+    public void clear() throws CacheOperationException {
+        try {
+            backingCache.clear();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public void invalidate(final K key) {
+        synchronized (localCache) {
+            version.incrementAndGet();
+            localCache.remove(key);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (localCache) {
+            version.incrementAndGet();
+            localCache.clear();
+        }
+    }
+
+    public ICache<K, V> getBackingCache() {
+        return backingCache;
+    }
+
+    /**
+     * @return true if the backing cache notifies this cache when entries are
+     * changed by other users of the backing cache.
+     */
+    public boolean isInvalidatedByBackingCache() {
+        return invalidatedByBackingCache;
+    }
+
+    /**
+     * @return the number of entries currently held locally
+     */
+    public int getLocalSize() {
+        synchronized (localCache) {
+            return localCache.size();
+        }
+    }
+
+    private static final class LocalEntry<V> {
+        private final V value;
+        private final long expiryTime;
+
+        private LocalEntry(final V value, final long timeToLive) {
+            this.value = value;
+            this.expiryTime = timeToLive > 0 ? System.currentTimeMillis() + timeToLive : Long.MAX_VALUE;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiryTime;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.ICacheService;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementation of the {@link ICacheService} interface which decorates
+ * another cache service, adding a {@link NearCache} in front of each of its
+ * caches. This is intended to be used with distributed cache services, such
+ * as the HazelcastCacheService, so that repeated reads of the same entries,
+ * for example named operations and federated graphs, are served from local
+ * memory.
+ * <p>
+ * The backing cache service class is set using the
+ * {@link #BACKING_CACHE_SERVICE_CLASS} property and is initialised with the
+ * same properties as this service.
+ * </p>
+ */
+public class NearCacheService implements ICacheService {
+    public static final String BACKING_CACHE_SERVICE_CLASS = "gaffer.cache.near.backing.service.class";
+    public static final String MAX_SIZE = "gaffer.cache.near.max.size";
+
+    /**
+     * The time in milliseconds to keep local entries for. 0 disables expiry.
+     */
+    public static final String TIME_TO_LIVE = "gaffer.cache.near.time.to.live";
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_TIME_TO_LIVE = 60000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearCacheService.class);
+
+    private final ConcurrentMap<String, NearCache> caches = new ConcurrentHashMap<>();
+    private ICacheService backingService;
+    private int maxSize = DEFAULT_MAX_SIZE;
+    private long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+    @Override
+    public void initialise(final Properties properties) {
+        if (null == properties || null == properties.getProperty(BACKING_CACHE_SERVICE_CLASS)) {
+            throw new IllegalArgumentException("The backing cache service class must be set using property: " + BACKING_CACHE_SERVICE_CLASS);
+        }
+
+        final String backingServiceClass = properties.getProperty(BACKING_CACHE_SERVICE_CLASS);
+        try {
+            backingService = Class.forName(backingServiceClass).asSubclass(ICacheService.class).newInstance();
+        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Failed to instantiate cache using class " + backingServiceClass, e);
+        }
+
+        maxSize = Integer.parseInt(properties.getProperty(MAX_SIZE, String.valueOf(DEFAULT_MAX_SIZE)));
+        timeToLive = Long.parseLong(properties.getProperty(TIME_TO_LIVE, String.valueOf(DEFAULT_TIME_TO_LIVE)));
+        caches.clear();
+        backingService.initialise(properties);
+        LOGGER.debug("Initialised near cache service with max size {} and time to live {}ms in front of {}", maxSize, timeToLive, backingServiceClass);
+    }
+
+    @Override
+    public void shutdown() {
+        caches.clear();
+        if (null != backingService) {
+            backingService.shutdown();
+        }
+    }
+
+    @Override
+    public <K, V> ICache<K, V> getCache(final String cacheName) {
+        if (null == backingService) {
+            return null;
+        }
+
+        return caches.computeIfAbsent(cacheName, name -> {
+            final ICache<K, V> backingCache = backingService.getCache(name);
+            return null == backingCache ? null : new NearCache<>(backingCache, maxSize, timeToLive);
+        });
+    }
+
+    public ICacheService getBackingService() {
+        return backingService;
+    }
+}
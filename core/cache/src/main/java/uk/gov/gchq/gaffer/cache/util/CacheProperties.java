@@ -35,4 +35,25 @@ public final class CacheProperties {
      */
     public static final String CACHE_CONFIG_FILE = "gaffer.cache.config.file";
 
+    /**
+     * Prefix of the system properties to use in order to define the maximum
+     * number of entries in a cache, followed by the name of the cache, e.g.
+     * {@code gaffer.cache.max.size.OperationChainResultCache}. Least recently
+     * used entries are evicted once the maximum is reached. Caches without a
+     * property are not limited, so caches holding state such as named
+     * operations are not bounded unless explicitly configured.
+     * Used by the {@link uk.gov.gchq.gaffer.cache.impl.HashMapCacheService}.
+     */
+    public static final String CACHE_MAX_SIZE = "gaffer.cache.max.size";
+
+    /**
+     * Prefix of the system properties to use in order to define the time in
+     * milliseconds that the entries of a cache are kept after they are
+     * written, followed by the name of the cache, e.g.
+     * {@code gaffer.cache.time.to.live.OperationChainResultCache}. Entries of
+     * caches without a property do not expire.
+     * Used by the {@link uk.gov.gchq.gaffer.cache.impl.HashMapCacheService}.
+     */
+    public static final String CACHE_TIME_TO_LIVE = "gaffer.cache.time.to.live";
+
 }
@@ -24,9 +24,16 @@ import org.junit.Test;
 
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+
+import java.util.Properties;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class HashMapCacheServiceTest {
 
@@ -144,4 +151,98 @@ public class HashMapCacheServiceTest {
 
         Assert.assertThat(service.getAllValuesFromCache(CACHE_NAME), IsCollectionContaining.hasItems(1, 2, 3));
     }
+
+    @Test
+    public void shouldCreateCachesWithConfiguredMaxSize() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_MAX_SIZE + "." + CACHE_NAME, "1");
+        service.initialise(properties);
+
+        // When
+        service.putInCache(CACHE_NAME, "test1", 1);
+        service.putInCache(CACHE_NAME, "test2", 2);
+
+        // Then
+        assertEquals(1, service.sizeOfCache(CACHE_NAME));
+        assertEquals((Integer) 2, service.getFromCache(CACHE_NAME, "test2"));
+    }
+
+    @Test
+    public void shouldOnlyLimitCachesWithAConfiguredMaxSize() throws CacheOperationException {
+        // Given
+        final String otherCacheName = "other";
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_MAX_SIZE + "." + CACHE_NAME, "1");
+        properties.setProperty(CacheProperties.CACHE_TIME_TO_LIVE + "." + CACHE_NAME, "1");
+        service.initialise(properties);
+
+        // When
+        service.putInCache(otherCacheName, "test1", 1);
+        service.putInCache(otherCacheName, "test2", 2);
+
+        // Then
+        assertEquals(2, service.sizeOfCache(otherCacheName));
+    }
+
+    @Test
+    public void shouldCreateCachesWithConfiguredSerialiser() throws CacheOperationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(HashMapCacheService.SERIALISER_CLASS + "." + CACHE_NAME, StringSerialiser.class.getName());
+        service.initialise(properties);
+        final String value = new String("value");
+
+        // When
+        service.putInCache(CACHE_NAME, "test", value);
+        final String result = service.getFromCache(CACHE_NAME, "test");
+
+        // Then
+        assertEquals(value, result);
+        assertNotSame(value, result);
+    }
+
+    @Test
+    public void shouldOnlyUseTheConfiguredSerialiserForItsCache() throws CacheOperationException {
+        // Given
+        final String otherCacheName = "other";
+        final Properties properties = new Properties();
+        properties.setProperty(HashMapCacheService.SERIALISER_CLASS + "." + CACHE_NAME, StringSerialiser.class.getName());
+        service.initialise(properties);
+        final Integer value = 1;
+
+        // When
+        service.putInCache(otherCacheName, "test", value);
+        final Integer result = service.getFromCache(otherCacheName, "test");
+
+        // Then
+        assertSame(value, result);
+    }
+
+    @Test
+    public void shouldCreateCachesBeforeBeingInitialised() throws CacheOperationException {
+        // Given
+        final HashMapCacheService uninitialisedService = new HashMapCacheService();
+
+        // When
+        uninitialisedService.putInCache(CACHE_NAME, "test", 1);
+
+        // Then
+        assertEquals((Integer) 1, uninitialisedService.getFromCache(CACHE_NAME, "test"));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfSerialiserClassIsInvalid() {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(HashMapCacheService.SERIALISER_CLASS + "." + CACHE_NAME, "an.invalid.Serialiser");
+
+        // When / Then
+        try {
+            service.initialise(properties);
+            Assert.fail("Expected an exception");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("an.invalid.Serialiser"));
+        }
+    }
 }
@@ -23,8 +23,22 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -158,4 +172,192 @@ public class HashMapCacheTest {
         TempClass tempClass = new TempClass();
         map.put("test1", tempClass);
     }
+
+    @Test
+    public void shouldOnlyPutIfAbsent() {
+        // When
+        final Integer first = cache.putIfAbsent("key", 1);
+        final Integer second = cache.putIfAbsent("key", 2);
+
+        // Then
+        assertNull(first);
+        assertEquals(new Integer(1), second);
+        assertEquals(new Integer(1), cache.get("key"));
+    }
+
+    @Test
+    public void shouldComputeNewValue() {
+        // Given
+        cache.put("key", 1);
+
+        // When
+        final Integer result = cache.compute("key", (k, v) -> null == v ? 1 : v + 1);
+
+        // Then
+        assertEquals(new Integer(2), result);
+        assertEquals(new Integer(2), cache.get("key"));
+    }
+
+    @Test
+    public void shouldRemoveEntryWhenComputedValueIsNull() {
+        // Given
+        cache.put("key", 1);
+
+        // When
+        final Integer result = cache.compute("key", (k, v) -> null);
+
+        // Then
+        assertNull(result);
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldPutAllAndGetAll() {
+        // Given
+        final Map<String, Integer> entries = new HashMap<>();
+        entries.put("test1", 1);
+        entries.put("test2", 2);
+
+        // When
+        cache.putAll(entries);
+        final Map<String, Integer> result = cache.getAll(Arrays.asList("test1", "test2", "missing"));
+
+        // Then
+        assertEquals(entries, result);
+    }
+
+    @Test
+    public void shouldStreamValuesInBatches() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            cache.put("test" + i, i);
+        }
+
+        // When
+        final List<Integer> values = cache.streamValues(2).collect(Collectors.toList());
+
+        // Then
+        assertEquals(5, values.size());
+        assertThat(values, IsCollectionContaining.hasItems(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    public void shouldPutGetAndRemoveAsynchronously() throws Exception {
+        // When
+        cache.putAsync("key", 1).get();
+
+        // Then
+        assertEquals(new Integer(1), cache.getAsync("key").get());
+
+        // When
+        cache.removeAsync("key").get();
+
+        // Then
+        assertNull(cache.getAsync("key").get());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntriesWhenFull() {
+        // Given
+        final HashMapCache<String, Integer> boundedCache = new HashMapCache<>(null, 1, 0);
+        boundedCache.put("test1", 1);
+
+        // When
+        boundedCache.put("test2", 2);
+
+        // Then
+        assertEquals(1, boundedCache.size());
+        assertNull(boundedCache.get("test1"));
+        assertEquals(new Integer(2), boundedCache.get("test2"));
+    }
+
+    @Test
+    public void shouldNotExceedMaxSize() {
+        // Given
+        final HashMapCache<Integer, Integer> boundedCache = new HashMapCache<>(null, 100, 0);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            boundedCache.put(i, i);
+        }
+
+        // Then
+        assertTrue(boundedCache.size() <= 100);
+        assertEquals(new Integer(999), boundedCache.get(999));
+    }
+
+    @Test
+    public void shouldSpreadTheWholeMaxSizeAcrossTheShards() {
+        // Given
+        final HashMapCache<Integer, Integer> boundedCache = new HashMapCache<>(null, 31, 0);
+
+        // When
+        for (int i = 0; i < 31; i++) {
+            boundedCache.put(i, i);
+        }
+
+        // Then
+        assertEquals(31, boundedCache.size());
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTimeToLive() throws InterruptedException {
+        // Given
+        final HashMapCache<String, Integer> expiringCache = new HashMapCache<>(null, 0, 50);
+        expiringCache.put("key", 1);
+        assertEquals(new Integer(1), expiringCache.get("key"));
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertNull(expiringCache.get("key"));
+        assertEquals(0, expiringCache.size());
+        assertTrue(expiringCache.getAllKeys().isEmpty());
+        assertNull(expiringCache.putIfAbsent("key", 2));
+    }
+
+    @Test
+    public void shouldStoreValuesUsingProvidedSerialiser() {
+        // Given
+        final HashMapCache<String, String> serialisingCache = new HashMapCache<>(new StringSerialiser(), 0, 0);
+        final String value = new String("value");
+
+        // When
+        serialisingCache.put("key", value);
+        final String result = serialisingCache.get("key");
+
+        // Then
+        assertEquals(value, result);
+        assertNotSame(value, result);
+    }
+
+    @Test
+    public void shouldHandleConcurrentUpdates() throws Exception {
+        // Given
+        final int threads = 8;
+        final int increments = 1000;
+        final HashMapCache<String, Integer> counterCache = new HashMapCache<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < increments; j++) {
+                    counterCache.compute("counter", (k, v) -> null == v ? 1 : v + 1);
+                    counterCache.put("key" + j, j);
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(new Integer(threads * increments), counterCache.get("counter"));
+        assertEquals(increments + 1, counterCache.size());
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.After;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NearCacheServiceTest {
+    private static final String CACHE_NAME = "test";
+
+    private final NearCacheService service = new NearCacheService();
+
+    @After
+    public void after() {
+        service.shutdown();
+    }
+
+    @Test
+    public void shouldThrowExceptionIfBackingServiceIsNotSet() {
+        try {
+            service.initialise(new Properties());
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(NearCacheService.BACKING_CACHE_SERVICE_CLASS));
+        }
+    }
+
+    @Test
+    public void shouldCreateNearCacheInFrontOfBackingCache() throws CacheOperationException {
+        // Given
+        service.initialise(createProperties());
+
+        // When
+        final ICache<String, Integer> cache = service.getCache(CACHE_NAME);
+        service.putInCache(CACHE_NAME, "key", 1);
+
+        // Then
+        assertTrue(cache instanceof NearCache);
+        assertTrue(service.getBackingService() instanceof HashMapCacheService);
+        assertEquals(new Integer(1), service.getFromCache(CACHE_NAME, "key"));
+        assertEquals(new Integer(1), service.getBackingService().getFromCache(CACHE_NAME, "key"));
+        assertEquals(1, ((NearCache) cache).getLocalSize());
+    }
+
+    @Test
+    public void shouldReUseNearCacheIfOneExists() {
+        // Given
+        service.initialise(createProperties());
+
+        // When
+        final ICache<String, Integer> cache = service.getCache(CACHE_NAME);
+
+        // Then
+        assertSame(cache, service.getCache(CACHE_NAME));
+    }
+
+    @Test
+    public void shouldUseConfiguredMaxSize() throws CacheOperationException {
+        // Given
+        final Properties properties = createProperties();
+        properties.setProperty(NearCacheService.MAX_SIZE, "1");
+        service.initialise(properties);
+        service.putInCache(CACHE_NAME, "a", 1);
+        service.putInCache(CACHE_NAME, "b", 2);
+
+        // When
+        service.getFromCache(CACHE_NAME, "a");
+        service.getFromCache(CACHE_NAME, "b");
+
+        // Then
+        assertEquals(1, ((NearCache) service.getCache(CACHE_NAME)).getLocalSize());
+        assertEquals(2, service.sizeOfCache(CACHE_NAME));
+    }
+
+    private Properties createProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty(NearCacheService.BACKING_CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        return properties;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.cache.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class NearCacheTest {
+    private CountingCache backingCache;
+
+    @Before
+    public void before() {
+        backingCache = new CountingCache();
+    }
+
+    @Test
+    public void shouldOnlyReadFromBackingCacheOnce() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+        backingCache.put("key", 1);
+
+        // When
+        final Integer first = cache.get("key");
+        final Integer second = cache.get("key");
+
+        // Then
+        assertEquals(new Integer(1), first);
+        assertEquals(new Integer(1), second);
+        assertEquals(1, backingCache.getCount("key"));
+        assertEquals(1, cache.getLocalSize());
+        assertFalse(cache.isInvalidatedByBackingCache());
+    }
+
+    @Test
+    public void shouldNotCacheMissingEntriesLocally() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+
+        // When
+        assertNull(cache.get("key"));
+        backingCache.put("key", 1);
+
+        // Then
+        assertEquals(new Integer(1), cache.get("key"));
+    }
+
+    @Test
+    public void shouldInvalidateLocalEntryOnPutAndRemove() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+        cache.put("key", 1);
+        cache.get("key");
+
+        // When / Then
+        cache.put("key", 2);
+        assertEquals(new Integer(2), cache.get("key"));
+        cache.remove("key");
+        assertNull(cache.get("key"));
+        assertEquals(0, backingCache.size());
+    }
+
+    @Test
+    public void shouldNotOverwriteUsingPutSafe() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+        cache.put("key", 1);
+
+        // When
+        try {
+            cache.putSafe("key", 2);
+            fail("Exception expected");
+        } catch (final OverwritingException e) {
+            // Then
+            assertEquals(new Integer(1), cache.get("key"));
+        }
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntries() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 2, 0);
+        backingCache.put("a", 1);
+        backingCache.put("b", 2);
+        backingCache.put("c", 3);
+        cache.get("a");
+        cache.get("b");
+        cache.get("a");
+
+        // When
+        cache.get("c");
+
+        // Then
+        assertEquals(2, cache.getLocalSize());
+        cache.get("a");
+        cache.get("b");
+        assertEquals(1, backingCache.getCount("a"));
+        assertEquals(2, backingCache.getCount("b"));
+    }
+
+    @Test
+    public void shouldExpireLocalEntries() throws CacheOperationException, InterruptedException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 1);
+        backingCache.put("key", 1);
+        cache.get("key");
+
+        // When
+        Thread.sleep(5);
+        backingCache.put("key", 2);
+
+        // Then
+        assertEquals(new Integer(2), cache.get("key"));
+    }
+
+    @Test
+    public void shouldInvalidateAllLocalEntries() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+        backingCache.put("a", 1);
+        backingCache.put("b", 2);
+        cache.get("a");
+        cache.get("b");
+
+        // When
+        cache.invalidateAll();
+
+        // Then
+        assertEquals(0, cache.getLocalSize());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldClearBackingAndLocalEntries() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+        cache.put("a", 1);
+        cache.get("a");
+
+        // When
+        cache.clear();
+
+        // Then
+        assertEquals(0, cache.getLocalSize());
+        assertEquals(0, backingCache.size());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void shouldGetAllFromLocalAndBackingCache() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+        backingCache.put("local", 1);
+        backingCache.put("remote", 2);
+        cache.get("local");
+
+        // When
+        final Map<String, Integer> result = cache.getAll(Arrays.asList("local", "remote", "missing"));
+
+        // Then
+        final Map<String, Integer> expected = new HashMap<>();
+        expected.put("local", 1);
+        expected.put("remote", 2);
+        assertEquals(expected, result);
+        assertEquals(1, backingCache.getCount("local"));
+    }
+
+    @Test
+    public void shouldInvalidateLocalEntryOnConditionalWrites() throws CacheOperationException {
+        // Given
+        final NearCache<String, Integer> cache = new NearCache<>(backingCache, 10, 0);
+        cache.put("key", 1);
+        cache.get("key");
+
+        // When / Then
+        cache.compute("key", (k, v) -> v + 1);
+        assertEquals(0, cache.getLocalSize());
+        assertEquals(new Integer(2), cache.get("key"));
+
+        cache.putAll(Collections.singletonMap("key", 3));
+        assertEquals(0, cache.getLocalSize());
+        assertEquals(new Integer(3), cache.get("key"));
+    }
+
+    private static final class CountingCache extends HashMapCache<String, Integer> {
+        private final Map<String, Integer> counts = new HashMap<>();
+
+        @Override
+        public Integer get(final String key) {
+            counts.merge(key, 1, Integer::sum);
+            return super.get(key);
+        }
+
+        private int getCount(final String key) {
+            return counts.getOrDefault(key, 0);
+        }
+    }
+}
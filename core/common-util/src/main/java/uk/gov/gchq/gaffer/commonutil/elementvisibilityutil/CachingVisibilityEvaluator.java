@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@code CachingVisibilityEvaluator} is a {@link VisibilityEvaluator} that
+ * caches the results of evaluating visibility expressions.
+ * <p>
+ * Data usually only contains a small number of distinct visibility
+ * expressions, so parsing and evaluating the expression for every element is
+ * wasteful. The parsed {@link ElementVisibility}s are held in a cache shared by
+ * all evaluators, and each evaluator caches the result of each expression for
+ * its {@link Authorisations}. Evaluators are also cached, so use
+ * {@link #get(Authorisations)} rather than the constructor to share the
+ * results between queries with the same authorisations.
+ * </p>
+ * <p>
+ * All of the caches are bounded and are cleared when they are full. This class
+ * is thread safe.
+ * </p>
+ */
+public class CachingVisibilityEvaluator extends VisibilityEvaluator {
+    public static final int MAX_VISIBILITY_CACHE_SIZE = 10000;
+    public static final int MAX_RESULT_CACHE_SIZE = 10000;
+    public static final int MAX_EVALUATOR_CACHE_SIZE = 100;
+
+    private static final Map<String, ElementVisibility> VISIBILITY_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Authorisations, CachingVisibilityEvaluator> EVALUATOR_CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, Boolean> results = new ConcurrentHashMap<>();
+
+    public CachingVisibilityEvaluator(final Authorisations auths) {
+        super(auths);
+    }
+
+    /**
+     * Gets a cached evaluator for the authorisations, creating it if
+     * necessary.
+     *
+     * @param auths the authorisations
+     * @return the evaluator
+     */
+    public static CachingVisibilityEvaluator get(final Authorisations auths) {
+        CachingVisibilityEvaluator evaluator = EVALUATOR_CACHE.get(auths);
+        if (null == evaluator) {
+            evaluator = new CachingVisibilityEvaluator(auths);
+            put(EVALUATOR_CACHE, auths, evaluator, MAX_EVALUATOR_CACHE_SIZE);
+        }
+        return evaluator;
+    }
+
+    /**
+     * Gets the parsed {@link ElementVisibility} for an expression, using a
+     * cache shared by all evaluators.
+     *
+     * @param expression the visibility expression
+     * @return the parsed visibility
+     */
+    public static ElementVisibility getElementVisibility(final String expression) {
+        ElementVisibility visibility = VISIBILITY_CACHE.get(expression);
+        if (null == visibility) {
+            visibility = new ElementVisibility(expression);
+            put(VISIBILITY_CACHE, expression, visibility, MAX_VISIBILITY_CACHE_SIZE);
+        }
+        return visibility;
+    }
+
+    /**
+     * Evaluates a visibility expression against the authorisations of this
+     * evaluator, using the cached result if there is one. A null or empty
+     * expression is always visible.
+     *
+     * @param expression the visibility expression
+     * @return true if the authorisations satisfy the expression
+     * @throws VisibilityParseException if the expression cannot be evaluated
+     */
+    public boolean evaluate(final String expression) throws VisibilityParseException {
+        if (null == expression || expression.isEmpty()) {
+            return true;
+        }
+
+        Boolean result = results.get(expression);
+        if (null == result) {
+            result = evaluate(getElementVisibility(expression));
+            put(results, expression, result, MAX_RESULT_CACHE_SIZE);
+        }
+        return result;
+    }
+
+    // Adds a value to a cache, clearing the cache first if it is full.
+    private static <K, V> void put(final Map<K, V> cache, final K key, final V value, final int maxSize) {
+        if (cache.size() >= maxSize) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code PipelinedIterable} iterates over a delegate {@link Iterable} in a
+ * separate thread, passing the items to the consumer through a bounded queue.
+ * This allows the work done producing the items to run concurrently with the
+ * work done consuming them. The order of the items is preserved.
+ * <p>
+ * Each call to {@link #iterator()} starts a new producer, so the iterable can
+ * be iterated over as many times as the delegate iterable can. Closing the
+ * iterator stops the producer. If the consumer stops taking items without
+ * closing the iterator, the producer gives up once no items have been taken
+ * for the idle timeout, so it does not hold an executor thread forever. A
+ * consumer that resumes after this gets an {@link IllegalStateException} once
+ * it has taken the items already in the queue.
+ * </p>
+ * <p>
+ * If the executor rejects the producer, for example because a bounded
+ * executor has no free threads, the delegate iterable is iterated over
+ * directly in the consumer's thread instead.
+ * </p>
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class PipelinedIterable<T> implements CloseableIterable<T> {
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Object NULL_ITEM = new Object();
+    private static final Object END_OF_ITEMS = new Object();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final Iterable<T> iterable;
+    private final int queueSize;
+    private final ExecutorService executor;
+    private final long idleTimeoutMillis;
+
+    public PipelinedIterable(final Iterable<T> iterable, final int queueSize, final ExecutorService executor) {
+        this(iterable, queueSize, executor, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    public PipelinedIterable(final Iterable<T> iterable, final int queueSize, final ExecutorService executor, final long idleTimeoutMillis) {
+        if (null == iterable) {
+            throw new IllegalArgumentException("Iterable is required");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be at least 1");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        if (idleTimeoutMillis < 1) {
+            throw new IllegalArgumentException("Idle timeout must be at least 1 millisecond");
+        }
+        this.iterable = iterable;
+        this.queueSize = queueSize;
+        this.executor = executor;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(iterable);
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new PipelinedIterator();
+    }
+
+    private final class PipelinedIterator implements CloseableIterator<T> {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueSize);
+        private final Future<?> producer;
+        private final Iterator<T> directIterator;
+        private volatile boolean closed;
+        private volatile boolean abandoned;
+        private Object next;
+
+        private PipelinedIterator() {
+            Future<?> submitted;
+            try {
+                submitted = executor.submit(this::produce);
+            } catch (final RejectedExecutionException e) {
+                submitted = null;
+            }
+            producer = submitted;
+            directIterator = null == producer ? iterable.iterator() : null;
+        }
+
+        private void produce() {
+            Iterator<T> iterator = null;
+            try {
+                iterator = iterable.iterator();
+                while (!closed && iterator.hasNext()) {
+                    final T item = iterator.next();
+                    if (!offer(null == item ? NULL_ITEM : item)) {
+                        return;
+                    }
+                }
+                offer(END_OF_ITEMS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final Throwable e) {
+                try {
+                    offer(new ProducerFailure(e));
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            } finally {
+                CloseableUtil.close(iterator);
+            }
+        }
+
+        // Returns false if the item was not added because the iterator was
+        // closed or the consumer has not taken an item for the idle timeout.
+        private boolean offer(final Object item) throws InterruptedException {
+            final long idleSince = System.currentTimeMillis();
+            while (!closed) {
+                if (queue.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (System.currentTimeMillis() - idleSince >= idleTimeoutMillis) {
+                    abandoned = true;
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != directIterator) {
+                return !closed && directIterator.hasNext();
+            }
+            if (null == next) {
+                if (closed) {
+                    return false;
+                }
+                next = take();
+                if (next instanceof ProducerFailure) {
+                    final Throwable cause = ((ProducerFailure) next).cause;
+                    next = null;
+                    close();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException(cause);
+                }
+            }
+            if (END_OF_ITEMS == next) {
+                closed = true;
+                return false;
+            }
+            return true;
+        }
+
+        private Object take() {
+            try {
+                while (true) {
+                    final Object item = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (null != item) {
+                        return item;
+                    }
+                    if (producer.isDone()) {
+                        // The producer may have finished after the poll timed out
+                        final Object lastItem = queue.poll();
+                        if (null != lastItem) {
+                            return lastItem;
+                        }
+                        close();
+                        if (abandoned) {
+                            throw new IllegalStateException("The producer was stopped as no items were taken for " + idleTimeoutMillis + " ms");
+                        }
+                        throw new IllegalStateException("The producer stopped without reaching the end of the iterable");
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("Interrupted whilst waiting for the next item", e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (null != directIterator) {
+                if (closed) {
+                    throw new NoSuchElementException("Reached the end of the iterator");
+                }
+                return directIterator.next();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            final Object item = next;
+            next = null;
+            return NULL_ITEM == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (null == producer) {
+                    CloseableUtil.close(directIterator);
+                } else {
+                    producer.cancel(true);
+                    queue.clear();
+                }
+                PipelinedIterable.this.close();
+            }
+        }
+    }
+
+    private static final class ProducerFailure {
+        private final Throwable cause;
+
+        private ProducerFailure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
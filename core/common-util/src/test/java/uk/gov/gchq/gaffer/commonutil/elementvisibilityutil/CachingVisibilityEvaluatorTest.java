@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.elementvisibilityutil;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CachingVisibilityEvaluatorTest {
+    @Test
+    public void shouldEvaluateVisibilityExpressions() throws VisibilityParseException {
+        // Given
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one", "two"));
+
+        // When / Then
+        for (int i = 0; i < 2; i++) {
+            assertTrue(evaluator.evaluate("one"));
+            assertTrue(evaluator.evaluate("one&two"));
+            assertTrue(evaluator.evaluate("one|three"));
+            assertFalse(evaluator.evaluate("three"));
+            assertFalse(evaluator.evaluate("one&three"));
+            assertTrue(evaluator.evaluate(""));
+            assertTrue(evaluator.evaluate((String) null));
+        }
+    }
+
+    @Test
+    public void shouldShareEvaluatorsForEqualAuthorisations() {
+        // When
+        final CachingVisibilityEvaluator evaluator1 = CachingVisibilityEvaluator.get(new Authorisations("one", "two"));
+        final CachingVisibilityEvaluator evaluator2 = CachingVisibilityEvaluator.get(new Authorisations("two", "one"));
+        final CachingVisibilityEvaluator evaluator3 = CachingVisibilityEvaluator.get(new Authorisations("one"));
+
+        // Then
+        assertSame(evaluator1, evaluator2);
+        assertNotSame(evaluator1, evaluator3);
+    }
+
+    @Test
+    public void shouldCacheParsedVisibilities() {
+        // When
+        final ElementVisibility visibility1 = CachingVisibilityEvaluator.getElementVisibility("one&(two|three)");
+        final ElementVisibility visibility2 = CachingVisibilityEvaluator.getElementVisibility("one&(two|three)");
+
+        // Then
+        assertSame(visibility1, visibility2);
+        assertEquals(new ElementVisibility("one&(two|three)"), visibility1);
+    }
+
+    @Test
+    public void shouldNotCacheInvalidVisibilities() throws VisibilityParseException {
+        // Given
+        final CachingVisibilityEvaluator evaluator = new CachingVisibilityEvaluator(new Authorisations("one"));
+
+        // When / Then
+        for (int i = 0; i < 2; i++) {
+            try {
+                evaluator.evaluate("one&");
+                fail("Exception expected");
+            } catch (final IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("one&"));
+            }
+        }
+    }
+}
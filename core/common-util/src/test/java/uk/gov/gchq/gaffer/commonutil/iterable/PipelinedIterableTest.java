@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PipelinedIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldIterateOverAllItemsInOrder() {
+        // Given
+        final List<Integer> items = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        // When
+        final List<Integer> result = Lists.newArrayList(new PipelinedIterable<>(items, 10, executor));
+
+        // Then
+        assertEquals(items, result);
+    }
+
+    @Test
+    public void shouldIterateOverNullItems() {
+        // Given
+        final List<String> items = Arrays.asList("a", null, "c");
+
+        // When
+        final List<String> result = Lists.newArrayList(new PipelinedIterable<>(items, 1, executor));
+
+        // Then
+        assertEquals(items, result);
+    }
+
+    @Test
+    public void shouldBeAbleToIterateMultipleTimes() {
+        // Given
+        final List<Integer> items = Arrays.asList(1, 2, 3);
+        final PipelinedIterable<Integer> iterable = new PipelinedIterable<>(items, 2, executor);
+
+        // When
+        final List<Integer> first = Lists.newArrayList(iterable);
+        final List<Integer> second = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(items, first);
+        assertEquals(items, second);
+    }
+
+    @Test
+    public void shouldRethrowExceptionsFromProducer() {
+        // Given
+        final Iterable<Integer> failing = () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                throw new IllegalStateException("Failed to read");
+            }
+        };
+        final Iterator<Integer> iterator = new PipelinedIterable<>(failing, 2, executor).iterator();
+
+        // When / Then
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Failed to read", e.getMessage());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldRethrowExceptionsFromCreatingTheIterator() {
+        // Given
+        final Iterable<Integer> failing = () -> {
+            throw new IllegalStateException("Failed to open");
+        };
+        final Iterator<Integer> iterator = new PipelinedIterable<>(failing, 2, executor).iterator();
+
+        // When / Then
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Failed to open", e.getMessage());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(timeout = 10000)
+    public void shouldIterateInTheCallingThreadWhenTheExecutorRejectsTheProducer() {
+        // Given
+        final List<Integer> items = Arrays.asList(1, 2, 3);
+        executor.shutdownNow();
+
+        // When
+        final List<Integer> result = Lists.newArrayList(new PipelinedIterable<>(items, 2, executor));
+
+        // Then
+        assertEquals(items, result);
+    }
+
+    @Test
+    public void shouldStopProducingWhenClosed() throws InterruptedException {
+        // Given
+        final List<Integer> produced = new ArrayList<>();
+        final Iterable<Integer> infinite = () -> new Iterator<Integer>() {
+            private int count = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                synchronized (produced) {
+                    produced.add(count);
+                }
+                return count++;
+            }
+        };
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(infinite, 5, executor).iterator();
+        assertTrue(iterator.hasNext());
+        assertEquals(0, (int) iterator.next());
+
+        // When
+        iterator.close();
+        Thread.sleep(300);
+        final int producedAfterClose;
+        synchronized (produced) {
+            producedAfterClose = produced.size();
+        }
+        Thread.sleep(300);
+
+        // Then
+        assertFalse(iterator.hasNext());
+        synchronized (produced) {
+            assertEquals(producedAfterClose, produced.size());
+        }
+    }
+
+    @Test
+    public void shouldStopProducerIfTheConsumerStopsTakingItems() throws InterruptedException {
+        // Given
+        final AtomicBoolean delegateClosed = new AtomicBoolean();
+        final Iterable<Integer> infinite = () -> new CloseableIterator<Integer>() {
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return count++;
+            }
+
+            @Override
+            public void close() {
+                delegateClosed.set(true);
+            }
+        };
+        final CloseableIterator<Integer> iterator = new PipelinedIterable<>(infinite, 2, executor, 200).iterator();
+        assertEquals(0, (int) iterator.next());
+
+        // When
+        Thread.sleep(1000);
+
+        // Then
+        assertTrue(delegateClosed.get());
+        assertEquals(1, (int) iterator.next());
+        assertEquals(2, (int) iterator.next());
+        try {
+            iterator.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("The producer was stopped as no items were taken for 200 ms", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfQueueSizeIsInvalid() {
+        try {
+            new PipelinedIterable<>(Arrays.asList(1, 2), 0, executor);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Queue size must be at least 1", e.getMessage());
+        }
+    }
+}
@@ -21,6 +21,8 @@ import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.slf4j.Logger;
@@ -30,6 +32,8 @@ import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.element.comparison.ComparableOrToStringComparator;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.jsonserialisation.EdgeDeserialiser;
+import uk.gov.gchq.gaffer.data.element.jsonserialisation.EdgeSerialiser;
 
 import java.util.Comparator;
 
@@ -41,10 +45,15 @@ import java.util.Comparator;
  * Edges are designed so that multiple edges can share the same identifiers but are distinguished via their
  * group.
  *
+ * Edges are written to and read from json using the {@link EdgeSerialiser}
+ * and {@link EdgeDeserialiser}.
+ *
  * @see uk.gov.gchq.gaffer.data.element.Edge.Builder
  */
 @JsonPropertyOrder(value = {"class", "group", "source", "destination",
         "directed", "matchedVertex", "properties"}, alphabetic = true)
+@JsonSerialize(using = EdgeSerialiser.class)
+@JsonDeserialize(using = EdgeDeserialiser.class)
 public class Edge extends Element implements EdgeId {
     private static final Logger LOGGER = LoggerFactory.getLogger(Edge.class);
     private static final long serialVersionUID = -5596452468277807842L;
@@ -19,6 +19,8 @@ package uk.gov.gchq.gaffer.data.element;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.slf4j.Logger;
@@ -26,6 +28,8 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.element.jsonserialisation.EntityDeserialiser;
+import uk.gov.gchq.gaffer.data.element.jsonserialisation.EntitySerialiser;
 
 /**
  * An {@code Entity} in an {@link uk.gov.gchq.gaffer.data.element.Element} containing a single vertex.
@@ -35,9 +39,14 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
  * Entities are designed so that multiple entities can share the same vertex but are distinguished via their
  * group.
  *
+ * Entities are written to and read from json using the {@link EntitySerialiser}
+ * and {@link EntityDeserialiser}.
+ *
  * @see uk.gov.gchq.gaffer.data.element.Entity.Builder
  */
 @JsonPropertyOrder(value = {"class", "group", "vertex", "properties"}, alphabetic = true)
+@JsonSerialize(using = EntitySerialiser.class)
+@JsonDeserialize(using = EntityDeserialiser.class)
 public class Entity extends Element implements EntityId {
     private static final Logger LOGGER = LoggerFactory.getLogger(Entity.class);
     private static final long serialVersionUID = 2863628004463113755L;
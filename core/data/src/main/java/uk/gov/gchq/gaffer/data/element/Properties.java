@@ -16,7 +16,10 @@
 
 package uk.gov.gchq.gaffer.data.element;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.data.element.jsonserialisation.PropertiesSerialiser;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -25,6 +28,7 @@ import java.util.Map;
 /**
  * {@code Properties} simply extends {@link java.util.HashMap} with property names (String) as keys and property value (Object) as values.
  */
+@JsonSerialize(using = PropertiesSerialiser.class)
 public class Properties extends HashMap<String, Object> {
     private static final long serialVersionUID = -5412533432398907359L;
 
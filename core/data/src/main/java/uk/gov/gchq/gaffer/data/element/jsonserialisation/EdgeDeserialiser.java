@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+
+import java.io.IOException;
+
+/**
+ * Custom deserialiser for {@link Edge}s. The direction of the edge can be
+ * provided using either the directed field or the directedType field.
+ */
+public class EdgeDeserialiser extends ElementDeserialiser<Edge> {
+    private static final long serialVersionUID = -6160412467183957453L;
+    private static final String SOURCE = "source";
+    private static final String DESTINATION = "destination";
+    private static final String DIRECTED = "directed";
+    private static final String DIRECTED_TYPE = "directedType";
+    private static final String MATCHED_VERTEX = "matchedVertex";
+
+    public EdgeDeserialiser() {
+        super(Edge.class);
+    }
+
+    protected EdgeDeserialiser(final EdgeDeserialiser deserialiser, final DeserializationContext ctxt) throws JsonMappingException {
+        super(deserialiser, ctxt);
+    }
+
+    @Override
+    protected String getVertexFieldName() {
+        return SOURCE;
+    }
+
+    @Override
+    protected EdgeDeserialiser createContextual(final DeserializationContext ctxt) throws JsonMappingException {
+        return new EdgeDeserialiser(this, ctxt);
+    }
+
+    @Override
+    protected Edge deserialiseFields(final JsonParser parser, final DeserializationContext ctxt) throws IOException {
+        String group = null;
+        Object source = null;
+        Object destination = null;
+        Boolean directed = null;
+        DirectedType directedType = null;
+        MatchedVertex matchedVertex = null;
+        Properties properties = null;
+        for (JsonToken token = parser.getCurrentToken(); JsonToken.FIELD_NAME == token; token = parser.nextToken()) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case GROUP:
+                    group = parser.getValueAsString();
+                    break;
+                case SOURCE:
+                    source = readVertex(parser, ctxt);
+                    break;
+                case DESTINATION:
+                    destination = readVertex(parser, ctxt);
+                    break;
+                case DIRECTED:
+                    directed = _parseBoolean(parser, ctxt);
+                    break;
+                case DIRECTED_TYPE:
+                    directedType = readValue(parser, ctxt, DirectedType.class);
+                    break;
+                case MATCHED_VERTEX:
+                    matchedVertex = readValue(parser, ctxt, MatchedVertex.class);
+                    break;
+                case PROPERTIES:
+                    properties = readProperties(parser, ctxt);
+                    break;
+                default:
+                    skipField(parser, ctxt, name);
+            }
+        }
+
+        return new Edge(group, source, destination, isDirected(directed, directedType, ctxt), matchedVertex, properties);
+    }
+
+    private static boolean isDirected(final Boolean directed, final DirectedType directedType, final DeserializationContext ctxt) throws JsonMappingException {
+        if (null != directed) {
+            if (null != directedType) {
+                throw ctxt.mappingException("Use either 'directed' or 'directedType' - not both.");
+            }
+            return directed;
+        }
+        return DirectedType.isDirected(directedType);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Custom serialiser for {@link Edge}s. Fields can be excluded using
+ * {@link JSONSerialiser#serialise(Object, String...)}, in the same way as
+ * with the {@link JSONSerialiser#FILTER_FIELDS_BY_NAME} filter on
+ * {@link uk.gov.gchq.gaffer.data.element.id.EdgeId}.
+ */
+public class EdgeSerialiser extends ElementSerialiser<Edge> {
+    private static final SerializedString SOURCE = new SerializedString("source");
+    private static final SerializedString DESTINATION = new SerializedString("destination");
+    private static final SerializedString DIRECTED = new SerializedString("directed");
+    private static final SerializedString MATCHED_VERTEX = new SerializedString("matchedVertex");
+
+    public EdgeSerialiser() {
+        super(Edge.class);
+    }
+
+    protected EdgeSerialiser(final EdgeSerialiser serialiser, final SerializerProvider provider) throws JsonMappingException {
+        super(serialiser, provider);
+    }
+
+    @Override
+    protected String getVertexFieldName() {
+        return SOURCE.getValue();
+    }
+
+    @Override
+    protected EdgeSerialiser createContextual(final SerializerProvider provider) throws JsonMappingException {
+        return new EdgeSerialiser(this, provider);
+    }
+
+    @Override
+    protected void writeIdentifiers(final Edge edge, final JsonGenerator generator, final SerializerProvider provider, final Set<String> fieldsToExclude) throws IOException {
+        writeVertex(SOURCE, edge.getSource(), generator, provider, fieldsToExclude);
+        writeVertex(DESTINATION, edge.getDestination(), generator, provider, fieldsToExclude);
+        if (isIncluded(DIRECTED, fieldsToExclude)) {
+            generator.writeFieldName(DIRECTED);
+            generator.writeBoolean(edge.isDirected());
+        }
+        writeField(MATCHED_VERTEX, edge.getMatchedVertex(), null, generator, provider, fieldsToExclude);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Set<String> getFieldsToExclude(final SerializerProvider provider) {
+        final Object fieldsToExclude = provider.getAttribute(JSONSerialiser.FIELDS_TO_EXCLUDE_ATTRIBUTE);
+        return fieldsToExclude instanceof Set ? (Set<String>) fieldsToExclude : null;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerFactory;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+
+import java.io.IOException;
+
+/**
+ * Base class for the custom {@link Element} deserialisers.
+ * <p>
+ * The fields are read straight from the {@link JsonParser} and the element
+ * is constructed directly, rather than going through the bean creator. The
+ * class field is used by the type information on
+ * {@link uk.gov.gchq.gaffer.data.element.id.ElementId} to choose the
+ * deserialiser, so it is ignored if it is passed through. The type
+ * deserialisers for the vertex and property values are looked up from the
+ * {@link com.fasterxml.jackson.annotation.JsonTypeInfo} annotations on the
+ * element getters when the deserialiser is contextualised.
+ * </p>
+ *
+ * @param <E> the type of element
+ */
+public abstract class ElementDeserialiser<E extends Element> extends StdDeserializer<E> implements ContextualDeserializer {
+    protected static final String CLASS = "class";
+    protected static final String GROUP = "group";
+    protected static final String PROPERTIES = "properties";
+
+    private static final long serialVersionUID = 3263462378419357045L;
+
+    private final boolean contextual;
+    private final transient TypeDeserializer vertexTypeDeserialiser;
+    private final transient TypeDeserializer propertiesTypeDeserialiser;
+    private final transient JsonDeserializer<Object> valueDeserialiser;
+
+    protected ElementDeserialiser(final Class<E> elementClass) {
+        super(elementClass);
+        this.contextual = false;
+        this.vertexTypeDeserialiser = null;
+        this.propertiesTypeDeserialiser = null;
+        this.valueDeserialiser = null;
+    }
+
+    protected ElementDeserialiser(final ElementDeserialiser<E> deserialiser, final DeserializationContext ctxt) throws JsonMappingException {
+        super(deserialiser.getValueClass());
+        final DeserializationConfig config = ctxt.getConfig();
+        final BeanDescription beanDesc = config.introspect(config.constructType(getValueClass()));
+        this.contextual = true;
+        this.vertexTypeDeserialiser = BeanDeserializerFactory.instance
+                .findPropertyTypeDeserializer(config, config.constructType(Object.class), ElementSerialiser.getAccessor(beanDesc, getVertexFieldName()));
+        this.propertiesTypeDeserialiser = BeanDeserializerFactory.instance
+                .findPropertyContentTypeDeserializer(config, config.constructType(Properties.class), ElementSerialiser.getAccessor(beanDesc, PROPERTIES));
+        this.valueDeserialiser = ctxt.findRootValueDeserializer(config.constructType(Object.class));
+    }
+
+    /**
+     * @return the name of the field whose type information is used for the
+     * vertices of the element.
+     */
+    protected abstract String getVertexFieldName();
+
+    /**
+     * Creates a copy of this deserialiser with the type deserialisers
+     * resolved using the provided context.
+     *
+     * @param ctxt the deserialization context
+     * @return the contextual deserialiser
+     * @throws JsonMappingException if the type deserialisers could not be resolved
+     */
+    protected abstract ElementDeserialiser<E> createContextual(final DeserializationContext ctxt) throws JsonMappingException;
+
+    /**
+     * Reads the fields of the element and constructs it.
+     *
+     * @param parser the json parser, positioned at the first field name or
+     *               at the end of the object
+     * @param ctxt   the deserialization context
+     * @return the element
+     * @throws IOException if the element could not be read
+     */
+    protected abstract E deserialiseFields(final JsonParser parser, final DeserializationContext ctxt) throws IOException;
+
+    @Override
+    public JsonDeserializer<?> createContextual(final DeserializationContext ctxt, final BeanProperty property) throws JsonMappingException {
+        return contextual ? this : createContextual(ctxt);
+    }
+
+    @Override
+    public E deserialize(final JsonParser parser, final DeserializationContext ctxt) throws IOException {
+        if (!contextual) {
+            return createContextual(ctxt).deserialize(parser, ctxt);
+        }
+
+        if (JsonToken.START_OBJECT == parser.getCurrentToken()) {
+            parser.nextToken();
+        }
+        if (JsonToken.FIELD_NAME != parser.getCurrentToken() && JsonToken.END_OBJECT != parser.getCurrentToken()) {
+            throw ctxt.mappingException(getValueClass());
+        }
+        return deserialiseFields(parser, ctxt);
+    }
+
+    /**
+     * Reads a vertex, using its type information.
+     *
+     * @param parser the json parser, positioned at the value
+     * @param ctxt   the deserialization context
+     * @return the vertex
+     * @throws IOException if the vertex could not be read
+     */
+    protected Object readVertex(final JsonParser parser, final DeserializationContext ctxt) throws IOException {
+        return readTypedValue(parser, ctxt, vertexTypeDeserialiser);
+    }
+
+    /**
+     * Reads the element properties, using the type information for the
+     * property values.
+     *
+     * @param parser the json parser, positioned at the start of the properties
+     * @param ctxt   the deserialization context
+     * @return the properties
+     * @throws IOException if the properties could not be read
+     */
+    protected Properties readProperties(final JsonParser parser, final DeserializationContext ctxt) throws IOException {
+        if (JsonToken.VALUE_NULL == parser.getCurrentToken()) {
+            return null;
+        }
+        if (JsonToken.START_OBJECT != parser.getCurrentToken()) {
+            throw ctxt.mappingException(Properties.class);
+        }
+
+        final Properties properties = new Properties();
+        while (JsonToken.FIELD_NAME == parser.nextToken()) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+            properties.put(name, readTypedValue(parser, ctxt, propertiesTypeDeserialiser));
+        }
+        return properties;
+    }
+
+    /**
+     * Reads a value of the given class, such as an enum.
+     *
+     * @param parser     the json parser, positioned at the value
+     * @param ctxt       the deserialization context
+     * @param valueClass the class of the value
+     * @param <T>        the type of the value
+     * @return the value
+     * @throws IOException if the value could not be read
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T readValue(final JsonParser parser, final DeserializationContext ctxt, final Class<T> valueClass) throws IOException {
+        if (JsonToken.VALUE_NULL == parser.getCurrentToken()) {
+            return null;
+        }
+        return (T) ctxt.findRootValueDeserializer(ctxt.constructType(valueClass)).deserialize(parser, ctxt);
+    }
+
+    /**
+     * Skips a field that is not part of the element. The class field is
+     * always skipped, any other field is handled as an unknown property.
+     *
+     * @param parser the json parser, positioned at the value
+     * @param ctxt   the deserialization context
+     * @param name   the name of the field
+     * @throws IOException if the field is unknown and unknown properties are not allowed
+     */
+    protected void skipField(final JsonParser parser, final DeserializationContext ctxt, final String name) throws IOException {
+        if (CLASS.equals(name)) {
+            parser.skipChildren();
+        } else {
+            handleUnknownProperty(parser, ctxt, getValueClass(), name);
+        }
+    }
+
+    private Object readTypedValue(final JsonParser parser, final DeserializationContext ctxt, final TypeDeserializer typeDeserialiser) throws IOException {
+        if (JsonToken.VALUE_NULL == parser.getCurrentToken()) {
+            return null;
+        }
+        if (null == typeDeserialiser) {
+            return valueDeserialiser.deserialize(parser, ctxt);
+        }
+        return valueDeserialiser.deserializeWithType(parser, ctxt, typeDeserialiser);
+    }
+}
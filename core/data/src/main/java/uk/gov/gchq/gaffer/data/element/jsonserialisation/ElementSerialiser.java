@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Properties;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Base class for the custom {@link Element} serialisers.
+ * <p>
+ * Rather than introspecting the element on every call, the fields are written
+ * straight to the {@link JsonGenerator} using pre-encoded field names. The
+ * value of the class field is encoded once per element class. The type
+ * serialisers for the vertex and property values are looked up from the
+ * {@link com.fasterxml.jackson.annotation.JsonTypeInfo} annotations on the
+ * element getters when the serialiser is contextualised, so the json is the
+ * same as the json produced by the default bean serialiser.
+ * </p>
+ *
+ * @param <E> the type of element
+ */
+public abstract class ElementSerialiser<E extends Element> extends StdSerializer<E> implements ContextualSerializer {
+    protected static final SerializedString CLASS = new SerializedString("class");
+    protected static final SerializedString GROUP = new SerializedString("group");
+    protected static final SerializedString PROPERTIES = new SerializedString("properties");
+
+    private final ConcurrentMap<Class<?>, SerializedString> classNames = new ConcurrentHashMap<>();
+    private final boolean contextual;
+    private final TypeSerializer vertexTypeSerialiser;
+    private final TypeSerializer propertiesTypeSerialiser;
+    private final boolean writeNulls;
+
+    protected ElementSerialiser(final Class<E> elementClass) {
+        super(elementClass);
+        this.contextual = false;
+        this.vertexTypeSerialiser = null;
+        this.propertiesTypeSerialiser = null;
+        this.writeNulls = false;
+    }
+
+    protected ElementSerialiser(final ElementSerialiser<E> serialiser, final SerializerProvider provider) throws JsonMappingException {
+        super(serialiser.handledType());
+        final SerializationConfig config = provider.getConfig();
+        final BeanDescription beanDesc = config.introspect(config.constructType(handledType()));
+        this.contextual = true;
+        this.vertexTypeSerialiser = BeanSerializerFactory.instance
+                .findPropertyTypeSerializer(config.constructType(Object.class), config, getAccessor(beanDesc, getVertexFieldName()));
+        this.propertiesTypeSerialiser = BeanSerializerFactory.instance
+                .findPropertyContentTypeSerializer(config.constructType(Properties.class), config, getAccessor(beanDesc, PROPERTIES.getValue()));
+        this.writeNulls = JsonInclude.Include.ALWAYS == config.getSerializationInclusion();
+    }
+
+    /**
+     * @return the name of the field whose type information is used for the
+     * vertices of the element.
+     */
+    protected abstract String getVertexFieldName();
+
+    /**
+     * Creates a copy of this serialiser with the type serialisers resolved
+     * using the provided serializer provider.
+     *
+     * @param provider the serializer provider
+     * @return the contextual serialiser
+     * @throws JsonMappingException if the type serialisers could not be resolved
+     */
+    protected abstract ElementSerialiser<E> createContextual(final SerializerProvider provider) throws JsonMappingException;
+
+    /**
+     * Writes the identifier fields of the element, which appear between the
+     * group and the properties.
+     *
+     * @param element         the element to write
+     * @param generator       the json generator to write to
+     * @param provider        the serializer provider
+     * @param fieldsToExclude the names of the fields to exclude, or null
+     * @throws IOException if the fields could not be written
+     */
+    protected abstract void writeIdentifiers(final E element, final JsonGenerator generator, final SerializerProvider provider, final Set<String> fieldsToExclude) throws IOException;
+
+    /**
+     * @param provider the serializer provider
+     * @return the names of the fields to exclude, or null to write all fields.
+     */
+    protected Set<String> getFieldsToExclude(final SerializerProvider provider) {
+        return null;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider provider, final BeanProperty property) throws JsonMappingException {
+        return contextual ? this : createContextual(provider);
+    }
+
+    @Override
+    public void serialize(final E element, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+        if (!contextual) {
+            createContextual(provider).serialize(element, generator, provider);
+            return;
+        }
+
+        final Set<String> fieldsToExclude = getFieldsToExclude(provider);
+        generator.writeStartObject();
+        if (isIncluded(CLASS, fieldsToExclude)) {
+            generator.writeFieldName(CLASS);
+            generator.writeString(getClassName(element));
+        }
+        if ((null != element.getGroup() || writeNulls) && isIncluded(GROUP, fieldsToExclude)) {
+            generator.writeFieldName(GROUP);
+            generator.writeString(element.getGroup());
+        }
+        writeIdentifiers(element, generator, provider, fieldsToExclude);
+        writeField(PROPERTIES, element.getProperties(), propertiesTypeSerialiser, generator, provider, fieldsToExclude);
+        generator.writeEndObject();
+    }
+
+    /**
+     * The class field is written by the serialiser itself, in the same way as
+     * the default bean serialiser writes the existing class property, so the
+     * type serialiser is not used.
+     */
+    @Override
+    public void serializeWithType(final E element, final JsonGenerator generator, final SerializerProvider provider, final TypeSerializer typeSerialiser) throws IOException {
+        serialize(element, generator, provider);
+    }
+
+    /**
+     * Writes a vertex field, including its type information.
+     *
+     * @param name            the pre-encoded field name
+     * @param vertex          the vertex to write
+     * @param generator       the json generator to write to
+     * @param provider        the serializer provider
+     * @param fieldsToExclude the names of the fields to exclude, or null
+     * @throws IOException if the field could not be written
+     */
+    protected void writeVertex(final SerializedString name, final Object vertex, final JsonGenerator generator, final SerializerProvider provider, final Set<String> fieldsToExclude) throws IOException {
+        writeField(name, vertex, vertexTypeSerialiser, generator, provider, fieldsToExclude);
+    }
+
+    /**
+     * Writes a field, skipping it if it has been excluded or if it is null
+     * and nulls are not being written.
+     *
+     * @param name            the pre-encoded field name
+     * @param value           the value to write
+     * @param typeSerialiser  the type serialiser for the value, or null
+     * @param generator       the json generator to write to
+     * @param provider        the serializer provider
+     * @param fieldsToExclude the names of the fields to exclude, or null
+     * @throws IOException if the field could not be written
+     */
+    protected void writeField(final SerializedString name, final Object value, final TypeSerializer typeSerialiser, final JsonGenerator generator, final SerializerProvider provider, final Set<String> fieldsToExclude) throws IOException {
+        if ((null != value || writeNulls) && isIncluded(name, fieldsToExclude)) {
+            generator.writeFieldName(name);
+            if (value instanceof Properties) {
+                PropertiesSerialiser.writeProperties((Properties) value, generator, provider, typeSerialiser);
+            } else {
+                PropertiesSerialiser.writeValue(value, generator, provider, typeSerialiser);
+            }
+        }
+    }
+
+    protected static boolean isIncluded(final SerializedString name, final Set<String> fieldsToExclude) {
+        return null == fieldsToExclude || !fieldsToExclude.contains(name.getValue());
+    }
+
+    // The class name of an element class may change if the simple class name
+    // settings are changed, so the cached value is checked before it is used.
+    private SerializedString getClassName(final E element) {
+        final String className = element.getClassName();
+        SerializedString serialisedClassName = classNames.get(element.getClass());
+        if (null == serialisedClassName || !serialisedClassName.getValue().equals(className)) {
+            serialisedClassName = new SerializedString(className);
+            classNames.put(element.getClass(), serialisedClassName);
+        }
+        return serialisedClassName;
+    }
+
+    static AnnotatedMember getAccessor(final BeanDescription beanDesc, final String name) {
+        for (final BeanPropertyDefinition property : beanDesc.findProperties()) {
+            if (name.equals(property.getName())) {
+                return property.getAccessor();
+            }
+        }
+        throw new IllegalArgumentException("Unable to find the json property " + name + " on " + beanDesc.getBeanClass().getName());
+    }
+}
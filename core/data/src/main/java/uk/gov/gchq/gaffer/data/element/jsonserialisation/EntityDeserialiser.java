@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.Properties;
+
+import java.io.IOException;
+
+/**
+ * Custom deserialiser for {@link Entity}s.
+ */
+public class EntityDeserialiser extends ElementDeserialiser<Entity> {
+    private static final long serialVersionUID = 5473349276718329427L;
+    private static final String VERTEX = "vertex";
+
+    public EntityDeserialiser() {
+        super(Entity.class);
+    }
+
+    protected EntityDeserialiser(final EntityDeserialiser deserialiser, final DeserializationContext ctxt) throws JsonMappingException {
+        super(deserialiser, ctxt);
+    }
+
+    @Override
+    protected String getVertexFieldName() {
+        return VERTEX;
+    }
+
+    @Override
+    protected EntityDeserialiser createContextual(final DeserializationContext ctxt) throws JsonMappingException {
+        return new EntityDeserialiser(this, ctxt);
+    }
+
+    @Override
+    protected Entity deserialiseFields(final JsonParser parser, final DeserializationContext ctxt) throws IOException {
+        String group = null;
+        Object vertex = null;
+        Properties properties = null;
+        for (JsonToken token = parser.getCurrentToken(); JsonToken.FIELD_NAME == token; token = parser.nextToken()) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case GROUP:
+                    group = parser.getValueAsString();
+                    break;
+                case VERTEX:
+                    vertex = readVertex(parser, ctxt);
+                    break;
+                case PROPERTIES:
+                    properties = readProperties(parser, ctxt);
+                    break;
+                default:
+                    skipField(parser, ctxt, name);
+            }
+        }
+
+        return new Entity(group, vertex, properties);
+    }
+}
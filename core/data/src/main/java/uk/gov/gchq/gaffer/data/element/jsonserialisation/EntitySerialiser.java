@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Custom serialiser for {@link Entity}s.
+ */
+public class EntitySerialiser extends ElementSerialiser<Entity> {
+    private static final SerializedString VERTEX = new SerializedString("vertex");
+
+    public EntitySerialiser() {
+        super(Entity.class);
+    }
+
+    protected EntitySerialiser(final EntitySerialiser serialiser, final SerializerProvider provider) throws JsonMappingException {
+        super(serialiser, provider);
+    }
+
+    @Override
+    protected String getVertexFieldName() {
+        return VERTEX.getValue();
+    }
+
+    @Override
+    protected EntitySerialiser createContextual(final SerializerProvider provider) throws JsonMappingException {
+        return new EntitySerialiser(this, provider);
+    }
+
+    @Override
+    protected void writeIdentifiers(final Entity entity, final JsonGenerator generator, final SerializerProvider provider, final Set<String> fieldsToExclude) throws IOException {
+        writeVertex(VERTEX, entity.getVertex(), generator, provider, fieldsToExclude);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerFactory;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import uk.gov.gchq.gaffer.data.element.Properties;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Custom serialiser for {@link Properties}. The property values are written
+ * straight to the {@link JsonGenerator}, using the type information declared
+ * on the bean property that holds the properties, if there is one.
+ */
+public class PropertiesSerialiser extends StdSerializer<Properties> implements ContextualSerializer {
+    private final TypeSerializer valueTypeSerialiser;
+
+    public PropertiesSerialiser() {
+        this(null);
+    }
+
+    protected PropertiesSerialiser(final TypeSerializer valueTypeSerialiser) {
+        super(Properties.class);
+        this.valueTypeSerialiser = valueTypeSerialiser;
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(final SerializerProvider provider, final BeanProperty property) throws JsonMappingException {
+        if (null == property || null == property.getMember()) {
+            return this;
+        }
+
+        final TypeSerializer typeSerialiser = BeanSerializerFactory.instance
+                .findPropertyContentTypeSerializer(property.getType(), provider.getConfig(), property.getMember());
+        return null == typeSerialiser ? this : new PropertiesSerialiser(typeSerialiser);
+    }
+
+    @Override
+    public void serialize(final Properties properties, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+        writeProperties(properties, generator, provider, valueTypeSerialiser);
+    }
+
+    @Override
+    public void serializeWithType(final Properties properties, final JsonGenerator generator, final SerializerProvider provider, final TypeSerializer typeSerialiser) throws IOException {
+        typeSerialiser.writeTypePrefixForObject(properties, generator);
+        writePropertyFields(properties, generator, provider, valueTypeSerialiser);
+        typeSerialiser.writeTypeSuffixForObject(properties, generator);
+    }
+
+    /**
+     * Writes the properties as a json object.
+     *
+     * @param properties          the properties to write
+     * @param generator           the json generator to write to
+     * @param provider            the serializer provider
+     * @param valueTypeSerialiser the type serialiser for the property values, or null to write them without type information
+     * @throws IOException if the properties could not be written
+     */
+    public static void writeProperties(final Properties properties, final JsonGenerator generator, final SerializerProvider provider, final TypeSerializer valueTypeSerialiser) throws IOException {
+        generator.writeStartObject();
+        writePropertyFields(properties, generator, provider, valueTypeSerialiser);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a single value, looking up the serialiser for the value's class
+     * from the provider's cache.
+     *
+     * @param value          the value to write
+     * @param generator      the json generator to write to
+     * @param provider       the serializer provider
+     * @param typeSerialiser the type serialiser to use, or null to write the value without type information
+     * @throws IOException if the value could not be written
+     */
+    public static void writeValue(final Object value, final JsonGenerator generator, final SerializerProvider provider, final TypeSerializer typeSerialiser) throws IOException {
+        if (null == value) {
+            generator.writeNull();
+            return;
+        }
+
+        final JsonSerializer<Object> serialiser = provider.findValueSerializer(value.getClass(), null);
+        if (null == typeSerialiser) {
+            serialiser.serialize(value, generator, provider);
+        } else {
+            serialiser.serializeWithType(value, generator, provider, typeSerialiser);
+        }
+    }
+
+    private static void writePropertyFields(final Properties properties, final JsonGenerator generator, final SerializerProvider provider, final TypeSerializer valueTypeSerialiser) throws IOException {
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            writeValue(entry.getValue(), generator, provider, valueTypeSerialiser);
+        }
+    }
+}
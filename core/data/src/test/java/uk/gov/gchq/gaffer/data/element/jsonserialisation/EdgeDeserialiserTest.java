@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class EdgeDeserialiserTest {
+    @Test
+    public void shouldDeserialiseEdgeWithTypedValues() throws SerialisationException {
+        // Given
+        final String json = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\","
+                + "\"group\":\"g\","
+                + "\"source\":\"a\","
+                + "\"destination\":{\"java.lang.Long\":5},"
+                + "\"directed\":true,"
+                + "\"matchedVertex\":\"SOURCE\","
+                + "\"properties\":{"
+                + "\"date\":{\"java.util.Date\":0},"
+                + "\"set\":{\"java.util.TreeSet\":[\"a\",\"b\"]},"
+                + "\"i\":1,"
+                + "\"l\":{\"java.lang.Long\":2}}}";
+
+        // When
+        final Edge edge = JSONSerialiser.deserialise(json.getBytes(), Edge.class);
+
+        // Then
+        assertEquals(new Edge.Builder()
+                .group("g")
+                .source("a")
+                .dest(5L)
+                .directed(true)
+                .matchedVertex(MatchedVertex.SOURCE)
+                .property("date", new Date(0L))
+                .property("set", Sets.newTreeSet(Arrays.asList("a", "b")))
+                .property("i", 1)
+                .property("l", 2L)
+                .build(), edge);
+        assertEquals(MatchedVertex.SOURCE, edge.getMatchedVertex());
+    }
+
+    @Test
+    public void shouldDeserialiseEdgeWhenClassIsNotTheFirstField() throws SerialisationException {
+        // Given
+        final String json = "{\"group\":\"g\",\"source\":1,\"class\":\"Edge\",\"destination\":2,\"directedType\":\"UNDIRECTED\"}";
+
+        // When
+        final Element element = JSONSerialiser.deserialise(json.getBytes(), Element.class);
+
+        // Then
+        assertEquals(new Edge.Builder()
+                .group("g")
+                .source(1)
+                .dest(2)
+                .directed(false)
+                .build(), element);
+        assertFalse(((Edge) element).isDirected());
+    }
+
+    @Test
+    public void shouldIgnoreUnknownFields() throws SerialisationException {
+        // Given
+        final String json = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\",\"group\":\"g\",\"unknown\":{\"a\":[1,2]},\"source\":\"a\",\"destination\":\"b\"}";
+
+        // When
+        final Edge edge = JSONSerialiser.deserialise(json.getBytes(), Edge.class);
+
+        // Then
+        assertEquals(new Edge.Builder()
+                .group("g")
+                .source("a")
+                .dest("b")
+                .directed(true)
+                .build(), edge);
+    }
+
+    @Test
+    public void shouldRoundTripMixedElements() throws SerialisationException {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                new Edge.Builder().group("g").source("a").dest(new Date(1L)).directed(true).property("p", 1L).build(),
+                new Entity.Builder().group("g").vertex(1.5f).property("p", "x").build()
+        );
+
+        // When
+        final List<Element> result = JSONSerialiser.deserialise(JSONSerialiser.serialise(elements), new TypeReference<List<Element>>() {
+        });
+
+        // Then
+        assertEquals(elements, result);
+    }
+}
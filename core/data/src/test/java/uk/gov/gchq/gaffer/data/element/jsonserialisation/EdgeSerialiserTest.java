@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class EdgeSerialiserTest {
+    @Test
+    public void shouldSerialiseEdgeInTheSameFormatAsTheBeanSerialiser() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group("g")
+                .source("a")
+                .dest(5L)
+                .directed(true)
+                .property("date", new Date(0L))
+                .property("b", true)
+                .property("s", "x")
+                .property("set", Sets.newTreeSet(Arrays.asList("a", "b")))
+                .property("d", 1.5)
+                .property("f", 1.5f)
+                .property("i", 1)
+                .property("l", 2L)
+                .build();
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(edge));
+
+        // Then
+        assertEquals("{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\","
+                + "\"group\":\"g\","
+                + "\"source\":\"a\","
+                + "\"destination\":{\"java.lang.Long\":5},"
+                + "\"directed\":true,"
+                + "\"properties\":{"
+                + "\"date\":{\"java.util.Date\":0},"
+                + "\"b\":true,"
+                + "\"s\":\"x\","
+                + "\"set\":{\"java.util.TreeSet\":[\"a\",\"b\"]},"
+                + "\"d\":1.5,"
+                + "\"f\":{\"java.lang.Float\":1.5},"
+                + "\"i\":1,"
+                + "\"l\":{\"java.lang.Long\":2}}}", json);
+    }
+
+    @Test
+    public void shouldSerialiseMatchedVertexAndEmptyProperties() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group("g")
+                .source(1)
+                .dest(2)
+                .directed(false)
+                .matchedVertex(MatchedVertex.DESTINATION)
+                .build();
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(edge));
+
+        // Then
+        assertEquals("{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\","
+                + "\"group\":\"g\","
+                + "\"source\":1,"
+                + "\"destination\":2,"
+                + "\"directed\":false,"
+                + "\"matchedVertex\":\"DESTINATION\","
+                + "\"properties\":{}}", json);
+    }
+
+    @Test
+    public void shouldExcludeFields() throws SerialisationException {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group("g")
+                .source("a")
+                .dest("b")
+                .directed(true)
+                .property("p", 1)
+                .build();
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(edge, "properties", "directed"));
+
+        // Then
+        assertEquals("{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\","
+                + "\"group\":\"g\","
+                + "\"source\":\"a\","
+                + "\"destination\":\"b\"}", json);
+    }
+
+    @Test
+    public void shouldSerialiseEdgesInAList() throws SerialisationException {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                new Edge.Builder().group("g").source("a").dest("b").directed(true).build(),
+                new Entity.Builder().group("g").vertex("a").build()
+        );
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(elements));
+
+        // Then
+        assertEquals("[{\"class\":\"uk.gov.gchq.gaffer.data.element.Edge\","
+                + "\"group\":\"g\",\"source\":\"a\",\"destination\":\"b\",\"directed\":true,\"properties\":{}},"
+                + "{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\","
+                + "\"group\":\"g\",\"vertex\":\"a\",\"properties\":{}}]", json);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EntityDeserialiserTest {
+    @Test
+    public void shouldDeserialiseEntityWithTypedValues() throws SerialisationException {
+        // Given
+        final String json = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\","
+                + "\"group\":\"g\","
+                + "\"vertex\":{\"java.lang.Long\":1},"
+                + "\"properties\":{\"l\":{\"java.lang.Long\":2},\"s\":\"x\"}}";
+
+        // When
+        final Element element = JSONSerialiser.deserialise(json.getBytes(), Element.class);
+
+        // Then
+        assertEquals(new Entity.Builder()
+                .group("g")
+                .vertex(1L)
+                .property("l", 2L)
+                .property("s", "x")
+                .build(), element);
+    }
+
+    @Test
+    public void shouldDeserialiseEntityWithNullFields() throws SerialisationException {
+        // Given
+        final String json = "{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\",\"group\":\"g\",\"vertex\":null,\"properties\":{\"p\":null}}";
+
+        // When
+        final Entity entity = JSONSerialiser.deserialise(json.getBytes(), Entity.class);
+
+        // Then
+        assertEquals("g", entity.getGroup());
+        assertNull(entity.getVertex());
+        assertEquals(0, entity.getProperties().size());
+    }
+}
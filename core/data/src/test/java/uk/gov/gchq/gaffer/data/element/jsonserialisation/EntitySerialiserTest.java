@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import static org.junit.Assert.assertEquals;
+
+public class EntitySerialiserTest {
+    @Test
+    public void shouldSerialiseEntityInTheSameFormatAsTheBeanSerialiser() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group("g")
+                .vertex(new int[]{1})
+                .property("l", 2L)
+                .build();
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(entity));
+
+        // Then
+        assertEquals("{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\","
+                + "\"group\":\"g\","
+                + "\"vertex\":{\"[I\":[1]},"
+                + "\"properties\":{\"l\":{\"java.lang.Long\":2}}}", json);
+    }
+
+    @Test
+    public void shouldNotExcludeEntityFields() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group("g")
+                .vertex("a")
+                .build();
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(entity, "properties"));
+
+        // Then
+        assertEquals("{\"class\":\"uk.gov.gchq.gaffer.data.element.Entity\","
+                + "\"group\":\"g\","
+                + "\"vertex\":\"a\","
+                + "\"properties\":{}}", json);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.data.element.jsonserialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+public class PropertiesSerialiserTest {
+    @Test
+    public void shouldSerialisePropertiesWithoutTypeInformation() throws SerialisationException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put("date", new Date(0L));
+        properties.put("l", 2L);
+        properties.put("s", "x");
+
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(properties));
+
+        // Then
+        assertEquals("{\"date\":0,\"s\":\"x\",\"l\":2}", json);
+    }
+
+    @Test
+    public void shouldSerialiseEmptyProperties() throws SerialisationException {
+        // When
+        final String json = StringUtil.toString(JSONSerialiser.serialise(new Properties()));
+
+        // Then
+        assertEquals("{}", json);
+    }
+}
@@ -52,6 +52,7 @@ import uk.gov.gchq.gaffer.store.StoreTrait;
 import uk.gov.gchq.gaffer.store.library.GraphLibrary;
 import uk.gov.gchq.gaffer.store.library.NoGraphLibrary;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
 
@@ -265,6 +266,7 @@ public final class Graph {
         context.setOriginalOpChain(wrappedOriginal);
 
         final Context clonedContext = context.shallowClone();
+        addStatisticsToContext(clonedContext);
         final OperationChain clonedOpChain = wrappedOriginal.shallowClone();
         JobDetail result = null;
         try {
@@ -293,6 +295,13 @@ public final class Graph {
         return result;
     }
 
+    private void addStatisticsToContext(final Context context) {
+        final GraphStatistics statistics = store.getStatistics();
+        if (null != statistics) {
+            context.setConfig(GraphStatistics.CONTEXT_CONFIG_KEY, statistics);
+        }
+    }
+
     private <O> GraphResult<O> _execute(final StoreExecuter<O> storeExecuter, final GraphRequest<?> request) throws OperationException {
         if (null == request) {
             throw new IllegalArgumentException("A request is required");
@@ -305,6 +314,7 @@ public final class Graph {
         request.getContext().setOriginalOpChain(request.getOperationChain());
 
         final Context clonedContext = request.getContext().shallowClone();
+        addStatisticsToContext(clonedContext);
         final OperationChain clonedOpChain = request.getOperationChain().shallowClone();
         O result = null;
         try {
@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.operation.handler.ScoreOperationChainHandler;
 import uk.gov.gchq.gaffer.store.operation.resolver.ScoreResolver;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 
 import java.util.Map;
 
@@ -44,6 +45,10 @@ import java.util.Map;
  * The class delegates the logic to {@link ScoreOperationChainHandler}. If you
  * wish to use the {@link uk.gov.gchq.gaffer.operation.impl.ScoreOperationChain} operation and this graph hook,
  * then both need to have the same score configuration.
+ * If elementsPerScore is set and the store collects statistics, then the scores
+ * of GetAllElements, GetElements and GetAdjacentIds operations are estimated
+ * from the number of elements they are expected to return, see
+ * {@link uk.gov.gchq.gaffer.store.operation.resolver.StatisticsScoreResolver}.
  */
 @JsonPropertyOrder(alphabetic = true)
 public class OperationChainLimiter implements GraphHook {
@@ -61,7 +66,8 @@ public class OperationChainLimiter implements GraphHook {
     @Override
     public void preExecute(final OperationChain<?> opChain, final Context context) {
         if (null != opChain) {
-            Integer chainScore = scorer.getChainScore(opChain, context.getUser());
+            final GraphStatistics statistics = (GraphStatistics) context.getConfig(GraphStatistics.CONTEXT_CONFIG_KEY);
+            Integer chainScore = scorer.getChainScore(opChain, context.getUser(), statistics);
             Integer maxAuthScore = scorer.getMaxUserAuthScore(context.getUser().getOpAuths());
 
             if (chainScore > maxAuthScore) {
@@ -111,6 +117,14 @@ public class OperationChainLimiter implements GraphHook {
         scorer.setAuthScores(authScores);
     }
 
+    public Long getElementsPerScore() {
+        return scorer.getElementsPerScore();
+    }
+
+    public void setElementsPerScore(final Long elementsPerScore) {
+        scorer.setElementsPerScore(elementsPerScore);
+    }
+
     public Map<Class<? extends Operation>, ScoreResolver> getScoreResolvers() {
         return scorer.getScoreResolvers();
     }
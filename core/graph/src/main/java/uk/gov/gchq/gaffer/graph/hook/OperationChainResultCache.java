@@ -0,0 +1,490 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.graph.hook;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.Operations;
+import uk.gov.gchq.gaffer.operation.export.Export;
+import uk.gov.gchq.gaffer.operation.export.GetExport;
+import uk.gov.gchq.gaffer.operation.impl.GetVariable;
+import uk.gov.gchq.gaffer.operation.impl.GetVariables;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromFile;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromKafka;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElementsFromSocket;
+import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
+import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
+import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.BaseStream;
+
+/**
+ * An {@code OperationChainResultCache} is a {@link GraphHook} that caches the
+ * results of read only {@link OperationChain}s in an {@link ICache} provided by
+ * the {@link CacheServiceLoader}.
+ * <p>
+ * Results are keyed on a hash of the JSON serialised operation chain and the
+ * user's data auths. The named operation and named view resolvers are always
+ * added to the start of the graph hooks so the key is built from the resolved
+ * chain. This hook should be added after any authorising hooks, such as the
+ * {@link OperationAuthoriser} or {@link OperationChainLimiter}, so cached results
+ * are only returned to users that are allowed to run the chain.
+ * </p>
+ * <p>
+ * Cached entries expire after {@code timeToLive} milliseconds and once the cache
+ * holds {@code maxEntries} entries the oldest entry is evicted. Iterable results
+ * larger than {@code maxResultSize} are not cached. The whole cache is
+ * invalidated when a chain containing one of the {@code invalidatingOperations}
+ * completes successfully.
+ * </p>
+ * <p>
+ * When a cached result is found the operation chain is replaced with a
+ * {@link GetVariable} operation that returns the cached result from the
+ * {@link Context}, so the chain is still executed through the store as normal.
+ * </p>
+ */
+@JsonPropertyOrder(alphabetic = true)
+public class OperationChainResultCache implements GraphHook {
+    public static final String DEFAULT_CACHE_NAME = "OperationChainResultCache";
+    public static final long DEFAULT_TIME_TO_LIVE = 60000L;
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+    public static final int DEFAULT_MAX_RESULT_SIZE = 10000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationChainResultCache.class);
+    private static final String KEY_VARIABLE = OperationChainResultCache.class.getName() + ".key";
+    private static final String RESULT_VARIABLE = OperationChainResultCache.class.getName() + ".result";
+    private static final Set<Class<? extends Operation>> NON_CACHEABLE_OPERATIONS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            GetVariable.class,
+            GetVariables.class,
+            GetJobDetails.class,
+            GetAllJobDetails.class,
+            GetJobResults.class
+    )));
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private String cacheName = DEFAULT_CACHE_NAME;
+    private long timeToLive = DEFAULT_TIME_TO_LIVE;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private int maxResultSize = DEFAULT_MAX_RESULT_SIZE;
+    private List<Class<? extends Operation>> invalidatingOperations = new ArrayList<>(Arrays.asList(
+            AddElements.class,
+            AddElementsFromFile.class,
+            AddElementsFromKafka.class,
+            AddElementsFromSocket.class
+    ));
+
+    @Override
+    public void preExecute(final OperationChain<?> opChain, final Context context) {
+        removeVariables(context);
+
+        final ICache<String, CachedResult> cache = getCache();
+        if (null == cache || !isCacheable(opChain)) {
+            return;
+        }
+
+        final String key = createKey(opChain, context);
+        if (null == key) {
+            return;
+        }
+
+        final CachedResult cachedResult = cache.get(key);
+        if (null != cachedResult && !isExpired(cachedResult)) {
+            hits.incrementAndGet();
+            LOGGER.debug("Result cache hit for key {}", key);
+            context.setVariable(RESULT_VARIABLE, cachedResult.toResult());
+            opChain.updateOperations(Collections.singletonList(new GetVariable.Builder()
+                    .variableName(RESULT_VARIABLE)
+                    .build()));
+            return;
+        }
+
+        if (null != cachedResult) {
+            cache.remove(key);
+        }
+        misses.incrementAndGet();
+        LOGGER.debug("Result cache miss for key {}", key);
+        context.setVariable(KEY_VARIABLE, key);
+    }
+
+    @Override
+    public <T> T postExecute(final T result, final OperationChain<?> opChain, final Context context) {
+        if (containsInvalidatingOperation(opChain)) {
+            invalidate();
+        }
+
+        final String key = (String) getVariable(context, KEY_VARIABLE);
+        removeVariables(context);
+        if (null == key || null == result || result instanceof JobDetail
+                || result instanceof BaseStream || result instanceof Iterator) {
+            return result;
+        }
+
+        final ICache<String, CachedResult> cache = getCache();
+        if (null == cache) {
+            return result;
+        }
+
+        if (result instanceof Iterable && !(result instanceof Collection)) {
+            return (T) cacheIterable(cache, key, (Iterable<?>) result);
+        }
+
+        if (result instanceof Collection && ((Collection) result).size() > maxResultSize) {
+            return result;
+        }
+
+        final CachedResult cachedResult = new CachedResult(result, false, System.currentTimeMillis());
+        addToCache(cache, key, cachedResult);
+        return (T) cachedResult.toResult();
+    }
+
+    @Override
+    public <T> T onFailure(final T result, final OperationChain<?> opChain, final Context context, final Exception e) {
+        removeVariables(context);
+        return result;
+    }
+
+    /**
+     * Removes all entries from the result cache.
+     */
+    public void invalidate() {
+        final ICache<String, CachedResult> cache = getCache();
+        if (null != cache) {
+            try {
+                cache.clear();
+            } catch (final CacheOperationException e) {
+                LOGGER.warn("Failed to invalidate the result cache {}: {}", cacheName, e.getMessage());
+            }
+        }
+    }
+
+    @JsonIgnore
+    public long getHits() {
+        return hits.get();
+    }
+
+    @JsonIgnore
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(final String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public int getMaxResultSize() {
+        return maxResultSize;
+    }
+
+    public void setMaxResultSize(final int maxResultSize) {
+        this.maxResultSize = maxResultSize;
+    }
+
+    public List<Class<? extends Operation>> getInvalidatingOperations() {
+        return invalidatingOperations;
+    }
+
+    public void setInvalidatingOperations(final List<Class<? extends Operation>> invalidatingOperations) {
+        this.invalidatingOperations = invalidatingOperations;
+    }
+
+    private ICache<String, CachedResult> getCache() {
+        if (!CacheServiceLoader.isEnabled()) {
+            LOGGER.debug("The cache service is not enabled, results will not be cached");
+            return null;
+        }
+        return CacheServiceLoader.getService().getCache(cacheName);
+    }
+
+    private static Object getVariable(final Context context, final String name) {
+        return null != context.getVariables() ? context.getVariable(name) : null;
+    }
+
+    private static void removeVariables(final Context context) {
+        if (null != context.getVariables()) {
+            context.getVariables().remove(KEY_VARIABLE);
+            context.getVariables().remove(RESULT_VARIABLE);
+        }
+    }
+
+    private boolean isCacheable(final Operations<?> operations) {
+        for (final Operation operation : operations.getOperations()) {
+            if (operation instanceof Operations) {
+                if (!isCacheable((Operations<?>) operation)) {
+                    return false;
+                }
+            } else if (!(operation instanceof Output)
+                    || operation instanceof Export
+                    || operation instanceof GetExport
+                    || NON_CACHEABLE_OPERATIONS.contains(operation.getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean containsInvalidatingOperation(final Operations<?> operations) {
+        if (null == invalidatingOperations || invalidatingOperations.isEmpty()) {
+            return false;
+        }
+        for (final Operation operation : operations.getOperations()) {
+            if (operation instanceof Operations && containsInvalidatingOperation((Operations<?>) operation)) {
+                return true;
+            }
+            for (final Class<? extends Operation> invalidatingOperation : invalidatingOperations) {
+                if (invalidatingOperation.isInstance(operation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String createKey(final OperationChain<?> opChain, final Context context) {
+        final byte[] chainBytes;
+        try {
+            chainBytes = JSONSerialiser.getMapper()
+                    .writer()
+                    .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsBytes(opChain);
+        } catch (final JsonProcessingException e) {
+            // Operation chains should always be json serialisable, so this
+            // should only happen if mocks are used in testing.
+            LOGGER.warn("Failed to serialise operation chain: {} due to {}", opChain, e.getMessage());
+            return null;
+        }
+
+        final Set<String> dataAuths = null != context.getUser().getDataAuths()
+                ? new TreeSet<>(context.getUser().getDataAuths()) : Collections.emptySet();
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(chainBytes);
+            for (final String dataAuth : dataAuths) {
+                digest.update((byte) 0);
+                digest.update(dataAuth.getBytes(StandardCharsets.UTF_8));
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean isExpired(final CachedResult cachedResult) {
+        return timeToLive > 0 && System.currentTimeMillis() - cachedResult.getTimestamp() > timeToLive;
+    }
+
+    private Object cacheIterable(final ICache<String, CachedResult> cache, final String key, final Iterable<?> iterable) {
+        final Iterator<?> iterator = iterable.iterator();
+        final List<Object> items = new ArrayList<>();
+        while (iterator.hasNext()) {
+            if (items.size() >= maxResultSize) {
+                LOGGER.debug("Result for key {} exceeded the maximum result size of {} and will not be cached", key, maxResultSize);
+                return new BufferedIterable<>((List<Object>) items, (Iterator<Object>) iterator, (Iterable<Object>) iterable);
+            }
+            items.add(iterator.next());
+        }
+        CloseableUtil.close(iterator);
+        CloseableUtil.close(iterable);
+
+        final CachedResult cachedResult = new CachedResult(items, true, System.currentTimeMillis());
+        addToCache(cache, key, cachedResult);
+        return cachedResult.toResult();
+    }
+
+    private void addToCache(final ICache<String, CachedResult> cache, final String key, final CachedResult cachedResult) {
+        try {
+            evictIfFull(cache);
+            cache.put(key, cachedResult);
+        } catch (final CacheOperationException e) {
+            LOGGER.warn("Failed to add result to the result cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private synchronized void evictIfFull(final ICache<String, CachedResult> cache) {
+        if (maxEntries <= 0 || cache.size() < maxEntries) {
+            return;
+        }
+
+        String oldestKey = null;
+        long oldestTimestamp = Long.MAX_VALUE;
+        for (final String key : new ArrayList<>(cache.getAllKeys())) {
+            final CachedResult cachedResult = cache.get(key);
+            if (null == cachedResult || isExpired(cachedResult)) {
+                cache.remove(key);
+            } else if (cachedResult.getTimestamp() < oldestTimestamp) {
+                oldestTimestamp = cachedResult.getTimestamp();
+                oldestKey = key;
+            }
+        }
+
+        if (null != oldestKey && cache.size() >= maxEntries) {
+            cache.remove(oldestKey);
+        }
+    }
+
+    /**
+     * A cached result along with the time it was added to the cache.
+     * Lazy iterable results are cached as a {@link List} and are returned to
+     * the user wrapped in a {@link WrappedCloseableIterable}.
+     */
+    public static class CachedResult implements Serializable {
+        private static final long serialVersionUID = -3546329584927353092L;
+        private final Object result;
+        private final boolean iterable;
+        private final long timestamp;
+
+        public CachedResult(final Object result, final boolean iterable, final long timestamp) {
+            this.result = result;
+            this.iterable = iterable;
+            this.timestamp = timestamp;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+
+        public boolean isIterable() {
+            return iterable;
+        }
+
+        /**
+         * @return a read only view of the cached result.
+         */
+        public Object toResult() {
+            if (iterable) {
+                return new WrappedCloseableIterable<>(Collections.unmodifiableList((List<?>) result));
+            }
+            if (result instanceof List) {
+                return Collections.unmodifiableList((List<?>) result);
+            }
+            if (result instanceof Set) {
+                return Collections.unmodifiableSet((Set<?>) result);
+            }
+            return result;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    /**
+     * An iterable over the items already read from a partially consumed
+     * iterator followed by the remaining items of that iterator.
+     * It can only be iterated over once.
+     */
+    private static final class BufferedIterable<T> implements CloseableIterable<T> {
+        private final List<T> buffer;
+        private final Iterator<T> remaining;
+        private final Iterable<T> source;
+
+        private BufferedIterable(final List<T> buffer, final Iterator<T> remaining, final Iterable<T> source) {
+            this.buffer = buffer;
+            this.remaining = remaining;
+            this.source = source;
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(remaining);
+            CloseableUtil.close(source);
+        }
+
+        @Override
+        public CloseableIterator<T> iterator() {
+            final Iterator<T> bufferIterator = buffer.iterator();
+            return new CloseableIterator<T>() {
+                @Override
+                public void close() {
+                    BufferedIterable.this.close();
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return bufferIterator.hasNext() || remaining.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    if (bufferIterator.hasNext()) {
+                        return bufferIterator.next();
+                    }
+                    if (!remaining.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return remaining.next();
+                }
+            };
+        }
+    }
+}
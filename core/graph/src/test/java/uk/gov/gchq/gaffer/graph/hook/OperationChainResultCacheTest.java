@@ -0,0 +1,243 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.graph.hook;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
+import uk.gov.gchq.gaffer.cache.impl.HashMapCacheService;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.GetVariable;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class OperationChainResultCacheTest extends GraphHookTest<OperationChainResultCache> {
+
+    public OperationChainResultCacheTest() {
+        super(OperationChainResultCache.class);
+    }
+
+    @Before
+    public void before() {
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        CacheServiceLoader.initialise(properties);
+    }
+
+    @After
+    public void after() {
+        CacheServiceLoader.shutdown();
+    }
+
+    @Test
+    public void shouldReturnCachedResultForSameChainAndDataAuths() {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        final List<Entity> result = Arrays.asList(new Entity("group", "vertex"));
+
+        // When
+        final Context missContext = new Context(new User.Builder().dataAuths("A", "B").build());
+        final OperationChain<?> missChain = createReadChain();
+        hook.preExecute(missChain, missContext);
+        hook.postExecute(new WrappedCloseableIterable<>(result), missChain, missContext);
+
+        final Context hitContext = new Context(new User.Builder().dataAuths("B", "A").build());
+        final OperationChain<?> hitChain = createReadChain();
+        hook.preExecute(hitChain, hitContext);
+
+        // Then
+        assertEquals(1, hitChain.getOperations().size());
+        final Operation op = hitChain.getOperations().get(0);
+        assertTrue(op instanceof GetVariable);
+        final Object cachedResult = hitContext.getVariable(((GetVariable) op).getVariableName());
+        assertEquals(result, Lists.newArrayList((CloseableIterable<?>) cachedResult));
+        assertEquals(1, hook.getHits());
+        assertEquals(1, hook.getMisses());
+    }
+
+    @Test
+    public void shouldNotReturnCachedResultForDifferentDataAuths() {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        final Context context = new Context(new User.Builder().dataAuths("A").build());
+        final OperationChain<?> opChain = createReadChain();
+        hook.preExecute(opChain, context);
+        hook.postExecute(Arrays.asList(1, 2), opChain, context);
+
+        // When
+        final OperationChain<?> otherChain = createReadChain();
+        hook.preExecute(otherChain, new Context(new User.Builder().dataAuths("B").build()));
+
+        // Then
+        assertTrue(otherChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, hook.getHits());
+        assertEquals(2, hook.getMisses());
+    }
+
+    @Test
+    public void shouldNotCacheChainsContainingAddElements() {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new AddElements())
+                .build();
+        final Context context = new Context(new User());
+
+        // When
+        hook.preExecute(opChain, context);
+        hook.postExecute(null, opChain, context);
+
+        // Then
+        assertEquals(0, hook.getMisses());
+        assertEquals(0, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+    }
+
+    @Test
+    public void shouldInvalidateCacheWhenAddElementsSucceeds() {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        final Context context = new Context(new User());
+        final OperationChain<?> readChain = createReadChain();
+        hook.preExecute(readChain, context);
+        hook.postExecute(Arrays.asList(1, 2), readChain, context);
+        assertEquals(1, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+
+        // When
+        final OperationChain<?> addChain = new OperationChain.Builder()
+                .first(new AddElements())
+                .build();
+        hook.preExecute(addChain, context);
+        hook.postExecute(null, addChain, context);
+
+        // Then
+        assertEquals(0, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+    }
+
+    @Test
+    public void shouldNotReturnExpiredResults() throws InterruptedException {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        hook.setTimeToLive(1);
+        final Context context = new Context(new User());
+        final OperationChain<?> opChain = createReadChain();
+        hook.preExecute(opChain, context);
+        hook.postExecute(Arrays.asList(1, 2), opChain, context);
+        Thread.sleep(10);
+
+        // When
+        final OperationChain<?> secondChain = createReadChain();
+        hook.preExecute(secondChain, context);
+
+        // Then
+        assertTrue(secondChain.getOperations().get(0) instanceof GetElements);
+        assertEquals(0, hook.getHits());
+    }
+
+    @Test
+    public void shouldNotCacheResultsLargerThanMaxResultSize() {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        hook.setMaxResultSize(2);
+        final Context context = new Context(new User());
+        final OperationChain<?> opChain = createReadChain();
+        final List<Integer> items = Arrays.asList(1, 2, 3);
+        hook.preExecute(opChain, context);
+
+        // When
+        final Object result = hook.postExecute(new WrappedCloseableIterable<>(items), opChain, context);
+
+        // Then
+        assertEquals(items, Lists.newArrayList((Iterable<?>) result));
+        assertEquals(0, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+    }
+
+    @Test
+    public void shouldEvictOldestEntryWhenFull() {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        hook.setMaxEntries(2);
+        final Context context = new Context(new User());
+
+        // When
+        for (final String vertex : Arrays.asList("1", "2", "3")) {
+            final OperationChain<?> opChain = createReadChain(vertex);
+            hook.preExecute(opChain, context);
+            hook.postExecute(Arrays.asList(vertex), opChain, context);
+        }
+
+        // Then
+        assertEquals(2, CacheServiceLoader.getService().sizeOfCache(hook.getCacheName()));
+        final OperationChain<?> newestChain = createReadChain("3");
+        hook.preExecute(newestChain, context);
+        assertTrue(newestChain.getOperations().get(0) instanceof GetVariable);
+    }
+
+    @Test
+    public void shouldReturnReadOnlyCopyOfCollectionResults() {
+        // Given
+        final OperationChainResultCache hook = getTestObject();
+        final Context context = new Context(new User());
+        final OperationChain<?> opChain = createReadChain();
+        final List<Integer> result = Lists.newArrayList(1, 2);
+        hook.preExecute(opChain, context);
+
+        // When
+        final Object returned = hook.postExecute(result, opChain, context);
+
+        // Then
+        assertNotSame(result, returned);
+        assertEquals(result, returned);
+    }
+
+    @Override
+    public OperationChainResultCache getTestObject() {
+        return new OperationChainResultCache();
+    }
+
+    private OperationChain<?> createReadChain() {
+        return createReadChain("vertex");
+    }
+
+    private OperationChain<?> createReadChain(final String vertex) {
+        return new OperationChain.Builder()
+                .first(new GetElements.Builder()
+                        .input(new EntitySeed(vertex))
+                        .build())
+                .then(new ToList<>())
+                .build();
+    }
+}
@@ -22,10 +22,7 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.user.User;
 
-import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * A {@code JobTracker} is an entry in a Gaffer cache service which is used to store
@@ -34,6 +31,7 @@ import java.util.stream.Collectors;
 public class JobTracker {
 
     private static final String CACHE_NAME = "JobTracker";
+    private static final int BATCH_SIZE = 100;
 
     /**
      * Add or update the job details relating to a job in the job tracker cache.
@@ -62,18 +60,17 @@ public class JobTracker {
     }
 
     /**
-     * Get all jobs from the job tracker cache.
+     * Get all jobs from the job tracker cache. The jobs are fetched lazily from
+     * the cache, in batches, each time the result is iterated.
      *
      * @param user the user making the request to the job tracker
      * @return a {@link CloseableIterable} containing all of the job details
      */
     public CloseableIterable<JobDetail> getAllJobs(final User user) {
-        final Set<String> jobIds = CacheServiceLoader.getService().getAllKeysFromCache(CACHE_NAME);
-        final List<JobDetail> jobs = jobIds.stream()
+        final Iterable<JobDetail> jobs = () -> CacheServiceLoader.getService()
+                .<String, JobDetail>streamValuesFromCache(CACHE_NAME, BATCH_SIZE)
                 .filter(Objects::nonNull)
-                .map(jobId -> getJob(jobId, user))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                .iterator();
 
         return new WrappedCloseableIterable<>(jobs);
     }
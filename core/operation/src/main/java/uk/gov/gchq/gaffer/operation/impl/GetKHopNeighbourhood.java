@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiEntityIdInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.util.Map;
+
+/**
+ * A {@code GetKHopNeighbourhood} operation returns the vertices that can be
+ * reached from the provided seeds in at most the given number of hops.
+ * <p>
+ * Each hop is a {@link uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds}
+ * over the current frontier, using the view, directed type and
+ * incoming/outgoing type configured on this operation. Vertices that have
+ * already been reached are not queried again. The seeds themselves are not
+ * included in the results.
+ * </p>
+ */
+@JsonPropertyOrder(value = {"class", "input", "view", "hops"}, alphabetic = true)
+@Since("1.11.1")
+@Summary("Gets the vertices within a number of hops of the seeds")
+public class GetKHopNeighbourhood implements
+        InputOutput<Iterable<? extends EntityId>, CloseableIterable<? extends EntityId>>,
+        MultiEntityIdInput,
+        SeededGraphFilters {
+    public static final int DEFAULT_HOPS = 1;
+
+    private Iterable<? extends EntityId> input;
+    private View view;
+    private DirectedType directedType;
+    private IncludeIncomingOutgoingType includeIncomingOutGoing;
+    private int hops = DEFAULT_HOPS;
+    private Integer batchSize;
+    private Map<String, String> options;
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    @Override
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return includeIncomingOutGoing;
+    }
+
+    @Override
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType inOutType) {
+        this.includeIncomingOutGoing = inOutType;
+    }
+
+    public int getHops() {
+        return hops;
+    }
+
+    public void setHops(final int hops) {
+        this.hops = hops;
+    }
+
+    /**
+     * @return the maximum number of vertices to query in a single
+     * GetAdjacentIds operation, or null to query each hop in one batch.
+     */
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public ValidationResult validate() {
+        final ValidationResult result = InputOutput.super.validate();
+        if (hops < 1) {
+            result.addError("hops must be at least 1");
+        }
+        if (null != batchSize && batchSize < 1) {
+            result.addError("batchSize must be at least 1");
+        }
+        return result;
+    }
+
+    @Override
+    public TypeReference<CloseableIterable<? extends EntityId>> getOutputTypeReference() {
+        return new TypeReferenceImpl.CloseableIterableEntityId();
+    }
+
+    @Override
+    public GetKHopNeighbourhood shallowClone() {
+        return new GetKHopNeighbourhood.Builder()
+                .input(input)
+                .view(view)
+                .directedType(directedType)
+                .inOutType(includeIncomingOutGoing)
+                .hops(hops)
+                .batchSize(batchSize)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetKHopNeighbourhood, Builder>
+            implements InputOutput.Builder<GetKHopNeighbourhood, Iterable<? extends EntityId>, CloseableIterable<? extends EntityId>, Builder>,
+            MultiEntityIdInput.Builder<GetKHopNeighbourhood, Builder>,
+            SeededGraphFilters.Builder<GetKHopNeighbourhood, Builder> {
+        public Builder() {
+            super(new GetKHopNeighbourhood());
+        }
+
+        public Builder hops(final int hops) {
+            _getOp().setHops(hops);
+            return _self();
+        }
+
+        public Builder batchSize(final Integer batchSize) {
+            _getOp().setBatchSize(batchSize);
+            return _self();
+        }
+    }
+}
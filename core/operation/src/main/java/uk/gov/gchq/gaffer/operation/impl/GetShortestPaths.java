@@ -0,0 +1,250 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Iterables;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiEntityIdInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+import uk.gov.gchq.gaffer.operation.util.OperationUtil;
+import uk.gov.gchq.koryphe.Since;
+import uk.gov.gchq.koryphe.Summary;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code GetShortestPaths} operation returns the shortest paths from each
+ * of the input seeds to each of the target seeds. Each path is returned as the
+ * list of vertices visited, starting with the source and ending with the
+ * target. If there are several paths of the same shortest length then all of
+ * them are returned, up to the results limit.
+ * <p>
+ * The paths are found using a bidirectional breadth first search, expanding
+ * the smaller of the two frontiers with a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds} on each hop,
+ * so only vertices within half of the path length of either end are queried.
+ * </p>
+ */
+@JsonPropertyOrder(value = {"class", "input", "targets", "view", "maxHops"}, alphabetic = true)
+@Since("1.11.1")
+@Summary("Gets the shortest paths between the seeds and the targets")
+public class GetShortestPaths implements
+        InputOutput<Iterable<? extends EntityId>, Iterable<List<Object>>>,
+        MultiEntityIdInput,
+        SeededGraphFilters {
+    public static final int DEFAULT_MAX_HOPS = 6;
+    public static final int DEFAULT_RESULTS_LIMIT = 1000;
+
+    private Iterable<? extends EntityId> input;
+    @Required
+    private Iterable<? extends EntityId> targets;
+    private View view;
+    private DirectedType directedType;
+    private IncludeIncomingOutgoingType includeIncomingOutGoing;
+    private int maxHops = DEFAULT_MAX_HOPS;
+    private Integer batchSize;
+    private Integer resultsLimit = DEFAULT_RESULTS_LIMIT;
+    private Map<String, String> options;
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    @JsonIgnore
+    public Iterable<? extends EntityId> getTargets() {
+        return targets;
+    }
+
+    @JsonIgnore
+    public void setTargets(final Iterable<? extends EntityId> targets) {
+        this.targets = targets;
+    }
+
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "If targets is null then null should be returned")
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @JsonGetter("targets")
+    public Object[] createTargetsArray() {
+        return null != targets ? Iterables.toArray(targets, Object.class) : null;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @JsonSetter("targets")
+    public void setTargetsFromVerticesAndIds(final Object[] targets) {
+        setTargets(OperationUtil.toEntityIds(targets));
+    }
+
+    @Override
+    public View getView() {
+        return view;
+    }
+
+    @Override
+    public void setView(final View view) {
+        this.view = view;
+    }
+
+    @Override
+    public DirectedType getDirectedType() {
+        return directedType;
+    }
+
+    @Override
+    public void setDirectedType(final DirectedType directedType) {
+        this.directedType = directedType;
+    }
+
+    @Override
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return includeIncomingOutGoing;
+    }
+
+    @Override
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType inOutType) {
+        this.includeIncomingOutGoing = inOutType;
+    }
+
+    public int getMaxHops() {
+        return maxHops;
+    }
+
+    public void setMaxHops(final int maxHops) {
+        this.maxHops = maxHops;
+    }
+
+    /**
+     * @return the maximum number of vertices to query in a single
+     * GetAdjacentIds operation, or null to query each hop in one batch.
+     */
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Integer getResultsLimit() {
+        return resultsLimit;
+    }
+
+    public void setResultsLimit(final Integer resultsLimit) {
+        this.resultsLimit = resultsLimit;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public ValidationResult validate() {
+        final ValidationResult result = InputOutput.super.validate();
+        if (maxHops < 1) {
+            result.addError("maxHops must be at least 1");
+        }
+        if (null != batchSize && batchSize < 1) {
+            result.addError("batchSize must be at least 1");
+        }
+        return result;
+    }
+
+    @Override
+    public TypeReference<Iterable<List<Object>>> getOutputTypeReference() {
+        return new TypeReferenceImpl.IterableListObject();
+    }
+
+    @Override
+    public GetShortestPaths shallowClone() {
+        return new GetShortestPaths.Builder()
+                .input(input)
+                .targetIds(targets)
+                .view(view)
+                .directedType(directedType)
+                .inOutType(includeIncomingOutGoing)
+                .maxHops(maxHops)
+                .batchSize(batchSize)
+                .resultsLimit(resultsLimit)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetShortestPaths, Builder>
+            implements InputOutput.Builder<GetShortestPaths, Iterable<? extends EntityId>, Iterable<List<Object>>, Builder>,
+            MultiEntityIdInput.Builder<GetShortestPaths, Builder>,
+            SeededGraphFilters.Builder<GetShortestPaths, Builder> {
+        public Builder() {
+            super(new GetShortestPaths());
+        }
+
+        public Builder targets(final Object... targets) {
+            _getOp().setTargets(OperationUtil.toEntityIds(targets));
+            return _self();
+        }
+
+        public Builder targets(final Iterable<?> targets) {
+            _getOp().setTargets(OperationUtil.toEntityIds(targets));
+            return _self();
+        }
+
+        public Builder targetIds(final Iterable<? extends EntityId> targets) {
+            _getOp().setTargets(targets);
+            return _self();
+        }
+
+        public Builder maxHops(final int maxHops) {
+            _getOp().setMaxHops(maxHops);
+            return _self();
+        }
+
+        public Builder batchSize(final Integer batchSize) {
+            _getOp().setBatchSize(batchSize);
+            return _self();
+        }
+
+        public Builder resultsLimit(final Integer resultsLimit) {
+            _getOp().setResultsLimit(resultsLimit);
+            return _self();
+        }
+    }
+}
@@ -163,6 +163,9 @@ public final class TypeReferenceImpl {
     public static class IterableWalk extends TypeReference<Iterable<Walk>> {
     }
 
+    public static class IterableListObject extends TypeReference<Iterable<java.util.List<java.lang.Object>>> {
+    }
+
     public static class ValidationResult extends TypeReference<uk.gov.gchq.koryphe.ValidationResult> {
 
     }
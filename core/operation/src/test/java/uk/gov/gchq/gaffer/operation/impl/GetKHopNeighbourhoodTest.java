@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class GetKHopNeighbourhoodTest extends OperationTest<GetKHopNeighbourhood> {
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final GetKHopNeighbourhood op = new GetKHopNeighbourhood.Builder()
+                .input(new EntitySeed("1"), "2")
+                .view(view)
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .hops(3)
+                .batchSize(10)
+                .build();
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("1"), new EntitySeed("2")), Lists.newArrayList(op.getInput()));
+        assertEquals(view, op.getView());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, op.getIncludeIncomingOutGoing());
+        assertEquals(3, op.getHops());
+        assertEquals(10, (int) op.getBatchSize());
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final GetKHopNeighbourhood op = new GetKHopNeighbourhood.Builder()
+                .input(new EntitySeed("1"))
+                .view(view)
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(IncludeIncomingOutgoingType.INCOMING)
+                .hops(2)
+                .batchSize(5)
+                .option("key", "value")
+                .build();
+
+        // When
+        final GetKHopNeighbourhood clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(Lists.newArrayList(new EntitySeed("1")), Lists.newArrayList(clone.getInput()));
+        assertEquals(view, clone.getView());
+        assertEquals(DirectedType.DIRECTED, clone.getDirectedType());
+        assertEquals(IncludeIncomingOutgoingType.INCOMING, clone.getIncludeIncomingOutGoing());
+        assertEquals(2, clone.getHops());
+        assertEquals(5, (int) clone.getBatchSize());
+        assertEquals("value", clone.getOption("key"));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final GetKHopNeighbourhood op = new GetKHopNeighbourhood.Builder()
+                .input(new EntitySeed("1"))
+                .hops(2)
+                .batchSize(5)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final GetKHopNeighbourhood deserialisedOp = JSONSerialiser.deserialise(json, GetKHopNeighbourhood.class);
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("1")), Lists.newArrayList(deserialisedOp.getInput()));
+        assertEquals(2, deserialisedOp.getHops());
+        assertEquals(5, (int) deserialisedOp.getBatchSize());
+    }
+
+    @Test
+    public void shouldFailValidationWhenHopsIsLessThanOne() {
+        // Given
+        final GetKHopNeighbourhood op = new GetKHopNeighbourhood.Builder()
+                .hops(0)
+                .build();
+
+        // When
+        final ValidationResult result = op.validate();
+
+        // Then
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorString(), result.getErrorString().contains("hops must be at least 1"));
+    }
+
+    @Override
+    protected GetKHopNeighbourhood getTestObject() {
+        return new GetKHopNeighbourhood();
+    }
+}
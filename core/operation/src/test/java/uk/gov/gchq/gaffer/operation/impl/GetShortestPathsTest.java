@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.operation.impl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class GetShortestPathsTest extends OperationTest<GetShortestPaths> {
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("targets");
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("1"))
+                .targets("2", new EntitySeed("3"))
+                .view(view)
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING)
+                .maxHops(4)
+                .batchSize(10)
+                .resultsLimit(20)
+                .build();
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("1")), Lists.newArrayList(op.getInput()));
+        assertEquals(Lists.newArrayList(new EntitySeed("2"), new EntitySeed("3")), Lists.newArrayList(op.getTargets()));
+        assertEquals(view, op.getView());
+        assertEquals(IncludeIncomingOutgoingType.OUTGOING, op.getIncludeIncomingOutGoing());
+        assertEquals(4, op.getMaxHops());
+        assertEquals(10, (int) op.getBatchSize());
+        assertEquals(20, (int) op.getResultsLimit());
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("1"))
+                .targets(new EntitySeed("2"))
+                .view(view)
+                .directedType(DirectedType.DIRECTED)
+                .inOutType(IncludeIncomingOutgoingType.INCOMING)
+                .maxHops(3)
+                .batchSize(5)
+                .resultsLimit(7)
+                .option("key", "value")
+                .build();
+
+        // When
+        final GetShortestPaths clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(Lists.newArrayList(new EntitySeed("1")), Lists.newArrayList(clone.getInput()));
+        assertEquals(Lists.newArrayList(new EntitySeed("2")), Lists.newArrayList(clone.getTargets()));
+        assertEquals(view, clone.getView());
+        assertEquals(DirectedType.DIRECTED, clone.getDirectedType());
+        assertEquals(IncludeIncomingOutgoingType.INCOMING, clone.getIncludeIncomingOutGoing());
+        assertEquals(3, clone.getMaxHops());
+        assertEquals(5, (int) clone.getBatchSize());
+        assertEquals(7, (int) clone.getResultsLimit());
+        assertEquals("value", clone.getOption("key"));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .input(new EntitySeed("1"))
+                .targets("2", 3L)
+                .maxHops(4)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final GetShortestPaths deserialisedOp = JSONSerialiser.deserialise(json, GetShortestPaths.class);
+
+        // Then
+        assertEquals(Lists.newArrayList(new EntitySeed("1")), Lists.newArrayList(deserialisedOp.getInput()));
+        assertEquals(Lists.newArrayList(new EntitySeed("2"), new EntitySeed(3L)), Lists.newArrayList(deserialisedOp.getTargets()));
+        assertEquals(4, deserialisedOp.getMaxHops());
+    }
+
+    @Test
+    public void shouldFailValidationWhenMaxHopsIsLessThanOne() {
+        // Given
+        final GetShortestPaths op = new GetShortestPaths.Builder()
+                .targets("2")
+                .maxHops(0)
+                .build();
+
+        // When
+        final ValidationResult result = op.validate();
+
+        // Then
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorString(), result.getErrorString().contains("maxHops must be at least 1"));
+    }
+
+    @Override
+    protected GetShortestPaths getTestObject() {
+        return new GetShortestPaths();
+    }
+}
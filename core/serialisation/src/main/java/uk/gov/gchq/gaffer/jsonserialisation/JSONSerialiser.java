@@ -33,6 +33,8 @@ import com.fasterxml.jackson.databind.ser.BeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.FilterProvider;
 import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JSR310Module;
 import com.google.common.collect.Sets;
 import org.apache.commons.io.IOUtils;
@@ -48,6 +50,7 @@ import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
@@ -71,6 +74,12 @@ import java.util.Set;
  * An update will be done automatically in the REST API when it is first initialised and
  * also when a Store is initialised.
  * </p>
+ * <p>
+ * As well as JSON, the serialiser can also serialise to and from the binary
+ * Smile format using the same configuration, modules and type information.
+ * Smile is a more compact encoding of the same data model, so it is cheaper
+ * to encode, decode and transfer than text JSON.
+ * </p>
  */
 public class JSONSerialiser {
     public static final String JSON_SERIALISER_CLASS_KEY = "gaffer.serialiser.json.class";
@@ -87,12 +96,26 @@ public class JSONSerialiser {
 
     public static final String FILTER_FIELDS_BY_NAME = "filterFieldsByName";
 
+    /**
+     * The key of the writer attribute holding the {@link Set} of field names
+     * to exclude. This allows custom serialisers, which do not go through the
+     * {@link #FILTER_FIELDS_BY_NAME} filter, to exclude the same fields.
+     */
+    public static final String FIELDS_TO_EXCLUDE_ATTRIBUTE = "gaffer.serialiser.json.fieldsToExclude";
+
+    /**
+     * The media type for the binary Smile encoding.
+     */
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+
     private static final JsonFactory JSON_FACTORY = new JsonFactory();
     private static final Logger LOGGER = LoggerFactory.getLogger(JSONSerialiser.class);
 
     private static JSONSerialiser instance;
 
     private final ObjectMapper mapper;
+    private final List<Module> modules = new ArrayList<>();
+    private ObjectMapper smileMapper;
 
     /**
      * Constructs a {@code JSONSerialiser} that skips nulls and default values.
@@ -122,6 +145,7 @@ public class JSONSerialiser {
     protected void registerModules(final Module... modules) {
         for (final Module module : modules) {
             mapper.registerModule(module);
+            this.modules.add(module);
         }
     }
 
@@ -133,6 +157,7 @@ public class JSONSerialiser {
      */
     protected void registerModules(final Collection<Module> modules) {
         modules.forEach(mapper::registerModule);
+        this.modules.addAll(modules);
     }
 
     public static void addSimpleClassNames(final boolean includeSubtypes, final Class... classes) {
@@ -202,6 +227,7 @@ public class JSONSerialiser {
             final List<Module> modules = factory.getModules();
             if (null != modules) {
                 newInstance.mapper.registerModules(modules);
+                newInstance.modules.addAll(modules);
             }
         }
 
@@ -215,7 +241,20 @@ public class JSONSerialiser {
     }
 
     public static ObjectMapper createDefaultMapper() {
-        final ObjectMapper mapper = new ObjectMapper();
+        return createDefaultMapper(null);
+    }
+
+    /**
+     * Creates an {@link ObjectMapper} with the default Gaffer configuration
+     * that reads and writes using the provided {@link JsonFactory}. This can
+     * be used to create mappers for binary formats, such as Smile, that have
+     * the same type information and class name semantics as the JSON mapper.
+     *
+     * @param jsonFactory the factory to use, or null to use the default JSON factory
+     * @return the object mapper
+     */
+    public static ObjectMapper createDefaultMapper(final JsonFactory jsonFactory) {
+        final ObjectMapper mapper = new ObjectMapper(jsonFactory);
         mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
         mapper.configure(SerializationFeature.CLOSE_CLOSEABLE, true);
@@ -306,7 +345,10 @@ public class JSONSerialiser {
             jsonGenerator.useDefaultPrettyPrinter();
         }
 
-        final ObjectWriter writer = getInstance().mapper.writer(getFilterProvider(fieldsToExclude));
+        ObjectWriter writer = getInstance().mapper.writer(getFilterProvider(fieldsToExclude));
+        if (null != fieldsToExclude && fieldsToExclude.length > 0) {
+            writer = writer.withAttribute(FIELDS_TO_EXCLUDE_ATTRIBUTE, Sets.newHashSet(fieldsToExclude));
+        }
         try {
             writer.writeValue(jsonGenerator, object);
         } catch (final IOException e) {
@@ -391,6 +433,72 @@ public class JSONSerialiser {
         }
     }
 
+    /**
+     * Creates the {@link ObjectMapper} used for the Smile format. By default
+     * this is the default mapper with a {@link SmileFactory} that shares
+     * repeated string values, the same modules as the JSON mapper and the same
+     * handling of unknown properties. Child classes that customise the JSON
+     * mapper should override this method to apply the same customisations.
+     *
+     * @return the Smile object mapper
+     */
+    protected ObjectMapper createSmileMapper() {
+        // Class names are written as values, so share repeated string values
+        // as well as repeated field names.
+        final SmileFactory smileFactory = new SmileFactory();
+        smileFactory.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+        final ObjectMapper smile = createDefaultMapper(smileFactory);
+        smile.registerModules(modules);
+        smile.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+                mapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+        return smile;
+    }
+
+    /**
+     * Serialises an object into the binary Smile format.
+     *
+     * @param object the object to be serialised
+     * @return the provided object serialised into Smile bytes
+     * @throws SerialisationException if the object fails to serialise
+     */
+    public static byte[] serialiseSmile(final Object object) throws SerialisationException {
+        try {
+            return getSmileMapper().writer(getFilterProvider()).writeValueAsBytes(object);
+        } catch (final IOException e) {
+            throw new SerialisationException("Failed to serialise object to smile: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param bytes the Smile bytes of the object to deserialise
+     * @param type  the type reference of the object to deserialise
+     * @param <T>   the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the bytes fail to deserialise
+     */
+    public static <T> T deserialiseSmile(final byte[] bytes, final TypeReference<T> type) throws SerialisationException {
+        try {
+            return getSmileMapper().readValue(bytes, type);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param bytes the Smile bytes of the object to deserialise
+     * @param clazz the class of the object to deserialise
+     * @param <T>   the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the bytes fail to deserialise
+     */
+    public static <T> T deserialiseSmile(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
+        try {
+            return getSmileMapper().readValue(bytes, clazz);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     /**
      * @param content the {@link java.lang.String} containing the bytes of the object to deserialise
      * @return the deserialised object
@@ -409,6 +517,17 @@ public class JSONSerialiser {
         return getInstance().mapper;
     }
 
+    @JsonIgnore
+    public static ObjectMapper getSmileMapper() {
+        final JSONSerialiser serialiser = getInstance();
+        synchronized (serialiser) {
+            if (null == serialiser.smileMapper) {
+                serialiser.smileMapper = serialiser.createSmileMapper();
+            }
+            return serialiser.smileMapper;
+        }
+    }
+
     @JsonIgnore
     public static JSONSerialiser getInstance() {
         if (null == instance) {
@@ -38,6 +38,7 @@ import uk.gov.gchq.gaffer.serialisation.ParameterisedTestObject;
 import uk.gov.gchq.gaffer.serialisation.SimpleTestObject;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -148,6 +149,43 @@ public class JSONSerialiserTest {
         assertEquals(Integer.valueOf(2), o.getK());
     }
 
+    @Test
+    public void shouldSerialiseAndDeserialiseSmile() throws SerialisationException {
+        // Given
+        ParameterisedTestObject<Integer> test = new ParameterisedTestObject<>();
+        test.setX("Test");
+        test.setK(2);
+
+        // When
+        byte[] b = JSONSerialiser.serialiseSmile(test);
+        ParameterisedTestObject<Integer> o = JSONSerialiser.deserialiseSmile(b, new TypeReference<ParameterisedTestObject<Integer>>() {
+        });
+
+        // Then
+        assertEquals("Test", o.getX());
+        assertEquals(Integer.valueOf(2), o.getK());
+    }
+
+    @Test
+    public void shouldSerialiseSmileWithFewerBytesThanJson() throws SerialisationException {
+        // Given
+        final List<SimpleTestObject> objects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final SimpleTestObject object = new SimpleTestObject();
+            object.setX("Test" + i % 10);
+            objects.add(object);
+        }
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(objects);
+        final byte[] smile = JSONSerialiser.serialiseSmile(objects);
+
+        // Then
+        assertTrue("Smile: " + smile.length + ", JSON: " + json.length, smile.length < json.length);
+        assertEquals(objects.size(), JSONSerialiser.deserialiseSmile(smile, new TypeReference<List<SimpleTestObject>>() {
+        }).size());
+    }
+
     @Test
     public void testParameterisedDeserialisationOfComplexObject() throws SerialisationException {
         SimpleTestObject test = new SimpleTestObject();
@@ -49,6 +49,8 @@ import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
+import uk.gov.gchq.gaffer.operation.impl.GetKHopNeighbourhood;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
 import uk.gov.gchq.gaffer.operation.impl.GetVariable;
 import uk.gov.gchq.gaffer.operation.impl.GetVariables;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
@@ -108,7 +110,9 @@ import uk.gov.gchq.gaffer.store.operation.handler.CountGroupsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.CountHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.DiscardOutputHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ForEachHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.GetKHopNeighbourhoodHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.GetSchemaHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.GetShortestPathsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.GetTraitsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.GetVariableHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.GetVariablesHandler;
@@ -119,6 +123,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.MapHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationChainHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.PipelinedOperationChainHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ReduceHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.SetVariableHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.ValidateHandler;
@@ -162,6 +167,8 @@ import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.gaffer.store.schema.ViewValidator;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+import uk.gov.gchq.gaffer.store.statistics.StatisticsAddElementsHandler;
 import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.util.ReflectionUtil;
@@ -216,6 +223,7 @@ public abstract class Store {
     private GraphLibrary library;
 
     private JobTracker jobTracker;
+    private GraphStatistics statistics;
     private String graphId;
 
     public Store() {
@@ -273,9 +281,12 @@ public abstract class Store {
 
         startCacheServiceLoader(properties);
         this.jobTracker = createJobTracker();
+        this.statistics = createStatistics();
 
         optimiseSchema();
         validateSchemas();
+        // Release the resources of any handlers from a previous initialisation
+        closeOperationHandlers();
         addOpHandlers();
         addExecutorService(properties);
     }
@@ -496,6 +507,14 @@ public abstract class Store {
         return jobTracker;
     }
 
+    /**
+     * @return the statistics collected about the elements added to this
+     * store, or null if statistics are not enabled.
+     */
+    public GraphStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * @param operationClass the operation class to check
      * @return true if the provided operation is supported.
@@ -727,6 +746,13 @@ public abstract class Store {
         return null;
     }
 
+    protected GraphStatistics createStatistics() {
+        if (null != properties && Boolean.TRUE.equals(properties.getStatisticsEnabled())) {
+            return new GraphStatistics();
+        }
+        return null;
+    }
+
     protected SchemaOptimiser createSchemaOptimiser() {
         return new SchemaOptimiser();
     }
@@ -797,6 +823,9 @@ public abstract class Store {
      * uk.gov.gchq.gaffer.operation.OperationChain}
      */
     protected OperationHandler<? extends OperationChain<?>> getOperationChainHandler() {
+        if (null != properties && properties.getOperationChainPipelined()) {
+            return new PipelinedOperationChainHandler<>(opChainValidator, opChainOptimisers, properties.getOperationChainPipelineQueueSize(), properties.getOperationChainPipelineMaxThreads());
+        }
         return new OperationChainHandler<>(opChainValidator, opChainOptimisers);
     }
 
@@ -842,6 +871,17 @@ public abstract class Store {
         return operationHandlers.get(opClass);
     }
 
+    /**
+     * Closes any operation handlers that hold resources, such as the executor
+     * of a {@link PipelinedOperationChainHandler}. Stores that can be closed
+     * should call this when they are closed.
+     */
+    protected void closeOperationHandlers() {
+        for (final OperationHandler handler : operationHandlers.values()) {
+            CloseableUtil.close(handler);
+        }
+    }
+
     private JobDetail addOrUpdateJobDetail(final OperationChain<?> operationChain, final Context context, final String msg, final JobStatus jobStatus) {
         final JobDetail newJobDetail = new JobDetail(context.getJobId(), context.getUser().getUserId(), operationChain, jobStatus, msg);
         if (null != jobTracker) {
@@ -897,7 +937,12 @@ public abstract class Store {
 
     private void addCoreOpHandlers() {
         // Add elements
-        addOperationHandler(AddElements.class, getAddElementsHandler());
+        final OperationHandler<? extends AddElements> addElementsHandler = getAddElementsHandler();
+        if (null != statistics && null != addElementsHandler) {
+            addOperationHandler(AddElements.class, new StatisticsAddElementsHandler((OperationHandler) addElementsHandler, statistics));
+        } else {
+            addOperationHandler(AddElements.class, addElementsHandler);
+        }
 
         // Get Elements
         addOperationHandler(GetElements.class, (OperationHandler) getGetElementsHandler());
@@ -958,6 +1003,10 @@ public abstract class Store {
         // Walk tracking
         addOperationHandler(GetWalks.class, new GetWalksHandler());
 
+        // Traversal
+        addOperationHandler(GetShortestPaths.class, new GetShortestPathsHandler());
+        addOperationHandler(GetKHopNeighbourhood.class, new GetKHopNeighbourhoodHandler());
+
         // Other
         addOperationHandler(GenerateElements.class, new GenerateElementsHandler<>());
         addOperationHandler(GenerateObjects.class, new GenerateObjectsHandler<>());
@@ -71,6 +71,46 @@ public class StoreProperties implements Cloneable {
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
 
+    /**
+     * If true, operation chains are executed by the
+     * {@link uk.gov.gchq.gaffer.store.operation.handler.PipelinedOperationChainHandler}
+     * so blocking operations run concurrently with the operations feeding them.
+     */
+    public static final String OPERATION_CHAIN_PIPELINED = "gaffer.store.operation.chain.pipelined";
+    public static final String OPERATION_CHAIN_PIPELINED_DEFAULT = "false";
+    public static final String OPERATION_CHAIN_PIPELINE_QUEUE_SIZE = "gaffer.store.operation.chain.pipeline.queue.size";
+    public static final String OPERATION_CHAIN_PIPELINE_QUEUE_SIZE_DEFAULT = "10000";
+
+    /**
+     * The max number of threads used to run pipeline stages. When they are
+     * all busy, stages run in the thread of the operation consuming them.
+     */
+    public static final String OPERATION_CHAIN_PIPELINE_MAX_THREADS = "gaffer.store.operation.chain.pipeline.max.threads";
+    public static final String OPERATION_CHAIN_PIPELINE_MAX_THREADS_DEFAULT = "20";
+
+    /**
+     * If true, the store collects approximate statistics about the elements
+     * added to it, which can be used to estimate the cost of operations.
+     */
+    public static final String STATISTICS_ENABLED = "gaffer.store.statistics.enabled";
+    public static final String STATISTICS_ENABLED_DEFAULT = "false";
+
+    /**
+     * The maximum number of distinct elements held in the in memory ingest
+     * aggregation window used by stores that support it when adding elements.
+     * If this is 0 then elements are not aggregated before they are written.
+     */
+    public static final String INGEST_AGGREGATION_WINDOW_SIZE = "gaffer.store.ingest.aggregation.window.size";
+    public static final String INGEST_AGGREGATION_WINDOW_SIZE_DEFAULT = "0";
+
+    /**
+     * The maximum time in milliseconds an element is held in the ingest
+     * aggregation window before it is written. If this is 0 then the window
+     * is only bounded by its size.
+     */
+    public static final String INGEST_AGGREGATION_WINDOW_MILLIS = "gaffer.store.ingest.aggregation.window.millis";
+    public static final String INGEST_AGGREGATION_WINDOW_MILLIS_DEFAULT = "1000";
+
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
     public static final String STRICT_JSON = JSONSerialiser.STRICT_JSON;
@@ -408,6 +448,78 @@ public class StoreProperties implements Cloneable {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public Boolean getOperationChainPipelined() {
+        return Boolean.valueOf(get(OPERATION_CHAIN_PIPELINED, OPERATION_CHAIN_PIPELINED_DEFAULT));
+    }
+
+    public void setOperationChainPipelined(final Boolean pipelined) {
+        if (null == pipelined) {
+            set(OPERATION_CHAIN_PIPELINED, null);
+        } else {
+            set(OPERATION_CHAIN_PIPELINED, pipelined.toString());
+        }
+    }
+
+    public Integer getOperationChainPipelineQueueSize() {
+        return Integer.parseInt(get(OPERATION_CHAIN_PIPELINE_QUEUE_SIZE, OPERATION_CHAIN_PIPELINE_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setOperationChainPipelineQueueSize(final Integer queueSize) {
+        if (null == queueSize) {
+            set(OPERATION_CHAIN_PIPELINE_QUEUE_SIZE, null);
+        } else {
+            set(OPERATION_CHAIN_PIPELINE_QUEUE_SIZE, queueSize.toString());
+        }
+    }
+
+    public Integer getOperationChainPipelineMaxThreads() {
+        return Integer.parseInt(get(OPERATION_CHAIN_PIPELINE_MAX_THREADS, OPERATION_CHAIN_PIPELINE_MAX_THREADS_DEFAULT));
+    }
+
+    public void setOperationChainPipelineMaxThreads(final Integer maxThreads) {
+        if (null == maxThreads) {
+            set(OPERATION_CHAIN_PIPELINE_MAX_THREADS, null);
+        } else {
+            set(OPERATION_CHAIN_PIPELINE_MAX_THREADS, maxThreads.toString());
+        }
+    }
+
+    public Integer getIngestAggregationWindowSize() {
+        return Integer.parseInt(get(INGEST_AGGREGATION_WINDOW_SIZE, INGEST_AGGREGATION_WINDOW_SIZE_DEFAULT));
+    }
+
+    public void setIngestAggregationWindowSize(final Integer windowSize) {
+        if (null == windowSize) {
+            set(INGEST_AGGREGATION_WINDOW_SIZE, null);
+        } else {
+            set(INGEST_AGGREGATION_WINDOW_SIZE, windowSize.toString());
+        }
+    }
+
+    public Long getIngestAggregationWindowMillis() {
+        return Long.parseLong(get(INGEST_AGGREGATION_WINDOW_MILLIS, INGEST_AGGREGATION_WINDOW_MILLIS_DEFAULT));
+    }
+
+    public void setIngestAggregationWindowMillis(final Long windowMillis) {
+        if (null == windowMillis) {
+            set(INGEST_AGGREGATION_WINDOW_MILLIS, null);
+        } else {
+            set(INGEST_AGGREGATION_WINDOW_MILLIS, windowMillis.toString());
+        }
+    }
+
+    public Boolean getStatisticsEnabled() {
+        return Boolean.valueOf(get(STATISTICS_ENABLED, STATISTICS_ENABLED_DEFAULT));
+    }
+
+    public void setStatisticsEnabled(final Boolean statisticsEnabled) {
+        if (null == statisticsEnabled) {
+            set(STATISTICS_ENABLED, null);
+        } else {
+            set(STATISTICS_ENABLED, statisticsEnabled.toString());
+        }
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.GetKHopNeighbourhood;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.util.AdjacentIdsUtil;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An operation handler for {@link GetKHopNeighbourhood} operations.
+ * <p>
+ * The handler performs a breadth first search from the seeds using a
+ * {@link GetAdjacentIds} operation for each hop. Only the vertices that were
+ * reached for the first time in the previous hop are queried, so each vertex
+ * is queried at most once. The vertices are returned in the order they were
+ * reached.
+ */
+public class GetKHopNeighbourhoodHandler implements OutputOperationHandler<GetKHopNeighbourhood, CloseableIterable<? extends EntityId>> {
+    @Override
+    public CloseableIterable<? extends EntityId> doOperation(final GetKHopNeighbourhood operation, final Context context, final Store store) throws OperationException {
+        if (null == operation.getInput()) {
+            return null;
+        }
+
+        final GetAdjacentIds hop = AdjacentIdsUtil.createHop(operation, false, store);
+        final Set<Object> visited = new HashSet<>();
+        Set<Object> frontier = new LinkedHashSet<>();
+        for (final EntityId seed : operation.getInput()) {
+            if (visited.add(seed.getVertex())) {
+                frontier.add(seed.getVertex());
+            }
+        }
+
+        final List<EntityId> results = new ArrayList<>();
+        for (int i = 0; i < operation.getHops() && !frontier.isEmpty(); i++) {
+            final Set<Object> nextFrontier = new LinkedHashSet<>();
+            for (final Object vertex : AdjacentIdsUtil.getAdjacentVertices(frontier, hop, operation.getBatchSize(), context, store)) {
+                if (visited.add(vertex)) {
+                    nextFrontier.add(vertex);
+                    results.add(new EntitySeed(vertex));
+                }
+            }
+            frontier = nextFrontier;
+        }
+
+        return new WrappedCloseableIterable<>(results);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.util.AdjacentIdsUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An operation handler for {@link GetShortestPaths} operations.
+ * <p>
+ * For each pair of source and target the handler runs a bidirectional breadth
+ * first search. On each hop the smaller of the forward and backward frontiers
+ * is expanded with a {@link GetAdjacentIds} operation, skipping any vertices
+ * that have already been reached from the same end. The search stops as soon
+ * as the two searches meet, or when the maximum number of hops is reached.
+ * <p>
+ * As GetAdjacentIds does not return the vertex each result was reached from,
+ * the paths are then reconstructed by querying the adjacent vertices of only
+ * the vertices that lie on a shortest path, one at a time. These lookups are
+ * cached for the duration of the operation.
+ */
+public class GetShortestPathsHandler implements OutputOperationHandler<GetShortestPaths, Iterable<List<Object>>> {
+    @Override
+    public Iterable<List<Object>> doOperation(final GetShortestPaths operation, final Context context, final Store store) throws OperationException {
+        if (null == operation.getInput()) {
+            return null;
+        }
+
+        final Search search = new Search(operation, context, store);
+        final Set<Object> sources = toVertices(operation.getInput());
+        final Set<Object> targets = toVertices(operation.getTargets());
+        for (final Object source : sources) {
+            for (final Object target : targets) {
+                if (search.isFull()) {
+                    return search.paths;
+                }
+                search.findPaths(source, target);
+            }
+        }
+
+        return search.paths;
+    }
+
+    private static Set<Object> toVertices(final Iterable<? extends EntityId> ids) {
+        final Set<Object> vertices = new LinkedHashSet<>();
+        if (null != ids) {
+            for (final EntityId id : ids) {
+                vertices.add(id.getVertex());
+            }
+        }
+        return vertices;
+    }
+
+    private static final class Search {
+        private final GetShortestPaths operation;
+        private final Context context;
+        private final Store store;
+        private final GetAdjacentIds forwardHop;
+        private final GetAdjacentIds backwardHop;
+        private final Map<Object, Set<Object>> successors = new HashMap<>();
+        private final Map<Object, Set<Object>> predecessors = new HashMap<>();
+        private final int limit;
+        private final List<List<Object>> paths = new ArrayList<>();
+
+        private Search(final GetShortestPaths operation, final Context context, final Store store) {
+            this.operation = operation;
+            this.context = context;
+            this.store = store;
+            this.forwardHop = AdjacentIdsUtil.createHop(operation, false, store);
+            this.backwardHop = AdjacentIdsUtil.createHop(operation, true, store);
+            this.limit = null != operation.getResultsLimit() ? operation.getResultsLimit() : Integer.MAX_VALUE;
+        }
+
+        private boolean isFull() {
+            return paths.size() >= limit;
+        }
+
+        private void findPaths(final Object source, final Object target) throws OperationException {
+            if (source.equals(target)) {
+                paths.add(Collections.singletonList(source));
+                return;
+            }
+
+            final Side forward = new Side(source, forwardHop);
+            final Side backward = new Side(target, backwardHop);
+            final Set<Object> meetingVertices = new LinkedHashSet<>();
+            while (meetingVertices.isEmpty()
+                    && forward.getDepth() + backward.getDepth() < operation.getMaxHops()
+                    && !forward.getFrontier().isEmpty()
+                    && !backward.getFrontier().isEmpty()) {
+                if (forward.getFrontier().size() <= backward.getFrontier().size()) {
+                    meetingVertices.addAll(forward.expand(backward));
+                } else {
+                    meetingVertices.addAll(backward.expand(forward));
+                }
+            }
+
+            for (final Object meetingVertex : meetingVertices) {
+                final List<List<Object>> heads = getPaths(meetingVertex, forward, predecessors, backwardHop);
+                final List<List<Object>> tails = getPaths(meetingVertex, backward, successors, forwardHop);
+                for (final List<Object> head : heads) {
+                    for (final List<Object> tail : tails) {
+                        if (isFull()) {
+                            return;
+                        }
+                        final List<Object> path = new ArrayList<>(head.size() + tail.size() - 1);
+                        for (int i = head.size() - 1; i >= 0; i--) {
+                            path.add(head.get(i));
+                        }
+                        path.addAll(tail.subList(1, tail.size()));
+                        paths.add(path);
+                    }
+                }
+            }
+        }
+
+        // Gets the paths from the vertex back to the start of the side. Each
+        // path starts with the vertex and ends with the start of the side.
+        private List<List<Object>> getPaths(final Object vertex,
+                                            final Side side,
+                                            final Map<Object, Set<Object>> adjacencyCache,
+                                            final GetAdjacentIds hop) throws OperationException {
+            final int depth = side.depths.get(vertex);
+            if (0 == depth) {
+                final List<Object> path = new ArrayList<>();
+                path.add(vertex);
+                return Collections.singletonList(path);
+            }
+
+            Set<Object> adjacentVertices = adjacencyCache.get(vertex);
+            if (null == adjacentVertices) {
+                adjacentVertices = AdjacentIdsUtil.getAdjacentVertices(Collections.singleton(vertex), hop, null, context, store);
+                adjacencyCache.put(vertex, adjacentVertices);
+            }
+
+            final List<List<Object>> paths = new ArrayList<>();
+            for (final Object adjacentVertex : adjacentVertices) {
+                final Integer adjacentDepth = side.depths.get(adjacentVertex);
+                if (null != adjacentDepth && depth - 1 == adjacentDepth) {
+                    for (final List<Object> path : getPaths(adjacentVertex, side, adjacencyCache, hop)) {
+                        if (paths.size() >= limit) {
+                            return paths;
+                        }
+                        final List<Object> extendedPath = new ArrayList<>(path.size() + 1);
+                        extendedPath.add(vertex);
+                        extendedPath.addAll(path);
+                        paths.add(extendedPath);
+                    }
+                }
+            }
+            return paths;
+        }
+
+        /**
+         * One end of a bidirectional search.
+         */
+        private final class Side {
+            private final GetAdjacentIds hop;
+            private final Map<Object, Integer> depths = new HashMap<>();
+            private Set<Object> frontier = new LinkedHashSet<>();
+            private int depth;
+
+            private Side(final Object start, final GetAdjacentIds hop) {
+                this.hop = hop;
+                depths.put(start, 0);
+                frontier.add(start);
+            }
+
+            private int getDepth() {
+                return depth;
+            }
+
+            private Set<Object> getFrontier() {
+                return frontier;
+            }
+
+            // Expands the frontier by one hop and returns the newly reached
+            // vertices that have already been reached by the other side.
+            private Set<Object> expand(final Side other) throws OperationException {
+                depth++;
+                final Set<Object> nextFrontier = new LinkedHashSet<>();
+                final Set<Object> meetingVertices = new LinkedHashSet<>();
+                for (final Object vertex : AdjacentIdsUtil.getAdjacentVertices(frontier, hop, operation.getBatchSize(), context, store)) {
+                    if (!depths.containsKey(vertex)) {
+                        depths.put(vertex, depth);
+                        nextFrontier.add(vertex);
+                        if (other.depths.containsKey(vertex)) {
+                            meetingVertices.add(vertex);
+                        }
+                    }
+                }
+                frontier = nextFrontier;
+                return meetingVertices;
+            }
+        }
+    }
+}
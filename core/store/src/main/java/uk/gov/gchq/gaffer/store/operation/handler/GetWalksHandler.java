@@ -18,9 +18,11 @@ package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.google.common.collect.Lists;
 
+import uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -47,11 +49,20 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * An operation handler for {@link GetWalks} operations.
@@ -59,13 +70,20 @@ import java.util.stream.Collectors;
  * The handler executes each {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
  * operation in the parent GetWalks operation in turn and incrementally creates
  * an in-memory representation of the resulting graph. Once all GetElements
- * operations have been executed, a recursive depth-first search algorithm is
- * used to construct all of the {@link Walk}s that exist in the temporary
- * graph.
+ * operations have been executed, a depth-first search is used to lazily
+ * construct the {@link Walk}s that exist in the temporary graph as the results
+ * are iterated over. The number of walks returned is limited to the results
+ * limit of the GetWalks operation.
  * <p>
- * The default handler has two settings which can be overridden by system
+ * The vertices found in each hop are deduplicated before being used as the
+ * seeds for the next hop, so each vertex is only queried once per hop.
+ * <p>
+ * The default handler has the following settings which can be overridden by system
  * administrators: <ul> <li>maxHops - prevent users from executing GetWalks
- * operations that contain more than a set number of hops.</li> <li>prune -
+ * operations that contain more than a set number of hops.</li> <li>batchSize -
+ * split the seeds for each hop into batches of this size. By default all seeds
+ * are queried in a single batch.</li> <li>parallelism - the maximum number of
+ * batches that are queried concurrently, defaults to 1.</li> <li>prune -
  * toggle pruning for the in-memory graph representation. Enabling pruning
  * instructs the in-memory graph representation to discard any edges from the
  * previous GetElements operation which do not join up with any edges in the
@@ -87,6 +105,8 @@ import java.util.stream.Collectors;
  */
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
+    private Integer batchSize = null;
+    private int parallelism = 1;
     private boolean prune = true;
 
     @Override
@@ -120,18 +140,26 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
 
         List<?> seeds = originalInput;
 
-        // Execute the operations
-        for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
-            if (isWhileOperation(operation)) {
-                seeds = executeWhileOperation(
-                        operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
-                );
-            } else {
-                seeds = executeOperation(
-                        operation, seeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
-                );
+        // Execute the operations, sharing one executor for the batches of
+        // every hop. The pool only starts threads when batches are submitted.
+        final ExecutorService executor = isParallel() ? Executors.newFixedThreadPool(parallelism) : null;
+        try {
+            for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
+                if (isWhileOperation(operation)) {
+                    seeds = executeWhileOperation(
+                            operation, seeds, resultLimit,
+                            context, store, hops, adjacencyMaps, entityMaps, executor
+                    );
+                } else {
+                    seeds = executeOperation(
+                            operation, seeds, resultLimit,
+                            context, store, hops, adjacencyMaps, entityMaps, executor
+                    );
+                }
+            }
+        } finally {
+            if (null != executor) {
+                executor.shutdownNow();
             }
         }
 
@@ -143,10 +171,9 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
 
         final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
 
-        // Track/recombine the edge objects and convert to return type
-        return Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops, getWalks.isIncludePartial()).stream())
-                .collect(Collectors.toList());
+        // Track/recombine the edge objects lazily and convert to return type
+        final Iterable<Walk> walks = new WalkIterable(originalInput, graphWindow, hops, getWalks.isIncludePartial());
+        return new LimitedCloseableIterable<>(walks, 0, resultLimit, true);
     }
 
     public Integer getMaxHops() {
@@ -157,6 +184,22 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.maxHops = maxHops;
     }
 
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = null == parallelism || parallelism < 1 ? 1 : parallelism;
+    }
+
     public Boolean getPrune() {
         return prune;
     }
@@ -165,6 +208,10 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         this.prune = prune;
     }
 
+    private boolean isParallel() {
+        return null != batchSize && batchSize > 0 && parallelism > 1;
+    }
+
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
         return 1 == operation.getOperations().size()
                 && operation.getOperations().get(0) instanceof While;
@@ -177,7 +224,8 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                           final Store store,
                                           final int hops,
                                           final AdjacencyMaps adjacencyMaps,
-                                          final EntityMaps entityMaps) throws OperationException {
+                                          final EntityMaps entityMaps,
+                                          final ExecutorService executor) throws OperationException {
         List<?> resultSeeds = seeds;
         final While whileOp = (While) operation.getOperations().get(0);
         if (null != whileOp.getOperation()) {
@@ -212,7 +260,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                 resultSeeds = executeOperation(
                         (Output) whileOpClone.getOperation(),
                         resultSeeds, resultLimit,
-                        context, store, hops, adjacencyMaps, entityMaps
+                        context, store, hops, adjacencyMaps, entityMaps, executor
                 );
             }
         }
@@ -227,22 +275,28 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final Store store,
                                      final int hops,
                                      final AdjacencyMaps adjacencyMaps,
-                                     final EntityMaps entityMaps) throws OperationException {
-        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
-
+                                     final EntityMaps entityMaps,
+                                     final ExecutorService executor) throws OperationException {
         final AdjacencyMap adjacencyMap = new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
-        final List<Object> nextSeeds = new ArrayList<>();
-        for (final Element e : results) {
-            if (e instanceof Edge) {
-                final Edge edge = (Edge) e;
-                final Object nextSeed = edge.getAdjacentMatchedVertexValue();
-                nextSeeds.add(nextSeed);
-                adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
-            } else {
-                final Entity entity = (Entity) e;
-                entityMap.putEntity(entity.getVertex(), entity);
+        // Deduplicate the next seeds, whilst retaining their order.
+        final Set<Object> nextSeeds = new LinkedHashSet<>();
+        long count = 0;
+        for (final Iterable<Element> results : executeBatches(operation, seeds, resultLimit, context, store, executor)) {
+            for (final Element e : results) {
+                if (null != resultLimit && ++count > resultLimit) {
+                    throw new LimitExceededException("Limit of " + resultLimit + " exceeded.");
+                }
+                if (e instanceof Edge) {
+                    final Edge edge = (Edge) e;
+                    final Object nextSeed = edge.getAdjacentMatchedVertexValue();
+                    nextSeeds.add(nextSeed);
+                    adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
+                } else {
+                    final Entity entity = (Entity) e;
+                    entityMap.putEntity(entity.getVertex(), entity);
+                }
             }
         }
 
@@ -251,11 +305,56 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         }
         entityMaps.add(entityMap);
 
-        return nextSeeds;
+        return new ArrayList<>(nextSeeds);
+    }
+
+    private List<Iterable<Element>> executeBatches(final Output<Iterable<Element>> operation,
+                                                   final List<?> seeds,
+                                                   final Integer resultLimit,
+                                                   final Context context,
+                                                   final Store store,
+                                                   final ExecutorService executor) throws OperationException {
+        if (null == batchSize || batchSize < 1 || seeds.size() <= batchSize) {
+            return Collections.singletonList(executeOperation(operation, seeds, resultLimit, context, store));
+        }
+
+        final List<? extends List<?>> batches = Lists.partition(seeds, batchSize);
+        if (null == executor) {
+            final List<Iterable<Element>> results = new ArrayList<>(batches.size());
+            for (final List<?> batch : batches) {
+                results.add(executeOperation((Output<Iterable<Element>>) operation.shallowClone(), batch, resultLimit, context, store));
+            }
+            return results;
+        }
+
+        final List<Callable<Iterable<Element>>> tasks = new ArrayList<>(batches.size());
+        for (final List<?> batch : batches) {
+            final Output<Iterable<Element>> batchOperation = (Output<Iterable<Element>>) operation.shallowClone();
+            tasks.add(() -> Lists.newArrayList(executeOperation(batchOperation, batch, resultLimit, context, store)));
+        }
+
+        try {
+            final List<Iterable<Element>> results = new ArrayList<>(tasks.size());
+            for (final Future<Iterable<Element>> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst executing GetWalks batches", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof OperationException) {
+                throw (OperationException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new OperationException("Failed to execute GetWalks batch: " + e.getCause().getMessage(), e.getCause());
+        }
     }
 
     private Iterable<Element> executeOperation(final Output<Iterable<Element>> operation,
-                                               final List<?> seeds,
+                                               final Collection<?> seeds,
                                                final Integer resultLimit,
                                                final Context context,
                                                final Store store) throws OperationException {
@@ -272,44 +371,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops, final boolean includePartial) {
-        final List<Walk> walks = new ArrayList<>();
-
-        if (null != prev && hops != edgeQueue.size()) {
-            edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
-        }
-
-        entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
-
-        if (hops == edgeQueue.size()) {
-            final Walk walk = buildWalk(edgeQueue, entityQueue);
-            walks.add(walk);
-        } else {
-            final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
-            if (dests.isEmpty()) {
-                if (includePartial) {
-                    final Walk walk = buildWalk(edgeQueue, entityQueue);
-                    walks.add(walk);
-                }
-            } else {
-                for (final Object obj : dests) {
-                    walks.addAll(walk(obj, curr, graphWindow, edgeQueue, entityQueue, hops, includePartial));
-                }
-            }
-        }
-
-        if (!edgeQueue.isEmpty()) {
-            edgeQueue.pollLast();
-        }
-
-        if (!entityQueue.isEmpty()) {
-            entityQueue.pollLast();
-        }
-
-        return walks;
-    }
-
-    private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
+    private static Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
         final Walk.Builder builder = new Walk.Builder();
 
         final Iterator<Set<Edge>> edgeIterator = edgeQueue.iterator();
@@ -336,4 +398,118 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             );
         }
     }
+
+    /**
+     * Lazily constructs the {@link Walk}s from each seed using an iterative
+     * depth-first search over the {@link GraphWindow}.
+     */
+    private static final class WalkIterable implements CloseableIterable<Walk> {
+        private final List<? extends EntityId> seeds;
+        private final GraphWindow graphWindow;
+        private final int hops;
+        private final boolean includePartial;
+
+        private WalkIterable(final List<? extends EntityId> seeds, final GraphWindow graphWindow, final int hops, final boolean includePartial) {
+            this.seeds = seeds;
+            this.graphWindow = graphWindow;
+            this.hops = hops;
+            this.includePartial = includePartial;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public CloseableIterator<Walk> iterator() {
+            return new WalkIterator();
+        }
+
+        private final class WalkIterator implements CloseableIterator<Walk> {
+            private final Iterator<? extends EntityId> seedIterator = seeds.iterator();
+            private final Deque<Frame> stack = new LinkedList<>();
+            private final LinkedList<Set<Edge>> edgeQueue = new LinkedList<>();
+            private final LinkedList<Set<Entity>> entityQueue = new LinkedList<>();
+            private Walk next;
+
+            @Override
+            public boolean hasNext() {
+                while (null == next) {
+                    if (stack.isEmpty()) {
+                        if (!seedIterator.hasNext()) {
+                            return false;
+                        }
+                        visit(seedIterator.next().getVertex(), null);
+                    } else {
+                        final Frame frame = stack.peekLast();
+                        if (frame.destinations.hasNext()) {
+                            visit(frame.destinations.next(), frame.vertex);
+                        } else {
+                            stack.pollLast();
+                            leave();
+                        }
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Walk next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Reached the end of the walks");
+                }
+                final Walk walk = next;
+                next = null;
+                return walk;
+            }
+
+            @Override
+            public void close() {
+                stack.clear();
+            }
+
+            private void visit(final Object curr, final Object prev) {
+                if (null != prev && hops != edgeQueue.size()) {
+                    edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
+                }
+
+                entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
+
+                if (hops == edgeQueue.size()) {
+                    next = buildWalk(edgeQueue, entityQueue);
+                    leave();
+                } else {
+                    final Set<Object> dests = graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr);
+                    if (dests.isEmpty()) {
+                        if (includePartial) {
+                            next = buildWalk(edgeQueue, entityQueue);
+                        }
+                        leave();
+                    } else {
+                        stack.offer(new Frame(curr, dests.iterator()));
+                    }
+                }
+            }
+
+            private void leave() {
+                if (!edgeQueue.isEmpty()) {
+                    edgeQueue.pollLast();
+                }
+
+                if (!entityQueue.isEmpty()) {
+                    entityQueue.pollLast();
+                }
+            }
+        }
+    }
+
+    private static final class Frame {
+        private final Object vertex;
+        private final Iterator<Object> destinations;
+
+        private Frame(final Object vertex, final Iterator<Object> destinations) {
+            this.vertex = vertex;
+            this.destinations = destinations;
+        }
+    }
 }
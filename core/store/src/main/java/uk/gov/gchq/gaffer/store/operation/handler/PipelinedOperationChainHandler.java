@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code PipelinedOperationChainHandler} handles {@link OperationChain}s by
+ * splitting them into pipeline stages that run concurrently.
+ * <p>
+ * Operations whose handlers are {@link StreamingOperationHandler}s are kept in
+ * the same stage as the operation before them, as they lazily transform their
+ * input. When a lazy {@link Iterable} is passed to an operation with a blocking
+ * handler, such as ToList, Sort or GetWalks, the previous stage is run in a
+ * separate thread that feeds the blocking operation through a bounded queue,
+ * so the blocking operation consumes results while they are being produced.
+ * </p>
+ * <p>
+ * The stages run on a bounded executor, either supplied by the caller or owned
+ * by the handler. When all of its threads are busy a stage is run in the
+ * thread of the operation consuming it instead, without pipelining. Idle
+ * threads of an executor owned by the handler are not kept alive, and the
+ * executor is shut down when the handler is closed.
+ * </p>
+ *
+ * @param <OUT> the output type of the operation chain
+ */
+public class PipelinedOperationChainHandler<OUT> extends OperationChainHandler<OUT> implements Closeable {
+    public static final int DEFAULT_MAX_THREADS = 20;
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private final int queueSize;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    public PipelinedOperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers, final int queueSize) {
+        this(opChainValidator, opChainOptimisers, queueSize, DEFAULT_MAX_THREADS);
+    }
+
+    public PipelinedOperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers, final int queueSize, final int maxThreads) {
+        this(opChainValidator, opChainOptimisers, queueSize, createExecutor(maxThreads), true);
+    }
+
+    public PipelinedOperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers, final int queueSize, final ExecutorService executor) {
+        this(opChainValidator, opChainOptimisers, queueSize, executor, false);
+    }
+
+    private PipelinedOperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers, final int queueSize, final ExecutorService executor, final boolean ownsExecutor) {
+        super(opChainValidator, opChainOptimisers);
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Pipeline queue size must be at least 1");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("Pipeline executor is required");
+        }
+        this.queueSize = queueSize;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    @Override
+    public OUT doOperation(final OperationChain<OUT> operationChain, final Context context, final Store store) throws OperationException {
+        prepareOperationChain(operationChain, context, store);
+
+        Object result = null;
+        for (final Operation op : operationChain.getOperations()) {
+            if (isLazyIterable(result) && op instanceof Input && !isStreaming(op, store)) {
+                result = new PipelinedIterable<>((Iterable<?>) result, queueSize, executor);
+            }
+            updateOperationInput(op, result);
+            result = store.handleOperation(op, context);
+        }
+
+        return (OUT) result;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Shuts down the executor if it is owned by this handler. Stages that are
+     * already running are allowed to finish. An executor supplied by the
+     * caller is left running.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private static ExecutorService createExecutor(final int maxThreads) {
+        if (maxThreads < 1) {
+            throw new IllegalArgumentException("Pipeline max threads must be at least 1");
+        }
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(0, maxThreads,
+                THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "gaffer-pipeline-stage");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static boolean isLazyIterable(final Object result) {
+        return result instanceof Iterable && !(result instanceof Collection);
+    }
+
+    private static boolean isStreaming(final Operation op, final Store store) {
+        return store.getOperationHandler(op.getClass()) instanceof StreamingOperationHandler;
+    }
+}
@@ -30,13 +30,18 @@ import uk.gov.gchq.gaffer.operation.Operations;
 import uk.gov.gchq.gaffer.operation.impl.If;
 import uk.gov.gchq.gaffer.operation.impl.ScoreOperationChain;
 import uk.gov.gchq.gaffer.operation.impl.While;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.resolver.DefaultScoreResolver;
 import uk.gov.gchq.gaffer.store.operation.resolver.IfScoreResolver;
 import uk.gov.gchq.gaffer.store.operation.resolver.ScoreResolver;
+import uk.gov.gchq.gaffer.store.operation.resolver.StatisticsScoreResolver;
 import uk.gov.gchq.gaffer.store.operation.resolver.WhileScoreResolver;
 import uk.gov.gchq.gaffer.store.operation.resolver.named.NamedOperationScoreResolver;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.ArrayList;
@@ -57,6 +62,7 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
     private final LinkedHashMap<Class<? extends Operation>, Integer> opScores = new LinkedHashMap<>();
     private final Map<String, Integer> authScores = new HashMap<>();
     private final Map<Class<? extends Operation>, ScoreResolver> scoreResolvers = new HashMap<>();
+    private Long elementsPerScore;
 
     private final ScoreResolver<Operation> defaultScoreResolver = new DefaultScoreResolver(
             Collections.unmodifiableMap(opScores), Collections.unmodifiableMap(scoreResolvers)
@@ -75,7 +81,7 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
      */
     @Override
     public Integer doOperation(final ScoreOperationChain operation, final Context context, final Store store) throws OperationException {
-        return getChainScore(operation.getOperationChain(), context.getUser());
+        return getChainScore(operation.getOperationChain(), context.getUser(), store.getStatistics());
 
     }
 
@@ -83,6 +89,34 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
         return defaultScoreResolver.getScore((Operation) operations, defaultScoreResolver);
     }
 
+    /**
+     * Returns the score for the operations. If statistics are provided and
+     * the number of elements per score has been set, then {@link GetAllElements},
+     * {@link GetElements} and {@link GetAdjacentIds} operations are scored
+     * using a {@link StatisticsScoreResolver}, unless another score resolver
+     * has been configured for them.
+     *
+     * @param operations the operations to score
+     * @param user       the user executing the operations
+     * @param statistics the statistics of the store, may be null
+     * @return the score
+     */
+    public int getChainScore(final Operations<?> operations, final User user, final GraphStatistics statistics) {
+        if (null == statistics || null == elementsPerScore) {
+            return getChainScore(operations, user);
+        }
+
+        final Map<Class<? extends Operation>, ScoreResolver> resolvers = new HashMap<>(scoreResolvers);
+        final StatisticsScoreResolver statisticsScoreResolver = new StatisticsScoreResolver(statistics, elementsPerScore);
+        resolvers.putIfAbsent(GetAllElements.class, statisticsScoreResolver);
+        resolvers.putIfAbsent(GetElements.class, statisticsScoreResolver);
+        resolvers.putIfAbsent(GetAdjacentIds.class, statisticsScoreResolver);
+        final ScoreResolver<Operation> resolver = new DefaultScoreResolver(
+                Collections.unmodifiableMap(opScores), Collections.unmodifiableMap(resolvers)
+        );
+        return resolver.getScore((Operation) operations, resolver);
+    }
+
     /**
      * Iterates through each of the users operation authorisations listed in the config file and returns the highest score
      * associated with those auths.
@@ -146,6 +180,19 @@ public class ScoreOperationChainHandler implements OutputOperationHandler<ScoreO
         }
     }
 
+    /**
+     * @return the number of elements, estimated from the store statistics,
+     * that add 1 to the score of a chain. If null then the statistics are
+     * not used.
+     */
+    public Long getElementsPerScore() {
+        return elementsPerScore;
+    }
+
+    public void setElementsPerScore(final Long elementsPerScore) {
+        this.elementsPerScore = elementsPerScore;
+    }
+
     public Map<Class<? extends Operation>, ScoreResolver> getScoreResolvers() {
         return Collections.unmodifiableMap(scoreResolvers);
     }
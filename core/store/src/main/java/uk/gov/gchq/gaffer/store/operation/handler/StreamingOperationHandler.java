@@ -0,0 +1,32 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+
+/**
+ * A {@code StreamingOperationHandler} is a marker for handlers that lazily
+ * transform their input {@link Iterable} one item at a time, without
+ * materialising it. Handlers that are not marked as streaming are treated
+ * as blocking by the {@link PipelinedOperationChainHandler}, which runs the
+ * operations feeding them in a separate pipeline stage.
+ *
+ * @param <OP> the operation type
+ * @param <O>  the output type of the operation
+ */
+public interface StreamingOperationHandler<OP extends InputOutput<?, O>, O> extends OutputOperationHandler<OP, O> {
+}
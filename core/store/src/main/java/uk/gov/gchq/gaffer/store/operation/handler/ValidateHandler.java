@@ -31,7 +31,7 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
  * The {@link uk.gov.gchq.gaffer.store.schema.Schema} is used to validate the elements.
  * The isSkipInvalidElements flag on {@link Validate} is used to determine what to do with invalid {@link Element}s.
  */
-public class ValidateHandler implements OutputOperationHandler<Validate, Iterable<? extends Element>> {
+public class ValidateHandler implements StreamingOperationHandler<Validate, Iterable<? extends Element>> {
     @Override
     public Iterable<? extends Element> doOperation(final Validate operation,
                                                    final Context context, final Store store)
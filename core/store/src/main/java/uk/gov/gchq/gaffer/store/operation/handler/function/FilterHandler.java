@@ -22,7 +22,7 @@ import uk.gov.gchq.gaffer.operation.impl.function.Filter;
 import uk.gov.gchq.gaffer.operation.util.StreamFilterIterable;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.StreamingOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FilterValidator;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FunctionValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -31,7 +31,7 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import java.util.HashMap;
 import java.util.Map;
 
-public class FilterHandler implements OutputOperationHandler<Filter, Iterable<? extends Element>> {
+public class FilterHandler implements StreamingOperationHandler<Filter, Iterable<? extends Element>> {
 
     private final FunctionValidator<Filter> validator = new FilterValidator();
 
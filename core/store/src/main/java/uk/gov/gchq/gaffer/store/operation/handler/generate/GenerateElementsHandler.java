@@ -21,7 +21,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.StreamingOperationHandler;
 
 /**
  * An {@code GenerateElementsHandler} handles {@link uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements} operations.
@@ -30,7 +30,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
  *
  * @param <OBJ> the type of input objects from the operation.
  */
-public class GenerateElementsHandler<OBJ> implements OutputOperationHandler<GenerateElements<OBJ>, Iterable<? extends Element>> {
+public class GenerateElementsHandler<OBJ> implements StreamingOperationHandler<GenerateElements<OBJ>, Iterable<? extends Element>> {
     @Override
     public Iterable<? extends Element> doOperation(final GenerateElements<OBJ> operation,
                                                    final Context context, final Store store)
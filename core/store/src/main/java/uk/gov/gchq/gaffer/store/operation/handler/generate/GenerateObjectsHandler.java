@@ -20,7 +20,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.StreamingOperationHandler;
 
 /**
  * An {@code GenerateObjectsHandler} handles {@link uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects} operations.
@@ -29,7 +29,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
  *
  * @param <OBJ> the type of output objects from the operation.
  */
-public class GenerateObjectsHandler<OBJ> implements OutputOperationHandler<GenerateObjects<OBJ>, Iterable<? extends OBJ>> {
+public class GenerateObjectsHandler<OBJ> implements StreamingOperationHandler<GenerateObjects<OBJ>, Iterable<? extends OBJ>> {
     @Override
     public Iterable<? extends OBJ> doOperation(final GenerateObjects<OBJ> operation,
                                                final Context context, final Store store)
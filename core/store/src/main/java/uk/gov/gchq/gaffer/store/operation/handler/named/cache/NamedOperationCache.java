@@ -16,9 +16,6 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler.named.cache;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import uk.gov.gchq.gaffer.cache.CacheServiceLoader;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
@@ -27,17 +24,14 @@ import uk.gov.gchq.gaffer.named.operation.NamedOperationDetail;
 import uk.gov.gchq.gaffer.named.operation.cache.exception.CacheOperationFailedException;
 import uk.gov.gchq.gaffer.user.User;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * Wrapper around the {@link CacheServiceLoader} to provide an interface for handling
  * the {@link uk.gov.gchq.gaffer.named.operation.NamedOperation}s for a Gaffer graph.
  */
 public class NamedOperationCache {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(NamedOperationCache.class);
     private static final String CACHE_NAME = "NamedOperation";
+    private static final int BATCH_SIZE = 100;
 
     /**
      * If the user is just adding to the cache, ie the overwrite flag is set to false, then no security is added.
@@ -276,19 +270,10 @@ public class NamedOperationCache {
     }
 
     private CloseableIterable<NamedOperationDetail> getAll(final User user, final String adminAuth) {
-        final Set<String> keys = CacheServiceLoader.getService().getAllKeysFromCache(CACHE_NAME);
-        final Set<NamedOperationDetail> executables = new HashSet<>();
-        for (final String key : keys) {
-            try {
-                NamedOperationDetail op = getFromCache(key);
-                if (op.hasReadAccess(user, adminAuth)) {
-                    executables.add(op);
-                }
-            } catch (final CacheOperationFailedException e) {
-                LOGGER.error(e.getMessage(), e);
-            }
-
-        }
+        final Iterable<NamedOperationDetail> executables = () -> CacheServiceLoader.getService()
+                .<String, NamedOperationDetail>streamValuesFromCache(CACHE_NAME, BATCH_SIZE)
+                .filter(op -> null != op && op.hasReadAccess(user, adminAuth))
+                .iterator();
         return new WrappedCloseableIterable<>(executables);
     }
 }
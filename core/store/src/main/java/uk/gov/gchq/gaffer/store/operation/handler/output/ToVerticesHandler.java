@@ -25,7 +25,7 @@ import uk.gov.gchq.gaffer.operation.impl.output.ToVertices.EdgeVertices;
 import uk.gov.gchq.gaffer.operation.impl.output.ToVertices.UseMatchedVertex;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
-import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.StreamingOperationHandler;
 
 import java.util.function.Function;
 import java.util.stream.Stream;
@@ -39,7 +39,7 @@ import java.util.stream.Stream;
  * values.
  * </p>
  */
-public class ToVerticesHandler implements OutputOperationHandler<ToVertices, Iterable<? extends Object>> {
+public class ToVerticesHandler implements StreamingOperationHandler<ToVertices, Iterable<? extends Object>> {
 
     @Override
     public Iterable<Object> doOperation(final ToVertices operation, final Context context, final Store store) throws OperationException {
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler.util;
+
+import com.google.common.collect.Lists;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Utilities for operation handlers that traverse the graph one hop at a time
+ * using {@link GetAdjacentIds} operations.
+ */
+public final class AdjacentIdsUtil {
+    private AdjacentIdsUtil() {
+    }
+
+    /**
+     * Creates a {@link GetAdjacentIds} operation, without any input, that uses
+     * the same view, directed type, incoming/outgoing type and options as the
+     * provided operation. If the operation does not have a view then all of
+     * the edge groups in the store schema are used.
+     *
+     * @param operation the operation to copy the graph filters from
+     * @param reverse   if true, the incoming/outgoing type is reversed so the
+     *                  edges are followed backwards
+     * @param store     the store the operation will be executed on
+     * @param <OP>      the type of the operation
+     * @return the GetAdjacentIds operation
+     */
+    public static <OP extends Operation & SeededGraphFilters> GetAdjacentIds createHop(final OP operation, final boolean reverse, final Store store) {
+        View view = operation.getView();
+        if (null == view) {
+            view = new View.Builder()
+                    .edges(store.getSchema().getEdgeGroups())
+                    .build();
+        }
+
+        final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
+        return new GetAdjacentIds.Builder()
+                .view(view)
+                .directedType(operation.getDirectedType())
+                .inOutType(reverse ? reverse(inOutType) : inOutType)
+                .options(operation.getOptions())
+                .build();
+    }
+
+    /**
+     * Reverses an {@link IncludeIncomingOutgoingType}, so INCOMING becomes
+     * OUTGOING and vice versa. EITHER and null are returned unchanged.
+     *
+     * @param inOutType the type to reverse
+     * @return the reversed type
+     */
+    public static IncludeIncomingOutgoingType reverse(final IncludeIncomingOutgoingType inOutType) {
+        if (IncludeIncomingOutgoingType.INCOMING == inOutType) {
+            return IncludeIncomingOutgoingType.OUTGOING;
+        }
+        if (IncludeIncomingOutgoingType.OUTGOING == inOutType) {
+            return IncludeIncomingOutgoingType.INCOMING;
+        }
+        return inOutType;
+    }
+
+    /**
+     * Executes the hop for the provided vertices and returns the distinct
+     * adjacent vertices. If a batch size is provided then the vertices are
+     * split into batches and a separate {@link GetAdjacentIds} is executed for
+     * each batch.
+     *
+     * @param vertices  the vertices to query
+     * @param hop       the GetAdjacentIds operation to use for each batch,
+     *                  the input of this operation is ignored.
+     * @param batchSize the maximum number of vertices in each batch, or null
+     *                  to query all of the vertices in one batch
+     * @param context   the user context
+     * @param store     the store to execute the operations on
+     * @return the distinct adjacent vertices, in the order they were returned
+     * @throws OperationException if the store fails to execute the operations
+     */
+    public static Set<Object> getAdjacentVertices(final Collection<?> vertices,
+                                                  final GetAdjacentIds hop,
+                                                  final Integer batchSize,
+                                                  final Context context,
+                                                  final Store store) throws OperationException {
+        final Set<Object> adjacentVertices = new LinkedHashSet<>();
+        if (vertices.isEmpty()) {
+            return adjacentVertices;
+        }
+
+        final List<Object> seeds = new ArrayList<>(vertices);
+        final List<? extends List<?>> batches = null == batchSize || batchSize < 1
+                ? Lists.<List<?>>newArrayList(seeds)
+                : Lists.partition(seeds, batchSize);
+        for (final List<?> batch : batches) {
+            final List<EntityId> batchSeeds = new ArrayList<>(batch.size());
+            for (final Object vertex : batch) {
+                batchSeeds.add(new EntitySeed(vertex));
+            }
+
+            final GetAdjacentIds batchHop = hop.shallowClone();
+            batchHop.setInput(batchSeeds);
+            final Iterable<? extends EntityId> results = store.execute(batchHop, context);
+            if (null != results) {
+                try {
+                    for (final EntityId result : results) {
+                        adjacentVertices.add(result.getVertex());
+                    }
+                } finally {
+                    CloseableUtil.close(results);
+                }
+            }
+        }
+
+        return adjacentVertices;
+    }
+}
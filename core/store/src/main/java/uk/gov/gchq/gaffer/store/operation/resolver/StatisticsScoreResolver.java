@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.resolver;
+
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.OperationView;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Input;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A {@code StatisticsScoreResolver} is an implementation of {@link ScoreResolver}
+ * that scores {@link GetAllElements}, {@link GetElements} and {@link GetAdjacentIds}
+ * operations using an estimate of the number of elements they will return,
+ * based on the {@link GraphStatistics} collected by the store.
+ * <p>
+ * GetAllElements is estimated from the number of elements in the groups in
+ * its view. GetElements and GetAdjacentIds are estimated from the degree of
+ * each seed vertex, so they can only be estimated if their input is a
+ * collection of seeds. The score is the estimate divided by the number of
+ * elements per score, rounded up, with a minimum score of 1.
+ * </p>
+ * <p>
+ * If an operation cannot be estimated then null is returned so the
+ * configured operation score is used instead.
+ * </p>
+ */
+public class StatisticsScoreResolver implements ScoreResolver<Operation> {
+    private final GraphStatistics statistics;
+    private final long elementsPerScore;
+
+    public StatisticsScoreResolver(final GraphStatistics statistics, final long elementsPerScore) {
+        if (null == statistics) {
+            throw new IllegalArgumentException("Statistics are required");
+        }
+        if (elementsPerScore < 1) {
+            throw new IllegalArgumentException("Elements per score must be at least 1");
+        }
+        this.statistics = statistics;
+        this.elementsPerScore = elementsPerScore;
+    }
+
+    @Override
+    public Integer getScore(final Operation operation) {
+        final Long estimate = estimateResultSize(operation);
+        if (null == estimate) {
+            return null;
+        }
+        final long score = Math.max(1L, (estimate + elementsPerScore - 1) / elementsPerScore);
+        return (int) Math.min(Integer.MAX_VALUE, score);
+    }
+
+    /**
+     * Estimates the number of elements the operation will return.
+     *
+     * @param operation the operation to estimate
+     * @return the estimated number of results or null if the operation cannot
+     * be estimated.
+     */
+    public Long estimateResultSize(final Operation operation) {
+        if (operation instanceof GetAllElements) {
+            final View view = ((GetAllElements) operation).getView();
+            if (null == view) {
+                return statistics.getElementCount((Collection<String>) null);
+            }
+            return statistics.getElementCount(view.getEntityGroups()) + statistics.getElementCount(view.getEdgeGroups());
+        }
+
+        if (operation instanceof GetElements || operation instanceof GetAdjacentIds) {
+            final Object input = ((Input<?>) operation).getInput();
+            if (!(input instanceof Collection)) {
+                return null;
+            }
+
+            final View view = ((OperationView) operation).getView();
+            final Set<String> edgeGroups = null != view ? view.getEdgeGroups() : null;
+            final int entityGroups;
+            if (operation instanceof GetAdjacentIds) {
+                entityGroups = 0;
+            } else {
+                entityGroups = null != view ? view.getEntityGroups().size() : 1;
+            }
+
+            long estimate = 0;
+            for (final Object seed : (Collection<?>) input) {
+                if (seed instanceof EntityId) {
+                    estimate += entityGroups + statistics.estimateDegree(((EntityId) seed).getVertex(), edgeGroups);
+                } else {
+                    estimate++;
+                }
+            }
+            return estimate;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.statistics;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@code CountMinSketch} is a fixed size, thread safe, probabilistic data
+ * structure for estimating the number of times each item has been added.
+ * Estimates are never lower than the true count, but may be higher when items
+ * collide. Increasing the width reduces the error and increasing the depth
+ * reduces the probability of a large error.
+ */
+public class CountMinSketch implements Serializable {
+    public static final int DEFAULT_WIDTH = 2048;
+    public static final int DEFAULT_DEPTH = 4;
+
+    private static final long serialVersionUID = -4592264012350733271L;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F, 0x165667B1, 0xD3A2646C, 0xFD7046C5, 0xB55A4F09};
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counts;
+
+    public CountMinSketch() {
+        this(DEFAULT_WIDTH, DEFAULT_DEPTH);
+    }
+
+    public CountMinSketch(final int width, final int depth) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Width must be at least 1");
+        }
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + SEEDS.length);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counts = new AtomicLongArray(width * depth);
+    }
+
+    public void add(final Object item, final long count) {
+        final int hash = null == item ? 0 : item.hashCode();
+        for (int row = 0; row < depth; row++) {
+            counts.addAndGet(index(row, hash), count);
+        }
+    }
+
+    public long estimate(final Object item) {
+        final int hash = null == item ? 0 : item.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    private int index(final int row, final int hash) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return row * width + ((h & Integer.MAX_VALUE) % width);
+    }
+}
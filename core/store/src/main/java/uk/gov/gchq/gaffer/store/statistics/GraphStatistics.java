@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.statistics;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.AlwaysValid;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.TransformIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code GraphStatistics} holds approximate statistics about the elements that
+ * have been added to a store: the number of elements in each group and, for
+ * each edge group, a {@link CountMinSketch} of the degree of each vertex.
+ * <p>
+ * The statistics are updated as elements are ingested, so they only cover
+ * elements added since the statistics were created. Elements that are added
+ * more than once, for example to be aggregated, are counted each time they
+ * are added, so the counts are an upper bound on the number of elements
+ * stored.
+ * </p>
+ */
+public class GraphStatistics implements Serializable {
+    /**
+     * The key used to add the store's statistics to the context config.
+     */
+    public static final String CONTEXT_CONFIG_KEY = "gaffer.store.statistics";
+
+    private static final long serialVersionUID = 2836487127364539217L;
+
+    private final Map<String, LongAdder> groupCounts = new ConcurrentHashMap<>();
+    private final Map<String, CountMinSketch> degreeSketches = new ConcurrentHashMap<>();
+    private final int sketchWidth;
+    private final int sketchDepth;
+
+    public GraphStatistics() {
+        this(CountMinSketch.DEFAULT_WIDTH, CountMinSketch.DEFAULT_DEPTH);
+    }
+
+    public GraphStatistics(final int sketchWidth, final int sketchDepth) {
+        this.sketchWidth = sketchWidth;
+        this.sketchDepth = sketchDepth;
+    }
+
+    public void update(final Element element) {
+        if (null == element || null == element.getGroup()) {
+            return;
+        }
+
+        groupCounts.computeIfAbsent(element.getGroup(), k -> new LongAdder()).increment();
+        if (element instanceof Edge) {
+            final Edge edge = (Edge) element;
+            final CountMinSketch sketch = degreeSketches.computeIfAbsent(edge.getGroup(), k -> new CountMinSketch(sketchWidth, sketchDepth));
+            sketch.add(edge.getSource(), 1);
+            if (null == edge.getSource() || !edge.getSource().equals(edge.getDestination())) {
+                sketch.add(edge.getDestination(), 1);
+            }
+        }
+    }
+
+    /**
+     * Wraps the elements in an iterable that updates these statistics with
+     * each element as it is iterated over.
+     *
+     * @param elements the elements to track
+     * @return the tracked elements
+     */
+    public CloseableIterable<Element> track(final Iterable<? extends Element> elements) {
+        return new TransformIterable<Element, Element>(elements, new AlwaysValid<>(), false, false) {
+            @Override
+            protected Element transform(final Element element) {
+                update(element);
+                return element;
+            }
+        };
+    }
+
+    public Set<String> getGroups() {
+        return Collections.unmodifiableSet(new HashSet<>(groupCounts.keySet()));
+    }
+
+    public long getElementCount(final String group) {
+        final LongAdder count = groupCounts.get(group);
+        return null == count ? 0 : count.sum();
+    }
+
+    /**
+     * @param groups the groups to include, or null to include all groups
+     * @return the total number of elements in the groups
+     */
+    public long getElementCount(final Collection<String> groups) {
+        long count = 0;
+        for (final String group : null == groups ? groupCounts.keySet() : groups) {
+            count += getElementCount(group);
+        }
+        return count;
+    }
+
+    /**
+     * Estimates the number of edges connected to a vertex. The estimate is
+     * never lower than the true number of edges ingested.
+     *
+     * @param vertex     the vertex
+     * @param edgeGroups the edge groups to include, or null to include all
+     *                   edge groups
+     * @return the estimated degree of the vertex
+     */
+    public long estimateDegree(final Object vertex, final Collection<String> edgeGroups) {
+        long degree = 0;
+        for (final String group : null == edgeGroups ? degreeSketches.keySet() : edgeGroups) {
+            final CountMinSketch sketch = degreeSketches.get(group);
+            if (null != sketch) {
+                degree += sketch.estimate(vertex);
+            }
+        }
+        return degree;
+    }
+
+    public void clear() {
+        groupCounts.clear();
+        degreeSketches.clear();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.statistics;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+
+/**
+ * A {@code StatisticsAddElementsHandler} wraps the {@link AddElements} handler
+ * of a store and updates the store's {@link GraphStatistics} with each element
+ * as the delegate handler consumes the input.
+ */
+public class StatisticsAddElementsHandler implements OperationHandler<AddElements> {
+    private final OperationHandler<AddElements> delegate;
+    private final GraphStatistics statistics;
+
+    public StatisticsAddElementsHandler(final OperationHandler<AddElements> delegate, final GraphStatistics statistics) {
+        if (null == delegate) {
+            throw new IllegalArgumentException("A delegate handler is required");
+        }
+        if (null == statistics) {
+            throw new IllegalArgumentException("Statistics are required");
+        }
+        this.delegate = delegate;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Object doOperation(final AddElements operation, final Context context, final Store store) throws OperationException {
+        if (null != operation.getInput()) {
+            operation.setInput(statistics.track(operation.getInput()));
+        }
+        return delegate.doOperation(operation, context, store);
+    }
+
+    public OperationHandler<AddElements> getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil.IngestElementBinaryOperator;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil.ToIngestElementKey;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@code IngestAggregatingIterable} applies ingest aggregation to a stream
+ * of {@link Element}s using a bounded in memory window, so that repeated
+ * elements are combined before they are written to a store.
+ * <p>
+ * Elements in aggregated groups are grouped using the schema groupBy
+ * properties and aggregated with the schema ingest aggregator, as in
+ * {@link AggregatorUtil#ingestAggregate(Iterable, Schema)}. The aggregated
+ * elements are released when the window contains the maximum number of
+ * distinct elements, when the first element in the window is older than the
+ * maximum window time, or when the input is exhausted. Elements in groups that
+ * are not aggregated are released immediately.
+ * </p>
+ * <p>
+ * The window time is only checked as elements are read, so an element may be
+ * held for longer than the maximum window time if the input blocks. As with
+ * {@link AggregatorUtil#ingestAggregate(Iterable, Schema)}, the first element
+ * of each key is used to hold the aggregated properties.
+ * </p>
+ */
+public class IngestAggregatingIterable implements CloseableIterable<Element> {
+    private final Iterable<? extends Element> elements;
+    private final Schema schema;
+    private final int maxWindowSize;
+    private final long maxWindowMillis;
+
+    /**
+     * @param elements        the elements to aggregate
+     * @param schema          the schema containing the aggregators and groupBy properties to use
+     * @param maxWindowSize   the maximum number of distinct elements to hold in the window
+     * @param maxWindowMillis the maximum time in milliseconds to hold elements
+     *                        in the window, or 0 for no time limit
+     */
+    public IngestAggregatingIterable(final Iterable<? extends Element> elements, final Schema schema, final int maxWindowSize, final long maxWindowMillis) {
+        if (null == schema) {
+            throw new IllegalArgumentException("Schema is required");
+        }
+        if (maxWindowSize < 1) {
+            throw new IllegalArgumentException("maxWindowSize must be at least 1");
+        }
+        this.elements = elements;
+        this.schema = schema;
+        this.maxWindowSize = maxWindowSize;
+        this.maxWindowMillis = maxWindowMillis;
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        return new IngestAggregatingIterator(elements.iterator());
+    }
+
+    @Override
+    public void close() {
+        CloseableUtil.close(elements);
+    }
+
+    private final class IngestAggregatingIterator implements CloseableIterator<Element> {
+        private final Iterator<? extends Element> input;
+        private final Collection<String> aggregatedGroups = schema.getAggregatedGroups();
+        private final ToIngestElementKey toKey = new ToIngestElementKey(schema);
+        private final IngestElementBinaryOperator aggregator = new IngestElementBinaryOperator(schema);
+        private final Map<Element, Element> window = new LinkedHashMap<>();
+        private final Deque<Element> released = new ArrayDeque<>();
+        private long windowStartTime;
+
+        private IngestAggregatingIterator(final Iterator<? extends Element> input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (released.isEmpty()) {
+                if (!input.hasNext()) {
+                    if (window.isEmpty()) {
+                        return false;
+                    }
+                    releaseWindow();
+                } else {
+                    add(input.next());
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return released.poll();
+        }
+
+        @Override
+        public void close() {
+            CloseableUtil.close(input);
+        }
+
+        // Adds an element to the window, or releases it straight away if its
+        // group is not aggregated. The window is released before the element
+        // is added if it has expired, and after the element is added if it is
+        // full.
+        private void add(final Element element) {
+            if (null == element) {
+                return;
+            }
+            if (!aggregatedGroups.contains(element.getGroup())) {
+                released.add(element);
+                return;
+            }
+
+            if (!window.isEmpty() && maxWindowMillis > 0
+                    && System.currentTimeMillis() - windowStartTime >= maxWindowMillis) {
+                releaseWindow();
+            }
+            if (window.isEmpty()) {
+                windowStartTime = System.currentTimeMillis();
+            }
+            final Element key = toKey.apply(element);
+            window.put(key, aggregator.apply(window.get(key), element));
+            if (window.size() >= maxWindowSize) {
+                releaseWindow();
+            }
+        }
+
+        // Releases all of the elements in the window, in the order they were
+        // first added.
+        private void releaseWindow() {
+            released.addAll(window.values());
+            window.clear();
+        }
+    }
+}
@@ -58,6 +58,8 @@ import uk.gov.gchq.gaffer.operation.impl.Count;
 import uk.gov.gchq.gaffer.operation.impl.CountGroups;
 import uk.gov.gchq.gaffer.operation.impl.DiscardOutput;
 import uk.gov.gchq.gaffer.operation.impl.ForEach;
+import uk.gov.gchq.gaffer.operation.impl.GetKHopNeighbourhood;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
 import uk.gov.gchq.gaffer.operation.impl.GetVariable;
 import uk.gov.gchq.gaffer.operation.impl.GetVariables;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
@@ -532,6 +534,8 @@ public class StoreTest {
 
                 // Algorithm
                 GetWalks.class,
+                GetShortestPaths.class,
+                GetKHopNeighbourhood.class,
 
                 // OperationChain
                 OperationChain.class,
@@ -641,6 +645,8 @@ public class StoreTest {
 
                 // Algorithm
                 GetWalks.class,
+                GetShortestPaths.class,
+                GetKHopNeighbourhood.class,
 
                 // OperationChain
                 OperationChain.class,
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.GetKHopNeighbourhood;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+public class GetKHopNeighbourhoodHandlerTest {
+    private static final String[][] EDGES = {
+            {"A", "B"},
+            {"A", "C"},
+            {"B", "A"},
+            {"B", "D"},
+            {"C", "D"},
+            {"D", "E"},
+            {"E", "F"}
+    };
+
+    @Test
+    public void shouldHandleNullInput() throws Exception {
+        // Given
+        final GetKHopNeighbourhood operation = new GetKHopNeighbourhood();
+
+        // When
+        final CloseableIterable<? extends EntityId> result = new GetKHopNeighbourhoodHandler().doOperation(operation, null, null);
+
+        // Then
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void shouldGetVerticesWithinHopsAndQueryEachVertexOnce() throws Exception {
+        // Given
+        final List<List<Object>> queriedVertices = new ArrayList<>();
+        final Store store = mockStore(queriedVertices);
+        final GetKHopNeighbourhood operation = createOperation()
+                .input(new EntitySeed("A"))
+                .hops(3)
+                .build();
+
+        // When
+        final CloseableIterable<? extends EntityId> result = new GetKHopNeighbourhoodHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertEquals(
+                Lists.newArrayList(new EntitySeed("B"), new EntitySeed("C"), new EntitySeed("D"), new EntitySeed("E")),
+                Lists.newArrayList(result));
+        assertEquals(
+                Arrays.asList(
+                        Arrays.<Object>asList("A"),
+                        Arrays.<Object>asList("B", "C"),
+                        Arrays.<Object>asList("D")),
+                queriedVertices);
+    }
+
+    @Test
+    public void shouldQueryFrontierInBatches() throws Exception {
+        // Given
+        final List<List<Object>> queriedVertices = new ArrayList<>();
+        final Store store = mockStore(queriedVertices);
+        final GetKHopNeighbourhood operation = createOperation()
+                .input(new EntitySeed("A"))
+                .hops(2)
+                .batchSize(1)
+                .build();
+
+        // When
+        final CloseableIterable<? extends EntityId> result = new GetKHopNeighbourhoodHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertEquals(
+                Lists.newArrayList(new EntitySeed("B"), new EntitySeed("C"), new EntitySeed("D")),
+                Lists.newArrayList(result));
+        assertEquals(
+                Arrays.asList(
+                        Arrays.<Object>asList("A"),
+                        Arrays.<Object>asList("B"),
+                        Arrays.<Object>asList("C")),
+                queriedVertices);
+    }
+
+    private GetKHopNeighbourhood.Builder createOperation() {
+        return new GetKHopNeighbourhood.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING);
+    }
+
+    private Store mockStore(final List<List<Object>> queriedVertices) throws Exception {
+        final Store store = mock(Store.class);
+        given(store.execute(any(GetAdjacentIds.class), any(Context.class))).willAnswer(invocation -> {
+            final GetAdjacentIds query = (GetAdjacentIds) invocation.getArguments()[0];
+            final List<Object> vertices = new ArrayList<>();
+            final List<EntityId> results = new ArrayList<>();
+            for (final EntityId seed : query.getInput()) {
+                vertices.add(seed.getVertex());
+                for (final String[] edge : EDGES) {
+                    if (edge[0].equals(seed.getVertex())) {
+                        results.add(new EntitySeed(edge[1]));
+                    }
+                }
+            }
+            queriedVertices.add(vertices);
+            return new WrappedCloseableIterable<>(results);
+        });
+        return store;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+import uk.gov.gchq.gaffer.operation.impl.GetShortestPaths;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+public class GetShortestPathsHandlerTest {
+    private static final String[][] EDGES = {
+            {"A", "B"},
+            {"A", "C"},
+            {"B", "D"},
+            {"C", "D"},
+            {"D", "E"},
+            {"E", "F"},
+            {"X", "Y"}
+    };
+
+    @Test
+    public void shouldHandleNullInput() throws Exception {
+        // Given
+        final GetShortestPaths operation = new GetShortestPaths.Builder()
+                .targets("A")
+                .build();
+
+        // When
+        final Iterable<List<Object>> result = new GetShortestPathsHandler().doOperation(operation, null, null);
+
+        // Then
+        assertThat(result, is(nullValue()));
+    }
+
+    @Test
+    public void shouldGetAllShortestPathsBetweenSourceAndTarget() throws Exception {
+        // Given
+        final List<GetAdjacentIds> queries = new ArrayList<>();
+        final Store store = mockStore(queries);
+        final GetShortestPaths operation = createOperation()
+                .input(new EntitySeed("A"))
+                .targets("E")
+                .build();
+
+        // When
+        final Iterable<List<Object>> result = new GetShortestPathsHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertThat(Lists.newArrayList(result), containsInAnyOrder(
+                Arrays.<Object>asList("A", "B", "D", "E"),
+                Arrays.<Object>asList("A", "C", "D", "E")));
+        for (final GetAdjacentIds query : queries) {
+            for (final EntityId seed : query.getInput()) {
+                assertFalse("F should not be queried", "F".equals(seed.getVertex()));
+            }
+        }
+    }
+
+    @Test
+    public void shouldSearchFromBothEnds() throws Exception {
+        // Given
+        final List<GetAdjacentIds> queries = new ArrayList<>();
+        final Store store = mockStore(queries);
+        final GetShortestPaths operation = createOperation()
+                .input(new EntitySeed("A"))
+                .targets("F")
+                .build();
+
+        // When
+        final Iterable<List<Object>> result = new GetShortestPathsHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertEquals(2, Lists.newArrayList(result).size());
+        boolean searchedBackwards = false;
+        for (final GetAdjacentIds query : queries) {
+            if (IncludeIncomingOutgoingType.INCOMING == query.getIncludeIncomingOutGoing()) {
+                searchedBackwards = true;
+            }
+        }
+        assertTrue(searchedBackwards);
+    }
+
+    @Test
+    public void shouldReturnNoPathsWhenTargetIsNotReachable() throws Exception {
+        // Given
+        final Store store = mockStore(new ArrayList<>());
+        final GetShortestPaths operation = createOperation()
+                .input(new EntitySeed("A"))
+                .targets("Y")
+                .build();
+
+        // When
+        final Iterable<List<Object>> result = new GetShortestPathsHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertTrue(Lists.newArrayList(result).isEmpty());
+    }
+
+    @Test
+    public void shouldNotReturnPathsLongerThanMaxHops() throws Exception {
+        // Given
+        final Store store = mockStore(new ArrayList<>());
+        final GetShortestPaths operation = createOperation()
+                .input(new EntitySeed("A"))
+                .targets("E")
+                .maxHops(2)
+                .build();
+
+        // When
+        final Iterable<List<Object>> result = new GetShortestPathsHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertTrue(Lists.newArrayList(result).isEmpty());
+    }
+
+    @Test
+    public void shouldLimitResults() throws Exception {
+        // Given
+        final Store store = mockStore(new ArrayList<>());
+        final GetShortestPaths operation = createOperation()
+                .input(new EntitySeed("A"))
+                .targets("E")
+                .resultsLimit(1)
+                .build();
+
+        // When
+        final Iterable<List<Object>> result = new GetShortestPathsHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertEquals(1, Lists.newArrayList(result).size());
+    }
+
+    @Test
+    public void shouldQueryFrontierInBatches() throws Exception {
+        // Given
+        final List<GetAdjacentIds> queries = new ArrayList<>();
+        final Store store = mockStore(queries);
+        final GetShortestPaths operation = createOperation()
+                .input(new EntitySeed("A"))
+                .targets("F")
+                .batchSize(1)
+                .build();
+
+        // When
+        final Iterable<List<Object>> result = new GetShortestPathsHandler().doOperation(operation, new Context(new User()), store);
+
+        // Then
+        assertEquals(2, Lists.newArrayList(result).size());
+        for (final GetAdjacentIds query : queries) {
+            assertEquals(1, Lists.newArrayList(query.getInput()).size());
+        }
+    }
+
+    private GetShortestPaths.Builder createOperation() {
+        return new GetShortestPaths.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .inOutType(IncludeIncomingOutgoingType.OUTGOING);
+    }
+
+    private Store mockStore(final List<GetAdjacentIds> queries) throws Exception {
+        final Store store = mock(Store.class);
+        given(store.execute(any(GetAdjacentIds.class), any(Context.class))).willAnswer(invocation -> {
+            final GetAdjacentIds query = (GetAdjacentIds) invocation.getArguments()[0];
+            queries.add(query);
+            final boolean outgoing = IncludeIncomingOutgoingType.INCOMING != query.getIncludeIncomingOutGoing();
+            final boolean incoming = IncludeIncomingOutgoingType.OUTGOING != query.getIncludeIncomingOutGoing();
+            final List<EntityId> results = new ArrayList<>();
+            for (final EntityId seed : query.getInput()) {
+                for (final String[] edge : EDGES) {
+                    if (outgoing && edge[0].equals(seed.getVertex())) {
+                        results.add(new EntitySeed(edge[1]));
+                    }
+                    if (incoming && edge[1].equals(seed.getVertex())) {
+                        results.add(new EntitySeed(edge[0]));
+                    }
+                }
+            }
+            return new WrappedCloseableIterable<>(results);
+        });
+        return store;
+    }
+}
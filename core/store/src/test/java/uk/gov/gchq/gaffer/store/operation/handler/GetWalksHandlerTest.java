@@ -17,20 +17,38 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 
 public class GetWalksHandlerTest {
     @Test
@@ -59,6 +77,8 @@ public class GetWalksHandlerTest {
         // Given
         final GetWalksHandler obj = new GetWalksHandler();
         obj.setPrune(true);
+        obj.setBatchSize(10);
+        obj.setParallelism(2);
 
         // When
         final byte[] json = JSONSerialiser.serialise(obj, true);
@@ -66,5 +86,57 @@ public class GetWalksHandlerTest {
 
         // Then
         assertNotNull(deserialisedObj);
+        assertEquals(10, (int) deserialisedObj.getBatchSize());
+        assertEquals(2, (int) deserialisedObj.getParallelism());
+    }
+
+    @Test
+    public void shouldDeduplicateSeedsAndQueryBatchesInParallel() throws Exception {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final GetWalks operation = new GetWalks.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B"))
+                .operations(getElements, getElements.shallowClone())
+                .build();
+
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setBatchSize(1);
+        handler.setParallelism(2);
+
+        final Store store = mock(Store.class);
+        final List<List<Object>> queriedSeeds = Collections.synchronizedList(new ArrayList<>());
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = (OperationChain<?>) invocation.getArguments()[0];
+            final List<Object> seeds = new ArrayList<>();
+            for (final Object seed : ((ToEntitySeeds) chain.getOperations().get(0)).getInput()) {
+                seeds.add(seed);
+            }
+            queriedSeeds.add(seeds);
+
+            final List<Element> edges = new ArrayList<>();
+            for (final Object seed : seeds) {
+                final Object vertex = seed instanceof EntitySeed ? ((EntitySeed) seed).getVertex() : seed;
+                if ("A".equals(vertex) || "B".equals(vertex)) {
+                    edges.add(new Edge.Builder().group(TestGroups.EDGE).source(vertex).dest("C").directed(true).build());
+                } else if ("C".equals(vertex)) {
+                    edges.add(new Edge.Builder().group(TestGroups.EDGE).source("C").dest("D").directed(true).build());
+                }
+            }
+            return edges;
+        });
+
+        // When
+        final List<Walk> walks = Lists.newArrayList(handler.doOperation(operation, new Context(new User()), store));
+
+        // Then
+        assertEquals(3, queriedSeeds.size());
+        assertEquals(Collections.singletonList("C"), queriedSeeds.get(2));
+        assertEquals(2, walks.size());
+        assertEquals(Lists.newArrayList("A", "C", "D"), walks.get(0).getVerticesOrdered());
+        assertEquals(Lists.newArrayList("B", "C", "D"), walks.get(1).getVerticesOrdered());
     }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.PipelinedIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
+import uk.gov.gchq.gaffer.store.operation.handler.output.ToListHandler;
+import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.ValidationResult;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PipelinedOperationChainHandlerTest {
+
+    @Test
+    public void shouldPipelineLazyInputToBlockingOperation() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.emptyList();
+        final PipelinedOperationChainHandler opChainHandler = new PipelinedOperationChainHandler(opChainValidator, opChainOptimisers, 2);
+
+        final Context context = new Context(new User());
+        final Store store = mock(Store.class);
+
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToList<Element> toList = new ToList<>();
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(toList)
+                .build();
+        final List<Element> elements = Lists.newArrayList(
+                new Entity(TestGroups.ENTITY, "1"),
+                new Entity(TestGroups.ENTITY, "2"),
+                new Entity(TestGroups.ENTITY, "3"));
+
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(store.getOperationHandler(ToList.class)).willReturn((OperationHandler) new ToListHandler<>());
+        given(store.handleOperation(getAllElements, context)).willReturn(new WrappedCloseableIterable<>(elements));
+        given(store.handleOperation(toList, context)).willAnswer(invocation -> new ToListHandler<Element>().doOperation(toList, context, store));
+
+        // When
+        final Object result = opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertTrue(toList.getInput() instanceof PipelinedIterable);
+        assertEquals(elements, result);
+    }
+
+    @Test
+    public void shouldNotPipelineInputToStreamingOperation() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.emptyList();
+        final PipelinedOperationChainHandler opChainHandler = new PipelinedOperationChainHandler(opChainValidator, opChainOptimisers, 2);
+
+        final Context context = new Context(new User());
+        final Store store = mock(Store.class);
+
+        final GetAllElements getAllElements = new GetAllElements();
+        final Limit<Element> limit = new Limit<>(2);
+        final OperationChain opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(limit)
+                .build();
+        final WrappedCloseableIterable<Element> elements = new WrappedCloseableIterable<>(
+                Collections.singletonList(new Entity(TestGroups.ENTITY, "1")));
+        final Object expectedResult = new Object();
+
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(store.getOperationHandler(Limit.class)).willReturn((OperationHandler) new LimitHandler<>());
+        given(store.handleOperation(getAllElements, context)).willReturn(elements);
+        given(store.handleOperation(limit, context)).willReturn(expectedResult);
+
+        // When
+        final Object result = opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertSame(elements, limit.getInput());
+        assertFalse(limit.getInput() instanceof PipelinedIterable);
+        assertSame(expectedResult, result);
+    }
+
+    @Test
+    public void shouldNotShutDownASuppliedExecutorWhenClosed() {
+        // Given
+        final ExecutorService executor = mock(ExecutorService.class);
+        final PipelinedOperationChainHandler opChainHandler = new PipelinedOperationChainHandler(mock(OperationChainValidator.class), Collections.emptyList(), 2, executor);
+
+        // When
+        opChainHandler.close();
+
+        // Then
+        verify(executor, never()).shutdown();
+    }
+
+    @Test
+    public void shouldThrowExceptionIfQueueSizeIsInvalid() {
+        try {
+            new PipelinedOperationChainHandler<>(mock(OperationChainValidator.class), Collections.emptyList(), 0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Pipeline queue size must be at least 1", e.getMessage());
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
@@ -28,6 +30,7 @@ import uk.gov.gchq.gaffer.named.operation.NamedOperation;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.If;
 import uk.gov.gchq.gaffer.operation.impl.Limit;
 import uk.gov.gchq.gaffer.operation.impl.ScoreOperationChain;
@@ -44,6 +47,7 @@ import uk.gov.gchq.gaffer.store.operation.resolver.DefaultScoreResolver;
 import uk.gov.gchq.gaffer.store.operation.resolver.IfScoreResolver;
 import uk.gov.gchq.gaffer.store.operation.resolver.ScoreResolver;
 import uk.gov.gchq.gaffer.store.operation.resolver.named.NamedOperationScoreResolver;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.InputStream;
@@ -541,4 +545,41 @@ public class ScoreOperationChainHandlerTest {
         assertTrue(results.get(If.class) instanceof IfScoreResolver);
         assertEquals(expectedMap.size(), results.size());
     }
+
+    @Test
+    public void shouldScoreUsingStatisticsWhenElementsPerScoreIsSet() throws OperationException {
+        // Given
+        final ScoreOperationChainHandler handler = new ScoreOperationChainHandler();
+        final Map<Class<? extends Operation>, Integer> opScores = new LinkedHashMap<>();
+        opScores.put(Operation.class, 1);
+        opScores.put(GetAllElements.class, 5);
+        handler.setOpScores(opScores);
+        handler.setElementsPerScore(10L);
+
+        final GraphStatistics statistics = new GraphStatistics();
+        for (int i = 0; i < 100; i++) {
+            statistics.update(new Edge.Builder().group(TestGroups.EDGE).source("hub").dest("leaf" + i).directed(true).build());
+        }
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+        given(context.getUser()).willReturn(user);
+        given(store.getStatistics()).willReturn(statistics);
+
+        final OperationChain<?> getAll = new OperationChain<>(new GetAllElements());
+        final OperationChain<?> getLeaf = new OperationChain<>(new GetAdjacentIds.Builder()
+                .input(new EntitySeed("leaf1"))
+                .build());
+
+        // When
+        final Object getAllScore = handler.doOperation(new ScoreOperationChain.Builder().operationChain(getAll).build(), context, store);
+        final Object getLeafScore = handler.doOperation(new ScoreOperationChain.Builder().operationChain(getLeaf).build(), context, store);
+        final int getAllScoreWithoutStatistics = handler.getChainScore(getAll, user, null);
+
+        // Then
+        assertEquals(10, getAllScore);
+        assertEquals(1, getLeafScore);
+        assertEquals(5, getAllScoreWithoutStatistics);
+    }
 }
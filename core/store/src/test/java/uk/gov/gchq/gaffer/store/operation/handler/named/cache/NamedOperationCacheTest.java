@@ -278,4 +278,34 @@ public class NamedOperationCacheTest {
 
         cache.addNamedOperation(alt, true, userWithAdminAuth, ADMIN_AUTH);
     }
+
+    @Test
+    public void shouldKeepNamedOperationsWhenOtherCachesHaveAMaxSize() throws CacheOperationFailedException {
+        // Given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_SERVICE_CLASS, HashMapCacheService.class.getName());
+        properties.setProperty(CacheProperties.CACHE_MAX_SIZE, "1");
+        properties.setProperty(CacheProperties.CACHE_MAX_SIZE + ".OperationChainResultCache", "1");
+        CacheServiceLoader.initialise(properties);
+        try {
+            final NamedOperationDetail alt = new NamedOperationDetail.Builder()
+                    .operationName("different")
+                    .description("alt")
+                    .creatorId(advancedUser.getUserId())
+                    .readers(readers)
+                    .writers(writers)
+                    .operationChain(alternativeOpChain)
+                    .build();
+
+            // When
+            cache.addNamedOperation(standard, false, standardUser);
+            cache.addNamedOperation(alt, false, advancedUser);
+
+            // Then
+            assertEquals(standard, cache.getNamedOperation(OPERATION_NAME, standardUser));
+            assertEquals(alt, cache.getNamedOperation("different", standardUser));
+        } finally {
+            setUp();
+        }
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.resolver;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class StatisticsScoreResolverTest {
+    private GraphStatistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = new GraphStatistics();
+        for (int i = 0; i < 100; i++) {
+            statistics.update(new Edge.Builder().group(TestGroups.EDGE).source("hub").dest("leaf" + i).directed(true).build());
+            statistics.update(new Entity(TestGroups.ENTITY, "leaf" + i));
+        }
+        statistics.update(new Edge.Builder().group(TestGroups.EDGE_2).source("leaf0").dest("leaf1").directed(true).build());
+    }
+
+    @Test
+    public void shouldEstimateGetAllElementsFromGroupCounts() {
+        // Given
+        final StatisticsScoreResolver resolver = new StatisticsScoreResolver(statistics, 1);
+
+        // When / Then
+        assertEquals(201L, (long) resolver.estimateResultSize(new GetAllElements()));
+        assertEquals(100L, (long) resolver.estimateResultSize(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build()));
+    }
+
+    @Test
+    public void shouldEstimateSeededOperationsFromVertexDegrees() {
+        // Given
+        final StatisticsScoreResolver resolver = new StatisticsScoreResolver(statistics, 1);
+        final View edgeView = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When / Then
+        assertEquals(100L, (long) resolver.estimateResultSize(new GetAdjacentIds.Builder()
+                .input(new EntitySeed("hub"))
+                .view(edgeView)
+                .build()));
+        assertEquals(2L, (long) resolver.estimateResultSize(new GetElements.Builder()
+                .input(new EntitySeed("leaf5"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build()));
+    }
+
+    @Test
+    public void shouldScoreUsingElementsPerScore() {
+        // Given
+        final StatisticsScoreResolver resolver = new StatisticsScoreResolver(statistics, 50);
+
+        // When
+        final Integer hubScore = resolver.getScore(new GetAdjacentIds.Builder()
+                .input(new EntitySeed("hub"))
+                .build());
+        final Integer leafScore = resolver.getScore(new GetAdjacentIds.Builder()
+                .input(new EntitySeed("leaf2"))
+                .build());
+
+        // Then
+        assertEquals(2, (int) hubScore);
+        assertEquals(1, (int) leafScore);
+    }
+
+    @Test
+    public void shouldNotScoreOperationsThatCannotBeEstimated() {
+        // Given
+        final StatisticsScoreResolver resolver = new StatisticsScoreResolver(statistics, 1);
+        final GetElements lazyInput = new GetElements();
+        lazyInput.setInput(new WrappedCloseableIterable<>(Arrays.asList(new EntitySeed("hub"))));
+
+        // When / Then
+        assertNull(resolver.getScore(new Limit<>(10)));
+        assertNull(resolver.getScore(new GetElements()));
+        assertNull(resolver.getScore(lazyInput));
+    }
+}
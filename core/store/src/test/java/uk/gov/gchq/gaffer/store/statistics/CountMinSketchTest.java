@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.statistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CountMinSketchTest {
+    @Test
+    public void shouldNeverUnderestimateCounts() {
+        // Given
+        final CountMinSketch sketch = new CountMinSketch(64, 4);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("vertex" + i, i % 10);
+        }
+
+        // Then
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(sketch.estimate("vertex" + i) >= i % 10);
+        }
+    }
+
+    @Test
+    public void shouldEstimateExactCountsWithoutCollisions() {
+        // Given
+        final CountMinSketch sketch = new CountMinSketch();
+
+        // When
+        sketch.add("A", 3);
+        sketch.add("B", 1);
+        sketch.add("A", 2);
+
+        // Then
+        assertEquals(5, sketch.estimate("A"));
+        assertEquals(1, sketch.estimate("B"));
+        assertEquals(0, sketch.estimate("C"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidDepth() {
+        new CountMinSketch(10, 0);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.statistics;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class GraphStatisticsTest {
+    @Test
+    public void shouldCountElementsPerGroup() {
+        // Given
+        final GraphStatistics statistics = new GraphStatistics();
+
+        // When
+        statistics.update(new Entity(TestGroups.ENTITY, "A"));
+        statistics.update(createEdge("A", "B"));
+        statistics.update(createEdge("A", "C"));
+
+        // Then
+        assertEquals(1, statistics.getElementCount(TestGroups.ENTITY));
+        assertEquals(2, statistics.getElementCount(TestGroups.EDGE));
+        assertEquals(0, statistics.getElementCount(TestGroups.EDGE_2));
+        assertEquals(3, statistics.getElementCount((List<String>) null));
+        assertEquals(Sets.newHashSet(TestGroups.ENTITY, TestGroups.EDGE), statistics.getGroups());
+    }
+
+    @Test
+    public void shouldEstimateVertexDegrees() {
+        // Given
+        final GraphStatistics statistics = new GraphStatistics();
+
+        // When
+        statistics.update(createEdge("A", "B"));
+        statistics.update(createEdge("A", "C"));
+        statistics.update(createEdge("A", "A"));
+        statistics.update(new Edge.Builder().group(TestGroups.EDGE_2).source("A").dest("D").directed(true).build());
+
+        // Then
+        assertEquals(4, statistics.estimateDegree("A", null));
+        assertEquals(3, statistics.estimateDegree("A", Collections.singleton(TestGroups.EDGE)));
+        assertEquals(1, statistics.estimateDegree("B", null));
+        assertEquals(0, statistics.estimateDegree("B", Collections.singleton(TestGroups.EDGE_2)));
+    }
+
+    @Test
+    public void shouldUpdateStatisticsWhenTrackedElementsAreIterated() {
+        // Given
+        final GraphStatistics statistics = new GraphStatistics();
+        final List<Element> elements = Arrays.asList(createEdge("A", "B"), new Entity(TestGroups.ENTITY, "A"));
+
+        // When
+        final Iterable<Element> tracked = statistics.track(elements);
+
+        // Then
+        assertEquals(0, statistics.getElementCount((List<String>) null));
+        assertEquals(elements, Lists.newArrayList(tracked));
+        assertEquals(2, statistics.getElementCount((List<String>) null));
+    }
+
+    @Test
+    public void shouldClearStatistics() {
+        // Given
+        final GraphStatistics statistics = new GraphStatistics();
+        statistics.update(createEdge("A", "B"));
+
+        // When
+        statistics.clear();
+
+        // Then
+        assertEquals(0, statistics.getElementCount(TestGroups.EDGE));
+        assertEquals(0, statistics.estimateDegree("A", null));
+    }
+
+    private Edge createEdge(final String source, final String dest) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(dest)
+                .directed(true)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.statistics;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class StatisticsAddElementsHandlerTest {
+    @Test
+    public void shouldUpdateStatisticsAsDelegateConsumesInput() throws Exception {
+        // Given
+        final GraphStatistics statistics = new GraphStatistics();
+        final List<Element> consumed = new ArrayList<>();
+        final OperationHandler<AddElements> delegate = (operation, context, store) -> {
+            for (final Element element : operation.getInput()) {
+                consumed.add(element);
+            }
+            return null;
+        };
+        final StatisticsAddElementsHandler handler = new StatisticsAddElementsHandler(delegate, statistics);
+        final AddElements addElements = new AddElements.Builder()
+                .input(new Entity(TestGroups.ENTITY, "A"), new Entity(TestGroups.ENTITY, "B"))
+                .build();
+
+        // When
+        handler.doOperation(addElements, new Context(new User()), (Store) null);
+
+        // Then
+        assertEquals(Lists.newArrayList(new Entity(TestGroups.ENTITY, "A"), new Entity(TestGroups.ENTITY, "B")), consumed);
+        assertEquals(2, statistics.getElementCount(TestGroups.ENTITY));
+    }
+}
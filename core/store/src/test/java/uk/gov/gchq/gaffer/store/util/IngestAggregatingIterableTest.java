@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class IngestAggregatingIterableTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "count")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.COUNT, "count")
+                    .aggregate(false)
+                    .build())
+            .type("string", String.class)
+            .type("true", Boolean.class)
+            .type("count", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .aggregateFunction(new Sum())
+                    .build())
+            .build();
+
+    @Test
+    public void shouldAggregateElementsWithinWindow() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                createEntity("A", 1L),
+                createEntity("B", 2L),
+                createEntity("A", 3L),
+                createEntity("B", 4L),
+                createEntity("A", 5L)
+        );
+
+        // When
+        final List<Element> results = Lists.newArrayList(new IngestAggregatingIterable(elements, SCHEMA, 10, 0));
+
+        // Then
+        assertEquals(Arrays.asList(createEntity("A", 9L), createEntity("B", 6L)), results);
+    }
+
+    @Test
+    public void shouldReleaseWindowWhenFull() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                createEntity("A", 1L),
+                createEntity("A", 2L),
+                createEntity("B", 3L),
+                createEntity("A", 4L),
+                createEntity("C", 5L),
+                createEntity("A", 6L)
+        );
+
+        // When
+        final List<Element> results = Lists.newArrayList(new IngestAggregatingIterable(elements, SCHEMA, 2, 0));
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEntity("A", 3L),
+                createEntity("B", 3L),
+                createEntity("A", 4L),
+                createEntity("C", 5L),
+                createEntity("A", 6L)
+        ), results);
+    }
+
+    @Test
+    public void shouldReleaseWindowWhenWindowTimeHasPassed() {
+        // Given
+        final Iterable<Element> elements = () -> Arrays.<Element>asList(
+                createEntity("A", 1L),
+                createEntity("A", 2L),
+                createEntity("A", 3L)
+        ).stream().peek(e -> sleep(5)).iterator();
+
+        // When
+        final List<Element> results = Lists.newArrayList(new IngestAggregatingIterable(elements, SCHEMA, 10, 1));
+
+        // Then
+        assertEquals(Arrays.asList(
+                createEntity("A", 1L),
+                createEntity("A", 2L),
+                createEntity("A", 3L)
+        ), results);
+    }
+
+    @Test
+    public void shouldNotAggregateElementsInNonAggregatedGroups() {
+        // Given
+        final Edge edge1 = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("A")
+                .dest("B")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 1L)
+                .build();
+        final Edge edge2 = edge1.shallowClone();
+        final List<Element> elements = Arrays.asList(edge1, createEntity("A", 1L), edge2, null);
+
+        // When
+        final List<Element> results = Lists.newArrayList(new IngestAggregatingIterable(elements, SCHEMA, 10, 0));
+
+        // Then
+        assertEquals(Arrays.asList(edge1, edge2, createEntity("A", 1L)), results);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfWindowSizeIsLessThanOne() {
+        try {
+            new IngestAggregatingIterable(Arrays.asList(), SCHEMA, 0, 0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("maxWindowSize must be at least 1", e.getMessage());
+        }
+    }
+
+    private static Entity createEntity(final String vertex, final long count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
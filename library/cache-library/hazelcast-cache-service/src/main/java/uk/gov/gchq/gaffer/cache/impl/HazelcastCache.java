@@ -16,13 +16,27 @@
 
 package uk.gov.gchq.gaffer.cache.impl;
 
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapEvent;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
 
+import uk.gov.gchq.gaffer.cache.CacheInvalidationListener;
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 
 /**
  * Implementation of the {@link ICache} interface, using a Hazelcast {@link IMap}
@@ -52,6 +66,79 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
         }
     }
 
+    @Override
+    public V putIfAbsent(final K key, final V value) throws CacheOperationException {
+        try {
+            return distributedMap.putIfAbsent(key, value);
+        } catch (final Exception e) {
+            throw new CacheOperationException(e);
+        }
+    }
+
+    /**
+     * Computes the new value using optimistic concurrency: the existing value
+     * is read, the new value is computed locally and then conditionally
+     * written with putIfAbsent, replace or remove. If another member changed
+     * the entry in the meantime the computation is retried, so the remapping
+     * function may be called more than once.
+     *
+     * @param key               the key of the entry to compute
+     * @param remappingFunction the function to compute the new value
+     * @return the new value
+     * @throws CacheOperationException if there is an error updating the cache
+     */
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws CacheOperationException {
+        try {
+            while (true) {
+                final V existing = distributedMap.get(key);
+                final V value = remappingFunction.apply(key, existing);
+                final boolean updated;
+                if (null == existing) {
+                    updated = null == value || null == distributedMap.putIfAbsent(key, value);
+                } else if (null == value) {
+                    updated = distributedMap.remove(key, existing);
+                } else {
+                    updated = distributedMap.replace(key, existing, value);
+                }
+                if (updated) {
+                    return value;
+                }
+            }
+        } catch (final Exception e) {
+            throw new CacheOperationException(e);
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        return distributedMap.getAll(new HashSet<>(keys));
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        try {
+            distributedMap.putAll(entries);
+        } catch (final Exception e) {
+            throw new CacheOperationException(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<V> getAsync(final K key) {
+        return toCompletableFuture(distributedMap.getAsync(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(final K key, final V value) {
+        return toCompletableFuture(distributedMap.putAsync(key, value)).thenApply(previous -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(final K key) {
+        return toCompletableFuture(distributedMap.removeAsync(key)).thenApply(previous -> null);
+    }
+
     @Override
     public void remove(final K key) {
         distributedMap.remove(key);
@@ -80,4 +167,68 @@ public class HazelcastCache <K, V> implements ICache<K, V> {
             throw new CacheOperationException(e);
         }
     }
+
+    /**
+     * Registers the listener as a Hazelcast entry listener, so it is notified
+     * when entries are updated, removed or evicted on any member of the
+     * cluster.
+     *
+     * @param listener the listener to register
+     * @return true
+     */
+    @Override
+    public boolean addInvalidationListener(final CacheInvalidationListener<K> listener) {
+        distributedMap.addEntryListener(new InvalidatingEntryListener<>(listener), false);
+        return true;
+    }
+
+    private static <T> CompletableFuture<T> toCompletableFuture(final ICompletableFuture<T> future) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        future.andThen(new ExecutionCallback<T>() {
+            @Override
+            public void onResponse(final T response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void onFailure(final Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    private static final class InvalidatingEntryListener<K, V> implements EntryUpdatedListener<K, V>,
+            EntryRemovedListener<K, V>, EntryEvictedListener<K, V>, MapClearedListener, MapEvictedListener {
+        private final CacheInvalidationListener<K> listener;
+
+        private InvalidatingEntryListener(final CacheInvalidationListener<K> listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void entryUpdated(final EntryEvent<K, V> event) {
+            listener.invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryRemoved(final EntryEvent<K, V> event) {
+            listener.invalidate(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<K, V> event) {
+            listener.invalidate(event.getKey());
+        }
+
+        @Override
+        public void mapCleared(final MapEvent event) {
+            listener.invalidateAll();
+        }
+
+        @Override
+        public void mapEvicted(final MapEvent event) {
+            listener.invalidateAll();
+        }
+    }
 }
@@ -27,12 +27,23 @@ import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 /**
  * Implementation of the {@link ICache} interface, using a JCS {@link GroupCacheAccess}
  * object as the cache data store.
  *
+ * <p>
+ * JCS has no conditional or bulk group operations, so writes are synchronised
+ * on the underlying {@link CompositeCache}, which is shared by every JcsCache
+ * created for the same cache name. This makes {@link #putIfAbsent(Object, Object)}
+ * and {@link #compute(Object, BiFunction)} atomic within a JVM, but not across
+ * lateral caches.
+ * </p>
+ *
  * @param <K> The object type that acts as the key for the cache
  * @param <V> The value that is stored in the cache
  */
@@ -40,14 +51,16 @@ public class JcsCache <K, V> implements ICache<K, V> {
 
     private final GroupCacheAccess<K, V> cache;
     private final String groupName;
+    private final Object lock;
 
     public JcsCache(final CompositeCache cache) throws CacheException {
-        this(cache.getCacheName(), cache.getCacheAttributes());
+        this(cache.getCacheName(), cache.getCacheAttributes(), cache);
     }
 
-    private JcsCache(final String cacheName, final ICompositeCacheAttributes attr) throws CacheException {
+    private JcsCache(final String cacheName, final ICompositeCacheAttributes attr, final Object lock) throws CacheException {
         this.groupName = cacheName;
         this.cache = JCS.getGroupCacheInstance(cacheName, attr);
+        this.lock = lock;
     }
 
     @Override
@@ -60,30 +73,79 @@ public class JcsCache <K, V> implements ICache<K, V> {
         if (null == key) {
             throw new CacheOperationException("Key must not be null");
         }
-        try {
-            cache.putInGroup(key, groupName, value);
-        } catch (final CacheException e) {
-            throw new CacheOperationException("Failed to add item to cache", e);
+        synchronized (lock) {
+            putInGroup(key, value);
         }
     }
 
     @Override
-    public void remove(final K key) {
-        cache.removeFromGroup(key, groupName);
+    public V putIfAbsent(final K key, final V value) throws CacheOperationException {
+        if (null == key) {
+            throw new CacheOperationException("Key must not be null");
+        }
+        synchronized (lock) {
+            final V existing = get(key);
+            if (null == existing) {
+                putInGroup(key, value);
+            }
+            return existing;
+        }
     }
 
     @Override
-    public Collection<V> getAllValues() {
-        ArrayList<V> values = new ArrayList<V>();
-        Set<K> keys = getAllKeys();
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) throws CacheOperationException {
+        if (null == key) {
+            throw new CacheOperationException("Key must not be null");
+        }
+        synchronized (lock) {
+            final V value = remappingFunction.apply(key, get(key));
+            if (null == value) {
+                cache.removeFromGroup(key, groupName);
+            } else {
+                putInGroup(key, value);
+            }
+            return value;
+        }
+    }
 
+    @Override
+    public Map<K, V> getAll(final Collection<? extends K> keys) {
+        final Map<K, V> values = new LinkedHashMap<>();
         for (final K key : keys) {
-            values.add(get(key));
+            final V value = get(key);
+            if (null != value) {
+                values.put(key, value);
+            }
         }
-
         return values;
     }
 
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> entries) throws CacheOperationException {
+        for (final K key : entries.keySet()) {
+            if (null == key) {
+                throw new CacheOperationException("Key must not be null");
+            }
+        }
+        synchronized (lock) {
+            for (final Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+                putInGroup(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void remove(final K key) {
+        synchronized (lock) {
+            cache.removeFromGroup(key, groupName);
+        }
+    }
+
+    @Override
+    public Collection<V> getAllValues() {
+        return new ArrayList<>(getAll(getAllKeys()).values());
+    }
+
     @Override
     public Set<K> getAllKeys() {
         return cache.getGroupKeys(groupName);
@@ -102,4 +164,12 @@ public class JcsCache <K, V> implements ICache<K, V> {
             throw new CacheOperationException("Failed to clear cache", e);
         }
     }
+
+    private void putInGroup(final K key, final V value) throws CacheOperationException {
+        try {
+            cache.putInGroup(key, groupName, value);
+        } catch (final CacheException e) {
+            throw new CacheOperationException("Failed to add item to cache", e);
+        }
+    }
 }
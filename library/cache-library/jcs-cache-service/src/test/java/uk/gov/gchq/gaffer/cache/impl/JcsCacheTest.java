@@ -26,8 +26,15 @@ import org.junit.Test;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
@@ -162,4 +169,88 @@ public class JcsCacheTest {
 
         assertThat(cache.getAllValues(), IsCollectionContaining.hasItems(1, 2, 3));
     }
+
+    @Test
+    public void shouldOnlyPutIfAbsent() throws CacheOperationException {
+        // When
+        final Integer first = cache.putIfAbsent("key", 1);
+        final Integer second = cache.putIfAbsent("key", 2);
+
+        // Then
+        assertNull(first);
+        assertEquals(new Integer(1), second);
+        assertEquals(new Integer(1), cache.get("key"));
+    }
+
+    @Test
+    public void shouldComputeNewValue() throws CacheOperationException {
+        // Given
+        cache.put("key", 1);
+
+        // When
+        final Integer result = cache.compute("key", (k, v) -> null == v ? 1 : v + 1);
+
+        // Then
+        assertEquals(new Integer(2), result);
+        assertEquals(new Integer(2), cache.get("key"));
+    }
+
+    @Test
+    public void shouldRemoveEntryWhenComputedValueIsNull() throws CacheOperationException {
+        // Given
+        cache.put("key", 1);
+
+        // When
+        final Integer result = cache.compute("key", (k, v) -> null);
+
+        // Then
+        assertNull(result);
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldPutAllAndGetAll() throws CacheOperationException {
+        // Given
+        final Map<String, Integer> entries = new HashMap<>();
+        entries.put("test1", 1);
+        entries.put("test2", 2);
+
+        // When
+        cache.putAll(entries);
+        final Map<String, Integer> result = cache.getAll(Arrays.asList("test1", "test2", "missing"));
+
+        // Then
+        assertEquals(entries, result);
+    }
+
+    @Test
+    public void shouldStreamValuesInBatches() throws CacheOperationException {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            cache.put("test" + i, i);
+        }
+
+        // When
+        final List<Integer> values = cache.streamValues(2).collect(Collectors.toList());
+
+        // Then
+        assertEquals(5, values.size());
+        assertThat(values, IsCollectionContaining.hasItems(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    public void shouldPutGetAndRemoveAsynchronously() throws Exception {
+        // When
+        cache.putAsync("key", 1).get();
+
+        // Then
+        assertEquals(new Integer(1), cache.getAsync("key").get());
+
+        // When
+        cache.removeAsync("key").get();
+
+        // Then
+        assertNull(cache.getAsync("key").get());
+    }
 }
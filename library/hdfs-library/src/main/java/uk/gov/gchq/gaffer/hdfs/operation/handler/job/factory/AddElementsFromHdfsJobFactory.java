@@ -15,12 +15,35 @@
  */
 package uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory;
 
+import org.apache.hadoop.mapred.JobConf;
+
 import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 
 
 public interface AddElementsFromHdfsJobFactory extends JobFactory<AddElementsFromHdfs> {
+    /**
+     * The maximum number of distinct elements each mapper aggregates in memory
+     * before writing them out. This can be set as an option on the
+     * {@link AddElementsFromHdfs} operation. If it is not set, or is 0, the
+     * mappers do not aggregate the elements.
+     */
+    String IN_MAPPER_COMBINER_SIZE = "gaffer.hdfs.mapper.combiner.size";
+
+    /**
+     * Copies the in-mapper combiner size option from the operation to the job
+     * configuration, if it has been set.
+     *
+     * @param jobConf   the job configuration
+     * @param operation the operation
+     */
+    default void setInMapperCombinerSize(final JobConf jobConf, final AddElementsFromHdfs operation) {
+        final String inMapperCombinerSize = operation.getOption(IN_MAPPER_COMBINER_SIZE);
+        if (null != inMapperCombinerSize) {
+            jobConf.setInt(IN_MAPPER_COMBINER_SIZE, Integer.parseInt(inMapperCombinerSize));
+        }
+    }
 
     /**
      * Prepares the store for the add from hdfs.
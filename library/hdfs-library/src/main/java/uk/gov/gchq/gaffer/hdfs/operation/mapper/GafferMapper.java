@@ -24,11 +24,17 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.MapperGenerator;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil.IngestElementBinaryOperator;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil.ToIngestElementKey;
 import uk.gov.gchq.koryphe.serialisation.json.SimpleClassNameIdResolver;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.IN_MAPPER_COMBINER_SIZE;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_GENERATOR;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.SCHEMA;
 import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.VALIDATE;
@@ -38,6 +44,14 @@ import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsF
  * {@link MapperGenerator} to map the input data into
  * {@link Element}s and then delegates the elements to an abstract map method to serialise them
  * and add them to the job map context.
+ * <p>
+ * If {@link uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory#IN_MAPPER_COMBINER_SIZE}
+ * is set in the configuration then elements in aggregated groups are combined
+ * in memory, using the schema ingest aggregator, before they are delegated.
+ * Up to that many distinct elements are held, and they are all delegated when
+ * the limit is reached and when the mapper finishes. This reduces the amount
+ * of data shuffled when the input contains many repeated elements.
+ * </p>
  *
  * @param <KEY_IN>    type of input key
  * @param <VALUE_IN>  type of input value
@@ -49,6 +63,11 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
     private MapperGenerator<KEY_IN, VALUE_IN> mapperGenerator;
     private boolean doValidation;
     private ElementValidator elementValidator;
+    private int combinerSize;
+    private Collection<String> aggregatedGroups;
+    private ToIngestElementKey toElementKey;
+    private IngestElementBinaryOperator aggregator;
+    private Map<Element, Element> combinedElements;
     protected Schema schema;
 
     @Override
@@ -61,6 +80,14 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         }
         elementValidator = new ElementValidator(schema);
 
+        combinerSize = context.getConfiguration().getInt(IN_MAPPER_COMBINER_SIZE, 0);
+        if (combinerSize > 0) {
+            aggregatedGroups = schema.getAggregatedGroups();
+            toElementKey = new ToIngestElementKey(schema);
+            aggregator = new IngestElementBinaryOperator(schema);
+            combinedElements = new LinkedHashMap<>();
+        }
+
         final String generatorClass = context.getConfiguration().get(MAPPER_GENERATOR);
         try {
             mapperGenerator = Class.forName(SimpleClassNameIdResolver.getClassName(generatorClass)).asSubclass(MapperGenerator.class).newInstance();
@@ -73,7 +100,7 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
     protected void map(final KEY_IN keyIn, final VALUE_IN valueIn, final Context context) throws IOException, InterruptedException {
         for (final Element element : mapperGenerator.getElements(keyIn, valueIn, context)) {
             if (!doValidation || isValid(element)) {
-                map(element, context);
+                combine(element, context);
             } else {
                 LOGGER.warn("Element {} did not validate: {}", element, getValidationFailureMessage(element));
                 context.getCounter("Bulk import", "Invalid element count").increment(1L);
@@ -81,6 +108,38 @@ public abstract class GafferMapper<KEY_IN, VALUE_IN, KEY_OUT, VALUE_OUT> extends
         }
     }
 
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        flushCombinedElements(context);
+        super.cleanup(context);
+    }
+
+    // Adds the element to the in-mapper combiner if it is enabled and the
+    // group is aggregated, otherwise delegates the element straight away.
+    private void combine(final Element element, final Context context) throws IOException, InterruptedException {
+        if (null == combinedElements || !aggregatedGroups.contains(element.getGroup())) {
+            map(element, context);
+            return;
+        }
+
+        final Element key = toElementKey.apply(element);
+        combinedElements.put(key, aggregator.apply(combinedElements.get(key), element));
+        if (combinedElements.size() >= combinerSize) {
+            flushCombinedElements(context);
+        }
+    }
+
+    // Delegates all of the elements held in the in-mapper combiner.
+    private void flushCombinedElements(final Context context) throws IOException, InterruptedException {
+        if (null != combinedElements && !combinedElements.isEmpty()) {
+            for (final Element element : combinedElements.values()) {
+                map(element, context);
+            }
+            context.getCounter("Bulk import", "In-mapper combiner flush count").increment(1L);
+            combinedElements.clear();
+        }
+    }
+
     protected boolean isValid(final Element element) {
         return elementValidator.validateWithSchema(element);
     }
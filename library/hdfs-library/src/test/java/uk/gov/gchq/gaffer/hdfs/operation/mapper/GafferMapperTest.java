@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hdfs.operation.mapper;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Counter;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.generator.OneToOneElementGenerator;
+import uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.TextMapperGenerator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.IN_MAPPER_COMBINER_SIZE;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.MAPPER_GENERATOR;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.SCHEMA;
+import static uk.gov.gchq.gaffer.hdfs.operation.handler.job.factory.AddElementsFromHdfsJobFactory.VALIDATE;
+
+public class GafferMapperTest {
+    private static final Schema GAFFER_SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "count")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.COUNT, "count")
+                    .aggregate(false)
+                    .build())
+            .type("string", String.class)
+            .type("true", Boolean.class)
+            .type("count", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .aggregateFunction(new Sum())
+                    .build())
+            .build();
+
+    @Test
+    public void shouldNotCombineElementsByDefault() throws IOException, InterruptedException {
+        // Given
+        final ElementCollectingMapper mapper = new ElementCollectingMapper();
+        final ElementCollectingMapper.Context context = createContext(new Configuration());
+
+        // When
+        mapper.setup(context);
+        mapper.map(new LongWritable(1L), new Text("entity,A"), context);
+        mapper.map(new LongWritable(2L), new Text("entity,A"), context);
+        mapper.cleanup(context);
+
+        // Then
+        assertEquals(Arrays.asList(createEntity("A", 1L), createEntity("A", 1L)), mapper.elements);
+    }
+
+    @Test
+    public void shouldCombineElementsInAggregatedGroups() throws IOException, InterruptedException {
+        // Given
+        final Configuration conf = new Configuration();
+        conf.setInt(IN_MAPPER_COMBINER_SIZE, 10);
+        final ElementCollectingMapper mapper = new ElementCollectingMapper();
+        final ElementCollectingMapper.Context context = createContext(conf);
+
+        // When
+        mapper.setup(context);
+        for (final String line : Arrays.asList("entity,A", "edge,A", "entity,B", "entity,A", "edge,A", "entity,A")) {
+            mapper.map(new LongWritable(1L), new Text(line), context);
+        }
+        final List<Element> elementsBeforeCleanup = new ArrayList<>(mapper.elements);
+        mapper.cleanup(context);
+
+        // Then
+        assertEquals(Arrays.asList(createEdge("A"), createEdge("A")), elementsBeforeCleanup);
+        assertEquals(Arrays.asList(createEdge("A"), createEdge("A"), createEntity("A", 3L), createEntity("B", 1L)), mapper.elements);
+    }
+
+    @Test
+    public void shouldFlushCombinedElementsWhenFull() throws IOException, InterruptedException {
+        // Given
+        final Configuration conf = new Configuration();
+        conf.setInt(IN_MAPPER_COMBINER_SIZE, 1);
+        final ElementCollectingMapper mapper = new ElementCollectingMapper();
+        final ElementCollectingMapper.Context context = createContext(conf);
+
+        // When
+        mapper.setup(context);
+        mapper.map(new LongWritable(1L), new Text("entity,A"), context);
+        mapper.map(new LongWritable(2L), new Text("entity,A"), context);
+        mapper.cleanup(context);
+
+        // Then
+        assertEquals(Arrays.asList(createEntity("A", 1L), createEntity("A", 1L)), mapper.elements);
+    }
+
+    private static ElementCollectingMapper.Context createContext(final Configuration conf) {
+        conf.set(SCHEMA, new String(GAFFER_SCHEMA.toCompactJson()));
+        conf.set(MAPPER_GENERATOR, TextMapperGeneratorImpl.class.getName());
+        conf.set(VALIDATE, "true");
+        final ElementCollectingMapper.Context context = mock(ElementCollectingMapper.Context.class);
+        given(context.getConfiguration()).willReturn(conf);
+        given(context.getCounter(anyString(), anyString())).willReturn(mock(Counter.class));
+        return context;
+    }
+
+    private static Entity createEntity(final String vertex, final long count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private static Edge createEdge(final String source) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 1L)
+                .build();
+    }
+
+    private static final class ElementCollectingMapper extends GafferMapper<LongWritable, Text, NullWritable, NullWritable> {
+        private final List<Element> elements = new ArrayList<>();
+
+        @Override
+        protected void map(final Element element, final Context context) {
+            elements.add(element);
+        }
+    }
+
+    public static final class TextMapperGeneratorImpl extends TextMapperGenerator {
+        public TextMapperGeneratorImpl() {
+            super(new ExampleGenerator());
+        }
+    }
+
+    public static final class ExampleGenerator implements OneToOneElementGenerator<String> {
+        @Override
+        public Element _apply(final String domainObject) {
+            final String[] parts = domainObject.split(",");
+            if ("edge".equals(parts[0])) {
+                return createEdge(parts[1]);
+            }
+            return createEntity(parts[1], 1L);
+        }
+    }
+}
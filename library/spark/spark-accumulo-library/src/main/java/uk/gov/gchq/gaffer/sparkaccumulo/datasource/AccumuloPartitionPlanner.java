@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sparkaccumulo.datasource;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.admin.Locations;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.TabletId;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.spark.datasource.DefaultPartitionPlanner;
+import uk.gov.gchq.gaffer.spark.datasource.GafferInputPartition;
+import uk.gov.gchq.gaffer.spark.datasource.PartitionPlanner;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link PartitionPlanner} for an {@link AccumuloStore} which reads a
+ * {@link GetAllElements} as one {@link AccumuloTabletPartition} per tablet
+ * of the table, preferring to read each tablet on the host of its tablet
+ * server. Other operations, such as seeded queries, are planned using the
+ * {@link DefaultPartitionPlanner}.
+ */
+public class AccumuloPartitionPlanner implements PartitionPlanner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloPartitionPlanner.class);
+
+    private final DefaultPartitionPlanner defaultPlanner = new DefaultPartitionPlanner();
+
+    @Override
+    public List<GafferInputPartition> planPartitions(final Output<CloseableIterable<? extends Element>> operation,
+                                                     final Store store,
+                                                     final User user,
+                                                     final Map<String, String> options) throws OperationException {
+        if (!(operation instanceof GetAllElements) || !(store instanceof AccumuloStore)) {
+            return defaultPlanner.planPartitions(operation, store, user, options);
+        }
+
+        final AccumuloStore accumuloStore = (AccumuloStore) store;
+        final Collection<Text> splits;
+        try {
+            splits = accumuloStore.getConnection().tableOperations().listSplits(accumuloStore.getTableName());
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException | StoreException e) {
+            throw new OperationException("Unable to get the splits of table " + accumuloStore.getTableName(), e);
+        }
+
+        final Map<Range, String[]> locations = getLocations(accumuloStore);
+        final List<GafferInputPartition> partitions = new ArrayList<>(splits.size() + 1);
+        Text prevEndRow = null;
+        for (final Text split : splits) {
+            partitions.add(createPartition((GetAllElements) operation, prevEndRow, split, locations));
+            prevEndRow = split;
+        }
+        partitions.add(createPartition((GetAllElements) operation, prevEndRow, null, locations));
+        return partitions;
+    }
+
+    private static AccumuloTabletPartition createPartition(final GetAllElements operation,
+                                                           final Text prevEndRow,
+                                                           final Text endRow,
+                                                           final Map<Range, String[]> locations) {
+        final Range range = new Range(prevEndRow, false, endRow, true);
+        final String[] hosts = locations.getOrDefault(range, new String[0]);
+        return new AccumuloTabletPartition(operation, prevEndRow, endRow, hosts);
+    }
+
+    // Gets the host of the tablet server of each tablet, keyed by the range of
+    // the tablet. If the locations cannot be found, for example when using a
+    // mock Accumulo instance, then the partitions have no preferred location.
+    private static Map<Range, String[]> getLocations(final AccumuloStore store) {
+        final Map<Range, String[]> hostsByRange = new HashMap<>();
+        try {
+            final Locations locations = store.getConnection().tableOperations()
+                    .locate(store.getTableName(), Collections.singleton(new Range()));
+            for (final TabletId tablet : locations.groupByTablet().keySet()) {
+                final String location = locations.getTabletLocation(tablet);
+                if (null != location) {
+                    final Range range = new Range(tablet.getPrevEndRow(), false, tablet.getEndRow(), true);
+                    hostsByRange.put(range, new String[]{location.split(":")[0]});
+                }
+            }
+        } catch (final AccumuloException | AccumuloSecurityException | TableNotFoundException | StoreException | UnsupportedOperationException e) {
+            LOGGER.debug("Unable to locate the tablets of table {}", store.getTableName(), e);
+        }
+        return hostsByRange;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sparkaccumulo.datasource;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.spark.datasource.GafferInputPartition;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+
+/**
+ * A {@link GafferInputPartition} containing the elements of a single Accumulo
+ * tablet, which is read with an {@link AccumuloAllElementsRetriever} restricted
+ * to the rows of the tablet. The preferred location is the tablet server
+ * hosting the tablet.
+ */
+public class AccumuloTabletPartition implements GafferInputPartition {
+    private static final long serialVersionUID = 8217553902841145736L;
+
+    private final byte[] operation;
+    private final byte[] prevEndRow;
+    private final byte[] endRow;
+    private final String[] preferredLocations;
+
+    /**
+     * Constructs an AccumuloTabletPartition.
+     *
+     * @param operation          the operation containing the view to apply
+     * @param prevEndRow         the end row of the previous tablet, which is
+     *                           not included, or null for the first tablet
+     * @param endRow             the end row of the tablet, which is included,
+     *                           or null for the last tablet
+     * @param preferredLocations the hosts of the tablet
+     */
+    public AccumuloTabletPartition(final GetAllElements operation,
+                                   final Text prevEndRow,
+                                   final Text endRow,
+                                   final String[] preferredLocations) {
+        try {
+            this.operation = JSONSerialiser.serialise(operation);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise operation", e);
+        }
+        this.prevEndRow = null != prevEndRow ? prevEndRow.copyBytes() : null;
+        this.endRow = null != endRow ? endRow.copyBytes() : null;
+        this.preferredLocations = Arrays.copyOf(preferredLocations, preferredLocations.length);
+    }
+
+    @Override
+    public CloseableIterable<? extends Element> read(final Store store, final User user) throws OperationException {
+        if (!(store instanceof AccumuloStore)) {
+            throw new OperationException("An " + getClass().getSimpleName() + " can only be read from an AccumuloStore");
+        }
+
+        try {
+            return new AccumuloAllElementsRetriever((AccumuloStore) store, getOperation(), user, getRange());
+        } catch (final IteratorSettingException | StoreException e) {
+            throw new OperationException("Unable to read tablet " + getRange(), e);
+        }
+    }
+
+    @Override
+    public String[] getPreferredLocations() {
+        return Arrays.copyOf(preferredLocations, preferredLocations.length);
+    }
+
+    public Range getRange() {
+        return new Range(null != prevEndRow ? new Text(prevEndRow) : null, false,
+                null != endRow ? new Text(endRow) : null, true);
+    }
+
+    public GetAllElements getOperation() {
+        try {
+            return JSONSerialiser.deserialise(operation, GetAllElements.class);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to deserialise operation", e);
+        }
+    }
+}
@@ -18,29 +18,48 @@ package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.NullWritable;
+import org.apache.spark.rdd.RDD;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import scala.Tuple2;
+import scala.collection.Iterator;
 import scala.runtime.AbstractFunction1;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.inputformat.ElementInputFormat;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.spark.SparkContextUtil;
 import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfAllElements;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.rfilereaderrdd.RFileReaderRDD;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.rfilereaderrdd.Utils;
+import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.ByteArrayInputStream;
@@ -50,14 +69,19 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+
+import static uk.gov.gchq.gaffer.accumulostore.inputformat.ElementInputFormat.KEY_PACKAGE;
+import static uk.gov.gchq.gaffer.accumulostore.inputformat.ElementInputFormat.SCHEMA;
+import static uk.gov.gchq.gaffer.spark.operation.dataframe.ClassTagConstants.ELEMENT_CLASS_TAG;
 
 public abstract class AbstractGetRDDHandler<OP extends Output<O> & GraphFilters, O>
         implements OutputOperationHandler<OP, O> {
-
     public static final String HADOOP_CONFIGURATION_KEY = "Hadoop_Configuration_Key";
     public static final String USE_RFILE_READER_RDD = "gaffer.accumulo.spark.directrdd.use_rfile_reader";
     public static final String VIEW = "gaffer.accumulo.spark.directrdd.view";
     public static final String USE_BATCH_SCANNER_RDD = "gaffer.accumulo.spark.rdd.use_batch_scanner";
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGetRDDHandler.class);
 
     public void addIterators(final AccumuloStore accumuloStore,
                              final Configuration conf,
@@ -165,6 +189,169 @@ public abstract class AbstractGetRDDHandler<OP extends Output<O> & GraphFilters,
         return conf;
     }
 
+    /**
+     * Creates an {@link RDD} of the elements by reading the RFiles of the table
+     * directly using an {@link RFileReaderRDD}, rather than via the tablet
+     * servers. The Gaffer iterators are applied in the Spark executors. If
+     * ranges have been added to the configuration then only the tablets that
+     * overlap the ranges are read, and only the parts of those tablets that
+     * are within the ranges.
+     *
+     * @param operation     the operation
+     * @param context       the user context
+     * @param accumuloStore the store
+     * @param conf          the configuration, including any ranges to read
+     * @return the RDD of elements
+     * @throws OperationException if the RDD cannot be created
+     */
+    protected RDD<Element> doOperationUsingRFileReaderRDD(final OP operation,
+                                                          final Context context,
+                                                          final AccumuloStore accumuloStore,
+                                                          final Configuration conf)
+            throws OperationException {
+        // Need to add validation iterator manually (it's not added by the addIterators method as normally the iterator
+        // is present on the table and therefore applied to all scans - here we're bypassing the normal table access
+        // method so it needs to be applied manually)
+        addValidationIterator(accumuloStore, conf);
+        // Need to add aggregation iterator manually for the same reasons as above
+        try {
+            addAggregationIterator(accumuloStore, conf);
+        } catch (final IteratorSettingException e) {
+            throw new OperationException("IteratorSettingException adding aggregation iterator", e);
+        }
+        // Add other iterators
+        addIterators(accumuloStore, conf, context.getUser(), operation);
+        try {
+            // Add view to conf so that any transformations can be applied
+            conf.set(AbstractGetRDDHandler.VIEW, new String(operation.getView().toCompactJson(), CommonConstants.UTF_8));
+            final byte[] serialisedConf = Utils.serialiseConfiguration(conf);
+            final RDD<Map.Entry<Key, Value>> rdd = new RFileReaderRDD(
+                    SparkContextUtil.getSparkSession(context, accumuloStore.getProperties()).sparkContext(),
+                    accumuloStore.getProperties().getInstance(),
+                    accumuloStore.getProperties().getZookeepers(),
+                    accumuloStore.getProperties().getUser(),
+                    accumuloStore.getProperties().getPassword(),
+                    accumuloStore.getTableName(),
+                    context.getUser().getDataAuths(),
+                    serialisedConf);
+            return rdd.mapPartitions(new EntryIteratorToElementIterator(serialisedConf), true, ELEMENT_CLASS_TAG);
+        } catch (final IOException e) {
+            throw new OperationException("IOException serialising configuration", e);
+        }
+    }
+
+    /**
+     * Checks whether any ranges have been added to the configuration.
+     *
+     * @param conf the configuration
+     * @return true if the configuration contains at least one range
+     * @throws OperationException if the ranges cannot be read from the configuration
+     */
+    protected static boolean hasRanges(final Configuration conf) throws OperationException {
+        try {
+            return !InputConfigurator.getRanges(AccumuloInputFormat.class, conf).isEmpty();
+        } catch (final IOException e) {
+            throw new OperationException("Exception reading ranges from configuration", e);
+        }
+    }
+
+    private void addValidationIterator(final AccumuloStore accumuloStore, final Configuration conf) {
+        if (accumuloStore.getProperties().getEnableValidatorIterator()) {
+            final IteratorSetting itrSetting = accumuloStore
+                    .getKeyPackage().getIteratorFactory().getValidatorIteratorSetting(accumuloStore);
+            if (null == itrSetting) {
+                LOGGER.info("Not adding validation iterator as no validation functions are defined in the schema");
+            } else {
+                LOGGER.info("Adding validation iterator");
+                InputConfigurator.addIterator(AccumuloInputFormat.class, conf, itrSetting);
+            }
+        }
+    }
+
+    private void addAggregationIterator(final AccumuloStore accumuloStore, final Configuration conf)
+            throws IteratorSettingException {
+        if (accumuloStore.getSchema().isAggregationEnabled()) {
+            // Add aggregator iterator to table for all scopes
+            LOGGER.info("Adding aggregator iterator");
+            final IteratorSetting itrSetting = accumuloStore
+                    .getKeyPackage().getIteratorFactory().getAggregatorIteratorSetting(accumuloStore);
+            InputConfigurator.addIterator(AccumuloInputFormat.class, conf, itrSetting);
+        } else {
+            LOGGER.info("Not adding aggregator iterator as aggregation is not enabled");
+        }
+    }
+
+    public static class EntryIteratorToElementIterator
+            extends AbstractFunction1<Iterator<Map.Entry<Key, Value>>, Iterator<Element>> implements Serializable {
+        private byte[] serialisedConf;
+
+        public EntryIteratorToElementIterator(final byte[] serialisedConf) {
+            this.serialisedConf = serialisedConf;
+        }
+
+        @Override
+        public Iterator<Element> apply(final Iterator<Map.Entry<Key, Value>> entryIterator) {
+            final EntryToElement entryToElement = new EntryToElement(serialisedConf);
+            return entryIterator
+                    .map(entryToElement)
+                    .filter(new FilterOutNull());
+        }
+    }
+
+    public static class FilterOutNull extends AbstractFunction1<Element, Object> implements Serializable {
+        @Override
+        public Object apply(final Element element) {
+            if (null != element) {
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public static class EntryToElement extends AbstractFunction1<Map.Entry<Key, Value>, Element> {
+        private AccumuloElementConverter converter;
+        private View view;
+
+        public EntryToElement(final byte[] serialisedConf) {
+            try {
+                final Configuration conf = Utils.deserialiseConfiguration(serialisedConf);
+                final String keyPackageClass = conf.get(KEY_PACKAGE);
+                final Schema schema = Schema.fromJson(conf.get(SCHEMA).getBytes(CommonConstants.UTF_8));
+                final AccumuloKeyPackage keyPackage = Class
+                        .forName(keyPackageClass)
+                        .asSubclass(AccumuloKeyPackage.class)
+                        .newInstance();
+                keyPackage.setSchema(schema);
+                converter = keyPackage.getKeyConverter();
+                LOGGER.info("Initialised EntryToElement with AccumuloElementConverter of {}", converter.getClass().getName());
+                view = View.fromJson(conf.get(AbstractGetRDDHandler.VIEW).getBytes(CommonConstants.UTF_8));
+                LOGGER.info("Initialised EntryToElement with View of {}", view.toString());
+            } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException | IOException e) {
+                throw new RuntimeException("Exception creating AccumuloKeyPackage from Configuration", e);
+            }
+        }
+
+        @Override
+        public Element apply(final Map.Entry<Key, Value> entry) {
+            final Element element = converter.getFullElement(entry.getKey(), entry.getValue(), false);
+            final ViewElementDefinition viewDef = view.getElement(element.getGroup());
+            if (null != viewDef) {
+                final ElementTransformer transformer = viewDef.getTransformer();
+                if (null != transformer) {
+                    transformer.apply(element);
+                }
+                if (ElementInputFormat.doPostFilter(element, view)) {
+                    ViewUtil.removeProperties(view, element);
+                    return element;
+                } else {
+                    return null;
+                }
+
+            }
+            return element;
+        }
+    }
+
     public static class FirstElement extends AbstractFunction1<Tuple2<Element, NullWritable>, Element> implements Serializable {
         private static final long serialVersionUID = -5693778654823431294L;
 
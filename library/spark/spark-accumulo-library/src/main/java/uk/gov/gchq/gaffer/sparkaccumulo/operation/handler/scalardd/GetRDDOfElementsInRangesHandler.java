@@ -34,6 +34,15 @@ import uk.gov.gchq.gaffer.sparkaccumulo.operation.scalardd.GetRDDOfElementsInRan
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
+/**
+ * A handler for the {@link GetRDDOfElementsInRanges} operation.
+ * <p>
+ * If the {@code gaffer.accumulo.spark.directrdd.use_rfile_reader} option is set to {@code true} then the RDD is
+ * produced by directly reading the RFiles of the tablets that overlap the ranges for the seeds, applying the Gaffer
+ * iterators in the Spark executors, rather than by querying the tablet servers. As with
+ * {@link GetRDDOfAllElementsHandler}, the user must have read access to the files and any data that has not been
+ * minor compacted will not be read.
+ */
 public class GetRDDOfElementsInRangesHandler extends AbstractGetRDDHandler<GetRDDOfElementsInRanges, RDD<Element>> {
 
     @Override
@@ -50,6 +59,13 @@ public class GetRDDOfElementsInRangesHandler extends AbstractGetRDDHandler<GetRD
         final Configuration conf = getConfiguration(operation);
         final SparkContext sparkContext = SparkContextUtil.getSparkSession(context, accumuloStore.getProperties()).sparkContext();
         sparkContext.hadoopConfiguration().addResource(conf);
+        if (Boolean.parseBoolean(operation.getOption(USE_RFILE_READER_RDD))) {
+            addRangesFromPairs(accumuloStore, conf, operation);
+            if (!hasRanges(conf)) {
+                return sparkContext.emptyRDD(ClassTagConstants.ELEMENT_CLASS_TAG);
+            }
+            return doOperationUsingRFileReaderRDD(operation, context, accumuloStore, conf);
+        }
         // Use batch scan option when performing seeded operation
         InputConfigurator.setBatchScan(AccumuloInputFormat.class, conf, true);
         addIterators(accumuloStore, conf, context.getUser(), operation);
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.sparkaccumulo.operation.rfilereaderrdd;
 
+import org.apache.accumulo.core.data.Range;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.hadoop.io.Text;
@@ -69,6 +70,17 @@ public class AccumuloTablet implements Partition {
         return new Text(end);
     }
 
+    /**
+     * Gets the range of rows in this tablet. As in Accumulo, the start row
+     * (the end row of the previous tablet) is excluded and the end row is
+     * included.
+     *
+     * @return the range of the tablet
+     */
+    public Range getRange() {
+        return new Range(getStartRow(), false, getEndRow(), true);
+    }
+
     public Set<String> getFiles() {
         return files;
     }
@@ -47,15 +47,20 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * A {@code RFileReaderIterator} is a {@link java.util.Iterator} formed by merging iterators over
  * a set of RFiles.
+ * <p>
+ * If the configuration contains ranges then the iterator stack is seeked to each of the ranges that overlap the
+ * tablet in turn, otherwise the whole tablet is read.
  */
 public class RFileReaderIterator implements java.util.Iterator<Map.Entry<Key, Value>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RFileReaderIterator.class);
@@ -66,6 +71,9 @@ public class RFileReaderIterator implements java.util.Iterator<Map.Entry<Key, Va
     private SortedKeyValueIterator<Key, Value> iteratorAfterIterators = null;
     private Configuration configuration;
     private Set<String> auths;
+    private List<Range> ranges;
+    private int rangeIndex;
+    private Set<ByteSequence> requiredColumnFamilies;
 
     public RFileReaderIterator(final Partition partition,
                                final TaskContext taskContext,
@@ -84,11 +92,25 @@ public class RFileReaderIterator implements java.util.Iterator<Map.Entry<Key, Va
 
     @Override
     public boolean hasNext() {
+        if (ranges.isEmpty()) {
+            return false;
+        }
+        try {
+            while (!iteratorAfterIterators.hasTop() && rangeIndex < ranges.size() - 1) {
+                rangeIndex++;
+                iteratorAfterIterators.seek(ranges.get(rangeIndex), requiredColumnFamilies, true);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("IOException seeking to range " + ranges.get(rangeIndex), e);
+        }
         return iteratorAfterIterators.hasTop();
     }
 
     @Override
     public Map.Entry<Key, Value> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
         final Map.Entry<Key, Value> next = new AbstractMap.SimpleEntry<>(new Key(iteratorAfterIterators.getTopKey()),
                 new Value(iteratorAfterIterators.getTopValue()));
         try {
@@ -105,7 +127,7 @@ public class RFileReaderIterator implements java.util.Iterator<Map.Entry<Key, Va
         final AccumuloConfiguration accumuloConfiguration = SiteConfiguration.getInstance();
 
         // Required column families according to the configuration
-        final Set<ByteSequence> requiredColumnFamilies = InputConfigurator
+        requiredColumnFamilies = InputConfigurator
                 .getFetchedColumns(AccumuloInputFormat.class, configuration)
                 .stream()
                 .map(Pair::getFirst)
@@ -114,7 +136,6 @@ public class RFileReaderIterator implements java.util.Iterator<Map.Entry<Key, Va
         LOGGER.info("RFileReaderIterator will read column families of {}", StringUtils.join(requiredColumnFamilies, ','));
 
         // Column families
-        final List<SortedKeyValueIterator<Key, Value>> iterators = new ArrayList<>();
         for (final String filename : accumuloTablet.getFiles()) {
             final Path path = new Path(filename);
             final FileSystem fs = path.getFileSystem(configuration);
@@ -146,9 +167,31 @@ public class RFileReaderIterator implements java.util.Iterator<Map.Entry<Key, Va
 
         taskContext.addTaskCompletionListener(context -> close());
 
-        final Range range = new Range(accumuloTablet.getStartRow(), true, accumuloTablet.getEndRow(), false);
-        iteratorAfterIterators.seek(range, requiredColumnFamilies, true);
-        LOGGER.info("Initialised iterator");
+        ranges = getRanges(accumuloTablet);
+        rangeIndex = 0;
+        if (!ranges.isEmpty()) {
+            iteratorAfterIterators.seek(ranges.get(0), requiredColumnFamilies, true);
+        }
+        LOGGER.info("Initialised iterator with {} ranges", ranges.size());
+    }
+
+    // Gets the ranges from the configuration that overlap the tablet, clipped
+    // to the tablet, or the whole tablet if the configuration has no ranges.
+    private List<Range> getRanges(final AccumuloTablet accumuloTablet) throws IOException {
+        final Range tabletRange = accumuloTablet.getRange();
+        final List<Range> configuredRanges = InputConfigurator.getRanges(AccumuloInputFormat.class, configuration);
+        if (configuredRanges.isEmpty()) {
+            return Collections.singletonList(tabletRange);
+        }
+
+        final List<Range> clippedRanges = new ArrayList<>();
+        for (final Range range : configuredRanges) {
+            final Range clippedRange = tabletRange.clip(range, true);
+            if (null != clippedRange) {
+                clippedRanges.add(clippedRange);
+            }
+        }
+        return Range.mergeOverlapping(clippedRanges);
     }
 
     private SortedKeyValueIterator<Key, Value> applyIterator(final SortedKeyValueIterator<Key, Value> source,
@@ -22,6 +22,8 @@ import org.apache.accumulo.core.client.Instance;
 import org.apache.accumulo.core.client.Scanner;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.client.ZooKeeperInstance;
+import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
@@ -45,13 +47,18 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Creates an {@link RDD} of {@link Map.Entry}s of {@link Key}s and {@link Value}s for the data in the given table.
+ * <p>
+ * If the configuration contains ranges then there is only a partition for each tablet that overlaps at least one of
+ * the ranges, and only the parts of the tablet within the ranges are read.
  */
 public class RFileReaderRDD extends RDD<Map.Entry<Key, Value>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(RFileReaderRDD.class);
@@ -124,16 +131,47 @@ public class RFileReaderRDD extends RDD<Map.Entry<Key, Value>> {
             // Create map from tablet name to information about that tablet, including location of the RFiles
             final Map<String, AccumuloTablet> tabletNameToInfo = createTabletMap(connector, user, tableId);
 
-            // Create array of partitions
-            final Partition[] partitions = new Partition[tabletNameToInfo.size()];
-            for (final AccumuloTablet accumuloTablet : tabletNameToInfo.values()) {
-                partitions[accumuloTablet.index()] = accumuloTablet;
+            // Create array of partitions, skipping tablets that do not overlap the ranges
+            final List<Range> ranges = InputConfigurator.getRanges(AccumuloInputFormat.class,
+                    Utils.deserialiseConfiguration(serialisedConfiguration));
+            final List<AccumuloTablet> tablets = new ArrayList<>(tabletNameToInfo.values());
+            tablets.sort(Comparator.comparingInt(AccumuloTablet::index));
+            final List<Partition> partitions = new ArrayList<>(tablets.size());
+            for (final AccumuloTablet accumuloTablet : tablets) {
+                if (ranges.isEmpty() || overlaps(accumuloTablet.getRange(), ranges)) {
+                    partitions.add(reindex(accumuloTablet, partitions.size()));
+                }
             }
-            LOGGER.info("Returning {} partitions", partitions.length);
-            return partitions;
+            LOGGER.info("Returning {} partitions", partitions.size());
+            return partitions.toArray(new Partition[partitions.size()]);
         } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
             throw new RuntimeException("Exception creating partitions", e);
+        } catch (final IOException e) {
+            throw new RuntimeException("Exception reading ranges from configuration", e);
+        }
+    }
+
+    // Checks whether the tablet overlaps any of the ranges.
+    private static boolean overlaps(final Range tabletRange, final List<Range> ranges) {
+        for (final Range range : ranges) {
+            if (null != tabletRange.clip(range, true)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Partition indexes must be consecutive, so tablets after a skipped tablet
+    // are given a new index.
+    private AccumuloTablet reindex(final AccumuloTablet tablet, final int index) {
+        if (tablet.index() == index) {
+            return tablet;
         }
+        final AccumuloTablet reindexed = new AccumuloTablet(super.id(), index,
+                null != tablet.getStartRow() ? tablet.getStartRow().toString() : null,
+                null != tablet.getEndRow() ? tablet.getEndRow().toString() : null);
+        tablet.getFiles().forEach(reindexed::addRFile);
+        return reindexed;
     }
 
     private boolean checkAccess(final Connector connector, final String user, final String table) {
@@ -164,7 +202,7 @@ public class RFileReaderRDD extends RDD<Map.Entry<Key, Value>> {
         LOGGER.info("Scanning accumulo.metadata table");
         final Authorizations auths = connector.securityOperations().getUserAuthorizations(user);
         final Scanner scanner = connector.createScanner("accumulo.metadata", auths);
-        scanner.setRange(new Range(new Text(tableId), true, new Text(tableId + "<"), true));
+        scanner.setRange(new Range(new Text(tableId + ";"), true, new Text(tableId + "<"), true));
         scanner.fetchColumnFamily(new Text("file"));
 
         final Map<String, AccumuloTablet> tabletMap = new HashMap<>();
@@ -181,10 +219,10 @@ public class RFileReaderRDD extends RDD<Map.Entry<Key, Value>> {
 
             // Row id is tableId;splitPoint
             // Last tablet is tableId<
-            final String[] fields = key.getRow().toString().split(";");
+            final String[] fields = key.getRow().toString().split(";", 2);
             final String tabletName;
             if (fields.length == 2) {
-                tabletName = fields[0];
+                tabletName = fields[1];
             } else if (fields.length == 1) {
                 tabletName = LAST_TABLET;
             } else {
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sparkaccumulo.datasource;
+
+import com.google.common.collect.Lists;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.spark.datasource.GafferInputPartition;
+import uk.gov.gchq.gaffer.spark.datasource.OperationPartition;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AccumuloPartitionPlannerTest {
+
+    @Test
+    public void shouldCreateOnePartitionPerTabletAndReadAllElements() throws Exception {
+        // Given
+        final SingleUseMockAccumuloStore store = createStore();
+        final Text split = getMiddleRow(store);
+        store.getConnection().tableOperations().addSplits(store.getTableName(), new TreeSet<>(Collections.singleton(split)));
+        final GetAllElements operation = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge("BasicEdge2")
+                        .build())
+                .build();
+        final List<Element> expected = Lists.newArrayList(store.execute(operation, new Context(new User())));
+
+        // When
+        final List<GafferInputPartition> partitions = new AccumuloPartitionPlanner()
+                .planPartitions(operation, store, new User(), Collections.emptyMap());
+
+        // Then
+        assertEquals(2, partitions.size());
+        final List<Element> results = new ArrayList<>();
+        for (final GafferInputPartition partition : partitions) {
+            assertTrue(partition instanceof AccumuloTabletPartition);
+            results.addAll(Lists.newArrayList(partition.read(store, new User())));
+        }
+        assertEquals(expected.size(), results.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldUseDefaultPartitionsForSeededQueries() throws Exception {
+        // Given
+        final SingleUseMockAccumuloStore store = createStore();
+        final GetElements operation = new GetElements.Builder()
+                .input(new EntitySeed("A0"), new EntitySeed("A1"))
+                .view(new View.Builder()
+                        .edge("BasicEdge2")
+                        .build())
+                .build();
+
+        // When
+        final List<GafferInputPartition> partitions = new AccumuloPartitionPlanner()
+                .planPartitions(operation, store, new User(), Collections.emptyMap());
+
+        // Then
+        assertEquals(1, partitions.size());
+        assertTrue(partitions.get(0) instanceof OperationPartition);
+    }
+
+    private static SingleUseMockAccumuloStore createStore() throws Exception {
+        final Schema schema = Schema.fromJson(
+                AccumuloPartitionPlannerTest.class.getResourceAsStream("/schema-DataFrame/elements.json"),
+                AccumuloPartitionPlannerTest.class.getResourceAsStream("/schema-DataFrame/types.json"),
+                AccumuloPartitionPlannerTest.class.getResourceAsStream("/schema-DataFrame/serialisation.json"));
+        final AccumuloProperties properties = AccumuloProperties
+                .loadStoreProperties(AccumuloPartitionPlannerTest.class.getResourceAsStream("/store.properties"));
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("graphId", schema, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(new Edge.Builder()
+                    .group("BasicEdge2")
+                    .source("A" + i)
+                    .dest("B" + i)
+                    .directed(true)
+                    .property("property1", 1)
+                    .build());
+        }
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()));
+        return store;
+    }
+
+    private static Text getMiddleRow(final SingleUseMockAccumuloStore store) throws Exception {
+        final Scanner scanner = store.getConnection().createScanner(store.getTableName(), new Authorizations());
+        final Set<Text> rows = new TreeSet<>();
+        for (final Map.Entry<Key, Value> entry : scanner) {
+            rows.add(entry.getKey().getRow());
+        }
+        return Lists.newArrayList(rows).get(rows.size() / 4);
+    }
+}
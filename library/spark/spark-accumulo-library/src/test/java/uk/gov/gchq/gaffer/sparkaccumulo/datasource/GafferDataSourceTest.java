@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.sparkaccumulo.datasource;
+
+import org.apache.spark.sql.DataFrameReader;
+import org.apache.spark.sql.Dataset;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.MockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.spark.SparkSessionProvider;
+import uk.gov.gchq.gaffer.spark.datasource.GafferDataSource;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Reads a graph through the {@code gaffer} Spark data source, in local mode,
+ * to check that the rows returned by the {@link GafferDataSource} reader and
+ * reader factories are correct when columns are pruned and filters are
+ * pushed down.
+ */
+public class GafferDataSourceTest {
+    private static final String GRAPH_ID = "gafferDataSourceTest";
+    private static final int NUM_ELEMENTS = 10;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private Schema schema;
+    private File storePropertiesFile;
+
+    @Before
+    public void before() throws Exception {
+        schema = Schema.fromJson(
+                getClass().getResourceAsStream("/schema-DataFrame/elements.json"),
+                getClass().getResourceAsStream("/schema-DataFrame/types.json"),
+                getClass().getResourceAsStream("/schema-DataFrame/serialisation.json"));
+
+        // The readers create their own stores, so the mock instance must not
+        // be cleared when each store is initialised.
+        final AccumuloProperties properties = AccumuloProperties
+                .loadStoreProperties(getClass().getResourceAsStream("/store.properties"));
+        properties.setStoreClass(MockAccumuloStore.class);
+        properties.setInstance("gafferDataSourceTestInstance");
+        storePropertiesFile = testFolder.newFile("store.properties");
+        try (final OutputStream out = new FileOutputStream(storePropertiesFile)) {
+            properties.getProperties().store(out, null);
+        }
+
+        final MockAccumuloStore store = new MockAccumuloStore();
+        store.initialise(GRAPH_ID, schema, properties);
+        store.getConnection().tableOperations().deleteRows(store.getTableName(), null, null);
+        store.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new Context(new User()));
+    }
+
+    @Test
+    public void shouldReturnPrunedColumnsWithPushedDownPropertyFilter() {
+        // When
+        final Dataset<Row> dataFrame = load()
+                .filter("group = 'BasicEdge' AND property1 > 6")
+                .select("src", "property1");
+        final List<Row> results = dataFrame.collectAsList();
+
+        // Then
+        assertArrayEquals(new String[]{"src", "property1"}, dataFrame.schema().fieldNames());
+        final Set<Row> expected = new HashSet<>(Arrays.asList(
+                RowFactory.create("7", 7),
+                RowFactory.create("8", 8),
+                RowFactory.create("9", 9)));
+        assertEquals(expected.size(), results.size());
+        assertEquals(expected, new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldReturnTheSameRowsWhenReadingEachTabletInAPartition() {
+        // When
+        final List<Row> results = reader()
+                .option(GafferDataSource.PARTITION_PLANNER, AccumuloPartitionPlanner.class.getName())
+                .load()
+                .filter("group = 'BasicEdge' AND property1 > 6")
+                .select("src", "property1")
+                .collectAsList();
+
+        // Then
+        final Set<Row> expected = new HashSet<>(Arrays.asList(
+                RowFactory.create("7", 7),
+                RowFactory.create("8", 8),
+                RowFactory.create("9", 9)));
+        assertEquals(expected.size(), results.size());
+        assertEquals(expected, new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldReturnPrunedColumnsWithPushedDownSourceFilter() {
+        // When
+        final Dataset<Row> dataFrame = load()
+                .filter("src = '3'")
+                .select("group", "src", "dst", "count");
+        final List<Row> results = dataFrame.collectAsList();
+
+        // Then
+        assertArrayEquals(new String[]{"group", "src", "dst", "count"}, dataFrame.schema().fieldNames());
+        final Set<Row> expected = new HashSet<>(Arrays.asList(
+                RowFactory.create("BasicEdge", "3", "B", 30L),
+                RowFactory.create("BasicEdge2", "3", "C", null)));
+        assertEquals(expected.size(), results.size());
+        assertEquals(expected, new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldReturnNoRowsWhenTheFiltersExcludeEveryGroup() {
+        // When
+        final List<Row> results = load()
+                .filter("group = 'UnknownGroup'")
+                .select("group")
+                .collectAsList();
+
+        // Then
+        assertEquals(0, results.size());
+    }
+
+    private Dataset<Row> load() {
+        return reader().load();
+    }
+
+    private DataFrameReader reader() {
+        return SparkSessionProvider.getSparkSession()
+                .read()
+                .format(GafferDataSource.SHORT_NAME)
+                .option(GafferDataSource.GRAPH_ID, GRAPH_ID)
+                .option(GafferDataSource.SCHEMA, new String(schema.toCompactJson(), StandardCharsets.UTF_8))
+                .option(GafferDataSource.STORE_PROPERTIES, storePropertiesFile.getAbsolutePath());
+    }
+
+    private static List<Element> getElements() {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(new Entity.Builder()
+                    .group("BasicEntity")
+                    .vertex("" + i)
+                    .property("property1", i)
+                    .property("count", (long) i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group("BasicEdge")
+                    .source("" + i)
+                    .dest("B")
+                    .directed(true)
+                    .property("property1", i)
+                    .property("count", 10L * i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group("BasicEdge2")
+                    .source("" + i)
+                    .dest("C")
+                    .directed(true)
+                    .property("property1", 100 + i)
+                    .build());
+        }
+        return elements;
+    }
+}
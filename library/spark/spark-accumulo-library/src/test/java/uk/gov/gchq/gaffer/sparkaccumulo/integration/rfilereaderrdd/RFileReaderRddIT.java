@@ -28,6 +28,7 @@ import org.apache.accumulo.core.client.admin.CompactionConfig;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.iterators.user.GrepIterator;
 import org.apache.accumulo.core.util.Pair;
 import org.apache.accumulo.minicluster.MiniAccumuloCluster;
@@ -48,10 +49,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 
 import static org.junit.Assert.assertEquals;
 
@@ -133,6 +136,31 @@ public class RFileReaderRddIT {
         assertEquals(1L, rdd.count());
     }
 
+    @Test
+    public void testRFileReaderRDDOnlyReadsTabletsAndRowsInRanges() throws IOException,
+            InterruptedException, AccumuloSecurityException, AccumuloException, TableNotFoundException,
+            TableExistsException {
+        // Given
+        final List<String> data = Arrays.asList("train", "plane", "automobile", "bike", "boat");
+        final MiniAccumuloCluster cluster = createAccumuloCluster(tableName, config, data);
+        final Connector connector = cluster.getConnector(MiniAccumuloClusterProvider.USER,
+                MiniAccumuloClusterProvider.PASSWORD);
+        connector.tableOperations().addSplits(tableName, new TreeSet<>(Collections.singleton(new Text("row2"))));
+        connector.tableOperations().compact(tableName, new CompactionConfig());
+        Thread.sleep(1000L);
+        InputConfigurator.setRanges(AccumuloInputFormat.class, config, Arrays.asList(Range.exact("row0"), Range.exact("row2")));
+
+        // When
+        final RFileReaderRDD rdd = new RFileReaderRDD(sparkSession.sparkContext(),
+                cluster.getInstanceName(), cluster.getZooKeepers(), MiniAccumuloClusterProvider.USER,
+                MiniAccumuloClusterProvider.PASSWORD, tableName, new HashSet<>(),
+                serialiseConfiguration(config));
+
+        // Then
+        assertEquals(2L, rdd.count());
+        assertEquals(1, rdd.getPartitions().length);
+    }
+
     @Test(expected = RuntimeException.class)
     public void throwRTX_whenGetPartitionsForFileReaderWithInvalidTableName() throws IOException,
             InterruptedException, AccumuloSecurityException, AccumuloException, TableNotFoundException,
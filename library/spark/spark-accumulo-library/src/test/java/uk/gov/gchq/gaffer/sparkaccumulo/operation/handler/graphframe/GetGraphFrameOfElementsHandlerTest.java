@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.graphframe;
 
+import org.apache.spark.sql.Row;
 import org.graphframes.GraphFrame;
 import org.junit.Before;
 import org.junit.Test;
@@ -34,13 +35,19 @@ import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.spark.SparkSessionProvider;
 import uk.gov.gchq.gaffer.spark.data.generator.RowToElementGenerator;
 import uk.gov.gchq.gaffer.spark.function.GraphFrameToIterableRow;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
 import uk.gov.gchq.gaffer.spark.operation.graphframe.GetGraphFrameOfElements;
+import uk.gov.gchq.gaffer.spark.operation.handler.graphframe.GetGraphFrameOfElementsHandler;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static uk.gov.gchq.gaffer.data.util.ElementUtil.assertElementEquals;
 
@@ -331,6 +338,65 @@ public class GetGraphFrameOfElementsHandlerTest {
         assertElementEquals(getSimpleElements(), results);
     }
 
+    @Test
+    public void shouldAssignUniqueEdgeIdsAcrossGroups() throws OperationException {
+        // Given
+        final Graph graph = getGraph("/schema-GraphFrame/elements.json", getSimpleElements());
+        final GetGraphFrameOfElements gfOperation = new GetGraphFrameOfElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .edge(TestGroups.EDGE_2)
+                        .build())
+                .build();
+
+        // When
+        final GraphFrame graphFrame = graph.execute(gfOperation, new User());
+
+        // Then
+        final List<Row> edges = graphFrame.edges().collectAsList();
+        final Set<Long> ids = edges.stream()
+                .map(row -> row.<Long>getAs(SchemaToStructTypeConverter.ID))
+                .collect(Collectors.toSet());
+        assertEquals(NUM_ELEMENTS * 2, edges.size());
+        assertEquals(edges.size(), ids.size());
+    }
+
+    @Test
+    public void shouldEncodeVertexIdsAsLongs() throws OperationException {
+        // Given
+        final Graph graph = getGraph("/schema-GraphFrame/elements.json", getSimpleElements());
+        final GetGraphFrameOfElements gfOperation = new GetGraphFrameOfElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .encodeVertexIds(true)
+                .build();
+
+        // When
+        final GraphFrame graphFrame = graph.execute(gfOperation, new User());
+
+        // Then
+        final java.util.Map<String, Long> dictionary = new HashMap<>();
+        for (final Row row : graphFrame.vertices().collectAsList()) {
+            final String vertex = row.getAs(SchemaToStructTypeConverter.VERTEX_COL_NAME);
+            final Long id = row.getAs(SchemaToStructTypeConverter.ID);
+            final Long previousId = dictionary.put(vertex, id);
+            assertTrue(null == previousId || previousId.equals(id));
+        }
+        assertEquals(NUM_ELEMENTS + 2, dictionary.size());
+        assertEquals(dictionary.size(), new HashSet<>(dictionary.values()).size());
+
+        final List<Row> edges = graphFrame.edges().collectAsList();
+        assertEquals(NUM_ELEMENTS * 2, edges.size());
+        for (final Row row : edges) {
+            assertEquals(dictionary.get(row.<String>getAs(GetGraphFrameOfElementsHandler.SRC_VERTEX_COL_NAME)),
+                    row.<Long>getAs(SchemaToStructTypeConverter.SRC_COL_NAME));
+            assertEquals(dictionary.get(row.<String>getAs(GetGraphFrameOfElementsHandler.DST_VERTEX_COL_NAME)),
+                    row.<Long>getAs(SchemaToStructTypeConverter.DST_COL_NAME));
+        }
+    }
+
     private Graph getGraph(final String elementsSchema, final List<Element> elements) throws OperationException {
         final Graph graph = new Graph.Builder()
                 .config(new GraphConfig.Builder()
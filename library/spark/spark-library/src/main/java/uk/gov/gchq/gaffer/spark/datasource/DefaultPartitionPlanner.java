@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import com.google.common.collect.Iterables;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link PartitionPlanner} that works with any store.
+ * <p>
+ * A {@link GetElements} is split into partitions of at most
+ * {@link #SEEDS_PER_PARTITION} seeds. A {@link GetAllElements} is split into
+ * one partition per group in the view, unless {@link #PARTITION_BY_GROUP} is
+ * set to false, in which case it is read as a single partition.
+ * </p>
+ */
+public class DefaultPartitionPlanner implements PartitionPlanner {
+    public static final String SEEDS_PER_PARTITION = "seedsPerPartition";
+    public static final String PARTITION_BY_GROUP = "partitionByGroup";
+    public static final int DEFAULT_SEEDS_PER_PARTITION = 1000;
+
+    @Override
+    public List<GafferInputPartition> planPartitions(final Output<CloseableIterable<? extends Element>> operation,
+                                                     final Store store,
+                                                     final User user,
+                                                     final Map<String, String> options) {
+        if (operation instanceof GetElements) {
+            return planSeededPartitions((GetElements) operation, options);
+        }
+        if (operation instanceof GetAllElements && Boolean.parseBoolean(getOption(options, PARTITION_BY_GROUP, "true"))) {
+            return planGroupPartitions((GetAllElements) operation);
+        }
+        return Collections.singletonList(new OperationPartition(operation));
+    }
+
+    // Splits the seeds of the operation into batches, one per partition.
+    private List<GafferInputPartition> planSeededPartitions(final GetElements operation, final Map<String, String> options) {
+        final int seedsPerPartition = Integer.parseInt(getOption(options, SEEDS_PER_PARTITION, String.valueOf(DEFAULT_SEEDS_PER_PARTITION)));
+        if (seedsPerPartition < 1) {
+            throw new IllegalArgumentException(SEEDS_PER_PARTITION + " must be at least 1");
+        }
+
+        final List<GafferInputPartition> partitions = new ArrayList<>();
+        for (final List<? extends ElementId> seeds : Iterables.partition(operation.getInput(), seedsPerPartition)) {
+            final GetElements partitionOperation = operation.shallowClone();
+            partitionOperation.setInput(new ArrayList<>(seeds));
+            partitions.add(new OperationPartition(partitionOperation));
+        }
+        return partitions;
+    }
+
+    // Creates one partition per group, each with a view of only that group.
+    private List<GafferInputPartition> planGroupPartitions(final GetAllElements operation) {
+        final View view = operation.getView();
+        final Set<String> groups = new LinkedHashSet<>(view.getEntityGroups());
+        groups.addAll(view.getEdgeGroups());
+        if (groups.size() < 2) {
+            return Collections.singletonList(new OperationPartition(operation));
+        }
+
+        final List<GafferInputPartition> partitions = new ArrayList<>(groups.size());
+        for (final String group : groups) {
+            final GetAllElements partitionOperation = operation.shallowClone();
+            partitionOperation.setView(new View.Builder()
+                    .merge(view)
+                    .removeEntities(entry -> !group.equals(entry.getKey()))
+                    .removeEdges(entry -> !group.equals(entry.getKey()))
+                    .build());
+            partitions.add(new OperationPartition(partitionOperation));
+        }
+        return partitions;
+    }
+
+    // Spark lower cases the keys of the data source options.
+    private static String getOption(final Map<String, String> options, final String key, final String defaultValue) {
+        final String value = null != options ? options.get(key.toLowerCase(Locale.ROOT)) : null;
+        return null != value ? value : defaultValue;
+    }
+}
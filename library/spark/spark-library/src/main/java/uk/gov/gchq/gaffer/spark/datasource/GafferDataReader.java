@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.sources.v2.reader.DataReader;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementToRow;
+
+import java.io.IOException;
+
+/**
+ * Reads the {@link Row}s of a single {@link GafferInputPartition} on a Spark
+ * executor.
+ */
+public class GafferDataReader implements DataReader<Row> {
+    private final CloseableIterable<? extends Element> elements;
+    private final CloseableIterator<? extends Element> iterator;
+    private final ConvertElementToRow converter;
+    private Row current;
+
+    public GafferDataReader(final CloseableIterable<? extends Element> elements, final ConvertElementToRow converter) {
+        this.elements = elements;
+        this.iterator = elements.iterator();
+        this.converter = converter;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (iterator.hasNext()) {
+            current = converter.apply(iterator.next());
+            return true;
+        }
+        current = null;
+        return false;
+    }
+
+    @Override
+    public Row get() {
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        CloseableUtil.close(iterator, elements);
+    }
+}
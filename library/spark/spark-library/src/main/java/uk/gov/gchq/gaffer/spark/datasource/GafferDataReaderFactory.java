@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.sources.v2.reader.DataReader;
+import org.apache.spark.sql.sources.v2.reader.DataReaderFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementToRow;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+/**
+ * Creates the {@link GafferDataReader} for a single {@link GafferInputPartition}.
+ * This is serialised and sent to the Spark executors, where the store is
+ * created from the graph id, schema and store properties.
+ */
+public class GafferDataReaderFactory implements DataReaderFactory<Row> {
+    private static final long serialVersionUID = 4391752217584720311L;
+
+    private final String graphId;
+    private final byte[] schema;
+    private final Properties storeProperties;
+    private final byte[] user;
+    private final GafferInputPartition partition;
+    private final ConvertElementToRow converter;
+
+    public GafferDataReaderFactory(final String graphId,
+                                   final byte[] schema,
+                                   final Properties storeProperties,
+                                   final byte[] user,
+                                   final GafferInputPartition partition,
+                                   final ConvertElementToRow converter) {
+        this.graphId = graphId;
+        this.schema = Arrays.copyOf(schema, schema.length);
+        this.storeProperties = storeProperties;
+        this.user = Arrays.copyOf(user, user.length);
+        this.partition = partition;
+        this.converter = converter;
+    }
+
+    @Override
+    public String[] preferredLocations() {
+        return partition.getPreferredLocations();
+    }
+
+    @Override
+    public DataReader<Row> createDataReader() {
+        final Store store = Store.createStore(graphId, schema, storeProperties);
+        final CloseableIterable<? extends Element> elements;
+        try {
+            elements = partition.read(store, JSONSerialiser.deserialise(user, User.class));
+        } catch (final OperationException | SerialisationException e) {
+            throw new RuntimeException("Unable to read partition of graph " + graphId, e);
+        }
+        if (null == elements) {
+            return new GafferDataReader(new WrappedCloseableIterable<>(Collections.<Element>emptyList()), converter);
+        }
+        return new GafferDataReader(elements, converter);
+    }
+
+    public GafferInputPartition getPartition() {
+        return partition;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import org.apache.spark.sql.sources.DataSourceRegister;
+import org.apache.spark.sql.sources.v2.DataSourceOptions;
+import org.apache.spark.sql.sources.v2.DataSourceV2;
+import org.apache.spark.sql.sources.v2.ReadSupport;
+import org.apache.spark.sql.sources.v2.reader.DataSourceReader;
+
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Spark DataSource V2 which allows any Gaffer store to be read as a
+ * {@code DataFrame}, for example:
+ * <pre>
+ * spark.read().format("gaffer")
+ *         .option("graphId", "graph1")
+ *         .option("schema", schemaJson)
+ *         .option("storeProperties", "/path/to/store.properties")
+ *         .load();
+ * </pre>
+ * The available options are:
+ * <ul>
+ * <li>{@link #GRAPH_ID} - required, the id of the graph.</li>
+ * <li>{@link #SCHEMA} - required, the schema as JSON.</li>
+ * <li>{@link #STORE_PROPERTIES} - required, the path to the store properties,
+ * which must be readable on the driver.</li>
+ * <li>{@link #VIEW} - the view as JSON, defaults to all groups in the schema.</li>
+ * <li>{@link #USER} - the user as JSON, defaults to a user with no auths.</li>
+ * <li>{@link #CONVERTERS} - a comma separated list of additional
+ * {@link Converter} classes.</li>
+ * <li>{@link #PARTITION_PLANNER} - the {@link PartitionPlanner} class, defaults
+ * to the {@link DefaultPartitionPlanner}.</li>
+ * </ul>
+ * The store is created on each executor from the schema and store
+ * properties, so the store must be reachable from the executors. In memory
+ * stores, such as the MapStore, are only readable this way when the executors
+ * share the JVM of the driver.
+ */
+public class GafferDataSource implements DataSourceV2, ReadSupport, DataSourceRegister {
+    public static final String SHORT_NAME = "gaffer";
+    public static final String GRAPH_ID = "graphId";
+    public static final String SCHEMA = "schema";
+    public static final String STORE_PROPERTIES = "storeProperties";
+    public static final String VIEW = "view";
+    public static final String USER = "user";
+    public static final String CONVERTERS = "converters";
+    public static final String PARTITION_PLANNER = "partitionPlanner";
+
+    @Override
+    public String shortName() {
+        return SHORT_NAME;
+    }
+
+    @Override
+    public DataSourceReader createReader(final DataSourceOptions options) {
+        final String graphId = getRequiredOption(options, GRAPH_ID);
+        final Schema schema = Schema.fromJson(getRequiredOption(options, SCHEMA).getBytes(StandardCharsets.UTF_8));
+        final StoreProperties storeProperties = StoreProperties.loadStoreProperties(getRequiredOption(options, STORE_PROPERTIES));
+
+        final View view;
+        if (options.get(VIEW).isPresent()) {
+            view = View.fromJson(options.get(VIEW).get().getBytes(StandardCharsets.UTF_8));
+        } else {
+            view = new View.Builder()
+                    .entities(schema.getEntityGroups())
+                    .edges(schema.getEdgeGroups())
+                    .build();
+        }
+
+        final User user;
+        try {
+            user = options.get(USER).isPresent()
+                    ? JSONSerialiser.deserialise(options.get(USER).get(), User.class)
+                    : new User();
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to deserialise user", e);
+        }
+
+        final List<Converter> converters = new ArrayList<>();
+        if (options.get(CONVERTERS).isPresent()) {
+            for (final String converterClass : options.get(CONVERTERS).get().split(",")) {
+                converters.add(newInstance(converterClass.trim(), Converter.class));
+            }
+        }
+
+        final PartitionPlanner planner = options.get(PARTITION_PLANNER).isPresent()
+                ? newInstance(options.get(PARTITION_PLANNER).get(), PartitionPlanner.class)
+                : new DefaultPartitionPlanner();
+
+        return new GafferDataSourceReader(graphId, schema, storeProperties, view, user, converters, planner, options.asMap());
+    }
+
+    private static String getRequiredOption(final DataSourceOptions options, final String key) {
+        if (!options.get(key).isPresent()) {
+            throw new IllegalArgumentException("The " + key + " option is required");
+        }
+        return options.get(key).get();
+    }
+
+    private static <T> T newInstance(final String className, final Class<T> type) {
+        try {
+            return Class.forName(className).asSubclass(type).newInstance();
+        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unable to create " + type.getSimpleName() + " from class " + className, e);
+        }
+    }
+}
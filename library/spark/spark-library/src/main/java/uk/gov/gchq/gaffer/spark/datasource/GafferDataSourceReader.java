@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.spark.rdd.RDD;
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.sources.Filter;
+import org.apache.spark.sql.sources.v2.reader.DataReaderFactory;
+import org.apache.spark.sql.sources.v2.reader.DataSourceReader;
+import org.apache.spark.sql.sources.v2.reader.SupportsPushDownFilters;
+import org.apache.spark.sql.sources.v2.reader.SupportsPushDownRequiredColumns;
+import org.apache.spark.sql.types.StructType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.ConvertElementToRow;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.FiltersToOperationConverter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.property.Converter;
+import uk.gov.gchq.gaffer.spark.operation.dataframe.converter.schema.SchemaToStructTypeConverter;
+import uk.gov.gchq.gaffer.spark.operation.scalardd.GetRDDOfElements;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Spark {@link DataSourceReader} for any Gaffer store.
+ * <p>
+ * The schema of the {@code DataFrame} is formed from the schemas of the groups
+ * in the view, in the same way as for the
+ * {@link uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements}
+ * operation. The required columns are pushed down so only the required
+ * properties are converted into {@link Row}s. The filters are pushed down
+ * using a {@link FiltersToOperationConverter}, so filters on the group are
+ * applied by restricting the view, filters on the vertex, source or
+ * destination are applied by querying with seeds, and the other supported
+ * filters are added to the view. Spark still applies all of the filters
+ * after the scan, so the pushed down filters do not need to be exact.
+ * </p>
+ * <p>
+ * The resulting operation is then split into partitions by the
+ * {@link PartitionPlanner}, and each partition is read on an executor.
+ * </p>
+ */
+public class GafferDataSourceReader implements DataSourceReader, SupportsPushDownRequiredColumns, SupportsPushDownFilters {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GafferDataSourceReader.class);
+
+    private final String graphId;
+    private final Schema schema;
+    private final StoreProperties storeProperties;
+    private final View view;
+    private final byte[] user;
+    private final PartitionPlanner planner;
+    private final Map<String, String> options;
+    private final SchemaToStructTypeConverter schemaConverter;
+    private StructType requiredSchema;
+    private Filter[] pushedFilters = new Filter[0];
+
+    public GafferDataSourceReader(final String graphId,
+                                  final Schema schema,
+                                  final StoreProperties storeProperties,
+                                  final View view,
+                                  final User user,
+                                  final List<Converter> converters,
+                                  final PartitionPlanner planner,
+                                  final Map<String, String> options) {
+        this.graphId = graphId;
+        this.schema = schema;
+        this.storeProperties = storeProperties;
+        this.view = view;
+        try {
+            this.user = JSONSerialiser.serialise(user);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise user", e);
+        }
+        this.planner = planner;
+        this.options = options;
+        this.schemaConverter = new SchemaToStructTypeConverter(schema, view, converters);
+        this.requiredSchema = schemaConverter.getStructType();
+    }
+
+    @Override
+    public StructType readSchema() {
+        return requiredSchema;
+    }
+
+    @Override
+    public void pruneColumns(final StructType requiredSchema) {
+        LOGGER.debug("Pruning columns to {}", StringUtils.join(requiredSchema.fieldNames(), ','));
+        this.requiredSchema = requiredSchema;
+    }
+
+    @Override
+    public Filter[] pushFilters(final Filter[] filters) {
+        LOGGER.debug("Pushing down {} filters ({})", filters.length, StringUtils.join(filters, ','));
+        pushedFilters = Arrays.copyOf(filters, filters.length);
+        return filters;
+    }
+
+    @Override
+    public Filter[] pushedFilters() {
+        return Arrays.copyOf(pushedFilters, pushedFilters.length);
+    }
+
+    @Override
+    public List<DataReaderFactory<Row>> createDataReaderFactories() {
+        final Output<CloseableIterable<? extends Element>> operation = createOperation();
+        if (null == operation) {
+            // The filters mean that no data can be returned
+            return Collections.emptyList();
+        }
+
+        final Store store = Store.createStore(graphId, schema, storeProperties);
+        final List<GafferInputPartition> partitions;
+        try {
+            partitions = planner.planPartitions(operation, store, JSONSerialiser.deserialise(user, User.class), options);
+        } catch (final OperationException | SerialisationException e) {
+            throw new RuntimeException("Unable to plan the partitions for graph " + graphId, e);
+        }
+        LOGGER.info("Planned {} partitions for graph {} using {}", partitions.size(), graphId, planner.getClass().getSimpleName());
+
+        final ConvertElementToRow converter = new ConvertElementToRow(
+                new LinkedHashSet<>(Arrays.asList(requiredSchema.fieldNames())),
+                schemaConverter.getPropertyNeedsConversion(),
+                schemaConverter.getConverterByProperty());
+        final byte[] schemaBytes = schema.toCompactJson();
+        final List<DataReaderFactory<Row>> factories = new ArrayList<>(partitions.size());
+        for (final GafferInputPartition partition : partitions) {
+            factories.add(new GafferDataReaderFactory(graphId, schemaBytes, storeProperties.getProperties(), user, partition, converter));
+        }
+        return factories;
+    }
+
+    // Converts the pushed down filters into a GetAllElements or GetElements
+    // operation, or returns null if the filters exclude all of the data.
+    private Output<CloseableIterable<? extends Element>> createOperation() {
+        final Output<RDD<Element>> rddOperation = new FiltersToOperationConverter(view, schema, pushedFilters).getOperation();
+        if (null == rddOperation) {
+            return null;
+        }
+
+        if (rddOperation instanceof GetRDDOfElements) {
+            final GetRDDOfElements getRDDOfElements = (GetRDDOfElements) rddOperation;
+            return new GetElements.Builder()
+                    .input(getRDDOfElements.getInput())
+                    .view(getRDDOfElements.getView())
+                    .directedType(getRDDOfElements.getDirectedType())
+                    .inOutType(getRDDOfElements.getIncludeIncomingOutGoing())
+                    .build();
+        }
+
+        return new GetAllElements.Builder()
+                .view(((GraphFilters) rddOperation).getView())
+                .build();
+    }
+}
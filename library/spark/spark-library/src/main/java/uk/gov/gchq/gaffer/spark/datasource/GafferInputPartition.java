@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.Serializable;
+
+/**
+ * A {@code GafferInputPartition} describes a part of the data in a Gaffer
+ * store which can be read independently of the other partitions. Partitions
+ * are created on the Spark driver by a {@link PartitionPlanner} and are then
+ * serialised and read on the executors.
+ */
+public interface GafferInputPartition extends Serializable {
+    /**
+     * Reads the elements in this partition.
+     *
+     * @param store the store to read from, this is created on the executor
+     * @param user  the user to read the elements as
+     * @return the elements in the partition
+     * @throws OperationException if the elements could not be read
+     */
+    CloseableIterable<? extends Element> read(final Store store, final User user) throws OperationException;
+
+    /**
+     * @return the hosts on which this partition can be read most efficiently,
+     * if known.
+     */
+    default String[] getPreferredLocations() {
+        return new String[0];
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.Arrays;
+
+/**
+ * A {@link GafferInputPartition} which is read by executing an operation on
+ * the store. The operation is held as JSON so it can be sent to the Spark
+ * executors.
+ */
+public class OperationPartition implements GafferInputPartition {
+    private static final long serialVersionUID = -6327641825619870355L;
+
+    private final byte[] operation;
+    private final String[] preferredLocations;
+
+    public OperationPartition(final Output<CloseableIterable<? extends Element>> operation) {
+        this(operation, new String[0]);
+    }
+
+    public OperationPartition(final Output<CloseableIterable<? extends Element>> operation, final String[] preferredLocations) {
+        try {
+            this.operation = JSONSerialiser.serialise(operation);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to serialise operation", e);
+        }
+        this.preferredLocations = Arrays.copyOf(preferredLocations, preferredLocations.length);
+    }
+
+    @Override
+    public CloseableIterable<? extends Element> read(final Store store, final User user) throws OperationException {
+        return store.execute(getOperation(), new Context(user));
+    }
+
+    @Override
+    public String[] getPreferredLocations() {
+        return Arrays.copyOf(preferredLocations, preferredLocations.length);
+    }
+
+    public Output<CloseableIterable<? extends Element>> getOperation() {
+        try {
+            return JSONSerialiser.deserialise(operation, Output.class);
+        } catch (final SerialisationException e) {
+            throw new IllegalArgumentException("Unable to deserialise operation", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code PartitionPlanner} splits the operation used to read a Gaffer store
+ * into {@link GafferInputPartition}s that can be read in parallel. Stores that
+ * have their own notion of splits, such as Accumulo tablets, can provide their
+ * own planner so the partitions match those splits.
+ * <p>
+ * Implementations must have a public no-argument constructor.
+ * </p>
+ */
+public interface PartitionPlanner {
+    /**
+     * Splits the operation into partitions.
+     *
+     * @param operation the operation to split, either a
+     *                  {@link uk.gov.gchq.gaffer.operation.impl.get.GetAllElements}
+     *                  or a {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements}
+     *                  with the pushed down filters applied to its view
+     * @param store     the store the partitions will be read from
+     * @param user      the user the partitions will be read as
+     * @param options   the data source options, Spark converts the keys
+     *                  of these to lower case
+     * @return the partitions, which together contain all of the results of the operation
+     * @throws OperationException if the partitions could not be planned
+     */
+    List<GafferInputPartition> planPartitions(final Output<CloseableIterable<? extends Element>> operation,
+                                              final Store store,
+                                              final User user,
+                                              final Map<String, String> options) throws OperationException;
+}
@@ -42,6 +42,13 @@ import java.util.Map;
  * <p>
  * This GraphFrame object can be used as the basis for a number of graph
  * processing queries.
+ * <p>
+ * If {@code encodeVertexIds} is set then each vertex is assigned a unique
+ * long id, which is used for the {@code id} column of the vertices and the
+ * {@code src} and {@code dst} columns of the edges. The original vertex
+ * values are kept in the {@code vertex}, {@code srcVertex} and
+ * {@code dstVertex} columns. Algorithms such as connected components run
+ * faster on long ids than on arbitrary vertex values.
  *
  * @see uk.gov.gchq.gaffer.spark.operation.dataframe.GetDataFrameOfElements
  */
@@ -56,6 +63,7 @@ public class GetGraphFrameOfElements implements
     @Required
     private View view;
     private DirectedType directedType;
+    private boolean encodeVertexIds;
 
     public GetGraphFrameOfElements() {
     }
@@ -103,6 +111,14 @@ public class GetGraphFrameOfElements implements
         this.directedType = directedType;
     }
 
+    public boolean isEncodeVertexIds() {
+        return encodeVertexIds;
+    }
+
+    public void setEncodeVertexIds(final boolean encodeVertexIds) {
+        this.encodeVertexIds = encodeVertexIds;
+    }
+
     @Override
     public ValidationResult validate() {
         final ValidationResult result = Output.super.validate();
@@ -121,6 +137,7 @@ public class GetGraphFrameOfElements implements
                 .options(options)
                 .directedType(directedType)
                 .view(view)
+                .encodeVertexIds(encodeVertexIds)
                 .build();
     }
 
@@ -135,5 +152,10 @@ public class GetGraphFrameOfElements implements
             _getOp().setConverters(converters);
             return _self();
         }
+
+        public Builder encodeVertexIds(final boolean encodeVertexIds) {
+            _getOp().setEncodeVertexIds(encodeVertexIds);
+            return _self();
+        }
     }
 }
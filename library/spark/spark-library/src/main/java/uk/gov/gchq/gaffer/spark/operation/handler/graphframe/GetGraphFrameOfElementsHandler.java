@@ -18,9 +18,8 @@ package uk.gov.gchq.gaffer.spark.operation.handler.graphframe;
 
 import org.apache.spark.sql.Dataset;
 import org.apache.spark.sql.Row;
-import org.apache.spark.sql.SparkSession;
-import org.apache.spark.sql.expressions.Window;
 import org.apache.spark.sql.functions;
+import org.apache.spark.storage.StorageLevel;
 import org.graphframes.GraphFrame;
 
 import uk.gov.gchq.gaffer.data.element.ReservedPropertyNames;
@@ -35,7 +34,8 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 
 import java.util.Set;
-import java.util.stream.Collectors;
+
+import static org.apache.spark.sql.functions.col;
 
 /**
  * <p>
@@ -44,11 +44,22 @@ import java.util.stream.Collectors;
  * </p>
  * <p>
  * The implementation delegates to {@link GetDataFrameOfElements} operation.
- * Then the resulting {@link Dataset} of elements are split into two {@link Dataset}s
- * based on the groups provided in the {@link uk.gov.gchq.gaffer.data.elementdefinition.view.View}.
+ * The resulting {@link Dataset} of elements is persisted, so the store is only
+ * scanned once, and is then split into two {@link Dataset}s based on the groups
+ * provided in the {@link uk.gov.gchq.gaffer.data.elementdefinition.view.View}.
+ * </p>
+ * <p>
+ * Edge ids are assigned within each Spark partition using
+ * {@link functions#monotonically_increasing_id()}, so no shuffle is needed.
+ * As the elements are persisted the ids are stable for the lifetime of the
+ * GraphFrame. If the operation requests encoded vertex ids then a dictionary
+ * from each vertex to a unique long id is built in the same way.
  * </p>
  */
 public class GetGraphFrameOfElementsHandler implements OutputOperationHandler<GetGraphFrameOfElements, GraphFrame> {
+    public static final String SRC_VERTEX_COL_NAME = "srcVertex";
+    public static final String DST_VERTEX_COL_NAME = "dstVertex";
+
     @Override
     public GraphFrame doOperation(final GetGraphFrameOfElements operation, final Context context, final Store store) throws OperationException {
         final GetDataFrameOfElements getDataFrame = new GetDataFrameOfElements.Builder()
@@ -57,41 +68,71 @@ public class GetGraphFrameOfElementsHandler implements OutputOperationHandler<Ge
                 .options(operation.getOptions())
                 .build();
 
-        Dataset<Row> elements = store.execute(getDataFrame, context);
-        elements = renameColumns(elements);
-        elements.createOrReplaceTempView("elements");
+        final Dataset<Row> elements = renameColumns(store.execute(getDataFrame, context))
+                .persist(StorageLevel.MEMORY_AND_DISK());
 
-        final String edgeGroups = groupsToString(operation.getView().getEdgeGroups());
-        final String entityGroups = groupsToString(operation.getView().getEntityGroups());
+        final Set<String> edgeGroups = operation.getView().getEdgeGroups();
+        final Set<String> entityGroups = operation.getView().getEntityGroups();
 
-        final SparkSession sparkSession = SparkContextUtil.getSparkSession(context, store.getProperties());
-
-        // Create a DataFrame of Edges - must add an "id" column which we fill with
-        // the row number. We add a partitionBy on group to avoid creating a single
-        // partition for all data.
-        Dataset<Row> edges = sparkSession.sql("select * from elements where group in " + edgeGroups)
-                .withColumn(SchemaToStructTypeConverter.ID, functions.row_number().over(Window.orderBy(SchemaToStructTypeConverter.GROUP).partitionBy(SchemaToStructTypeConverter.GROUP)));
+        // Create a DataFrame of Edges - must add an "id" column. The ids are
+        // assigned within each partition so the edges are not moved into a
+        // single partition.
+        Dataset<Row> edges = elements.where(col(SchemaToStructTypeConverter.GROUP).isin(edgeGroups.toArray()))
+                .withColumn(SchemaToStructTypeConverter.ID, functions.monotonically_increasing_id());
 
         // Create a DataFrame of Entities
-        Dataset<Row> entities = sparkSession.sql("select * from elements where " + SchemaToStructTypeConverter.GROUP + " in " + entityGroups);
+        Dataset<Row> entities = elements.where(col(SchemaToStructTypeConverter.GROUP).isin(entityGroups.toArray()));
 
-        if (!edges.rdd().isEmpty()) {
+        final boolean hasEdges = !edges.rdd().isEmpty();
+        if (hasEdges) {
             // We also add dummy entities for all vertices present in the edge dataset,
             // in case there are no corresponding Entities
-            final Dataset<Row> sources = sparkSession.sql("select " + SchemaToStructTypeConverter.SRC_COL_NAME + " as " + SchemaToStructTypeConverter.VERTEX_COL_NAME + " from elements where " + SchemaToStructTypeConverter.GROUP + " in " + edgeGroups);
-            final Dataset<Row> destinations = sparkSession.sql("select " + SchemaToStructTypeConverter.DST_COL_NAME + " as " + SchemaToStructTypeConverter.VERTEX_COL_NAME + " from elements where " + SchemaToStructTypeConverter.GROUP + " in " + edgeGroups);
+            final Dataset<Row> sources = edges.select(col(SchemaToStructTypeConverter.SRC_COL_NAME).as(SchemaToStructTypeConverter.VERTEX_COL_NAME));
+            final Dataset<Row> destinations = edges.select(col(SchemaToStructTypeConverter.DST_COL_NAME).as(SchemaToStructTypeConverter.VERTEX_COL_NAME));
 
             final Dataset<Row> vertices = sources.union(destinations).distinct();
 
             entities = DataFrameUtil.union(vertices, entities);
         } else {
             // If there are no edges, add an empty DataFrame
-            edges = DataFrameUtil.emptyEdges(sparkSession);
+            edges = DataFrameUtil.emptyEdges(SparkContextUtil.getSparkSession(context, store.getProperties()));
+        }
+
+        if (operation.isEncodeVertexIds()) {
+            return encodeVertexIds(entities, edges, hasEdges);
         }
 
         return GraphFrame.apply(entities.withColumnRenamed(SchemaToStructTypeConverter.VERTEX_COL_NAME, SchemaToStructTypeConverter.ID), edges);
     }
 
+    // Replaces the vertices with unique long ids. The dictionary of ids is
+    // persisted as the ids would change if it was recomputed.
+    private GraphFrame encodeVertexIds(final Dataset<Row> entities, final Dataset<Row> edges, final boolean hasEdges) {
+        final Dataset<Row> dictionary = entities.select(SchemaToStructTypeConverter.VERTEX_COL_NAME)
+                .distinct()
+                .withColumn(SchemaToStructTypeConverter.ID, functions.monotonically_increasing_id())
+                .persist(StorageLevel.MEMORY_AND_DISK());
+
+        final Dataset<Row> encodedEntities = entities.join(dictionary, SchemaToStructTypeConverter.VERTEX_COL_NAME);
+        if (!hasEdges) {
+            return GraphFrame.apply(encodedEntities, edges);
+        }
+
+        final Dataset<Row> srcDictionary = dictionary.select(
+                col(SchemaToStructTypeConverter.VERTEX_COL_NAME).as(SRC_VERTEX_COL_NAME),
+                col(SchemaToStructTypeConverter.ID).as(SchemaToStructTypeConverter.SRC_COL_NAME));
+        final Dataset<Row> dstDictionary = dictionary.select(
+                col(SchemaToStructTypeConverter.VERTEX_COL_NAME).as(DST_VERTEX_COL_NAME),
+                col(SchemaToStructTypeConverter.ID).as(SchemaToStructTypeConverter.DST_COL_NAME));
+        final Dataset<Row> encodedEdges = edges
+                .withColumnRenamed(SchemaToStructTypeConverter.SRC_COL_NAME, SRC_VERTEX_COL_NAME)
+                .withColumnRenamed(SchemaToStructTypeConverter.DST_COL_NAME, DST_VERTEX_COL_NAME)
+                .join(srcDictionary, SRC_VERTEX_COL_NAME)
+                .join(dstDictionary, DST_VERTEX_COL_NAME);
+
+        return GraphFrame.apply(encodedEntities, encodedEdges);
+    }
+
     private Dataset<Row> renameColumns(final Dataset<Row> elements) {
         // Try to rename columns in case the Gaffer store uses different names.
         Dataset<Row> renamedElements = elements.withColumnRenamed(ReservedPropertyNames.GROUP.name(), SchemaToStructTypeConverter.GROUP);
@@ -103,9 +144,4 @@ public class GetGraphFrameOfElementsHandler implements OutputOperationHandler<Ge
         renamedElements = renamedElements.withColumnRenamed(ReservedPropertyNames.MATCHED_VERTEX.name(), SchemaToStructTypeConverter.MATCHED_VERTEX_COL_NAME);
         return renamedElements;
     }
-
-    private String groupsToString(final Set<String> groups) {
-        return groups.stream()
-                .collect(Collectors.joining("\',\'", "(\'", "\')"));
-    }
 }
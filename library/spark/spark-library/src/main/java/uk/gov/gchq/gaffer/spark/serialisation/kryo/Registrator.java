@@ -53,22 +53,29 @@ import uk.gov.gchq.gaffer.types.TypeValue;
  */
 public class Registrator implements KryoRegistrator {
 
+    /**
+     * The id of the first class registered. Classes are registered with fixed
+     * ids so that the ids do not depend on the order of registration, and are
+     * well above the ids used by Kryo and Spark for their own classes.
+     */
+    public static final int FIRST_REGISTRATION_ID = 1000;
+
     @Override
     public void registerClasses(final Kryo kryo) {
-        kryo.register(Entity.class, new EntityKryoSerializer());
-        kryo.register(Edge.class, new EdgeKryoSerializer());
-        kryo.register(Properties.class);
-        kryo.register(FreqMap.class, new FreqMapKryoSerializer());
-        kryo.register(HyperLogLogPlus.class, new HyperLogLogPlusKryoSerializer());
-        kryo.register(HllSketch.class, new HllSketchKryoSerializer());
-        kryo.register(Union.class, new HllUnionKryoSerializer());
-        kryo.register(LongsSketch.class, new LongsSketchKryoSerializer());
-        kryo.register(ItemsSketch.class, new StringsSketchKryoSerializer());
-        kryo.register(com.yahoo.sketches.quantiles.ItemsSketch.class, new uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.datasketches.quantiles.StringsSketchKryoSerializer());
-        kryo.register(ItemsUnion.class, new StringsUnionKryoSerializer());
-        kryo.register(ReservoirLongsSketch.class, new ReservoirLongsSketchKryoSerializer());
-        kryo.register(ReservoirLongsUnion.class, new ReservoirLongsUnionKryoSerializer());
-        kryo.register(TypeValue.class, new TypeValueKryoSerializer());
-        kryo.register(TypeSubTypeValue.class, new TypeSubTypeValueKryoSerializer());
+        kryo.register(Entity.class, new EntityKryoSerializer(), FIRST_REGISTRATION_ID + 0);
+        kryo.register(Edge.class, new EdgeKryoSerializer(), FIRST_REGISTRATION_ID + 1);
+        kryo.register(Properties.class, FIRST_REGISTRATION_ID + 2);
+        kryo.register(FreqMap.class, new FreqMapKryoSerializer(), FIRST_REGISTRATION_ID + 3);
+        kryo.register(HyperLogLogPlus.class, new HyperLogLogPlusKryoSerializer(), FIRST_REGISTRATION_ID + 4);
+        kryo.register(HllSketch.class, new HllSketchKryoSerializer(), FIRST_REGISTRATION_ID + 5);
+        kryo.register(Union.class, new HllUnionKryoSerializer(), FIRST_REGISTRATION_ID + 6);
+        kryo.register(LongsSketch.class, new LongsSketchKryoSerializer(), FIRST_REGISTRATION_ID + 7);
+        kryo.register(ItemsSketch.class, new StringsSketchKryoSerializer(), FIRST_REGISTRATION_ID + 8);
+        kryo.register(com.yahoo.sketches.quantiles.ItemsSketch.class, new uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.datasketches.quantiles.StringsSketchKryoSerializer(), FIRST_REGISTRATION_ID + 9);
+        kryo.register(ItemsUnion.class, new StringsUnionKryoSerializer(), FIRST_REGISTRATION_ID + 10);
+        kryo.register(ReservoirLongsSketch.class, new ReservoirLongsSketchKryoSerializer(), FIRST_REGISTRATION_ID + 11);
+        kryo.register(ReservoirLongsUnion.class, new ReservoirLongsUnionKryoSerializer(), FIRST_REGISTRATION_ID + 12);
+        kryo.register(TypeValue.class, new TypeValueKryoSerializer(), FIRST_REGISTRATION_ID + 13);
+        kryo.register(TypeSubTypeValue.class, new TypeSubTypeValueKryoSerializer(), FIRST_REGISTRATION_ID + 14);
     }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.serialisation.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import org.apache.spark.SparkEnv;
+
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.SchemaEdgeKryoSerializer;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.SchemaEntityKryoSerializer;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * A {@link Registrator} that registers {@link SchemaEntityKryoSerializer} and
+ * {@link SchemaEdgeKryoSerializer} for {@link Entity}s and {@link Edge}s,
+ * which produce much smaller serialised elements than the default serialisers.
+ * <p>
+ * To use it, set {@code spark.kryo.registrator} to this class and set
+ * {@link #SCHEMA} in the Spark configuration to the compact JSON of the schema.
+ * The schema must be the same on the driver and all of the executors. If no
+ * schema is configured then the default serialisers are used.
+ * </p>
+ */
+public class SchemaAwareRegistrator extends Registrator {
+    public static final String SCHEMA = "spark.gaffer.kryo.schema";
+
+    private final Schema schema;
+
+    public SchemaAwareRegistrator() {
+        this(loadSchema());
+    }
+
+    public SchemaAwareRegistrator(final Schema schema) {
+        this.schema = schema;
+    }
+
+    @Override
+    public void registerClasses(final Kryo kryo) {
+        super.registerClasses(kryo);
+        if (null != schema) {
+            // Replace the Entity and Edge serialisers, keeping the same ids
+            kryo.register(Entity.class, new SchemaEntityKryoSerializer(schema), FIRST_REGISTRATION_ID);
+            kryo.register(Edge.class, new SchemaEdgeKryoSerializer(schema), FIRST_REGISTRATION_ID + 1);
+        }
+    }
+
+    // Loads the schema from the Spark configuration, if there is one.
+    private static Schema loadSchema() {
+        final SparkEnv sparkEnv = SparkEnv.get();
+        if (null == sparkEnv || !sparkEnv.conf().contains(SCHEMA)) {
+            return null;
+        }
+        try {
+            return Schema.fromJson(sparkEnv.conf().get(SCHEMA).getBytes(CommonConstants.UTF_8));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalArgumentException("Unable to read the schema from " + SCHEMA, e);
+        }
+    }
+}
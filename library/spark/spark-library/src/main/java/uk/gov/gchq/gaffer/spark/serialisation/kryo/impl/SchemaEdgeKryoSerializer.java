@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+/**
+ * A {@code SchemaEdgeKryoSerializer} is a {@link Kryo} {@link com.esotericsoftware.kryo.Serializer} for
+ * a Gaffer {@link Edge} that uses the {@link Schema} to encode the group, vertices and properties.
+ *
+ * @see SchemaElementKryoSerializer
+ */
+public class SchemaEdgeKryoSerializer extends SchemaElementKryoSerializer<Edge> {
+
+    public SchemaEdgeKryoSerializer(final Schema schema) {
+        super(schema);
+    }
+
+    @Override
+    public void write(final Kryo kryo, final Output output, final Edge edge) {
+        writeGroup(output, edge.getGroup());
+        writeIdentifier(kryo, output, edge.getGroup(), IdentifierType.SOURCE, edge.getSource());
+        writeIdentifier(kryo, output, edge.getGroup(), IdentifierType.DESTINATION, edge.getDestination());
+        output.writeBoolean(edge.isDirected());
+        writeProperties(kryo, output, edge.getGroup(), edge.getProperties());
+    }
+
+    @Override
+    public Edge read(final Kryo kryo, final Input input, final Class<Edge> type) {
+        final String group = readGroup(input);
+        final Object source = readIdentifier(kryo, input, group, IdentifierType.SOURCE);
+        final Object dest = readIdentifier(kryo, input, group, IdentifierType.DESTINATION);
+        final boolean directed = input.readBoolean();
+        final Properties properties = readProperties(kryo, input, group);
+        return new Edge(group, source, dest, directed, null, properties);
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
+import uk.gov.gchq.gaffer.store.SerialisationFactory;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A {@code SchemaElementKryoSerializer} is a {@link Kryo} {@link Serializer} for
+ * {@link Element}s that uses a {@link Schema} to reduce the size of the
+ * serialised elements.
+ * <p>
+ * Groups in the schema are written as a small integer id rather than a string.
+ * The identifiers and the properties in the schema are written in schema order,
+ * without their names or classes, using the {@link ToBytesSerialiser} of their
+ * type. If a type has no serialiser then one is chosen from the
+ * {@link SerialisationFactory}, and if there is no suitable serialiser the
+ * value is written by Kryo with its class. Groups and properties that are not
+ * in the schema are written in full.
+ * </p>
+ *
+ * @param <E> the type of element
+ */
+public abstract class SchemaElementKryoSerializer<E extends Element> extends Serializer<E> {
+    private static final int UNKNOWN_GROUP = 0;
+    private static final byte NULL_VALUE = 0;
+    private static final byte SERIALISED_VALUE = 1;
+    private static final byte KRYO_VALUE = 2;
+
+    private final String[] groups;
+    private final Map<String, Integer> groupIds = new HashMap<>();
+    private final Map<String, GroupDefinition> groupDefinitions = new HashMap<>();
+
+    protected SchemaElementKryoSerializer(final Schema schema) {
+        final SerialisationFactory serialisationFactory = new SerialisationFactory();
+        final TreeSet<String> sortedGroups = new TreeSet<>(schema.getGroups());
+        groups = sortedGroups.toArray(new String[sortedGroups.size()]);
+        for (int i = 0; i < groups.length; i++) {
+            groupIds.put(groups[i], i + 1);
+            groupDefinitions.put(groups[i], new GroupDefinition(schema, schema.getElement(groups[i]), serialisationFactory));
+        }
+    }
+
+    /**
+     * Writes the group as its id, or in full if the group is not in the schema.
+     *
+     * @param output the output to write to
+     * @param group  the group
+     */
+    protected void writeGroup(final Output output, final String group) {
+        final Integer groupId = groupIds.get(group);
+        if (null == groupId) {
+            output.writeVarInt(UNKNOWN_GROUP, true);
+            output.writeString(group);
+        } else {
+            output.writeVarInt(groupId, true);
+        }
+    }
+
+    /**
+     * Reads a group written by {@link #writeGroup(Output, String)}.
+     *
+     * @param input the input to read from
+     * @return the group
+     */
+    protected String readGroup(final Input input) {
+        final int groupId = input.readVarInt(true);
+        if (UNKNOWN_GROUP == groupId) {
+            return input.readString();
+        }
+        return groups[groupId - 1];
+    }
+
+    /**
+     * Writes the value of an identifier.
+     *
+     * @param kryo           the kryo instance
+     * @param output         the output to write to
+     * @param group          the group of the element
+     * @param identifierType the identifier type
+     * @param value          the identifier value
+     */
+    protected void writeIdentifier(final Kryo kryo, final Output output, final String group, final IdentifierType identifierType, final Object value) {
+        final GroupDefinition groupDef = groupDefinitions.get(group);
+        writeValue(kryo, output, null != groupDef ? groupDef.identifierSerialisers.get(identifierType) : null, value);
+    }
+
+    /**
+     * Reads an identifier written by {@link #writeIdentifier(Kryo, Output, String, IdentifierType, Object)}.
+     *
+     * @param kryo           the kryo instance
+     * @param input          the input to read from
+     * @param group          the group of the element
+     * @param identifierType the identifier type
+     * @return the identifier value
+     */
+    protected Object readIdentifier(final Kryo kryo, final Input input, final String group, final IdentifierType identifierType) {
+        final GroupDefinition groupDef = groupDefinitions.get(group);
+        return readValue(kryo, input, null != groupDef ? groupDef.identifierSerialisers.get(identifierType) : null);
+    }
+
+    /**
+     * Writes the properties. The properties in the schema are written in
+     * schema order without their names, followed by any other properties.
+     *
+     * @param kryo       the kryo instance
+     * @param output     the output to write to
+     * @param group      the group of the element
+     * @param properties the properties
+     */
+    protected void writeProperties(final Kryo kryo, final Output output, final String group, final Properties properties) {
+        final GroupDefinition groupDef = groupDefinitions.get(group);
+        if (null != groupDef) {
+            for (int i = 0; i < groupDef.properties.length; i++) {
+                writeValue(kryo, output, groupDef.propertySerialisers[i], properties.get(groupDef.properties[i]));
+            }
+        }
+
+        final List<Map.Entry<String, Object>> otherProperties = new ArrayList<>();
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            if (null != entry.getValue() && (null == groupDef || !groupDef.containsProperty(entry.getKey()))) {
+                otherProperties.add(entry);
+            }
+        }
+        output.writeVarInt(otherProperties.size(), true);
+        for (final Map.Entry<String, Object> entry : otherProperties) {
+            output.writeString(entry.getKey());
+            writeValue(kryo, output, null, entry.getValue());
+        }
+    }
+
+    /**
+     * Reads properties written by {@link #writeProperties(Kryo, Output, String, Properties)}.
+     *
+     * @param kryo  the kryo instance
+     * @param input the input to read from
+     * @param group the group of the element
+     * @return the properties
+     */
+    protected Properties readProperties(final Kryo kryo, final Input input, final String group) {
+        final Properties properties = new Properties();
+        final GroupDefinition groupDef = groupDefinitions.get(group);
+        if (null != groupDef) {
+            for (int i = 0; i < groupDef.properties.length; i++) {
+                final Object value = readValue(kryo, input, groupDef.propertySerialisers[i]);
+                if (null != value) {
+                    properties.put(groupDef.properties[i], value);
+                }
+            }
+        }
+
+        final int otherPropertyCount = input.readVarInt(true);
+        for (int i = 0; i < otherPropertyCount; i++) {
+            final String name = input.readString();
+            properties.put(name, readValue(kryo, input, null));
+        }
+        return properties;
+    }
+
+    // Writes a value using the serialiser if it can handle the value, otherwise
+    // using kryo. A flag is written first so the value can be read back.
+    @SuppressWarnings("unchecked")
+    private static void writeValue(final Kryo kryo, final Output output, final ToBytesSerialiser serialiser, final Object value) {
+        if (null == value) {
+            output.writeByte(NULL_VALUE);
+        } else if (null != serialiser && serialiser.canHandle(value.getClass())) {
+            final byte[] bytes;
+            try {
+                bytes = serialiser.serialise(value);
+            } catch (final SerialisationException e) {
+                throw new GafferRuntimeException("Exception serialising " + value.getClass().getSimpleName() + " to a byte array", e);
+            }
+            output.writeByte(SERIALISED_VALUE);
+            output.writeVarInt(bytes.length, true);
+            output.writeBytes(bytes);
+        } else {
+            output.writeByte(KRYO_VALUE);
+            kryo.writeClassAndObject(output, value);
+        }
+    }
+
+    // Reads a value written by writeValue.
+    private static Object readValue(final Kryo kryo, final Input input, final ToBytesSerialiser serialiser) {
+        final byte flag = input.readByte();
+        if (NULL_VALUE == flag) {
+            return null;
+        }
+        if (KRYO_VALUE == flag) {
+            return kryo.readClassAndObject(input);
+        }
+
+        final byte[] bytes = input.readBytes(input.readVarInt(true));
+        try {
+            return serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new GafferRuntimeException("Exception deserialising a value from a byte array", e);
+        }
+    }
+
+    // Gets the serialiser for a type, or null if values of the type should be
+    // written by kryo.
+    private static ToBytesSerialiser getSerialiser(final TypeDefinition typeDef, final SerialisationFactory serialisationFactory) {
+        if (null == typeDef) {
+            return null;
+        }
+        Serialiser serialiser = typeDef.getSerialiser();
+        if (null == serialiser && null != typeDef.getClazz()) {
+            try {
+                serialiser = serialisationFactory.getSerialiser(typeDef.getClazz());
+            } catch (final IllegalArgumentException e) {
+                return null;
+            }
+        }
+        if (serialiser instanceof ToBytesSerialiser && !(serialiser instanceof JavaSerialiser)) {
+            return (ToBytesSerialiser) serialiser;
+        }
+        return null;
+    }
+
+    /**
+     * The serialisers for the identifiers and properties of a group, with the
+     * properties in schema order.
+     */
+    private static final class GroupDefinition {
+        private final Map<IdentifierType, ToBytesSerialiser> identifierSerialisers = new HashMap<>();
+        private final String[] properties;
+        private final Set<String> propertySet;
+        private final ToBytesSerialiser[] propertySerialisers;
+
+        private GroupDefinition(final Schema schema, final SchemaElementDefinition elementDef, final SerialisationFactory serialisationFactory) {
+            for (final IdentifierType identifierType : elementDef.getIdentifiers()) {
+                identifierSerialisers.put(identifierType,
+                        getSerialiser(schema.getType(elementDef.getIdentifierTypeName(identifierType)), serialisationFactory));
+            }
+
+            final List<String> propertyNames = new ArrayList<>(elementDef.getProperties());
+            properties = propertyNames.toArray(new String[propertyNames.size()]);
+            propertySet = new HashSet<>(propertyNames);
+            propertySerialisers = new ToBytesSerialiser[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                propertySerialisers[i] = getSerialiser(elementDef.getPropertyTypeDef(properties[i]), serialisationFactory);
+            }
+        }
+
+        private boolean containsProperty(final String property) {
+            return propertySet.contains(property);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.serialisation.kryo.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+/**
+ * A {@code SchemaEntityKryoSerializer} is a {@link Kryo} {@link com.esotericsoftware.kryo.Serializer} for
+ * a Gaffer {@link Entity} that uses the {@link Schema} to encode the group, vertex and properties.
+ *
+ * @see SchemaElementKryoSerializer
+ */
+public class SchemaEntityKryoSerializer extends SchemaElementKryoSerializer<Entity> {
+
+    public SchemaEntityKryoSerializer(final Schema schema) {
+        super(schema);
+    }
+
+    @Override
+    public void write(final Kryo kryo, final Output output, final Entity entity) {
+        writeGroup(output, entity.getGroup());
+        writeIdentifier(kryo, output, entity.getGroup(), IdentifierType.VERTEX, entity.getVertex());
+        writeProperties(kryo, output, entity.getGroup(), entity.getProperties());
+    }
+
+    @Override
+    public Entity read(final Kryo kryo, final Input input, final Class<Entity> type) {
+        final String group = readGroup(input);
+        final Object vertex = readIdentifier(kryo, input, group, IdentifierType.VERTEX);
+        final Properties properties = readProperties(kryo, input, group);
+        return new Entity(group, vertex, properties);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.datasource;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DefaultPartitionPlannerTest {
+
+    @Test
+    public void shouldSplitSeedsIntoPartitions() throws Exception {
+        // Given
+        final List<EntitySeed> seeds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            seeds.add(new EntitySeed("vertex" + i));
+        }
+        final GetElements operation = new GetElements.Builder()
+                .input(seeds)
+                .build();
+
+        // When
+        final List<GafferInputPartition> partitions = new DefaultPartitionPlanner().planPartitions(operation, null, new User(),
+                Collections.singletonMap("seedsperpartition", "2"));
+
+        // Then
+        assertEquals(3, partitions.size());
+        assertEquals(seeds.subList(0, 2), getInput(partitions.get(0)));
+        assertEquals(seeds.subList(2, 4), getInput(partitions.get(1)));
+        assertEquals(seeds.subList(4, 5), getInput(partitions.get(2)));
+    }
+
+    @Test
+    public void shouldCreateOnePartitionPerGroup() throws Exception {
+        // Given
+        final GetAllElements operation = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // When
+        final List<GafferInputPartition> partitions = new DefaultPartitionPlanner().planPartitions(operation, null, new User(),
+                Collections.emptyMap());
+
+        // Then
+        assertEquals(2, partitions.size());
+        final View entityView = getView(partitions.get(0));
+        assertEquals(Collections.singleton(TestGroups.ENTITY), entityView.getEntityGroups());
+        assertEquals(Collections.emptySet(), entityView.getEdgeGroups());
+        final View edgeView = getView(partitions.get(1));
+        assertEquals(Collections.emptySet(), edgeView.getEntityGroups());
+        assertEquals(Collections.singleton(TestGroups.EDGE), edgeView.getEdgeGroups());
+    }
+
+    @Test
+    public void shouldCreateSinglePartitionWhenNotPartitioningByGroup() throws Exception {
+        // Given
+        final GetAllElements operation = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // When
+        final List<GafferInputPartition> partitions = new DefaultPartitionPlanner().planPartitions(operation, null, new User(),
+                Collections.singletonMap("partitionbygroup", "false"));
+
+        // Then
+        assertEquals(1, partitions.size());
+    }
+
+    private static List<Object> getInput(final GafferInputPartition partition) {
+        return Lists.newArrayList(((GetElements) ((OperationPartition) partition).getOperation()).getInput());
+    }
+
+    private static View getView(final GafferInputPartition partition) {
+        return ((GetAllElements) ((OperationPartition) partition).getOperation()).getView();
+    }
+}
@@ -110,10 +110,12 @@ public class GetGraphFrameOfElementsTest extends OperationTest<GetGraphFrameOfEl
                         .edge(TestGroups.EDGE)
                         .entity(TestGroups.ENTITY)
                         .build())
+                .encodeVertexIds(true)
                 .build();
 
         // Then
         assertThat(op.getView(), is(notNullValue()));
+        assertTrue(op.isEncodeVertexIds());
         assertThat(op.getView().getEdgeGroups(), hasItem(TestGroups.EDGE));
         assertThat(op.getView().getEntityGroups(), hasItem(TestGroups.ENTITY));
     }
@@ -126,6 +128,7 @@ public class GetGraphFrameOfElementsTest extends OperationTest<GetGraphFrameOfEl
                         .edge(TestGroups.EDGE)
                         .entity(TestGroups.ENTITY)
                         .build())
+                .encodeVertexIds(true)
                 .build();
 
         // When
@@ -134,6 +137,7 @@ public class GetGraphFrameOfElementsTest extends OperationTest<GetGraphFrameOfEl
         // Then
         assertThat(op, is(not(sameInstance(clone))));
         assertThat(op.getView(), is(equalTo(clone.getView())));
+        assertThat(op.isEncodeVertexIds(), is(equalTo(clone.isEncodeVertexIds())));
     }
 
     @Override
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.spark.serialisation.kryo;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.EdgeKryoSerializer;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.SchemaEdgeKryoSerializer;
+import uk.gov.gchq.gaffer.spark.serialisation.kryo.impl.SchemaEntityKryoSerializer;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.types.TypeValue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SchemaAwareRegistratorTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "long")
+                    .property(TestPropertyNames.PROP_1, "typeValue")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property(TestPropertyNames.COUNT, "long")
+                    .property(TestPropertyNames.PROP_1, "typeValue")
+                    .build())
+            .type("string", String.class)
+            .type("long", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .build())
+            .type("typeValue", TypeValue.class)
+            .type("true", Boolean.class)
+            .build();
+
+    @Test
+    public void shouldRegisterSchemaSerialisersWithSameIds() {
+        // Given
+        final Kryo defaultKryo = new Kryo();
+        new Registrator().registerClasses(defaultKryo);
+        final Kryo kryo = new Kryo();
+
+        // When
+        new SchemaAwareRegistrator(SCHEMA).registerClasses(kryo);
+
+        // Then
+        assertEquals(SchemaEntityKryoSerializer.class, kryo.getSerializer(Entity.class).getClass());
+        assertEquals(SchemaEdgeKryoSerializer.class, kryo.getSerializer(Edge.class).getClass());
+        assertEquals(Registrator.FIRST_REGISTRATION_ID, kryo.getRegistration(Entity.class).getId());
+        assertEquals(defaultKryo.getRegistration(Edge.class).getId(), kryo.getRegistration(Edge.class).getId());
+        assertEquals(defaultKryo.getRegistration(TypeValue.class).getId(), kryo.getRegistration(TypeValue.class).getId());
+    }
+
+    @Test
+    public void shouldUseDefaultSerialisersWithoutSchema() {
+        // Given
+        final Kryo kryo = new Kryo();
+
+        // When
+        new SchemaAwareRegistrator(null).registerClasses(kryo);
+
+        // Then
+        assertEquals(EdgeKryoSerializer.class, kryo.getSerializer(Edge.class).getClass());
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseElements() {
+        // Given
+        final Kryo kryo = new Kryo();
+        new SchemaAwareRegistrator(SCHEMA).registerClasses(kryo);
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex")
+                .property(TestPropertyNames.COUNT, 10L)
+                .property(TestPropertyNames.PROP_1, new TypeValue("type", "value"))
+                .build();
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 5L)
+                .build();
+
+        // When / Then
+        assertEquals(entity, roundTrip(kryo, entity, Entity.class));
+        assertEquals(edge, roundTrip(kryo, edge, Edge.class));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseElementsNotInSchema() {
+        // Given
+        final Kryo kryo = new Kryo();
+        new SchemaAwareRegistrator(SCHEMA).registerClasses(kryo);
+        final Entity entityWithExtraProperty = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(1)
+                .property(TestPropertyNames.COUNT, 10L)
+                .property("extraProperty", new Date(1000L))
+                .build();
+        final Edge edgeNotInSchema = new Edge.Builder()
+                .group(TestGroups.EDGE_2)
+                .source(1L)
+                .dest("dest")
+                .directed(false)
+                .property(TestPropertyNames.COUNT, 5)
+                .build();
+
+        // When / Then
+        assertEquals(entityWithExtraProperty, roundTrip(kryo, entityWithExtraProperty, Entity.class));
+        assertEquals(edgeNotInSchema, roundTrip(kryo, edgeNotInSchema, Edge.class));
+    }
+
+    @Test
+    public void shouldSerialiseEdgesToFewerBytesThanDefaultSerialiser() {
+        // Given
+        final Kryo defaultKryo = new Kryo();
+        new Registrator().registerClasses(defaultKryo);
+        final Kryo schemaKryo = new Kryo();
+        new SchemaAwareRegistrator(SCHEMA).registerClasses(schemaKryo);
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(TestPropertyNames.COUNT, 5L)
+                .property(TestPropertyNames.PROP_1, new TypeValue("type", "value"))
+                .build();
+
+        // When
+        final int defaultSize = serialise(defaultKryo, edge).length;
+        final int schemaSize = serialise(schemaKryo, edge).length;
+
+        // Then
+        assertTrue("Expected fewer than " + defaultSize + " bytes but was " + schemaSize, schemaSize < defaultSize);
+    }
+
+    private static byte[] serialise(final Kryo kryo, final Element element) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output output = new Output(bytes)) {
+            kryo.writeObject(output, element);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T extends Element> T roundTrip(final Kryo kryo, final T element, final Class<T> type) {
+        try (Input input = new Input(serialise(kryo, element))) {
+            return kryo.readObject(input, type);
+        }
+    }
+}
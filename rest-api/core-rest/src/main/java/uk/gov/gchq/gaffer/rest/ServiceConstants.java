@@ -15,6 +15,8 @@
  */
 package uk.gov.gchq.gaffer.rest;
 
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
 /**
  * Utility class providing constants for the Gaffer REST API.
  */
@@ -27,6 +29,11 @@ public final class ServiceConstants {
     public static final String JOB_ID_HEADER = "job-id";
     public static final String JOB_ID_HEADER_DESCRIPTION = "The job execution ID.";
 
+    // REST media types
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_GZIP = "application/gzip";
+    public static final String APPLICATION_SMILE = JSONSerialiser.SMILE_MEDIA_TYPE;
+
     // REST status error messages
     public static final String OK = "OK";
     public static final String BAD_REQUEST = "Error while processing request body";
@@ -61,6 +61,13 @@ public abstract class SystemProperty {
     public static final String FAVICON_SMALL_URL = "gaffer.properties.app.logo.favicon.small";
     public static final String FAVICON_LARGE_URL = "gaffer.properties.app.logo.favicon.large";
 
+    /**
+     * If true, the elements sent to the add elements stream endpoint are
+     * spooled to a temporary file so that stores which iterate over their
+     * input more than once, such as a FederatedStore, can read them again.
+     */
+    public static final String ADD_ELEMENTS_STREAM_SPOOL = "gaffer.rest-api.addElementsStream.spool";
+
     /**
      * @deprecated create a GraphConfig json file and use GRAPH_CONFIG_PATH instead
      */
@@ -103,6 +110,7 @@ public abstract class SystemProperty {
     public static final String APP_DOCUMENTATION_URL_DEFAULT = "https://gchq.github.io/gaffer-doc/";
     public static final String LOGO_LINK_DEFAULT = "https://github.com/gchq/Gaffer";
     public static final String LOGO_IMAGE_URL_DEFAULT = "images/logo.png";
+    public static final String ADD_ELEMENTS_STREAM_SPOOL_DEFAULT = "false";
 
     private static Properties versionProperties;
 
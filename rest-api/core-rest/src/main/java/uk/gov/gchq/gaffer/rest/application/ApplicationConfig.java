@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.rest.mapper.ProcessingExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.UnauthorisedExceptionMapper;
 import uk.gov.gchq.gaffer.rest.mapper.WebApplicationExceptionMapper;
 import uk.gov.gchq.gaffer.rest.serialisation.RestJsonProvider;
+import uk.gov.gchq.gaffer.rest.serialisation.SmileMessageBodyProvider;
 import uk.gov.gchq.gaffer.rest.serialisation.TextMessageBodyWriter;
 
 import java.util.HashSet;
@@ -54,6 +55,7 @@ public abstract class ApplicationConfig extends ResourceConfig {
         resources.add(SwaggerSerializers.class);
         resources.add(RestJsonProvider.class);
         resources.add(TextMessageBodyWriter.class);
+        resources.add(SmileMessageBodyProvider.class);
     }
 
     protected void addExceptionMappers() {
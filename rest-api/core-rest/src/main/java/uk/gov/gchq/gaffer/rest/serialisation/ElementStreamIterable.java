@@ -0,0 +1,340 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * An {@code ElementStreamIterable} lazily parses {@link Element}s from an
+ * {@link InputStream} of newline delimited JSON, one element per line. The
+ * stream may also be gzip compressed, this is detected from the first bytes
+ * of the stream.
+ * <p>
+ * Elements are parsed one at a time with a Jackson streaming parser as the
+ * iterable is consumed, so only the element currently being processed is held
+ * in memory regardless of the size of the stream.
+ * </p>
+ * <p>
+ * By default the stream can only be iterated over once. Stores that iterate
+ * over their input more than once, such as a FederatedStore adding the
+ * elements to several graphs, need spooling to be enabled. The bytes read
+ * from the stream are then also written to a temporary file, so every element
+ * is seen on every pass. Later passes read from the spool file and can only
+ * start once the previous iterator has reached the end or been closed. The
+ * spool file is deleted when this iterable is closed.
+ * </p>
+ * <p>
+ * The number of elements read from the stream so far is available from
+ * {@link #getCount()} and progress is logged every {@code progressInterval}
+ * elements.
+ * </p>
+ */
+public class ElementStreamIterable implements CloseableIterable<Element> {
+    public static final long DEFAULT_PROGRESS_INTERVAL = 100000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementStreamIterable.class);
+    private static final int GZIP_MAGIC_LENGTH = 2;
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final InputStream inputStream;
+    private final ObjectMapper mapper;
+    private final long progressInterval;
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong count = new AtomicLong();
+    private final boolean spooling;
+    private Path spoolFile;
+    private OutputStream spool;
+    private boolean started;
+    private boolean iterating;
+    private boolean closed;
+
+    public ElementStreamIterable(final InputStream inputStream, final ObjectMapper mapper) {
+        this(inputStream, mapper, DEFAULT_PROGRESS_INTERVAL);
+    }
+
+    public ElementStreamIterable(final InputStream inputStream, final ObjectMapper mapper, final long progressInterval) {
+        this(inputStream, mapper, progressInterval, false);
+    }
+
+    public ElementStreamIterable(final InputStream inputStream, final ObjectMapper mapper, final long progressInterval, final boolean spooling) {
+        if (null == inputStream) {
+            throw new IllegalArgumentException("Input stream is required");
+        }
+        if (null == mapper) {
+            throw new IllegalArgumentException("Object mapper is required");
+        }
+        this.inputStream = inputStream;
+        this.mapper = mapper;
+        this.progressInterval = progressInterval;
+        this.spooling = spooling;
+    }
+
+    @Override
+    public synchronized CloseableIterator<Element> iterator() {
+        if (closed) {
+            throw new IllegalStateException("The element stream has been closed");
+        }
+        if (iterating) {
+            throw new IllegalStateException("An element stream cannot be iterated over again until the previous iterator has finished");
+        }
+
+        final boolean firstPass = !started;
+        if (!firstPass && !spooling) {
+            throw new IllegalStateException("An element stream can only be iterated over once unless spooling is enabled");
+        }
+        started = true;
+
+        final InputStream source;
+        try {
+            if (firstPass && !spooling) {
+                source = inputStream;
+            } else if (firstPass) {
+                spoolFile = Files.createTempFile("gaffer-element-stream", ".spool");
+                spool = new BufferedOutputStream(Files.newOutputStream(spoolFile));
+                source = new SpoolingInputStream(inputStream, spool);
+            } else {
+                finishSpool();
+                source = Files.newInputStream(spoolFile);
+            }
+        } catch (final IOException e) {
+            throw new GafferRuntimeException("Unable to spool element stream: " + e.getMessage(), e, Status.INTERNAL_SERVER_ERROR);
+        }
+
+        final MappingIterator<Element> elements;
+        try {
+            elements = mapper.readerFor(Element.class).readValues(decompress(source));
+        } catch (final IOException e) {
+            CloseableUtil.close(source);
+            throw new GafferRuntimeException("Unable to read element stream: " + e.getMessage(), e, Status.BAD_REQUEST);
+        }
+
+        iterating = true;
+        return new ElementIterator(elements, source, firstPass);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            CloseableUtil.close(inputStream);
+            CloseableUtil.close(spool);
+            if (null != spoolFile) {
+                try {
+                    Files.deleteIfExists(spoolFile);
+                } catch (final IOException e) {
+                    LOGGER.warn("Unable to delete element stream spool file {}", spoolFile, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of elements that have been read from the stream.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the number of milliseconds since this iterable was created.
+     */
+    public long getDuration() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    /**
+     * @return the average number of elements read per second since this
+     * iterable was created.
+     */
+    public long getElementsPerSecond() {
+        final long duration = getDuration();
+        final long read = count.get();
+        return duration > 0 ? read * 1000L / duration : read;
+    }
+
+    private synchronized void iteratorFinished() {
+        iterating = false;
+    }
+
+    // Copies the part of the stream not read by the first iterator into the
+    // spool file, so the spool file holds the whole stream.
+    private void finishSpool() throws IOException {
+        if (null != spool) {
+            final byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while (-1 != (read = inputStream.read(buffer))) {
+                spool.write(buffer, 0, read);
+            }
+            spool.close();
+            spool = null;
+            CloseableUtil.close(inputStream);
+        }
+    }
+
+    private static InputStream decompress(final InputStream inputStream) throws IOException {
+        final InputStream bufferedStream = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        bufferedStream.mark(GZIP_MAGIC_LENGTH);
+        final int first = bufferedStream.read();
+        final int second = bufferedStream.read();
+        bufferedStream.reset();
+
+        final boolean gzip = (GZIPInputStream.GZIP_MAGIC & 0xFF) == first
+                && (GZIPInputStream.GZIP_MAGIC >> 8 & 0xFF) == second;
+        return gzip ? new GZIPInputStream(bufferedStream) : bufferedStream;
+    }
+
+    private final class ElementIterator implements CloseableIterator<Element> {
+        private final MappingIterator<Element> elements;
+        private final InputStream source;
+        private final boolean firstPass;
+        private boolean finished;
+
+        private ElementIterator(final MappingIterator<Element> elements, final InputStream source, final boolean firstPass) {
+            this.elements = elements;
+            this.source = source;
+            this.firstPass = firstPass;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+            final boolean hasNext;
+            try {
+                hasNext = elements.hasNextValue();
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to parse element " + (count.get() + 1) + ": " + e.getMessage(), e, Status.BAD_REQUEST);
+            }
+            if (!hasNext) {
+                close();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Element element;
+            try {
+                element = elements.nextValue();
+            } catch (final IOException e) {
+                close();
+                throw new GafferRuntimeException("Unable to parse element " + (count.get() + 1) + ": " + e.getMessage(), e, Status.BAD_REQUEST);
+            }
+
+            if (firstPass) {
+                final long read = count.incrementAndGet();
+                if (progressInterval > 0 && 0 == read % progressInterval) {
+                    LOGGER.info("Read {} elements from stream ({} elements per second)", read, getElementsPerSecond());
+                }
+            }
+            return element;
+        }
+
+        @Override
+        public void close() {
+            if (!finished) {
+                finished = true;
+                CloseableUtil.close(elements);
+                CloseableUtil.close(source);
+                iteratorFinished();
+            }
+        }
+    }
+
+    /**
+     * An {@link InputStream} that copies every byte read from it to a spool.
+     */
+    private static final class SpoolingInputStream extends FilterInputStream {
+        private final OutputStream spool;
+
+        private SpoolingInputStream(final InputStream in, final OutputStream spool) {
+            super(in);
+            this.spool = spool;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (-1 != b) {
+                spool.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                spool.write(b, off, read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final byte[] buffer = new byte[(int) Math.min(COPY_BUFFER_SIZE, Math.max(0, n))];
+            long skipped = 0;
+            while (skipped < n) {
+                final int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // The underlying stream is only closed with the iterable, as the
+            // rest of it may still need to be spooled.
+        }
+    }
+}
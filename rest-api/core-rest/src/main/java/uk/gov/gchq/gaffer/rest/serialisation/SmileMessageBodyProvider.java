@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * A {@code SmileMessageBodyProvider} reads and writes request and response
+ * bodies using the binary Smile format, when a client requests or sends the
+ * {@link JSONSerialiser#SMILE_MEDIA_TYPE} media type.
+ * <p>
+ * The Smile {@link ObjectMapper} from {@link JSONSerialiser} is used, so the
+ * type information and class names are the same as for JSON. Responses are
+ * streamed directly to the output stream rather than being buffered.
+ * </p>
+ */
+@Provider
+@Produces(JSONSerialiser.SMILE_MEDIA_TYPE)
+@Consumes(JSONSerialiser.SMILE_MEDIA_TYPE)
+public class SmileMessageBodyProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+    @Override
+    public boolean isReadable(final Class<?> type, final Type genericType,
+                              final Annotation[] annotations, final MediaType mediaType) {
+        return true;
+    }
+
+    @Override
+    public Object readFrom(final Class<Object> type, final Type genericType,
+                           final Annotation[] annotations, final MediaType mediaType,
+                           final MultivaluedMap<String, String> httpHeaders,
+                           final InputStream entityStream)
+            throws IOException, WebApplicationException {
+        final ObjectMapper mapper = JSONSerialiser.getSmileMapper();
+        return mapper.readValue(entityStream, mapper.getTypeFactory().constructType(null != genericType ? genericType : type));
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType,
+                               final Annotation[] annotations, final MediaType mediaType) {
+        return true;
+    }
+
+    @Override
+    public long getSize(final Object object, final Class<?> type,
+                        final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object object, final Class<?> type,
+                        final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        JSONSerialiser.getSmileMapper()
+                .writer(JSONSerialiser.getFilterProvider())
+                .writeValue(entityStream, object);
+    }
+}
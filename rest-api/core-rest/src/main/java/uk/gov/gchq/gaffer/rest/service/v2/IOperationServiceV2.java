@@ -28,15 +28,23 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Response;
 
+import java.io.InputStream;
+
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_GZIP;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_NDJSON;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.APPLICATION_SMILE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.BAD_REQUEST;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.FORBIDDEN;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
@@ -55,7 +63,7 @@ import static uk.gov.gchq.gaffer.rest.ServiceConstants.OPERATION_NOT_IMPLEMENTED
 @Path("/graph/operations")
 @Api(value = "operations")
 @Produces(APPLICATION_JSON)
-@Consumes(APPLICATION_JSON)
+@Consumes({APPLICATION_JSON, APPLICATION_SMILE})
 public interface IOperationServiceV2 {
 
     @GET
@@ -84,11 +92,12 @@ public interface IOperationServiceV2 {
 
     @POST
     @Path("/execute")
-    @Produces({APPLICATION_JSON, TEXT_PLAIN})
+    @Produces({APPLICATION_JSON, TEXT_PLAIN, APPLICATION_SMILE})
     @ApiOperation(value = "Performs the given operation on the graph",
             notes = "Attempts to execute the provided operation on the graph, and returns the result below. " +
-                    "Simple examples for each operation can be added using the drop-down below.",
-            produces = (APPLICATION_JSON + "," + TEXT_PLAIN),
+                    "Simple examples for each operation can be added using the drop-down below. " +
+                    "The binary Smile format can be requested with the " + APPLICATION_SMILE + " media type.",
+            produces = (APPLICATION_JSON + "," + TEXT_PLAIN + "," + APPLICATION_SMILE),
             response = Object.class,
             responseHeaders = {
                     @ResponseHeader(name = JOB_ID_HEADER, description = JOB_ID_HEADER_DESCRIPTION),
@@ -115,6 +124,29 @@ public interface IOperationServiceV2 {
             @ApiResponse(code = 501, message = OPERATION_NOT_IMPLEMENTED)})
     Response executeChunked(@ApiParam(value = "The operation to be performed, returning a chunked output") final Operation operation);
 
+    @POST
+    @Path("/execute/addElements/stream")
+    @Consumes({APPLICATION_NDJSON, APPLICATION_GZIP, APPLICATION_JSON, APPLICATION_OCTET_STREAM})
+    @ApiOperation(value = "Adds a stream of elements to the graph",
+            notes = "The request body should contain newline delimited JSON elements and may be gzip compressed. " +
+                    "The elements are parsed and added to the graph as they are received, " +
+                    "so the whole request body is never held in memory. " +
+                    "Returns the number of elements added and the ingest rate.",
+            produces = APPLICATION_JSON,
+            response = Object.class,
+            responseHeaders = {
+                    @ResponseHeader(name = JOB_ID_HEADER, description = JOB_ID_HEADER_DESCRIPTION),
+                    @ResponseHeader(name = GAFFER_MEDIA_TYPE_HEADER, description = GAFFER_MEDIA_TYPE_HEADER_DESCRIPTION)
+            })
+    @ApiResponses(value = {@ApiResponse(code = 200, message = OK, response = Object.class),
+            @ApiResponse(code = 400, message = BAD_REQUEST),
+            @ApiResponse(code = 403, message = FORBIDDEN),
+            @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
+            @ApiResponse(code = 501, message = OPERATION_NOT_IMPLEMENTED)})
+    Response addElementsStream(@ApiParam(value = "The newline delimited JSON elements, optionally gzip compressed") final InputStream elements,
+                               @ApiParam(value = "Whether the elements should be validated") @QueryParam("validate") @DefaultValue("true") final boolean validate,
+                               @ApiParam(value = "Whether invalid elements should be skipped rather than failing the ingest") @QueryParam("skipInvalidElements") @DefaultValue("false") final boolean skipInvalidElements);
+
     @SuppressFBWarnings
     Response executeChunkedChain(@ApiParam(value = "The operation chain to be performed, returning a chunked output") final OperationChain opChain);
 
@@ -34,12 +34,16 @@ import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.graph.GraphRequest;
 import uk.gov.gchq.gaffer.graph.GraphResult;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
+import uk.gov.gchq.gaffer.rest.serialisation.ElementStreamIterable;
 import uk.gov.gchq.gaffer.rest.service.v2.example.ExamplesFactory;
 import uk.gov.gchq.gaffer.serialisation.util.JsonSerialisationUtil;
 import uk.gov.gchq.gaffer.store.Context;
@@ -50,6 +54,7 @@ import javax.inject.Inject;
 import javax.ws.rs.core.Response;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
@@ -117,6 +122,30 @@ public class OperationServiceV2 implements IOperationServiceV2 {
                 .build();
     }
 
+    @Override
+    public Response addElementsStream(final InputStream elements, final boolean validate, final boolean skipInvalidElements) {
+        final boolean spooling = Boolean.parseBoolean(System.getProperty(SystemProperty.ADD_ELEMENTS_STREAM_SPOOL, SystemProperty.ADD_ELEMENTS_STREAM_SPOOL_DEFAULT));
+        final ElementStreamIterable input = new ElementStreamIterable(elements, JSONSerialiser.getMapper(), ElementStreamIterable.DEFAULT_PROGRESS_INTERVAL, spooling);
+        final AddElements addElements = new AddElements.Builder()
+                .input(input)
+                .validate(validate)
+                .skipInvalidElements(skipInvalidElements)
+                .build();
+
+        final String jobId;
+        try {
+            jobId = _execute(addElements, userFactory.createContext()).getSecond();
+        } finally {
+            CloseableUtil.close(input);
+        }
+
+        LOGGER.info("Added {} elements from stream in {} ms", input.getCount(), input.getDuration());
+        return Response.ok(new AddElementsStreamResult(input.getCount(), input.getDuration(), input.getElementsPerSecond()))
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .header(JOB_ID_HEADER, jobId)
+                .build();
+    }
+
     @Override
     public Response executeChunked(final Operation operation) {
         return executeChunkedChain(OperationChain.wrap(operation));
@@ -375,6 +404,33 @@ public class OperationServiceV2 implements IOperationServiceV2 {
         return null != summary && null != summary.value() ? summary.value() : null;
     }
 
+    /**
+     * POJO to store the result of adding a stream of elements.
+     */
+    public static class AddElementsStreamResult {
+        private final long elementsAdded;
+        private final long durationMillis;
+        private final long elementsPerSecond;
+
+        AddElementsStreamResult(final long elementsAdded, final long durationMillis, final long elementsPerSecond) {
+            this.elementsAdded = elementsAdded;
+            this.durationMillis = durationMillis;
+            this.elementsPerSecond = elementsPerSecond;
+        }
+
+        public long getElementsAdded() {
+            return elementsAdded;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public long getElementsPerSecond() {
+            return elementsPerSecond;
+        }
+    }
+
     /**
      * POJO to store details for a single user defined field in an {@link uk.gov.gchq.gaffer.operation.Operation}.
      */
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
+import uk.gov.gchq.gaffer.core.exception.Status;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class ElementStreamIterableTest {
+    private static final List<Element> ELEMENTS = Arrays.asList(
+            new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex1")
+                    .property("count", 1)
+                    .build(),
+            new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex1")
+                    .dest("vertex2")
+                    .directed(true)
+                    .build()
+    );
+
+    @Test
+    public void shouldParseNewlineDelimitedElements() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = new ElementStreamIterable(toStream(toNdjson(ELEMENTS), false), JSONSerialiser.getMapper());
+
+        // When
+        final List<Element> results = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(ELEMENTS, results);
+        assertEquals(2, iterable.getCount());
+    }
+
+    @Test
+    public void shouldParseGzipCompressedElements() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = new ElementStreamIterable(toStream(toNdjson(ELEMENTS), true), JSONSerialiser.getMapper());
+
+        // When
+        final List<Element> results = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(ELEMENTS, results);
+    }
+
+    @Test
+    public void shouldParseElementsLazily() throws IOException {
+        // Given
+        final String ndjson = toNdjson(ELEMENTS) + "not valid json\n";
+        final ElementStreamIterable iterable = new ElementStreamIterable(toStream(ndjson, false), JSONSerialiser.getMapper());
+        final Iterator<Element> itr = iterable.iterator();
+
+        // When
+        final Element first = itr.next();
+        final Element second = itr.next();
+
+        // Then
+        assertEquals(ELEMENTS.get(0), first);
+        assertEquals(ELEMENTS.get(1), second);
+        assertEquals(2, iterable.getCount());
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final GafferRuntimeException e) {
+            assertEquals(Status.BAD_REQUEST, e.getStatus());
+        }
+    }
+
+    @Test
+    public void shouldHandleEmptyStream() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = new ElementStreamIterable(toStream("", false), JSONSerialiser.getMapper());
+
+        // When / Then
+        assertFalse(iterable.iterator().hasNext());
+        assertEquals(0, iterable.getCount());
+    }
+
+    @Test
+    public void shouldReturnAllElementsOnEveryIterationWhenSpooling() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = createSpoolingIterable(toStream(toNdjson(ELEMENTS), true));
+
+        // When
+        final List<Element> first = Lists.newArrayList(iterable);
+        final List<Element> second = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(ELEMENTS, first);
+        assertEquals(ELEMENTS, second);
+        assertEquals(2, iterable.getCount());
+        iterable.close();
+    }
+
+    @Test
+    public void shouldReturnAllElementsAfterAPartialIterationWhenSpooling() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = createSpoolingIterable(toStream(toNdjson(ELEMENTS), false));
+        final CloseableIterator<Element> partial = iterable.iterator();
+        assertEquals(ELEMENTS.get(0), partial.next());
+        partial.close();
+
+        // When
+        final List<Element> results = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(ELEMENTS, results);
+        iterable.close();
+    }
+
+    @Test
+    public void shouldNotAllowAnotherIterationUntilThePreviousIteratorHasFinished() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = createSpoolingIterable(toStream(toNdjson(ELEMENTS), false));
+        iterable.iterator();
+
+        // When / Then
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("An element stream cannot be iterated over again until the previous iterator has finished", e.getMessage());
+        }
+        iterable.close();
+    }
+
+    @Test
+    public void shouldOnlyAllowOneIterationWhenNotSpooling() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = new ElementStreamIterable(toStream(toNdjson(ELEMENTS), false), JSONSerialiser.getMapper());
+        final List<Element> first = Lists.newArrayList(iterable);
+
+        // When / Then
+        assertEquals(ELEMENTS, first);
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("An element stream can only be iterated over once unless spooling is enabled", e.getMessage());
+        }
+        iterable.close();
+    }
+
+    @Test
+    public void shouldNotAllowAnotherIterationAfterAPartialIterationWhenNotSpooling() throws IOException {
+        // Given
+        final ElementStreamIterable iterable = new ElementStreamIterable(toStream(toNdjson(ELEMENTS), false), JSONSerialiser.getMapper());
+        final CloseableIterator<Element> partial = iterable.iterator();
+        assertEquals(ELEMENTS.get(0), partial.next());
+        partial.close();
+
+        // When / Then
+        try {
+            iterable.iterator();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("An element stream can only be iterated over once unless spooling is enabled", e.getMessage());
+        }
+        assertEquals(1, iterable.getCount());
+        iterable.close();
+    }
+
+    private static ElementStreamIterable createSpoolingIterable(final InputStream inputStream) {
+        return new ElementStreamIterable(inputStream, JSONSerialiser.getMapper(), ElementStreamIterable.DEFAULT_PROGRESS_INTERVAL, true);
+    }
+
+    private static String toNdjson(final List<Element> elements) throws SerialisationException {
+        final StringBuilder builder = new StringBuilder();
+        for (final Element element : elements) {
+            builder.append(new String(JSONSerialiser.serialise(element), StandardCharsets.UTF_8)).append('\n');
+        }
+        return builder.toString();
+    }
+
+    private static InputStream toStream(final String value, final boolean gzip) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (!gzip) {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(bytes);
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
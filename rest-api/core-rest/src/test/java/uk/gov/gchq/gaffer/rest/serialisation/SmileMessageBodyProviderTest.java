@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.rest.serialisation;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SmileMessageBodyProviderTest {
+    @Test
+    public void shouldHandleAllObjectTypes() {
+        // Given
+        final SmileMessageBodyProvider provider = new SmileMessageBodyProvider();
+
+        // When / Then
+        assertTrue(provider.isWriteable(Object.class, null, null, null));
+        assertTrue(provider.isReadable(Object.class, null, null, null));
+    }
+
+    @Test
+    public void shouldWriteObjectAsSmile() throws IOException {
+        // Given
+        final SmileMessageBodyProvider provider = new SmileMessageBodyProvider();
+        final List<Element> elements = createElements(10);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(elements, List.class, null, null, null, null, outputStream);
+
+        // Then
+        assertArrayEquals(JSONSerialiser.serialiseSmile(elements), outputStream.toByteArray());
+    }
+
+    @Test
+    public void shouldReadOperationFromSmile() throws IOException {
+        // Given
+        final SmileMessageBodyProvider provider = new SmileMessageBodyProvider();
+        final GetElements operation = new GetElements.Builder()
+                .input(new EntitySeed("vertex1"))
+                .build();
+        final byte[] smile = JSONSerialiser.serialiseSmile(operation);
+
+        // When
+        final Object result = provider.readFrom((Class) Operation.class, Operation.class, null, null, null, new ByteArrayInputStream(smile));
+
+        // Then
+        assertEquals(GetElements.class, result.getClass());
+        assertEquals(new EntitySeed("vertex1"), ((GetElements) result).getInput().iterator().next());
+    }
+
+    @Test
+    public void shouldWriteElementsInFewerBytesThanJson() throws IOException {
+        // Given
+        final SmileMessageBodyProvider provider = new SmileMessageBodyProvider();
+        final List<Element> elements = createElements(1000);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(elements, List.class, null, null, null, null, outputStream);
+        final byte[] json = JSONSerialiser.serialise(elements);
+
+        // Then
+        final int smileLength = outputStream.size();
+        assertTrue("Smile: " + smileLength + ", JSON: " + json.length, smileLength < json.length / 2);
+    }
+
+    private static List<Element> createElements(final int count) {
+        final List<Element> elements = new ArrayList<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex" + i)
+                    .property(TestPropertyNames.COUNT, i)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("vertex" + i)
+                    .dest("vertex" + (i + 1))
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, i)
+                    .build());
+        }
+        return elements;
+    }
+}
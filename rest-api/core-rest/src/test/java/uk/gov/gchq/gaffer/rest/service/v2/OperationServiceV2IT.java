@@ -24,6 +24,7 @@ import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.operation.Operation;
@@ -40,12 +41,15 @@ import uk.gov.gchq.gaffer.rest.service.impl.OperationServiceIT;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -56,6 +60,27 @@ import static org.junit.Assert.assertTrue;
 
 public class OperationServiceV2IT extends OperationServiceIT {
 
+    @Test
+    public void shouldAddElementsFromNdjsonStream() throws IOException {
+        // Given
+        final StringBuilder ndjson = new StringBuilder();
+        for (final Element element : DEFAULT_ELEMENTS) {
+            ndjson.append(new String(JSONSerialiser.serialise(element), StandardCharsets.UTF_8)).append('\n');
+        }
+
+        // When
+        final Response response = ((RestApiV2TestClient) client).addElementsStream(ndjson.toString().getBytes(StandardCharsets.UTF_8), ServiceConstants.APPLICATION_NDJSON);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        final Map<String, Object> result = response.readEntity(new GenericType<Map<String, Object>>() {
+        });
+        assertEquals(DEFAULT_ELEMENTS.length, ((Number) result.get("elementsAdded")).intValue());
+        final List<Element> elements = client.executeOperation(new GetAllElements()).readEntity(new GenericType<List<Element>>() {
+        });
+        assertEquals(Sets.newHashSet(DEFAULT_ELEMENTS), Sets.newHashSet(elements));
+    }
+
     @Test
     public void shouldReturnJobIdHeader() throws IOException {
         // When
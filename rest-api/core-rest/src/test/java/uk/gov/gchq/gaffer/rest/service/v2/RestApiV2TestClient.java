@@ -46,6 +46,14 @@ public class RestApiV2TestClient extends RestApiTestClient {
                 .post(Entity.entity(JSONSerialiser.serialise(operation), APPLICATION_JSON_TYPE));
     }
 
+    public Response addElementsStream(final byte[] elements, final String mediaType) throws IOException {
+        startServer();
+        return client.target(uriString)
+                .path("/graph/operations/execute/addElements/stream")
+                .request()
+                .post(Entity.entity(elements, mediaType));
+    }
+
     public Response scheduleJob(final Job job) throws IOException {
         startServer();
         return client.target(uriString)
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.retriever.ScannerThreadBudget;
 import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringDeduplicateConcat;
@@ -45,18 +46,28 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NAMESPACE = "accumulo.namespace";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String ADAPTIVE_BATCH_SCANNER = "accumulo.adaptiveBatchScanner";
+    public static final String MAX_THREADS_FOR_BATCH_SCANNER = "accumulo.maxBatchScannerThreads";
+    public static final String MIN_ENTRIES_FOR_BATCH_SCANNER = "accumulo.minEntriesForBatchScanner";
+    public static final String BATCH_SCANNER_THREAD_BUDGET = "accumulo.batchScannerThreadBudget";
+    public static final String BATCH_SCANNER_THREAD_BUDGET_MAX_WAIT = "accumulo.batchScannerThreadBudgetMaxWaitMillis";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String NUM_THREADS_FOR_ELEMENT_CONVERSION = "accumulo.numThreadsForElementConversion";
+    public static final String ELEMENT_CONVERSION_BATCH_SIZE = "accumulo.elementConversionBatchSize";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
+    public static final String ENABLE_ADJACENT_ID_PROJECTION_ITERATOR = "gaffer.store.accumulo.enable.adjacent.id.projection.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String NUM_THREADS_FOR_ELEMENT_CONVERSION_DEFAULT = "1";
+    private static final String ELEMENT_CONVERSION_BATCH_SIZE_DEFAULT = "1000";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
@@ -64,7 +75,11 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
+    private static final String ADAPTIVE_BATCH_SCANNER_DEFAULT = "true";
+    private static final String MIN_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "1000";
+    private static final String BATCH_SCANNER_THREAD_BUDGET_DEFAULT = "0";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    public static final String ENABLE_ADJACENT_ID_PROJECTION_ITERATOR_DEFAULT = "true";
 
     public AccumuloProperties() {
         super(AccumuloStore.class);
@@ -151,6 +166,47 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Sets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements. If this is 1 then the elements
+     * are converted on the thread adding them.
+     *
+     * @param numThreadsForElementConversion The number of threads to use to convert elements.
+     */
+    public void setNumThreadsForElementConversion(final String numThreadsForElementConversion) {
+        set(NUM_THREADS_FOR_ELEMENT_CONVERSION, numThreadsForElementConversion);
+    }
+
+    /**
+     * Gets the number of threads that should be used to convert elements into
+     * Accumulo mutations when adding elements.
+     *
+     * @return The number of threads to use to convert elements.
+     */
+    public int getNumThreadsForElementConversion() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_ELEMENT_CONVERSION, NUM_THREADS_FOR_ELEMENT_CONVERSION_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements each conversion thread converts into
+     * mutations at a time.
+     *
+     * @param elementConversionBatchSize The number of elements in each batch.
+     */
+    public void setElementConversionBatchSize(final String elementConversionBatchSize) {
+        set(ELEMENT_CONVERSION_BATCH_SIZE, elementConversionBatchSize);
+    }
+
+    /**
+     * Gets the number of elements each conversion thread converts into
+     * mutations at a time.
+     *
+     * @return The number of elements in each batch.
+     */
+    public int getElementConversionBatchSize() {
+        return Integer.parseInt(get(ELEMENT_CONVERSION_BATCH_SIZE, ELEMENT_CONVERSION_BATCH_SIZE_DEFAULT));
+    }
+
     /**
      * Gets the list of Zookeeper servers.
      *
@@ -303,6 +359,111 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets whether the batch scanners should be sized for each query. If
+     * true, the number of threads is based on the number of tablets the ranges
+     * cover and the number of seeds read into each scanner grows from
+     * {@link #getMinEntriesForBatchScanner()} to
+     * {@link #getMaxEntriesForBatchScanner()}.
+     *
+     * @return true if the batch scanners should be sized for each query.
+     */
+    public boolean getAdaptiveBatchScanner() {
+        return Boolean.parseBoolean(get(ADAPTIVE_BATCH_SCANNER, ADAPTIVE_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Sets whether the batch scanners should be sized for each query.
+     *
+     * @param adaptiveBatchScanner true if the batch scanners should be sized for each query.
+     */
+    public void setAdaptiveBatchScanner(final boolean adaptiveBatchScanner) {
+        set(ADAPTIVE_BATCH_SCANNER, Boolean.toString(adaptiveBatchScanner));
+    }
+
+    /**
+     * Gets the max number of threads an adaptive batch scanner can use. If
+     * this is not set then {@link #getThreadsForBatchScanner()} is used.
+     *
+     * @return An integer representing the max number of threads for an
+     * adaptive batch scanner.
+     */
+    public int getMaxThreadsForBatchScanner() {
+        final String maxThreads = get(MAX_THREADS_FOR_BATCH_SCANNER);
+        return null != maxThreads ? Integer.parseInt(maxThreads) : getThreadsForBatchScanner();
+    }
+
+    /**
+     * Sets the max number of threads an adaptive batch scanner can use.
+     *
+     * @param maxThreadsForBatchScanner the max number of threads for an adaptive batch scanner.
+     */
+    public void setMaxThreadsForBatchScanner(final String maxThreadsForBatchScanner) {
+        set(MAX_THREADS_FOR_BATCH_SCANNER, maxThreadsForBatchScanner);
+    }
+
+    /**
+     * Gets the number of items read into the first adaptive batch scanner of
+     * a query, when the number of seeds is not known or is more than
+     * {@link #getMaxEntriesForBatchScanner()}.
+     *
+     * @return An integer representing the number of items read into the first
+     * adaptive batch scanner.
+     */
+    public int getMinEntriesForBatchScanner() {
+        return Integer.parseInt(get(MIN_ENTRIES_FOR_BATCH_SCANNER, MIN_ENTRIES_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Sets the number of items read into the first adaptive batch scanner of
+     * a query.
+     *
+     * @param minEntriesForBatchScanner the number of items read into the first adaptive batch scanner.
+     */
+    public void setMinEntriesForBatchScanner(final String minEntriesForBatchScanner) {
+        set(MIN_ENTRIES_FOR_BATCH_SCANNER, minEntriesForBatchScanner);
+    }
+
+    /**
+     * Gets the total number of batch scanner threads that can be used by all
+     * queries in the JVM. 0 means there is no limit.
+     *
+     * @return An integer representing the total number of batch scanner threads.
+     */
+    public int getBatchScannerThreadBudget() {
+        return Integer.parseInt(get(BATCH_SCANNER_THREAD_BUDGET, BATCH_SCANNER_THREAD_BUDGET_DEFAULT));
+    }
+
+    /**
+     * Sets the total number of batch scanner threads that can be used by all
+     * queries in the JVM.
+     *
+     * @param batchScannerThreadBudget the total number of batch scanner threads, or 0 for no limit.
+     */
+    public void setBatchScannerThreadBudget(final String batchScannerThreadBudget) {
+        set(BATCH_SCANNER_THREAD_BUDGET, batchScannerThreadBudget);
+    }
+
+    /**
+     * Gets the longest time in milliseconds a query waits for a free batch
+     * scanner thread before it is given a single thread over the budget.
+     *
+     * @return A long representing the max wait time in milliseconds.
+     */
+    public long getBatchScannerThreadBudgetMaxWaitMillis() {
+        return Long.parseLong(get(BATCH_SCANNER_THREAD_BUDGET_MAX_WAIT, String.valueOf(ScannerThreadBudget.DEFAULT_MAX_WAIT_MILLIS)));
+    }
+
+    /**
+     * Sets the longest time in milliseconds a query waits for a free batch
+     * scanner thread before it is given a single thread over the budget.
+     *
+     * @param batchScannerThreadBudgetMaxWaitMillis the max wait time in milliseconds.
+     */
+    public void setBatchScannerThreadBudgetMaxWaitMillis(final String batchScannerThreadBudgetMaxWaitMillis) {
+        set(BATCH_SCANNER_THREAD_BUDGET_MAX_WAIT, batchScannerThreadBudgetMaxWaitMillis);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -431,6 +592,26 @@ public class AccumuloProperties extends StoreProperties {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
 
+    /**
+     * Gets the flag determining whether GetAdjacentIds queries should reduce
+     * edges to their adjacent vertices on the tablet servers.
+     *
+     * @return true if the adjacent id projection iterator should be enabled.
+     */
+    public boolean getEnableAdjacentIdProjectionIterator() {
+        return Boolean.parseBoolean(get(ENABLE_ADJACENT_ID_PROJECTION_ITERATOR, ENABLE_ADJACENT_ID_PROJECTION_ITERATOR_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether GetAdjacentIds queries should reduce
+     * edges to their adjacent vertices on the tablet servers.
+     *
+     * @param enableAdjacentIdProjectionIterator true if the adjacent id projection iterator should be enabled.
+     */
+    public void setEnableAdjacentIdProjectionIterator(final boolean enableAdjacentIdProjectionIterator) {
+        set(ENABLE_ADJACENT_ID_PROJECTION_ITERATOR, Boolean.toString(enableAdjacentIdProjectionIterator));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
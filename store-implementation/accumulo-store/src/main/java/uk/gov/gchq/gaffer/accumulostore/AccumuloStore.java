@@ -27,11 +27,8 @@ import org.apache.accumulo.core.client.MutationsRejectedException;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
-import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Mutation;
-import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
-import org.apache.accumulo.core.security.ColumnVisibility;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.Text;
@@ -40,7 +37,6 @@ import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.inputformat.ElementInputFormat;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
-import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetAdjacentIdsHandler;
@@ -61,12 +57,13 @@ import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.retriever.ScannerThreadBudget;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.ElementMutationConverter;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.core.exception.GafferRuntimeException;
 import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -102,11 +99,19 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -149,8 +154,11 @@ public class AccumuloStore extends Store {
             ));
     public static final String FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS = "Failed to create an accumulo {} from element of type {} when trying to insert elements";
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
+    private static final long CONVERSION_THREAD_KEEP_ALIVE_SECONDS = 60;
     private AccumuloKeyPackage keyPackage;
+    private ElementMutationConverter mutationConverter;
     private Connector connection = null;
+    private ThreadPoolExecutor conversionPool;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -167,6 +175,9 @@ public class AccumuloStore extends Store {
      * @throws StoreException If the store could not be initialised.
      */
     public void preInitialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
+        // Release the resources from any previous initialisation
+        close();
+
         setProperties(properties);
 
         final String deprecatedTableName = getProperties().getTable();
@@ -188,6 +199,29 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass, e);
         }
         this.keyPackage.setSchema(getSchema());
+        this.mutationConverter = new ElementMutationConverter(keyPackage.getKeyConverter());
+
+        // The scanner thread budget is shared by every store in the JVM
+        if (null != getProperties().get(AccumuloProperties.BATCH_SCANNER_THREAD_BUDGET)) {
+            ScannerThreadBudget.getInstance().setMaxThreads(getProperties().getBatchScannerThreadBudget());
+        }
+        if (null != getProperties().get(AccumuloProperties.BATCH_SCANNER_THREAD_BUDGET_MAX_WAIT)) {
+            ScannerThreadBudget.getInstance().setMaxWaitMillis(getProperties().getBatchScannerThreadBudgetMaxWaitMillis());
+        }
+    }
+
+    /**
+     * Shuts down the pool used to convert elements to mutations and any
+     * executors owned by the operation handlers. Conversions already running
+     * are allowed to finish. The store is closed automatically if it is
+     * initialised again.
+     */
+    public synchronized void close() {
+        if (null != conversionPool) {
+            conversionPool.shutdown();
+            conversionPool = null;
+        }
+        closeOperationHandlers();
     }
 
     /**
@@ -422,60 +456,113 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
-        // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
+        // Convert the elements to mutations and add them to the BatchWriter.
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        if (null != elements) {
-            for (final Element element : elements) {
-
-                final Pair<Key, Key> keys;
-                try {
-                    keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
-                    continue;
-                }
-                final Value value;
-                try {
-                    value = keyPackage.getKeyConverter().getValueFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
-                    continue;
-                }
-                final Mutation m = new Mutation(keys.getFirst().getRow());
-                m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                        new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
-                try {
-                    writer.addMutation(m);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                    continue;
+        try {
+            final int numThreads = getProperties().getNumThreadsForElementConversion();
+            if (numThreads > 1) {
+                insertGraphElementsInParallel(elements, writer, numThreads);
+            } else {
+                final List<Mutation> mutations = new ArrayList<>(2);
+                for (final Element element : elements) {
+                    mutationConverter.addMutations(element, mutations);
+                    addMutations(writer, mutations);
+                    mutations.clear();
                 }
-                // If the GraphElement is a Vertex then there will only be 1 key,
-                // and the second will be null.
-                // If the GraphElement is an Edge then there will be 2 keys.
-                if (null != keys.getSecond()) {
-                    final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                    m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                            new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                            value);
-                    try {
-                        writer.addMutation(m2);
-                    } catch (final MutationsRejectedException e) {
-                        LOGGER.error("Failed to create an accumulo key mutation");
+            }
+        } finally {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo batch writer failed to close", e);
+            }
+        }
+    }
+
+    // Reads the elements into batches on the calling thread, converts the
+    // batches to mutations on a pool of threads and then adds the mutations
+    // to the BatchWriter on the calling thread, in the original order. The
+    // number of batches in flight is limited so the memory used is bounded.
+    private void insertGraphElementsInParallel(final Iterable<? extends Element> elements, final BatchWriter writer, final int numThreads) throws StoreException {
+        final int batchSize = getProperties().getElementConversionBatchSize();
+        final int maxPendingBatches = 2 * numThreads;
+        final ThreadPoolExecutor executor = getConversionPool(numThreads);
+        final Deque<Future<List<Mutation>>> pendingBatches = new ArrayDeque<>(maxPendingBatches);
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    final List<Element> elementsToConvert = batch;
+                    pendingBatches.add(executor.submit(() -> mutationConverter.getMutations(elementsToConvert)));
+                    batch = new ArrayList<>(batchSize);
+                    if (pendingBatches.size() >= maxPendingBatches) {
+                        addMutations(writer, getMutations(pendingBatches.poll()));
                     }
                 }
             }
-        } else {
-            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+            if (!batch.isEmpty()) {
+                final List<Element> elementsToConvert = batch;
+                pendingBatches.add(executor.submit(() -> mutationConverter.getMutations(elementsToConvert)));
+            }
+            while (!pendingBatches.isEmpty()) {
+                addMutations(writer, getMutations(pendingBatches.poll()));
+            }
+        } finally {
+            // The pool is shared, so only cancel this insert's batches
+            for (final Future<List<Mutation>> pendingBatch : pendingBatches) {
+                pendingBatch.cancel(true);
+            }
         }
+    }
+
+    // Gets the pool used to convert elements to mutations, which is shared by
+    // all the inserts into this store. The pool is replaced if the number of
+    // threads has changed. Idle threads are not kept alive.
+    private synchronized ThreadPoolExecutor getConversionPool(final int numThreads) {
+        if (null == conversionPool || numThreads != conversionPool.getMaximumPoolSize()) {
+            if (null != conversionPool) {
+                conversionPool.shutdown();
+            }
+            conversionPool = new ThreadPoolExecutor(numThreads, numThreads,
+                    CONVERSION_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "gaffer-accumulo-element-conversion");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            conversionPool.allowCoreThreadTimeOut(true);
+        }
+        return conversionPool;
+    }
+
+    // Waits for a batch of elements to be converted to mutations.
+    private static List<Mutation> getMutations(final Future<List<Mutation>> batch) throws StoreException {
         try {
-            writer.close();
-        } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            return batch.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst converting elements to mutations", e);
+        } catch (final ExecutionException e) {
+            throw new StoreException("Failed to convert elements to mutations", e.getCause());
+        }
+    }
+
+    // Adds the mutations to the BatchWriter, logging any rejected mutations.
+    private static void addMutations(final BatchWriter writer, final List<Mutation> mutations) {
+        if (!mutations.isEmpty()) {
+            try {
+                writer.addMutations(mutations);
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo key mutation");
+            }
         }
     }
 
@@ -125,6 +125,18 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getRowIDAggregatorIteratorSetting(final AccumuloStore store, final String columnFamily) throws IteratorSettingException;
 
+    /**
+     * Returns an Iterator that reduces each edge to the key parts needed to
+     * find its adjacent vertex, for use in GetAdjacentIds queries. It must be
+     * applied after all the filtering and aggregation iterators.
+     * This method will return null if the view has post transform filters,
+     * as the full elements are then needed on the client.
+     *
+     * @param view the operation view
+     * @return A new {@link IteratorSetting} for an Iterator that will project edges to their adjacent vertices
+     */
+    IteratorSetting getAdjacentIdProjectionIteratorSetting(final View view);
+
     /**
      * Returns an Iterator to be applied when doing range operations that will do any filtering of
      * Element properties that may have otherwise been done elsewhere e.g via
@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.AdjacentIdProjectionIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
@@ -187,6 +188,23 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getAdjacentIdProjectionIteratorSetting(final View view) {
+        if (view.hasPostTransformFilters()) {
+            LOGGER.debug("Returning null from getAdjacentIdProjectionIteratorSetting as view.hasPostTransformFilters = {}",
+                    view.hasPostTransformFilters());
+            return null;
+        }
+
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.ADJACENT_ID_PROJECTION_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.ADJACENT_ID_PROJECTION_ITERATOR_NAME, AdjacentIdProjectionIterator.class)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}",
+                AdjacentIdProjectionIterator.class.getName(),
+                AccumuloStoreConstants.ADJACENT_ID_PROJECTION_ITERATOR_PRIORITY);
+        return is;
+    }
+
     public boolean queryTimeAggregatorRequired(final View view, final AccumuloStore store) {
         Schema schema = store.getSchema();
         if (!schema.isAggregationEnabled()) {
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.PartialKey;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.user.TransformingIterator;
+import org.apache.hadoop.io.Text;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * The AdjacentIdProjectionIterator reduces each edge returned to a
+ * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds} query to just
+ * the information needed to find the adjacent vertex.
+ * <p>
+ * Both vertices of an edge are held in the row, so the row and column family
+ * are kept. The column qualifier and column visibility are removed and the
+ * value is replaced with an empty value. All the edges with the same row and
+ * group, i.e. those that differ only in their group-by properties or
+ * visibility, are returned as a single key.
+ * </p>
+ * <p>
+ * This iterator must be applied after all the filtering and aggregation
+ * iterators, as it discards the properties they use.
+ * </p>
+ */
+public class AdjacentIdProjectionIterator extends TransformingIterator {
+    private static final Text EMPTY_TEXT = new Text();
+
+    @Override
+    protected PartialKey getKeyPrefix() {
+        return PartialKey.ROW_COLFAM;
+    }
+
+    @Override
+    protected void transformRange(final SortedKeyValueIterator<Key, Value> input, final KVBuffer output) throws IOException {
+        if (input.hasTop()) {
+            output.append(replaceKeyParts(input.getTopKey(), EMPTY_TEXT, EMPTY_TEXT), new Value(AccumuloStoreConstants.EMPTY_BYTES));
+        }
+
+        // Skip the remaining keys with the same row and column family
+        while (input.hasTop()) {
+            input.next();
+        }
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(super.describeOptions())
+                .setIteratorName(AccumuloStoreConstants.ADJACENT_ID_PROJECTION_ITERATOR_NAME)
+                .setIteratorDescription("Only returns the row and column family of each edge, once per row and column family")
+                .build();
+    }
+}
@@ -25,6 +25,7 @@ import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.ValidatedElements;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import uk.gov.gchq.gaffer.store.util.IngestAggregatingIterable;
 
 public class AddElementsHandler implements OperationHandler<AddElements> {
     @Override
@@ -38,15 +39,25 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     private void addElements(final AddElements operation, final AccumuloStore store)
             throws OperationException {
         try {
-            final Iterable<?extends Element> validatedElements;
+            final Iterable<? extends Element> validatedElements;
             if (operation.isValidate()) {
                 validatedElements = new ValidatedElements(operation.getInput(), store.getSchema(), operation.isSkipInvalidElements());
             } else {
                 validatedElements = operation.getInput();
             }
-            store.addElements(validatedElements);
+            store.addElements(preAggregate(validatedElements, store));
         } catch (final StoreException e) {
             throw new OperationException("Failed to add elements", e);
         }
     }
+
+    // Wraps the elements in an ingest aggregation window, if one is configured,
+    // so repeated elements are combined before they are written.
+    private Iterable<? extends Element> preAggregate(final Iterable<? extends Element> elements, final AccumuloStore store) {
+        final int windowSize = store.getProperties().getIngestAggregationWindowSize();
+        if (windowSize < 1 || null == elements) {
+            return elements;
+        }
+        return new IngestAggregatingIterable(elements, store.getSchema(), windowSize, store.getProperties().getIngestAggregationWindowMillis());
+    }
 }
@@ -64,6 +64,7 @@ public class AccumuloAddElementsFromHdfsJobFactory implements AddElementsFromHdf
         LOGGER.info("Added {} of {} to job conf", MAPPER_GENERATOR, mapperGeneratorClassName);
         jobConf.set(VALIDATE, String.valueOf(operation.isValidate()));
         LOGGER.info("Added {} option of {} to job conf", VALIDATE, operation.isValidate());
+        setInMapperCombinerSize(jobConf, operation);
 
         if (null != operation.getNumMapTasks()) {
             jobConf.setNumMapTasks(operation.getNumMapTasks());
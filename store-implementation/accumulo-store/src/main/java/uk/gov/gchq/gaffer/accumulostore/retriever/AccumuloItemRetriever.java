@@ -91,6 +91,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
         private int count;
+        private int batchSize;
         private BatchScanner scanner;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
@@ -98,8 +99,9 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
             count = 0;
+            batchSize = getBatchSize(ids, 0);
             final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            while (idsIterator.hasNext() && count < batchSize) {
                 count++;
                 try {
                     addToRanges(idsIterator.next(), ranges);
@@ -117,7 +119,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 CloseableUtil.close(ids);
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
+            scannerIterator = getIterator(scanner);
         }
 
         @Override
@@ -152,8 +154,9 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             // then return false.
             while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
                 count = 0;
+                batchSize = getBatchSize(ids, batchSize);
                 final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                while (idsIterator.hasNext() && count < batchSize) {
                     count++;
                     try {
                         addToRanges(idsIterator.next(), ranges);
@@ -161,17 +164,17 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                         LOGGER.error("Failed to create a range from given seed", e);
                     }
                 }
-                scanner.close();
+                closeScanner(scanner);
                 try {
                     scanner = getScanner(ranges);
                 } catch (final TableNotFoundException | StoreException e) {
                     LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
                     return false;
                 }
-                scannerIterator = scanner.iterator();
+                scannerIterator = getIterator(scanner);
             }
             if (!scannerIterator.hasNext()) {
-                scanner.close();
+                closeScanner(scanner);
                 return false;
             } else {
                 return hasNext();
@@ -197,9 +200,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
-            }
+            closeScanner(scanner);
         }
     }
 }
@@ -16,15 +16,20 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
@@ -40,7 +45,12 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM> implements CloseableIterable<O_ITEM> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloRetriever.class);
@@ -54,6 +64,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    private final Map<BatchScanner, ScannerLease> scannerLeases = new ConcurrentHashMap<>();
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -104,11 +115,22 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         if (null != iterator) {
             iterator.close();
         }
+        for (final BatchScanner scanner : scannerLeases.keySet()) {
+            closeScanner(scanner);
+        }
     }
 
     /**
      * Create a scanner to use used in your query.
      * <p>
+     * If {@link AccumuloProperties#ADAPTIVE_BATCH_SCANNER} is enabled then
+     * overlapping ranges are merged and the scanner is given a thread for each
+     * tablet the ranges cover, up to
+     * {@link AccumuloProperties#MAX_THREADS_FOR_BATCH_SCANNER}. Otherwise it
+     * is given {@link AccumuloProperties#THREADS_FOR_BATCH_SCANNER} threads.
+     * Either way the threads are taken from the {@link ScannerThreadBudget},
+     * so the scanner must be closed with {@link #closeScanner(BatchScanner)}.
+     * </p>
      *
      * @param ranges the ranges to get the scanner for
      * @return A {@link org.apache.accumulo.core.client.BatchScanner} for the
@@ -117,10 +139,37 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @throws StoreException         if a connection to accumulo could not be created.
      */
     protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
-        final BatchScanner scanner = store.getConnection().createBatchScanner(store.getTableName(),
-                authorisations, store.getProperties().getThreadsForBatchScanner());
+        final AccumuloProperties properties = store.getProperties();
+        final Collection<Range> scanRanges;
+        final int requestedThreads;
+        if (properties.getAdaptiveBatchScanner()) {
+            scanRanges = Range.mergeOverlapping(ranges);
+            requestedThreads = Math.min(properties.getMaxThreadsForBatchScanner(), getNumberOfTablets(scanRanges));
+        } else {
+            scanRanges = ranges;
+            requestedThreads = properties.getThreadsForBatchScanner();
+        }
+
+        final ScannerThreadBudget.Lease budgetLease;
+        try {
+            budgetLease = ScannerThreadBudget.getInstance().acquire(requestedThreads);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted while waiting for BatchScanner threads", e);
+        }
+        final int threads = budgetLease.getThreads();
+
+        final BatchScanner scanner;
+        try {
+            scanner = store.getConnection().createBatchScanner(store.getTableName(), authorisations, threads);
+        } catch (final TableNotFoundException | StoreException | RuntimeException e) {
+            ScannerThreadBudget.getInstance().release(budgetLease);
+            throw e;
+        }
+        scannerLeases.put(scanner, new ScannerLease(budgetLease));
+        ScanMetrics.getInstance().scannerCreated(ranges.size(), scanRanges.size(), threads);
         LOGGER.debug("Initialised BatchScanner on table {} with authorisations {} using {} threads",
-                store.getTableName(), authorisations, store.getProperties().getThreadsForBatchScanner());
+                store.getTableName(), authorisations, threads);
         if (null != iteratorSettings) {
             for (final IteratorSetting iteratorSetting : iteratorSettings) {
                 if (null != iteratorSetting) {
@@ -129,8 +178,8 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
                 }
             }
         }
-        scanner.setRanges(ranges);
-        LOGGER.debug("Added {} ranges to BatchScanner", ranges.size());
+        scanner.setRanges(scanRanges);
+        LOGGER.debug("Added {} ranges to BatchScanner", scanRanges.size());
 
         for (final String col : operation.getView().getEdgeGroups()) {
             scanner.fetchColumnFamily(new Text(col));
@@ -143,6 +192,100 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         return scanner;
     }
 
+    /**
+     * Gets an iterator over the key-values of a scanner created by
+     * {@link #getScanner(Set)}, counting the key-values read.
+     *
+     * @param scanner the scanner
+     * @return an iterator over the key-values of the scanner
+     */
+    protected Iterator<Entry<Key, Value>> getIterator(final BatchScanner scanner) {
+        final Iterator<Entry<Key, Value>> scannerIterator = scanner.iterator();
+        final ScannerLease lease = scannerLeases.get(scanner);
+        if (null == lease) {
+            return scannerIterator;
+        }
+
+        return new Iterator<Entry<Key, Value>>() {
+            @Override
+            public boolean hasNext() {
+                return scannerIterator.hasNext();
+            }
+
+            @Override
+            public Entry<Key, Value> next() {
+                final Entry<Key, Value> entry = scannerIterator.next();
+                lease.entries++;
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * Closes a scanner created by {@link #getScanner(Set)} and returns its
+     * threads to the {@link ScannerThreadBudget}. Closing a scanner more than
+     * once has no further effect.
+     *
+     * @param scanner the scanner to close
+     */
+    protected void closeScanner(final BatchScanner scanner) {
+        if (null == scanner) {
+            return;
+        }
+
+        scanner.close();
+        final ScannerLease lease = scannerLeases.remove(scanner);
+        if (null != lease) {
+            ScannerThreadBudget.getInstance().release(lease.budgetLease);
+            ScanMetrics.getInstance().scannerClosed(lease.entries, System.nanoTime() - lease.startTime);
+            LOGGER.debug("Closed BatchScanner after reading {} entries using {} threads", lease.entries, lease.budgetLease.getThreads());
+        }
+    }
+
+    /**
+     * Gets the number of seeds to read into the next batch scanner of a
+     * query. If {@link AccumuloProperties#ADAPTIVE_BATCH_SCANNER} is enabled
+     * and there are more seeds than fit in a single batch scanner, or the
+     * number of seeds is not known, then the first batch scanner is given
+     * {@link AccumuloProperties#MIN_ENTRIES_FOR_BATCH_SCANNER} seeds, so the
+     * first results are returned quickly, and each subsequent batch scanner is
+     * given twice as many, up to
+     * {@link AccumuloProperties#MAX_ENTRIES_FOR_BATCH_SCANNER}.
+     *
+     * @param seeds             the seeds of the query
+     * @param previousBatchSize the number of seeds read into the previous batch
+     *                          scanner, or 0 if this is the first
+     * @return the number of seeds to read into the next batch scanner
+     */
+    protected int getBatchSize(final Iterable<?> seeds, final int previousBatchSize) {
+        final AccumuloProperties properties = store.getProperties();
+        final int maxBatchSize = properties.getMaxEntriesForBatchScanner();
+        if (!properties.getAdaptiveBatchScanner()) {
+            return maxBatchSize;
+        }
+
+        if (0 < previousBatchSize) {
+            return (int) Math.min(maxBatchSize, 2L * previousBatchSize);
+        }
+        if (seeds instanceof Collection && ((Collection<?>) seeds).size() <= maxBatchSize) {
+            return maxBatchSize;
+        }
+        return Math.max(1, Math.min(maxBatchSize, properties.getMinEntriesForBatchScanner()));
+    }
+
+    private int getNumberOfTablets(final Collection<Range> ranges) {
+        try {
+            return Math.max(1, store.getConnection().tableOperations()
+                    .locate(store.getTableName(), ranges)
+                    .groupByTablet()
+                    .size());
+        } catch (final AccumuloException | AccumuloSecurityException | TableNotFoundException | StoreException | RuntimeException e) {
+            // Some instances, such as mock instances, cannot locate tablets
+            LOGGER.debug("Unable to locate the tablets for {} ranges, assuming 1 tablet per range", ranges.size(), e);
+            return Math.max(1, ranges.size());
+        }
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (null != transformer) {
             transformer.apply(element);
@@ -152,4 +295,14 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected boolean postFilter(final Element element, final ElementFilter postFilter) {
         return null == postFilter || postFilter.test(element);
     }
+
+    private static final class ScannerLease {
+        private final ScannerThreadBudget.Lease budgetLease;
+        private final long startTime = System.nanoTime();
+        private long entries;
+
+        private ScannerLease(final ScannerThreadBudget.Lease budgetLease) {
+            this.budgetLease = budgetLease;
+        }
+    }
 }
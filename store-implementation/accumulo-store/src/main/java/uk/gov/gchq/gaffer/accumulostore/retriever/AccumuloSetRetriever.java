@@ -335,9 +335,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
-            }
+            closeScanner(scanner);
         }
 
         protected abstract void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException;
@@ -360,6 +358,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 updateBloomFilterIfRequired(seed);
             }
 
+            closeScanner(scanner);
             try {
                 scanner = getScanner(ranges);
             } catch (final TableNotFoundException | StoreException e) {
@@ -372,7 +371,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
-            scannerIterator = scanner.iterator();
+            scannerIterator = getIterator(scanner);
         }
 
         /**
@@ -399,7 +398,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 updateScanner();
             }
             if (!scannerIterator.hasNext()) {
-                scanner.close();
+                closeScanner(scanner);
             }
             return scannerIterator.hasNext();
         }
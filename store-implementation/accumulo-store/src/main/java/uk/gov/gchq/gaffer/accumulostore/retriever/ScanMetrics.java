@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code ScanMetrics} records the BatchScanners created by the retrievers in a
+ * JVM: how many ranges they were given, how many threads they used and how
+ * many key-values they returned, so scan throughput can be monitored.
+ */
+public final class ScanMetrics {
+    private static final ScanMetrics INSTANCE = new ScanMetrics();
+
+    private final AtomicLong scanners = new AtomicLong();
+    private final AtomicLong requestedRanges = new AtomicLong();
+    private final AtomicLong scannedRanges = new AtomicLong();
+    private final AtomicLong threads = new AtomicLong();
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong scanNanos = new AtomicLong();
+
+    ScanMetrics() {
+    }
+
+    public static ScanMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a scanner being created.
+     *
+     * @param requestedRanges the number of ranges before they were merged
+     * @param scannedRanges   the number of ranges given to the scanner
+     * @param threads         the number of threads given to the scanner
+     */
+    public void scannerCreated(final int requestedRanges, final int scannedRanges, final int threads) {
+        this.scanners.incrementAndGet();
+        this.requestedRanges.addAndGet(requestedRanges);
+        this.scannedRanges.addAndGet(scannedRanges);
+        this.threads.addAndGet(threads);
+    }
+
+    /**
+     * Records a scanner being closed.
+     *
+     * @param entries  the number of key-values read from the scanner
+     * @param duration the time the scanner was open, in nanoseconds
+     */
+    public void scannerClosed(final long entries, final long duration) {
+        this.entries.addAndGet(entries);
+        this.scanNanos.addAndGet(duration);
+    }
+
+    public long getScanners() {
+        return scanners.get();
+    }
+
+    public long getRequestedRanges() {
+        return requestedRanges.get();
+    }
+
+    public long getScannedRanges() {
+        return scannedRanges.get();
+    }
+
+    public long getThreads() {
+        return threads.get();
+    }
+
+    public long getEntries() {
+        return entries.get();
+    }
+
+    public long getScanMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(scanNanos.get());
+    }
+
+    /**
+     * @return the average number of key-values read per second that a
+     * scanner was open
+     */
+    public double getEntriesPerSecond() {
+        final long nanos = scanNanos.get();
+        return 0 == nanos ? 0 : entries.get() * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanMetrics[scanners=" + getScanners()
+                + ", requestedRanges=" + getRequestedRanges()
+                + ", scannedRanges=" + getScannedRanges()
+                + ", threads=" + getThreads()
+                + ", entries=" + getEntries()
+                + ", scanMillis=" + getScanMillis()
+                + ", entriesPerSecond=" + getEntriesPerSecond()
+                + "]";
+    }
+}
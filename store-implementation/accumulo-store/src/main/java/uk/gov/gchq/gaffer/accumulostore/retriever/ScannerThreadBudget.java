@@ -0,0 +1,237 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code ScannerThreadBudget} limits the total number of BatchScanner query
+ * threads used by all the retrievers in a JVM.
+ * <p>
+ * A retriever requests the number of threads it would like and is granted as
+ * many as are free, but at least 1. If no threads are free the retriever waits
+ * until another scanner is closed. A budget of 0 means the number of threads
+ * is not limited.
+ * </p>
+ * <p>
+ * The budget never blocks a thread that already holds a lease, as retrievers
+ * are chained lazily and the lease it is waiting for may be its own. Such a
+ * thread is granted a single thread over the budget instead. Any other thread
+ * waits for at most the max wait time, in case a lease has been leaked by an
+ * iterable that was never closed, and is then also granted a single thread
+ * over the budget.
+ * </p>
+ * <p>
+ * The number of threads in use, the number of retrievers waiting and the time
+ * spent waiting are recorded so the budget can be tuned.
+ * </p>
+ */
+public final class ScannerThreadBudget {
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 10000L;
+
+    private static final ScannerThreadBudget INSTANCE = new ScannerThreadBudget();
+
+    private final Map<Thread, Integer> threadsByOwner = new HashMap<>();
+    private int maxThreads;
+    private long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+    private int threadsInUse;
+    private int waiting;
+    private int peakThreadsInUse;
+    private long totalRequests;
+    private long totalWaits;
+    private long totalOverBudget;
+    private long totalWaitNanos;
+
+    ScannerThreadBudget() {
+        this(0);
+    }
+
+    ScannerThreadBudget(final int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public static ScannerThreadBudget getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the total number of scanner threads for the JVM. Retrievers that
+     * already hold threads keep them.
+     *
+     * @param maxThreads the total number of threads, or 0 for no limit
+     */
+    public synchronized void setMaxThreads(final int maxThreads) {
+        this.maxThreads = Math.max(0, maxThreads);
+        notifyAll();
+    }
+
+    public synchronized int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the longest time a retriever waits for a free thread before it is
+     * granted a single thread over the budget.
+     *
+     * @param maxWaitMillis the max wait time in milliseconds
+     */
+    public synchronized void setMaxWaitMillis(final long maxWaitMillis) {
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        notifyAll();
+    }
+
+    public synchronized long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Acquires up to the requested number of threads. If no threads are free
+     * and the calling thread does not already hold a lease, this waits for up
+     * to the max wait time for a thread to be released.
+     *
+     * @param requested the number of threads requested
+     * @return the lease, holding between 1 and requested threads
+     * @throws InterruptedException if interrupted while waiting for a thread
+     */
+    public synchronized Lease acquire(final int requested) throws InterruptedException {
+        final int wanted = Math.max(1, requested);
+        final Thread owner = Thread.currentThread();
+        totalRequests++;
+        if (isExhausted() && !threadsByOwner.containsKey(owner)) {
+            final long start = System.nanoTime();
+            final long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            waiting++;
+            totalWaits++;
+            try {
+                long remaining = deadline - start;
+                while (isExhausted() && 0 < remaining) {
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            } finally {
+                waiting--;
+                totalWaitNanos += System.nanoTime() - start;
+            }
+        }
+
+        final int granted;
+        if (0 == maxThreads) {
+            granted = wanted;
+        } else if (isExhausted()) {
+            totalOverBudget++;
+            granted = 1;
+        } else {
+            granted = Math.min(wanted, maxThreads - threadsInUse);
+        }
+
+        threadsInUse += granted;
+        threadsByOwner.merge(owner, granted, Integer::sum);
+        peakThreadsInUse = Math.max(peakThreadsInUse, threadsInUse);
+        return new Lease(owner, granted);
+    }
+
+    /**
+     * Returns the threads of a lease to the budget. Releasing a lease more
+     * than once has no further effect.
+     *
+     * @param lease the lease to release
+     */
+    public synchronized void release(final Lease lease) {
+        if (null == lease || lease.released) {
+            return;
+        }
+
+        lease.released = true;
+        threadsInUse = Math.max(0, threadsInUse - lease.threads);
+        threadsByOwner.computeIfPresent(lease.owner, (owner, threads) -> threads > lease.threads ? threads - lease.threads : null);
+        notifyAll();
+    }
+
+    public synchronized int getThreadsInUse() {
+        return threadsInUse;
+    }
+
+    public synchronized int getPeakThreadsInUse() {
+        return peakThreadsInUse;
+    }
+
+    /**
+     * @return the number of retrievers currently waiting for a thread
+     */
+    public synchronized int getWaiting() {
+        return waiting;
+    }
+
+    public synchronized long getTotalRequests() {
+        return totalRequests;
+    }
+
+    /**
+     * @return the number of requests that had to wait for a thread
+     */
+    public synchronized long getTotalWaits() {
+        return totalWaits;
+    }
+
+    /**
+     * @return the number of requests that were granted a thread over the budget
+     */
+    public synchronized long getTotalOverBudget() {
+        return totalOverBudget;
+    }
+
+    public synchronized long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ScannerThreadBudget[maxThreads=" + maxThreads
+                + ", threadsInUse=" + threadsInUse
+                + ", peakThreadsInUse=" + peakThreadsInUse
+                + ", waiting=" + waiting
+                + ", totalRequests=" + totalRequests
+                + ", totalWaits=" + totalWaits
+                + ", totalOverBudget=" + totalOverBudget
+                + ", totalWaitMillis=" + getTotalWaitMillis()
+                + "]";
+    }
+
+    private boolean isExhausted() {
+        return 0 < maxThreads && threadsInUse >= maxThreads;
+    }
+
+    /**
+     * The threads granted to a single scanner.
+     */
+    public static final class Lease {
+        private final Thread owner;
+        private final int threads;
+        private boolean released;
+
+        private Lease(final Thread owner, final int threads) {
+            this.owner = owner;
+            this.threads = threads;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+    }
+}
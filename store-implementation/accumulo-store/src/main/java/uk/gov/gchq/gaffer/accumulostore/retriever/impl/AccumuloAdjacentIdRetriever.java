@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
@@ -66,7 +67,8 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
                 store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
-                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store));
+                store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                getAdjacentIdProjectionIteratorSetting(operation, store));
         this.ids = operation.getInput();
         transformGroups = getGroupsWithTransforms(operation.getView());
     }
@@ -102,6 +104,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
     private final class EntityIdIterator implements CloseableIterator<EntityId> {
         private final Iterator<? extends ElementId> idsIterator;
         private int count;
+        private int batchSize;
         private BatchScanner scanner;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
         private EntityId nextId;
@@ -109,8 +112,9 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
         private EntityIdIterator(final Iterator<? extends ElementId> idIterator) throws RetrieverException {
             idsIterator = idIterator;
             count = 0;
+            batchSize = getBatchSize(ids, 0);
             final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            while (idsIterator.hasNext() && count < batchSize) {
                 count++;
                 try {
                     addToRanges(idsIterator.next(), ranges);
@@ -126,7 +130,7 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                 CloseableUtil.close(ids);
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
+            scannerIterator = getIterator(scanner);
         }
 
         @Override
@@ -187,8 +191,9 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
             // then return false.
             while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
                 count = 0;
+                batchSize = getBatchSize(ids, batchSize);
                 final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                while (idsIterator.hasNext() && count < batchSize) {
                     count++;
                     try {
                         addToRanges(idsIterator.next(), ranges);
@@ -196,17 +201,17 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                         LOGGER.error("Failed to create a range from given seed", e);
                     }
                 }
-                scanner.close();
+                closeScanner(scanner);
                 try {
                     scanner = getScanner(ranges);
                 } catch (final TableNotFoundException | StoreException e) {
                     LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
                     return false;
                 }
-                scannerIterator = scanner.iterator();
+                scannerIterator = getIterator(scanner);
             }
             if (!scannerIterator.hasNext()) {
-                scanner.close();
+                closeScanner(scanner);
                 return false;
             } else {
                 return hasNext();
@@ -232,10 +237,15 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
 
         @Override
         public void close() {
-            if (null != scanner) {
-                scanner.close();
-            }
+            closeScanner(scanner);
+        }
+    }
+
+    private static IteratorSetting getAdjacentIdProjectionIteratorSetting(final GetAdjacentIds operation, final AccumuloStore store) {
+        if (!store.getProperties().getEnableAdjacentIdProjectionIterator()) {
+            return null;
         }
+        return store.getKeyPackage().getIteratorFactory().getAdjacentIdProjectionIteratorSetting(operation.getView());
     }
 
     private void addToRanges(final ElementId seed, final Set<Range> ranges) throws RangeFactoryException {
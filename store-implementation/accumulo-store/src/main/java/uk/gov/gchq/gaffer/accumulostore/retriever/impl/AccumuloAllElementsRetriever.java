@@ -44,15 +44,35 @@ import java.util.Set;
 public class AccumuloAllElementsRetriever extends AccumuloItemRetriever<GetAllElements, ElementId> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloAllElementsRetriever.class);
 
+    private final Range range;
+
     public AccumuloAllElementsRetriever(final AccumuloStore store, final GetAllElements operation,
                                         final User user)
             throws IteratorSettingException, StoreException {
+        this(store, operation, user, new Range());
+    }
+
+    /**
+     * Constructs a retriever for all of the elements within a range of rows,
+     * for example a single tablet.
+     *
+     * @param store     the store to retrieve the elements from
+     * @param operation the operation containing the view
+     * @param user      the user executing the operation
+     * @param range     the range of rows to retrieve the elements from
+     * @throws IteratorSettingException if the iterator settings could not be created
+     * @throws StoreException           if the store could not be queried
+     */
+    public AccumuloAllElementsRetriever(final AccumuloStore store, final GetAllElements operation,
+                                        final User user, final Range range)
+            throws IteratorSettingException, StoreException {
         super(store, operation, user, false,
                 store.getKeyPackage().getIteratorFactory().getElementPropertyRangeQueryFilter(operation),
                 store.getKeyPackage().getIteratorFactory().getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
                 store.getKeyPackage().getIteratorFactory().getEdgeEntityDirectionFilterIteratorSetting(operation),
                 store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+        this.range = range;
     }
 
     /**
@@ -78,6 +98,6 @@ public class AccumuloAllElementsRetriever extends AccumuloItemRetriever<GetAllEl
 
     @Override
     protected void addToRanges(final ElementId seed, final Set<Range> ranges) throws RangeFactoryException {
-        ranges.add(new Range());
+        ranges.add(range);
     }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts {@link Element}s into Accumulo {@link Mutation}s using an
+ * {@link AccumuloElementConverter}.
+ * <p>
+ * Parsing a column visibility expression is relatively expensive and most
+ * graphs only use a small number of distinct visibilities, so the parsed
+ * {@link ColumnVisibility}s are cached. The cache is cleared if it grows beyond
+ * its maximum size. This class is thread safe, provided the element converter
+ * is, so a single instance can be shared by several ingest threads.
+ * </p>
+ */
+public class ElementMutationConverter {
+    public static final int DEFAULT_MAX_VISIBILITY_CACHE_SIZE = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementMutationConverter.class);
+
+    private final AccumuloElementConverter elementConverter;
+    private final int maxVisibilityCacheSize;
+    private final Map<Text, ColumnVisibility> visibilityCache = new ConcurrentHashMap<>();
+
+    public ElementMutationConverter(final AccumuloElementConverter elementConverter) {
+        this(elementConverter, DEFAULT_MAX_VISIBILITY_CACHE_SIZE);
+    }
+
+    public ElementMutationConverter(final AccumuloElementConverter elementConverter, final int maxVisibilityCacheSize) {
+        this.elementConverter = elementConverter;
+        this.maxVisibilityCacheSize = maxVisibilityCacheSize;
+    }
+
+    /**
+     * Converts a batch of elements into mutations. Elements that cannot be
+     * converted are logged and skipped.
+     *
+     * @param elements the elements to convert
+     * @return the mutations, in the same order as the elements
+     */
+    public List<Mutation> getMutations(final Iterable<? extends Element> elements) {
+        final List<Mutation> mutations = new ArrayList<>();
+        for (final Element element : elements) {
+            addMutations(element, mutations);
+        }
+        return mutations;
+    }
+
+    /**
+     * Converts an element into one mutation per key. Entities have one key
+     * and edges have up to two. If the element cannot be converted it is
+     * logged and no mutations are added.
+     *
+     * @param element   the element to convert
+     * @param mutations the list to add the mutations to
+     */
+    public void addMutations(final Element element, final List<Mutation> mutations) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = elementConverter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            return;
+        }
+        final Value value;
+        try {
+            value = elementConverter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            return;
+        }
+
+        mutations.add(createMutation(keys.getFirst(), value));
+        // If the element is an entity then there will only be 1 key and the
+        // second will be null.
+        if (null != keys.getSecond()) {
+            mutations.add(createMutation(keys.getSecond(), value));
+        }
+    }
+
+    /**
+     * Gets the parsed {@link ColumnVisibility} for an expression, using the
+     * cache where possible.
+     *
+     * @param expression the column visibility expression
+     * @return the column visibility
+     */
+    public ColumnVisibility getColumnVisibility(final Text expression) {
+        ColumnVisibility visibility = visibilityCache.get(expression);
+        if (null == visibility) {
+            visibility = new ColumnVisibility(expression);
+            if (visibilityCache.size() >= maxVisibilityCacheSize) {
+                visibilityCache.clear();
+            }
+            visibilityCache.put(expression, visibility);
+        }
+        return visibility;
+    }
+
+    // Creates a mutation containing a single key and value.
+    private Mutation createMutation(final Key key, final Value value) {
+        final Mutation mutation = new Mutation(key.getRow());
+        mutation.put(key.getColumnFamily(), key.getColumnQualifier(),
+                getColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return mutation;
+    }
+}
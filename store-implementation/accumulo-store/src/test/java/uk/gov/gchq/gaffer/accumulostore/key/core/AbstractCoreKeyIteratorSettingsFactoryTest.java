@@ -21,6 +21,7 @@ import org.junit.Test;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.AdjacentIdProjectionIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
@@ -91,6 +92,46 @@ public abstract class AbstractCoreKeyIteratorSettingsFactoryTest {
         assertEquals(converter.getClass().getName(), iterator.getOptions().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
     }
 
+    @Test
+    public void shouldReturnNullAdjacentIdProjectionIteratorIfPostTransformFilters() throws Exception {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new Exists())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final IteratorSetting iterator = factory.getAdjacentIdProjectionIteratorSetting(view);
+
+        // Then
+        assertNull(iterator);
+    }
+
+    @Test
+    public void shouldReturnAdjacentIdProjectionIterator() throws Exception {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new Exists())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final IteratorSetting iterator = factory.getAdjacentIdProjectionIteratorSetting(view);
+
+        // Then
+        assertEquals(AccumuloStoreConstants.ADJACENT_ID_PROJECTION_ITERATOR_NAME, iterator.getName());
+        assertEquals(AccumuloStoreConstants.ADJACENT_ID_PROJECTION_ITERATOR_PRIORITY, iterator.getPriority());
+        assertEquals(AdjacentIdProjectionIterator.class.getName(), iterator.getIteratorClass());
+    }
+
     @Test
     public void shouldReturnNullPreAggFilterIfNoPreAggFilters() throws Exception {
         // Given
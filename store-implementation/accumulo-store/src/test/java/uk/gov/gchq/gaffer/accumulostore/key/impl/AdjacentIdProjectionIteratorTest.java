@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetAdjacentIdsHandler;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdjacentIdProjectionIteratorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AdjacentIdProjectionIteratorTest.class));
+
+    @Test
+    public void shouldReturnEachAdjacentIdOnceForEachRowAndGroupByteEntityStore() throws OperationException, StoreException {
+        shouldReturnEachAdjacentIdOnceForEachRowAndGroup(StreamUtil.storeProps(AdjacentIdProjectionIteratorTest.class));
+    }
+
+    @Test
+    public void shouldReturnEachAdjacentIdOnceForEachRowAndGroupGaffer1Store() throws OperationException, StoreException {
+        shouldReturnEachAdjacentIdOnceForEachRowAndGroup(StreamUtil.openStream(AdjacentIdProjectionIteratorTest.class, "/accumuloStoreClassicKeys.properties"));
+    }
+
+    private void shouldReturnEachAdjacentIdOnceForEachRowAndGroup(final InputStream propertiesStream) throws OperationException, StoreException {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(propertiesStream);
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("adjacentIdProjectionGraph", SCHEMA, properties);
+        store.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new Context());
+        final GetAdjacentIds getAdjacentIds = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("1"))
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // When
+        store.getProperties().setEnableAdjacentIdProjectionIterator(false);
+        final List<EntityId> fullResults = Lists.newArrayList(new GetAdjacentIdsHandler().doOperation(getAdjacentIds, new User(), store));
+        store.getProperties().setEnableAdjacentIdProjectionIterator(true);
+        final List<EntityId> projectedResults = Lists.newArrayList(new GetAdjacentIdsHandler().doOperation(getAdjacentIds, new User(), store));
+
+        // Then
+        assertEquals(4, fullResults.size());
+        assertEquals(3, projectedResults.size());
+        assertEquals(new HashSet<>(fullResults), new HashSet<>(projectedResults));
+        assertEquals(new HashSet<>(Arrays.asList(new EntitySeed("2"), new EntitySeed("3"), new EntitySeed("4"))), new HashSet<>(projectedResults));
+    }
+
+    private List<Element> getElements() {
+        return Arrays.asList(
+                getEdge("1", "2", 1),
+                getEdge("1", "2", 2),
+                getEdge("1", "3", 1),
+                getEdge("4", "1", 1));
+    }
+
+    private Edge getEdge(final String source, final String destination, final int columnQualifier) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier)
+                .property(AccumuloPropertyNames.COUNT, 1)
+                .build();
+    }
+}
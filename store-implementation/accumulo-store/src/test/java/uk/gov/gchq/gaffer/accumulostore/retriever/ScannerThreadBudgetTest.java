@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScannerThreadBudgetTest {
+    @Test
+    public void shouldGrantAllRequestedThreadsWhenUnlimited() throws InterruptedException {
+        // Given
+        final ScannerThreadBudget budget = new ScannerThreadBudget();
+
+        // When
+        final int granted = budget.acquire(100).getThreads();
+
+        // Then
+        assertEquals(100, granted);
+        assertEquals(100, budget.getThreadsInUse());
+    }
+
+    @Test
+    public void shouldGrantAtLeastOneThread() throws InterruptedException {
+        // Given
+        final ScannerThreadBudget budget = new ScannerThreadBudget(10);
+
+        // When
+        final int granted = budget.acquire(0).getThreads();
+
+        // Then
+        assertEquals(1, granted);
+    }
+
+    @Test
+    public void shouldGrantOnlyTheFreeThreads() throws InterruptedException {
+        // Given
+        final ScannerThreadBudget budget = new ScannerThreadBudget(10);
+        budget.acquire(8);
+
+        // When
+        final int granted = budget.acquire(5).getThreads();
+
+        // Then
+        assertEquals(2, granted);
+        assertEquals(10, budget.getThreadsInUse());
+        assertEquals(10, budget.getPeakThreadsInUse());
+    }
+
+    @Test
+    public void shouldWaitForThreadsToBeReleased() throws InterruptedException {
+        // Given
+        final ScannerThreadBudget budget = new ScannerThreadBudget(4);
+        final ScannerThreadBudget.Lease lease = budget.acquire(2);
+        budget.acquire(2);
+        final AtomicInteger granted = new AtomicInteger();
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread waiter = new Thread(() -> {
+            try {
+                granted.set(budget.acquire(3).getThreads());
+                acquired.countDown();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When
+        waiter.start();
+        while (0 == budget.getWaiting()) {
+            Thread.sleep(10);
+        }
+        budget.release(lease);
+        budget.release(lease);
+
+        // Then
+        assertTrue(acquired.await(10, TimeUnit.SECONDS));
+        assertEquals(2, granted.get());
+        assertEquals(4, budget.getThreadsInUse());
+        assertEquals(0, budget.getWaiting());
+        assertEquals(1, budget.getTotalWaits());
+        assertEquals(2, budget.getTotalRequests());
+    }
+
+    @Test
+    public void shouldReleaseWaitersWhenBudgetIsRemoved() throws InterruptedException {
+        // Given
+        final ScannerThreadBudget budget = new ScannerThreadBudget(1);
+        budget.acquire(1);
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread waiter = new Thread(() -> {
+            try {
+                budget.acquire(5);
+                acquired.countDown();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When
+        waiter.start();
+        while (0 == budget.getWaiting()) {
+            Thread.sleep(10);
+        }
+        budget.setMaxThreads(0);
+
+        // Then
+        assertTrue(acquired.await(10, TimeUnit.SECONDS));
+        assertEquals(6, budget.getThreadsInUse());
+    }
+
+    @Test
+    public void shouldNotBlockAThreadThatAlreadyHoldsALease() throws InterruptedException {
+        // Given
+        final ScannerThreadBudget budget = new ScannerThreadBudget(4);
+        budget.setMaxWaitMillis(TimeUnit.MINUTES.toMillis(10));
+        final ScannerThreadBudget.Lease outer = budget.acquire(4);
+
+        // When
+        final ScannerThreadBudget.Lease inner = budget.acquire(4);
+
+        // Then
+        assertEquals(1, inner.getThreads());
+        assertEquals(5, budget.getThreadsInUse());
+        assertEquals(0, budget.getTotalWaits());
+        assertEquals(1, budget.getTotalOverBudget());
+
+        // When
+        budget.release(inner);
+        budget.release(outer);
+
+        // Then
+        assertEquals(0, budget.getThreadsInUse());
+    }
+
+    @Test
+    public void shouldGrantOneThreadOverBudgetAfterMaxWait() throws InterruptedException {
+        // Given
+        final ScannerThreadBudget budget = new ScannerThreadBudget(2);
+        budget.setMaxWaitMillis(100);
+        final AtomicInteger granted = new AtomicInteger();
+        final Thread holder = new Thread(() -> {
+            try {
+                // Leaked lease, never released
+                budget.acquire(2);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.start();
+        holder.join();
+
+        // When
+        granted.set(budget.acquire(2).getThreads());
+
+        // Then
+        assertEquals(1, granted.get());
+        assertEquals(3, budget.getThreadsInUse());
+        assertEquals(1, budget.getTotalWaits());
+        assertEquals(1, budget.getTotalOverBudget());
+        assertTrue(budget.getTotalWaitMillis() >= 100);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AccumuloAllElementsRetrieverTest {
+    private static final int NUM_ENTRIES = 100;
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(AccumuloAllElementsRetrieverTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloAllElementsRetrieverTest.class));
+    private static AccumuloStore store;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        store = new SingleUseMockAccumuloStore();
+        store.initialise("allElementsGraph", SCHEMA, PROPERTIES);
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("A" + i)
+                    .dest("B" + i)
+                    .directed(true)
+                    .build());
+        }
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()));
+    }
+
+    @Test
+    public void shouldRetrieveAllElementsWhenSplitIntoRanges() throws Exception {
+        // Given
+        final GetAllElements operation = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final Text splitRow = getSplitRow();
+
+        // When
+        final List<Element> allElements = Lists.newArrayList(new AccumuloAllElementsRetriever(store, operation, new User()));
+        final List<Element> firstRange = Lists.newArrayList(new AccumuloAllElementsRetriever(store, operation, new User(),
+                new Range(null, true, splitRow, true)));
+        final List<Element> secondRange = Lists.newArrayList(new AccumuloAllElementsRetriever(store, operation, new User(),
+                new Range(splitRow, false, null, true)));
+
+        // Then
+        assertFalse(firstRange.isEmpty());
+        assertFalse(secondRange.isEmpty());
+        assertEquals(allElements.size(), firstRange.size() + secondRange.size());
+        final Set<Element> combined = new HashSet<>(firstRange);
+        combined.addAll(secondRange);
+        assertEquals(new HashSet<>(allElements), combined);
+    }
+
+    private static Text getSplitRow() throws Exception {
+        final Scanner scanner = store.getConnection().createScanner(store.getTableName(), new Authorizations());
+        final List<Map.Entry<Key, Value>> entries = Lists.newArrayList(scanner);
+        return Iterables.get(entries, entries.size() / 4).getKey().getRow();
+    }
+}
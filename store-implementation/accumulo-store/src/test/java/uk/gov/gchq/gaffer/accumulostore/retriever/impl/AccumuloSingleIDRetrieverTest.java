@@ -27,6 +27,8 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.retriever.ScanMetrics;
+import uk.gov.gchq.gaffer.accumulostore.retriever.ScannerThreadBudget;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
@@ -48,10 +50,13 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class AccumuloSingleIDRetrieverTest {
@@ -114,6 +119,83 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldReturnAllElementsFromAdaptiveBatchScannersAndReleaseThreads() throws StoreException, IteratorSettingException {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloSingleIDRetrieverTest.class));
+        properties.setAdaptiveBatchScanner(true);
+        properties.setMinEntriesForBatchScanner("10");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("adaptiveGraph", SCHEMA, properties);
+        setupGraph(store, NUM_ENTRIES);
+
+        final List<ElementId> ids = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        // The seeds are not a collection, so the batch scanners grow from the min entries
+        final Iterable<ElementId> seeds = ids::iterator;
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(seeds).build();
+        final int threadsInUse = ScannerThreadBudget.getInstance().getThreadsInUse();
+        final long scanners = ScanMetrics.getInstance().getScanners();
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        final int size = Iterables.size(retriever);
+        retriever.close();
+
+        // Then
+        assertEquals(NUM_ENTRIES * 3, size);
+        assertEquals(threadsInUse, ScannerThreadBudget.getInstance().getThreadsInUse());
+        assertTrue(ScanMetrics.getInstance().getScanners() - scanners > 1);
+    }
+
+    @Test(timeout = 60000)
+    public void shouldNotDeadlockWhenANestedRetrieverReadsFromAnOpenRetrieverWithAThreadBudget() throws StoreException, IteratorSettingException {
+        // Given
+        final ScannerThreadBudget budget = ScannerThreadBudget.getInstance();
+        final int maxThreads = budget.getMaxThreads();
+        final long maxWaitMillis = budget.getMaxWaitMillis();
+        final List<ElementId> ids = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        // The seeds are not a collection, so the outer retriever needs more than one batch
+        final Iterable<ElementId> seeds = ids::iterator;
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final AccumuloProperties properties = byteEntityStore.getProperties();
+        properties.setMinEntriesForBatchScanner("10");
+        try {
+            budget.setMaxThreads(budget.getThreadsInUse() + properties.getThreadsForBatchScanner());
+            budget.setMaxWaitMillis(TimeUnit.MINUTES.toMillis(10));
+            final AccumuloSingleIDRetriever outer = new AccumuloSingleIDRetriever(byteEntityStore,
+                    new GetElements.Builder().view(view).input(seeds).build(), new User());
+            final Iterator<Element> outerIterator = outer.iterator();
+            outerIterator.next();
+
+            // When
+            final AccumuloSingleIDRetriever inner = new AccumuloSingleIDRetriever(byteEntityStore,
+                    new GetElements.Builder().view(view).input(ids).build(), new User());
+            final int innerSize = Iterables.size(inner);
+            inner.close();
+            int outerSize = 1;
+            while (outerIterator.hasNext()) {
+                outerIterator.next();
+                outerSize++;
+            }
+            outer.close();
+
+            // Then
+            assertEquals(NUM_ENTRIES * 3, innerSize);
+            assertEquals(NUM_ENTRIES * 3, outerSize);
+        } finally {
+            budget.setMaxThreads(maxThreads);
+            budget.setMaxWaitMillis(maxWaitMillis);
+            properties.setMinEntriesForBatchScanner(null);
+        }
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(byteEntityStore);
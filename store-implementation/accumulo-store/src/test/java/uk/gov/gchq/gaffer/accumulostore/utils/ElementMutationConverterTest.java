@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class ElementMutationConverterTest {
+    private static final Value VALUE = new Value(new byte[]{1, 2, 3});
+
+    @Test
+    public void shouldConvertEntitiesAndEdgesToMutations() throws AccumuloElementConversionException {
+        // Given
+        final AccumuloElementConverter elementConverter = mock(AccumuloElementConverter.class);
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+        final Key entityKey = new Key("A", TestGroups.ENTITY, "", "public", 1L);
+        final Key edgeKey = new Key("A", TestGroups.EDGE, "", "public", 2L);
+        final Key reversedEdgeKey = new Key("B", TestGroups.EDGE, "", "public", 2L);
+        given(elementConverter.getKeysFromElement(entity)).willReturn(new Pair<>(entityKey, null));
+        given(elementConverter.getKeysFromElement(edge)).willReturn(new Pair<>(edgeKey, reversedEdgeKey));
+        given(elementConverter.getValueFromElement(entity)).willReturn(VALUE);
+        given(elementConverter.getValueFromElement(edge)).willReturn(VALUE);
+        final ElementMutationConverter converter = new ElementMutationConverter(elementConverter);
+
+        // When
+        final List<Mutation> mutations = converter.getMutations(Arrays.<Element>asList(entity, edge));
+
+        // Then
+        assertEquals(3, mutations.size());
+        assertMutation(entityKey, mutations.get(0));
+        assertMutation(edgeKey, mutations.get(1));
+        assertMutation(reversedEdgeKey, mutations.get(2));
+    }
+
+    @Test
+    public void shouldSkipElementsThatCannotBeConverted() throws AccumuloElementConversionException {
+        // Given
+        final AccumuloElementConverter elementConverter = mock(AccumuloElementConverter.class);
+        final Entity invalidKeyEntity = new Entity(TestGroups.ENTITY, "A");
+        final Entity invalidValueEntity = new Entity(TestGroups.ENTITY, "B");
+        final Entity validEntity = new Entity(TestGroups.ENTITY, "C");
+        final Key key = new Key("C", TestGroups.ENTITY, "", "", 1L);
+        given(elementConverter.getKeysFromElement(invalidKeyEntity)).willThrow(new AccumuloElementConversionException("Invalid key"));
+        given(elementConverter.getKeysFromElement(invalidValueEntity)).willReturn(new Pair<>(key, null));
+        given(elementConverter.getValueFromElement(invalidValueEntity)).willThrow(new AccumuloElementConversionException("Invalid value"));
+        given(elementConverter.getKeysFromElement(validEntity)).willReturn(new Pair<>(key, null));
+        given(elementConverter.getValueFromElement(validEntity)).willReturn(VALUE);
+        final ElementMutationConverter converter = new ElementMutationConverter(elementConverter);
+
+        // When
+        final List<Mutation> mutations = converter.getMutations(Arrays.asList(invalidKeyEntity, invalidValueEntity, validEntity));
+
+        // Then
+        assertEquals(1, mutations.size());
+        assertMutation(key, mutations.get(0));
+    }
+
+    @Test
+    public void shouldCacheColumnVisibilities() {
+        // Given
+        final ElementMutationConverter converter = new ElementMutationConverter(mock(AccumuloElementConverter.class));
+
+        // When
+        final ColumnVisibility visibility1 = converter.getColumnVisibility(new Text("public|private"));
+        final ColumnVisibility visibility2 = converter.getColumnVisibility(new Text("public|private"));
+        final ColumnVisibility visibility3 = converter.getColumnVisibility(new Text("public"));
+
+        // Then
+        assertSame(visibility1, visibility2);
+        assertArrayEquals("public|private".getBytes(), visibility1.getExpression());
+        assertArrayEquals("public".getBytes(), visibility3.getExpression());
+    }
+
+    @Test
+    public void shouldClearColumnVisibilityCacheWhenFull() {
+        // Given
+        final ElementMutationConverter converter = new ElementMutationConverter(mock(AccumuloElementConverter.class), 1);
+        final ColumnVisibility visibility1 = converter.getColumnVisibility(new Text("public"));
+
+        // When
+        converter.getColumnVisibility(new Text("private"));
+        final ColumnVisibility visibility2 = converter.getColumnVisibility(new Text("public"));
+
+        // Then
+        assertNotSame(visibility1, visibility2);
+    }
+
+    private static void assertMutation(final Key expectedKey, final Mutation mutation) {
+        assertEquals(expectedKey.getRow(), new Text(mutation.getRow()));
+        assertEquals(1, mutation.getUpdates().size());
+        final ColumnUpdate update = mutation.getUpdates().get(0);
+        assertEquals(expectedKey.getColumnFamily(), new Text(update.getColumnFamily()));
+        assertEquals(expectedKey.getColumnQualifier(), new Text(update.getColumnQualifier()));
+        assertEquals(expectedKey.getColumnVisibility(), new Text(update.getColumnVisibility()));
+        assertEquals(expectedKey.getTimestamp(), update.getTimestamp());
+        assertArrayEquals(VALUE.get(), update.getValue());
+    }
+}
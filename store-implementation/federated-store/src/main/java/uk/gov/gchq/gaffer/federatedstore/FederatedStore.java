@@ -79,6 +79,7 @@ import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.statistics.GraphStatistics;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collection;
@@ -400,6 +401,18 @@ public class FederatedStore extends Store {
         addOperationHandler(ChangeGraphId.class, new FederatedChangeGraphIdHandler());
     }
 
+    /**
+     * Statistics are not collected by a FederatedStore, as the elements it
+     * adds are passed on to each of its graphs. Each graph's store collects
+     * its own statistics if they are enabled for it.
+     *
+     * @return null
+     */
+    @Override
+    protected GraphStatistics createStatistics() {
+        return null;
+    }
+
     @Override
     protected OperationChainValidator createOperationChainValidator() {
         return new FederatedOperationChainValidator(new FederatedViewValidator());
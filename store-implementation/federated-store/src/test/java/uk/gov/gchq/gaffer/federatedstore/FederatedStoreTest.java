@@ -161,6 +161,20 @@ public class FederatedStoreTest {
         clearCache();
     }
 
+    @Test
+    public void shouldNotCollectStatisticsAsTheyAreCollectedByEachGraph() throws Exception {
+        // Given
+        federatedProperties.setStatisticsEnabled(true);
+        final FederatedStore statisticsStore = new FederatedStore();
+        statisticsStore.setGraphLibrary(library);
+
+        // When
+        statisticsStore.initialise(FEDERATED_STORE_ID, null, federatedProperties);
+
+        // Then
+        assertNull(statisticsStore.getStatistics());
+    }
+
     @Test
     public void shouldLoadGraphsWithIds() throws Exception {
         // When
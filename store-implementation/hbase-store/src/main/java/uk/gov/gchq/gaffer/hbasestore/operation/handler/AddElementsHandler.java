@@ -30,6 +30,7 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+import uk.gov.gchq.gaffer.store.util.IngestAggregatingIterable;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -41,6 +42,10 @@ import java.util.List;
  * To work around this issue, we need to aggregate elements within each batch before adding them to HBase.
  * Due to this, optimising the batch size could have a big impact on performance.
  * Configure the batch size using store property: hbase.writeBufferSize
+ * <p>
+ * If the store property gaffer.store.ingest.aggregation.window.size is set then
+ * elements are also aggregated across batches, in a bounded in memory window,
+ * to reduce the number of versions written for frequently repeated elements.
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     @Override
@@ -59,7 +64,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
 
         try {
             final Table table = store.getTable();
-            final Iterator<? extends Element> elements = addElementsOperation.getInput().iterator();
+            final Iterator<? extends Element> elements = preAggregate(addElementsOperation.getInput(), store).iterator();
             final ElementSerialisation serialisation = new ElementSerialisation(store.getSchema());
             final int batchSize = store.getProperties().getWriteBufferSize();
             List<Put> puts = new ArrayList<>(batchSize);
@@ -97,6 +102,16 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
+    // Wraps the elements in an ingest aggregation window, if one is configured,
+    // so repeated elements are combined before they are put.
+    private Iterable<? extends Element> preAggregate(final Iterable<? extends Element> elements, final HBaseStore store) {
+        final int windowSize = store.getProperties().getIngestAggregationWindowSize();
+        if (windowSize < 1) {
+            return elements;
+        }
+        return new IngestAggregatingIterable(elements, store.getSchema(), windowSize, store.getProperties().getIngestAggregationWindowMillis());
+    }
+
     private void executePuts(final Table table, final List<Put> puts) throws IOException {
         if (!puts.isEmpty()) {
             table.put(puts);
@@ -60,6 +60,7 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         LOGGER.info("Added {} of {} to job conf", MAPPER_GENERATOR, mapperGeneratorClassName);
         jobConf.set(VALIDATE, String.valueOf(operation.isValidate()));
         LOGGER.info("Added {} option of {} to job conf", VALIDATE, operation.isValidate());
+        setInMapperCombinerSize(jobConf, operation);
 
         Integer numTasks = operation.getNumMapTasks();
         if (null != numTasks) {
@@ -83,6 +84,7 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         setupMapper(job);
         setupOutput(job, operation, (HBaseStore) store);
         job.setSortComparatorClass(HBaseComparator.class);
+        setupCombiner(job);
         setupReducer(job);
     }
 
@@ -110,6 +112,10 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         job.setMapOutputValueClass(KeyValue.class);
     }
 
+    protected void setupCombiner(final Job job) {
+        job.setCombinerClass(AddElementsFromHdfsReducer.class);
+    }
+
     protected void setupReducer(final Job job) {
         job.setReducerClass(AddElementsFromHdfsReducer.class);
     }
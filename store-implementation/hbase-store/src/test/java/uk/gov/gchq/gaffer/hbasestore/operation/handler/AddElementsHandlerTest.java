@@ -174,6 +174,54 @@ public class AddElementsHandlerTest {
         assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
     }
 
+    @Test
+    public void shouldAggregateElementsInIngestAggregationWindow() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("vertex1")
+                    .property("prop1", "a")
+                    .property("count", 1)
+                    .build());
+        }
+        elements.add(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertex2")
+                .property("prop1", "a")
+                .property("count", 1)
+                .build());
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elements)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final HTable table = mock(HTable.class);
+        given(store.getTable()).willReturn(table);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setWriteBufferSize(10);
+        properties.setIngestAggregationWindowSize(10);
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA_WITH_AGGREGATION);
+
+        // When
+        handler.doOperation(addElements, context, store);
+
+        // Then
+        final ArgumentCaptor<List<Put>> putsCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+        verify(table).put(putsCaptor.capture());
+        final List<Element> elementsAdded = CellUtil.getElements(putsCaptor.getValue(), new ElementSerialisation(SCHEMA_WITH_AGGREGATION), false);
+        assertEquals(2, elementsAdded.size());
+        assertEquals(3, elementsAdded.get(0).getProperty("count"));
+        assertEquals(1, elementsAdded.get(1).getProperty("count"));
+    }
+
     @Test
     public void shouldDoNothingIfNoElementsProvided() throws OperationException, StoreException, IOException {
         // Given
@@ -105,6 +105,7 @@ public class HBaseAddElementsFromHdfsJobFactoryTest {
         verify(job).setMapOutputKeyClass(ImmutableBytesWritable.class);
         verify(job).setMapOutputValueClass(KeyValue.class);
 
+        verify(job).setCombinerClass(AddElementsFromHdfsReducer.class);
         verify(job).setReducerClass(AddElementsFromHdfsReducer.class);
         verify(job).setOutputKeyClass(ImmutableBytesWritable.class);
         verify(job).setOutputValueClass(KeyValue.class);
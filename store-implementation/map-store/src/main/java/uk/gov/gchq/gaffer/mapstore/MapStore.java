@@ -28,6 +28,7 @@ import uk.gov.gchq.gaffer.mapstore.impl.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.MapImpl;
+import uk.gov.gchq.gaffer.mapstore.impl.MapSnapshot;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
@@ -44,9 +45,14 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetAllJobDetailsHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An implementation of {@link Store} that uses any class that implements Java's {@link java.util.Map} interface to
@@ -57,6 +63,12 @@ import java.util.Set;
  * from a new {@link Element} with existing properties.
  * </p>
  * <p>
+ * If the schema has a visibility property then it is also part of the key, so {@link Element}s with different
+ * visibilities are stored and aggregated separately. Unlike the Accumulo store, they are not merged when read, so a
+ * user who can see several visibilities gets one {@link Element} for each visibility rather than a single
+ * {@link Element} with the visibilities aggregated.
+ * </p>
+ * <p>
  * Indices can optionally be maintained to allow quick look-up of {@link Element}s based on {@link EntityId}s
  * or {@link uk.gov.gchq.gaffer.data.element.id.EdgeId}s.
  * </p>
@@ -68,10 +80,14 @@ public class MapStore extends Store {
             StoreTrait.POST_AGGREGATION_FILTERING,
             StoreTrait.TRANSFORMATION,
             StoreTrait.POST_TRANSFORMATION_FILTERING,
-            StoreTrait.MATCHED_VERTEX));
+            StoreTrait.MATCHED_VERTEX,
+            StoreTrait.VISIBILITY));
     private static final Logger LOGGER = LoggerFactory.getLogger(MapStore.class);
     private static MapImpl staticMapImpl;
     private MapImpl mapImpl;
+    private MapSnapshot snapshot;
+    private ScheduledFuture<?> snapshotTask;
+    private ForkJoinPool readPool;
 
     public static void resetStaticMap() {
         staticMapImpl = null;
@@ -79,17 +95,87 @@ public class MapStore extends Store {
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
+        // Release the resources from any previous initialisation
+        close();
+
         // Initialise store
         super.initialise(graphId, schema, properties);
 
         // Initialise maps
         mapImpl = createMapImpl();
+
+        // Load the snapshot and schedule new snapshots
+        snapshot = createSnapshot();
+        if (null != snapshot) {
+            snapshot.load(this);
+            scheduleSnapshots();
+        }
     }
 
     public MapImpl getMapImpl() {
         return mapImpl;
     }
 
+    /**
+     * @return the snapshot for this store, or null if snapshots are not
+     * enabled.
+     */
+    public MapSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Writes a snapshot of the map, replacing the previous snapshot.
+     *
+     * @throws StoreException if snapshots are not enabled or the snapshot
+     *                        could not be written
+     */
+    public void writeSnapshot() throws StoreException {
+        if (null == snapshot) {
+            throw new StoreException("Snapshots are not enabled, set " + MapStoreProperties.SNAPSHOT_DIRECTORY + " to enable them");
+        }
+        snapshot.write(mapImpl);
+    }
+
+    /**
+     * Stops writing scheduled snapshots, closes the ingest log and shuts down
+     * the pool used for parallel reads and any executors owned by the
+     * operation handlers. The store is closed automatically if it is
+     * initialised again.
+     *
+     * @throws StoreException if the ingest log could not be closed
+     */
+    public void close() throws StoreException {
+        synchronized (this) {
+            if (null != readPool) {
+                readPool.shutdown();
+                readPool = null;
+            }
+        }
+        if (null != snapshotTask) {
+            snapshotTask.cancel(false);
+            snapshotTask = null;
+        }
+        closeOperationHandlers();
+        if (null != snapshot) {
+            snapshot.close();
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Gets the pool used for parallel reads. The pool is created when it is
+     * first required, with the parallelism from the store properties.
+     *
+     * @return the pool for parallel reads
+     */
+    public synchronized ForkJoinPool getReadPool() {
+        if (null == readPool) {
+            readPool = new ForkJoinPool(Math.max(1, getProperties().getReadParallelism()));
+        }
+        return readPool;
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -119,6 +205,39 @@ public class MapStore extends Store {
         return new MapImpl(getSchema(), getProperties());
     }
 
+    protected MapSnapshot createSnapshot() {
+        final String directory = getProperties().getSnapshotDirectory();
+        if (null == directory) {
+            return null;
+        }
+
+        return new MapSnapshot(getSchema(), Paths.get(directory), getProperties().isSnapshotIngestLog());
+    }
+
+    private void scheduleSnapshots() {
+        final long interval = getProperties().getSnapshotIntervalSeconds();
+        if (interval < 1) {
+            return;
+        }
+
+        final ScheduledExecutorService executorService = getExecutorService();
+        if (null == executorService) {
+            LOGGER.warn("Unable to schedule snapshots as the executor service is not enabled");
+            return;
+        }
+
+        LOGGER.info("Writing snapshots to {} every {} seconds", snapshot.getDirectory(), interval);
+        final MapSnapshot scheduledSnapshot = snapshot;
+        final MapImpl scheduledMapImpl = mapImpl;
+        snapshotTask = executorService.scheduleAtFixedRate(() -> {
+            try {
+                scheduledSnapshot.write(scheduledMapImpl);
+            } catch (final StoreException e) {
+                LOGGER.error("Failed to write snapshot", e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(CountAllElementsDefaultView.class, new CountAllElementsDefaultViewHandler());
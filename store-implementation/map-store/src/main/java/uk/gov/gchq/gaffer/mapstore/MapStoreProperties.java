@@ -47,6 +47,56 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the directory to write snapshots of the map to. If a
+     * snapshot exists in the directory it is loaded when the store is
+     * initialised. If this is not set then snapshots are disabled.
+     */
+    public static final String SNAPSHOT_DIRECTORY = "gaffer.store.mapstore.snapshot.directory";
+
+    /**
+     * Property name for the number of seconds between snapshots. If the value
+     * is less than 1 then snapshots are only written on request.
+     */
+    public static final String SNAPSHOT_INTERVAL_SECONDS = "gaffer.store.mapstore.snapshot.interval.seconds";
+    public static final long SNAPSHOT_INTERVAL_SECONDS_DEFAULT = 0;
+
+    /**
+     * Property name for enabling the ingest log. If enabled, the elements
+     * added since the last snapshot are appended to a log in the snapshot
+     * directory, so they are not lost when the store is restarted.
+     */
+    public static final String SNAPSHOT_INGEST_LOG = "gaffer.store.mapstore.snapshot.ingest.log";
+    public static final String SNAPSHOT_INGEST_LOG_DEFAULT = "false";
+
+    /**
+     * Property name for enabling parallel reads. If enabled, GetAllElements
+     * and GetElements filter, transform and clone the elements in parallel.
+     * This can be overridden for a single query using the
+     * {@link uk.gov.gchq.gaffer.mapstore.impl.ParallelReadUtil#OPTION_PARALLEL}
+     * operation option.
+     */
+    public static final String PARALLEL_READS = "gaffer.store.mapstore.read.parallel";
+    public static final String PARALLEL_READS_DEFAULT = "false";
+
+    /**
+     * Property name for whether parallel reads return the elements in the
+     * same order as sequential reads. Unordered reads return each element as
+     * soon as it is ready. Ordered reads hold the elements that are ready
+     * but not yet next in order, so their memory use is not bounded. This can
+     * be overridden for a single query using the
+     * {@link uk.gov.gchq.gaffer.mapstore.impl.ParallelReadUtil#OPTION_ORDERED}
+     * operation option.
+     */
+    public static final String PARALLEL_READS_ORDERED = "gaffer.store.mapstore.read.parallel.ordered";
+    public static final String PARALLEL_READS_ORDERED_DEFAULT = "false";
+
+    /**
+     * Property name for the number of threads used for parallel reads. If
+     * this is not set then the number of available processors is used.
+     */
+    public static final String READ_PARALLELISM = "gaffer.store.mapstore.read.parallelism";
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -120,4 +170,62 @@ public class MapStoreProperties extends StoreProperties {
     public void setStaticMap(final boolean staticMap) {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
+
+    public String getSnapshotDirectory() {
+        return get(SNAPSHOT_DIRECTORY);
+    }
+
+    public void setSnapshotDirectory(final String snapshotDirectory) {
+        set(SNAPSHOT_DIRECTORY, snapshotDirectory);
+    }
+
+    public long getSnapshotIntervalSeconds() {
+        final String interval = get(SNAPSHOT_INTERVAL_SECONDS, null);
+        if (null == interval) {
+            return SNAPSHOT_INTERVAL_SECONDS_DEFAULT;
+        }
+
+        return Long.parseLong(interval);
+    }
+
+    public void setSnapshotIntervalSeconds(final long snapshotIntervalSeconds) {
+        set(SNAPSHOT_INTERVAL_SECONDS, String.valueOf(snapshotIntervalSeconds));
+    }
+
+    public boolean isSnapshotIngestLog() {
+        return Boolean.parseBoolean(get(SNAPSHOT_INGEST_LOG, SNAPSHOT_INGEST_LOG_DEFAULT));
+    }
+
+    public void setSnapshotIngestLog(final boolean snapshotIngestLog) {
+        set(SNAPSHOT_INGEST_LOG, Boolean.toString(snapshotIngestLog));
+    }
+
+    public boolean isParallelReads() {
+        return Boolean.parseBoolean(get(PARALLEL_READS, PARALLEL_READS_DEFAULT));
+    }
+
+    public void setParallelReads(final boolean parallelReads) {
+        set(PARALLEL_READS, Boolean.toString(parallelReads));
+    }
+
+    public boolean isParallelReadsOrdered() {
+        return Boolean.parseBoolean(get(PARALLEL_READS_ORDERED, PARALLEL_READS_ORDERED_DEFAULT));
+    }
+
+    public void setParallelReadsOrdered(final boolean parallelReadsOrdered) {
+        set(PARALLEL_READS_ORDERED, Boolean.toString(parallelReadsOrdered));
+    }
+
+    public int getReadParallelism() {
+        final String parallelism = get(READ_PARALLELISM, null);
+        if (null == parallelism) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        return Integer.parseInt(parallelism);
+    }
+
+    public void setReadParallelism(final int readParallelism) {
+        set(READ_PARALLELISM, String.valueOf(readParallelism));
+    }
 }
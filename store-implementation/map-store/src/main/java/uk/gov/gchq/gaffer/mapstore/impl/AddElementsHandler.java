@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.ValidatedElements;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -53,29 +54,56 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             elements = new ValidatedElements(elements, store.getSchema(), addElements.isSkipInvalidElements());
         }
 
-        addElements(elements, (MapStore) store);
+        addElements(elements, (MapStore) store, true);
         return null;
     }
 
-    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore) {
+    /**
+     * Adds the elements to the store's map. Elements are not added while a
+     * snapshot of the map is being written.
+     *
+     * @param elements the elements to add
+     * @param mapStore the store
+     * @param log      if true, and the store has an ingest log, the elements
+     *                 are also written to the ingest log
+     * @throws OperationException if the elements could not be logged
+     */
+    void addElements(final Iterable<? extends Element> elements, final MapStore mapStore, final boolean log) throws OperationException {
         final MapImpl mapImpl = mapStore.getMapImpl();
+        final MapSnapshot snapshot = log ? mapStore.getSnapshot() : null;
+        synchronized (mapImpl) {
+            try {
+                addElements(elements, mapStore, mapImpl, snapshot);
+                if (null != snapshot) {
+                    snapshot.flush();
+                }
+            } catch (final StoreException e) {
+                throw new OperationException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void addElements(final Iterable<? extends Element> elements, final MapStore mapStore,
+                             final MapImpl mapImpl, final MapSnapshot snapshot) throws StoreException {
         final Schema schema = mapStore.getSchema();
 
         final int bufferSize = mapStore.getProperties().getIngestBufferSize();
 
         if (bufferSize < 1) {
             // Add all elements directly
-            addBatch(mapImpl, schema, elements);
+            addBatch(mapImpl, schema, elements, snapshot, false);
         } else {
             LOGGER.info("Adding elements in batches, batch size = " + bufferSize);
             int count = 0;
             final List<Element> batch = new ArrayList<>(bufferSize);
             for (final Element element : elements) {
                 if (null != element) {
-                    batch.add(element);
+                    // The batch is aggregated in place, so copy the elements
+                    // to avoid modifying the properties of the input elements.
+                    batch.add(mapImpl.isAggregationEnabled(element) ? mapImpl.cloneElement(element, schema) : element);
                     count++;
                     if (count >= bufferSize) {
-                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema), snapshot, true);
                         batch.clear();
                         count = 0;
                     }
@@ -83,15 +111,19 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             if (count > 0) {
-                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema), snapshot, true);
             }
         }
     }
 
-    private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
+    private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements,
+                          final MapSnapshot snapshot, final boolean copied) throws StoreException {
         for (final Element element : elements) {
             if (null != element) {
-                final Element elementForIndexing = addElement(element, schema, mapImpl);
+                if (null != snapshot) {
+                    snapshot.log(element);
+                }
+                final Element elementForIndexing = addElement(element, schema, mapImpl, copied);
 
                 // Update entityIdToElements and edgeIdToElements if index required
                 if (mapImpl.isMaintainIndex()) {
@@ -101,12 +133,14 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
     }
 
-    private Element addElement(final Element element, final Schema schema, final MapImpl mapImpl) {
+    private Element addElement(final Element element, final Schema schema, final MapImpl mapImpl, final boolean copied) {
         final Element elementForIndexing;
         if (!mapImpl.isAggregationEnabled(element)) {
             elementForIndexing = addNonAggElement(element, schema, mapImpl);
         } else {
-            elementForIndexing = addAggElement(element, mapImpl);
+            // The stored properties are aggregated in place, so they must
+            // not be shared with the input element.
+            elementForIndexing = addAggElement(copied ? element : mapImpl.cloneElement(element, schema), mapImpl);
         }
         return elementForIndexing;
     }
@@ -160,6 +194,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
 
             final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
             mapImpl.addIndex(edgeId, edge);
+
+            mapImpl.addAdjacency(edge);
         }
     }
 }
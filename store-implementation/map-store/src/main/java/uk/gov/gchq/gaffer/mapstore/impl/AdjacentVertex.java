@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import uk.gov.gchq.gaffer.data.element.id.EdgeId.MatchedVertex;
+
+/**
+ * An {@code AdjacentVertex} is an entry in the adjacency index of a
+ * {@link MapImpl}. It records that a vertex is connected to this adjacent
+ * vertex by an edge, along with the direction of the edge and its visibility,
+ * so adjacent vertices can be found without looking up the edges themselves.
+ */
+public class AdjacentVertex {
+    private final Object vertex;
+    private final boolean directed;
+    private final MatchedVertex matchedVertex;
+    private final Object visibility;
+
+    /**
+     * @param vertex        the adjacent vertex
+     * @param directed      true if the edge is directed
+     * @param matchedVertex the end of the edge that the indexed vertex is,
+     *                      so SOURCE means the edge is outgoing from the
+     *                      indexed vertex if it is directed
+     * @param visibility    the visibility of the edge, or null
+     */
+    public AdjacentVertex(final Object vertex, final boolean directed, final MatchedVertex matchedVertex, final Object visibility) {
+        this.vertex = vertex;
+        this.directed = directed;
+        this.matchedVertex = matchedVertex;
+        this.visibility = visibility;
+    }
+
+    public Object getVertex() {
+        return vertex;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public MatchedVertex getMatchedVertex() {
+        return matchedVertex;
+    }
+
+    public Object getVisibility() {
+        return visibility;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final AdjacentVertex that = (AdjacentVertex) obj;
+        return new EqualsBuilder()
+                .append(directed, that.directed)
+                .append(vertex, that.vertex)
+                .append(matchedVertex, that.matchedVertex)
+                .append(visibility, that.visibility)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(vertex)
+                .append(directed)
+                .append(matchedVertex)
+                .append(visibility)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("vertex", vertex)
+                .append("directed", directed)
+                .append("matchedVertex", matchedVertex)
+                .append("visibility", visibility)
+                .toString();
+    }
+}
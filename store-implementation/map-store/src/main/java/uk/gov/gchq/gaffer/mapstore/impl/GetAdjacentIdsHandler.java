@@ -25,52 +25,149 @@ import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * An {@link OutputOperationHandler} for the {@link GetAdjacentIds} operation on the {@link MapStore}.
+ * <p>
+ * If none of the edge groups in the view have any filters or transformers
+ * then the adjacent vertices are read directly from the adjacency index of
+ * the {@link MapImpl}, without looking up, aggregating or cloning the edges.
+ * Large collections of seeds are looked up in parallel.
+ * </p>
  */
 public class GetAdjacentIdsHandler implements
         OutputOperationHandler<GetAdjacentIds, CloseableIterable<? extends EntityId>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(GetAdjacentIds.class);
 
+    /**
+     * The minimum number of seeds for the adjacency index to be queried in parallel.
+     */
+    public static final int PARALLEL_LOOKUP_THRESHOLD = 1000;
+
     @Override
     public CloseableIterable<? extends EntityId> doOperation(final GetAdjacentIds operation,
                                                              final Context context,
                                                              final Store store) throws OperationException {
-        return doOperation(operation, (MapStore) store);
+        return doOperation(operation, context, (MapStore) store);
     }
 
     private CloseableIterable<EntityId> doOperation(final GetAdjacentIds operation,
+                                                    final Context context,
                                                     final MapStore mapStore) throws OperationException {
         if (null == operation.getInput() || !operation.getInput().iterator().hasNext()) {
             return new EmptyClosableIterable<>();
         }
-        return new EntityIdIterable(mapStore.getMapImpl(), operation, mapStore.getSchema());
+        if (isAdjacencyOnly(operation, mapStore.getMapImpl())) {
+            return getAdjacentVertices(mapStore.getMapImpl(), operation, mapStore.getSchema(), context.getUser());
+        }
+        return new EntityIdIterable(mapStore.getMapImpl(), operation, mapStore.getSchema(), context.getUser());
+    }
+
+    private static boolean isAdjacencyOnly(final GetAdjacentIds operation, final MapImpl mapImpl) {
+        if (!mapImpl.isMaintainIndex()) {
+            return false;
+        }
+
+        for (final String group : operation.getView().getEdgeGroups()) {
+            final ViewElementDefinition ved = operation.getView().getEdge(group);
+            if (ved.hasPreAggregationFilters()
+                    || ved.hasPostAggregationFilters()
+                    || null != ved.getTransformer()
+                    || ved.hasPostTransformFilters()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CloseableIterable<EntityId> getAdjacentVertices(final MapImpl mapImpl,
+                                                                   final GetAdjacentIds operation,
+                                                                   final Schema schema,
+                                                                   final User user) {
+        final Set<String> groups = operation.getView().getEdgeGroups();
+        final Predicate<AdjacentVertex> isIncluded = getAdjacentVertexFilter(operation, schema, user);
+        final Function<EntityId, Stream<EntityId>> lookup = entityId -> groups.stream()
+                .flatMap(group -> mapImpl.lookupAdjacentVertices(entityId.getVertex(), group).stream())
+                .filter(isIncluded)
+                .map(adjacentVertex -> new EntitySeed(adjacentVertex.getVertex()));
+
+        final Iterable<? extends EntityId> input = operation.getInput();
+        if (input instanceof Collection && ((Collection) input).size() >= PARALLEL_LOOKUP_THRESHOLD) {
+            final List<EntityId> results = ((Collection<? extends EntityId>) input).parallelStream()
+                    .flatMap(lookup)
+                    .collect(Collectors.toList());
+            return new WrappedCloseableIterable<>(results);
+        }
+
+        return new WrappedCloseableIterable<>(() -> Streams.toStream(input)
+                .flatMap(lookup)
+                .iterator());
+    }
+
+    private static Predicate<AdjacentVertex> getAdjacentVertexFilter(final GetAdjacentIds operation,
+                                                                     final Schema schema,
+                                                                     final User user) {
+        Predicate<AdjacentVertex> isIncluded = adjacentVertex -> true;
+
+        final DirectedType directedType = operation.getDirectedType();
+        if (DirectedType.DIRECTED == directedType) {
+            isIncluded = isIncluded.and(AdjacentVertex::isDirected);
+        } else if (DirectedType.UNDIRECTED == directedType) {
+            isIncluded = isIncluded.and(adjacentVertex -> !adjacentVertex.isDirected());
+        }
+
+        final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
+        if (IncludeIncomingOutgoingType.INCOMING == inOutType) {
+            isIncluded = isIncluded.and(adjacentVertex -> !adjacentVertex.isDirected()
+                    || EdgeId.MatchedVertex.DESTINATION == adjacentVertex.getMatchedVertex());
+        } else if (IncludeIncomingOutgoingType.OUTGOING == inOutType) {
+            isIncluded = isIncluded.and(adjacentVertex -> !adjacentVertex.isDirected()
+                    || EdgeId.MatchedVertex.SOURCE == adjacentVertex.getMatchedVertex());
+        }
+
+        final Predicate<Object> isVisible = GetElementsUtil.getVisibilityValueFilter(schema, user);
+        if (null != isVisible) {
+            isIncluded = isIncluded.and(adjacentVertex -> isVisible.test(adjacentVertex.getVisibility()));
+        }
+
+        return isIncluded;
     }
 
     private static class EntityIdIterable extends WrappedCloseableIterable<EntityId> {
         private final MapImpl mapImpl;
         private final GetAdjacentIds getAdjacentIds;
         private final Schema schema;
+        private final User user;
 
-        EntityIdIterable(final MapImpl mapImpl, final GetAdjacentIds getAdjacentIds, final Schema schema) {
+        EntityIdIterable(final MapImpl mapImpl, final GetAdjacentIds getAdjacentIds, final Schema schema, final User user) {
             this.mapImpl = mapImpl;
             this.getAdjacentIds = getAdjacentIds;
             this.schema = schema;
+            this.user = user;
         }
 
         @Override
@@ -79,9 +176,10 @@ public class GetAdjacentIdsHandler implements
             // Create full Element
             // Apply view
             // Extract adjacent vertices
+            final Predicate<Element> isVisible = GetElementsUtil.getVisibilityFilter(schema, user);
             Stream<Element> elementStream = Streams.toStream(getAdjacentIds.getInput())
                     .flatMap(entityId ->
-                            GetElementsUtil.getRelevantElements(mapImpl, entityId, getAdjacentIds.getView(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED)
+                            GetElementsUtil.getRelevantElements(mapImpl, entityId, getAdjacentIds.getView(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED, isVisible)
                                     .stream()
                                     .map(mapImpl::getAggElement));
 
@@ -18,7 +18,6 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
@@ -28,6 +27,7 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
 import java.util.stream.Stream;
 
@@ -40,35 +40,41 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
     public CloseableIterable<? extends Element> doOperation(final GetAllElements operation,
                                                             final Context context,
                                                             final Store store) throws OperationException {
-        return doOperation(operation, (MapStore) store);
+        return doOperation(operation, context, (MapStore) store);
     }
 
-    private CloseableIterable<Element> doOperation(final GetAllElements operation, final MapStore mapStore) {
-        return new AllElementsIterable(mapStore.getMapImpl(), operation, mapStore.getSchema());
+    private CloseableIterable<Element> doOperation(final GetAllElements operation, final Context context, final MapStore mapStore) {
+        return new AllElementsIterable(mapStore, operation, context.getUser());
     }
 
     private static class AllElementsIterable extends WrappedCloseableIterable<Element> {
+        private final MapStore mapStore;
         private final MapImpl mapImpl;
         private final GetAllElements getAllElements;
         private final Schema schema;
+        private final User user;
 
-        AllElementsIterable(final MapImpl mapImpl, final GetAllElements getAllElements, final Schema schema) {
-            this.mapImpl = mapImpl;
+        AllElementsIterable(final MapStore mapStore, final GetAllElements getAllElements, final User user) {
+            this.mapStore = mapStore;
+            this.mapImpl = mapStore.getMapImpl();
             this.getAllElements = getAllElements;
-            this.schema = schema;
+            this.schema = mapStore.getSchema();
+            this.user = user;
         }
 
         @Override
         public CloseableIterator<Element> iterator() {
-            Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups());
+            final boolean parallel = ParallelReadUtil.isParallel(getAllElements, mapStore);
+            Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups(), GetElementsUtil.getVisibilityFilter(schema, user), parallel);
             elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView(), parallel);
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
+            elements = GetElementsUtil.applyDefaultVisibility(elements, schema);
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getAllElements.getView(), element);
                 return element;
             });
-            return new WrappedCloseableIterator<>(elements.iterator());
+            return ParallelReadUtil.toIterator(elements, parallel, ParallelReadUtil.isOrdered(getAllElements, mapStore), mapStore);
         }
     }
 }
@@ -19,7 +19,6 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
@@ -31,7 +30,9 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -44,10 +45,11 @@ public class GetElementsHandler
     public CloseableIterable<Element> doOperation(final GetElements operation,
                                                   final Context context,
                                                   final Store store) throws OperationException {
-        return doOperation(operation, (MapStore) store);
+        return doOperation(operation, context, (MapStore) store);
     }
 
     private CloseableIterable<Element> doOperation(final GetElements operation,
+                                                   final Context context,
                                                    final MapStore mapStore) throws OperationException {
         final MapImpl mapImpl = mapStore.getMapImpl();
         if (!mapImpl.isMaintainIndex()) {
@@ -57,32 +59,42 @@ public class GetElementsHandler
         if (null == seeds) {
             return new EmptyClosableIterable<>();
         }
-        return new ElementsIterable(mapImpl, operation, mapStore.getSchema());
+        return new ElementsIterable(mapStore, operation, context.getUser());
     }
 
     private static class ElementsIterable extends WrappedCloseableIterable<Element> {
+        private final MapStore mapStore;
         private final MapImpl mapImpl;
         private final GetElements getElements;
         private final Schema schema;
+        private final User user;
 
-        ElementsIterable(final MapImpl mapImpl, final GetElements getElements, final Schema schema) {
-            this.mapImpl = mapImpl;
+        ElementsIterable(final MapStore mapStore, final GetElements getElements, final User user) {
+            this.mapStore = mapStore;
+            this.mapImpl = mapStore.getMapImpl();
             this.getElements = getElements;
-            this.schema = schema;
+            this.schema = mapStore.getSchema();
+            this.user = user;
         }
 
         @Override
         public CloseableIterator<Element> iterator() {
-            Stream<Element> elements = Streams.toStream(getElements.getInput())
-                    .flatMap(elementId -> GetElementsUtil.getRelevantElements(mapImpl, elementId, getElements.getView(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching()).stream());
+            final boolean parallel = ParallelReadUtil.isParallel(getElements, mapStore);
+            final Predicate<Element> isVisible = GetElementsUtil.getVisibilityFilter(schema, user);
+            final Stream<? extends ElementId> seeds = parallel
+                    ? Streams.toParallelStream(getElements.getInput())
+                    : Streams.toStream(getElements.getInput());
+            Stream<Element> elements = seeds
+                    .flatMap(elementId -> GetElementsUtil.getRelevantElements(mapImpl, elementId, getElements.getView(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching(), isVisible).stream());
             elements = elements.flatMap(e -> Streams.toStream(mapImpl.getElements(e)));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, getElements.getView(), parallel);
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
+            elements = GetElementsUtil.applyDefaultVisibility(elements, schema);
             elements = elements.map(element -> {
                 ViewUtil.removeProperties(getElements.getView(), element);
                 return element;
             });
-            return new WrappedCloseableIterator<>(elements.iterator());
+            return ParallelReadUtil.toIterator(elements, parallel, ParallelReadUtil.isOrdered(getElements, mapStore), mapStore);
         }
     }
 }
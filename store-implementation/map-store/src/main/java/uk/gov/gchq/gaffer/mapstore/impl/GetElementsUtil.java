@@ -16,6 +16,12 @@
 
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -31,12 +37,14 @@ import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -44,6 +52,7 @@ import java.util.stream.Stream;
  * operations in the {@link uk.gov.gchq.gaffer.mapstore.MapStore}.
  */
 public final class GetElementsUtil {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GetElementsUtil.class);
 
     private GetElementsUtil() {
         // Private constructor to prevent instantiation.
@@ -54,11 +63,15 @@ public final class GetElementsUtil {
                                                    final View view,
                                                    final DirectedType directedType,
                                                    final IncludeIncomingOutgoingType inOutType,
-                                                   final SeedMatchingType seedMatchingType) {
+                                                   final SeedMatchingType seedMatchingType,
+                                                   final Predicate<Element> isVisible) {
         final Set<Element> relevantElements;
 
         final Set<String> groups = view.getGroups();
         Predicate<Element> isFiltered = e -> !groups.contains(e.getGroup());
+        if (null != isVisible) {
+            isFiltered = isFiltered.or(isVisible.negate());
+        }
 
         if (elementId instanceof EntityId) {
             final Collection<Element> elements = mapImpl.lookup(new EntitySeed(((EntityId) elementId).getVertex()));
@@ -120,6 +133,78 @@ public final class GetElementsUtil {
         return relevantElements;
     }
 
+    /**
+     * Creates a predicate that tests whether the user is allowed to see an
+     * element, by evaluating the schema visibility property of the element
+     * against the user's data auths. Elements without a visibility are always
+     * visible. If the schema does not have a visibility property then null is
+     * returned, as no filtering is required.
+     * <p>
+     * The evaluation results are cached for each distinct visibility, so the
+     * cost per element is a map lookup.
+     * </p>
+     *
+     * @param schema the schema
+     * @param user   the user executing the query
+     * @return the visibility predicate, or null if the schema does not have
+     * a visibility property
+     */
+    public static Predicate<Element> getVisibilityFilter(final Schema schema, final User user) {
+        final Predicate<Object> isVisible = getVisibilityValueFilter(schema, user);
+        if (null == isVisible) {
+            return null;
+        }
+
+        final String visibilityProperty = schema.getVisibilityProperty();
+        return e -> isVisible.test(e.getProperty(visibilityProperty));
+    }
+
+    /**
+     * Creates a predicate that tests whether the user is allowed to see a
+     * visibility value, as held in the schema visibility property. A null
+     * visibility is always visible. If the schema does not have a visibility
+     * property then null is returned, as no filtering is required.
+     *
+     * @param schema the schema
+     * @param user   the user executing the query
+     * @return the visibility predicate, or null if the schema does not have
+     * a visibility property
+     */
+    public static Predicate<Object> getVisibilityValueFilter(final Schema schema, final User user) {
+        if (null == schema.getVisibilityProperty()) {
+            return null;
+        }
+
+        final Set<String> dataAuths = null != user ? user.getDataAuths() : Collections.emptySet();
+        final CachingVisibilityEvaluator evaluator = CachingVisibilityEvaluator.get(
+                new Authorisations(dataAuths.toArray(new String[dataAuths.size()])));
+        return visibility -> isVisible(visibility, evaluator);
+    }
+
+    /**
+     * Sets the visibility property of any elements that do not have a
+     * visibility to an empty string, so elements are returned in the same way
+     * as from the Accumulo store.
+     *
+     * @param elements the elements
+     * @param schema   the schema
+     * @return the elements, all with a visibility if the schema has one
+     */
+    public static Stream<Element> applyDefaultVisibility(final Stream<Element> elements, final Schema schema) {
+        final String visibilityProperty = schema.getVisibilityProperty();
+        if (null == visibilityProperty) {
+            return elements;
+        }
+
+        return elements.map(e -> {
+            if (null == e.getProperty(visibilityProperty)
+                    && schema.getElement(e.getGroup()).containsProperty(visibilityProperty)) {
+                e.putProperty(visibilityProperty, "");
+            }
+            return e;
+        });
+    }
+
     public static Stream<Element> applyDirectedTypeFilter(final Stream<Element> elements,
                                                           final boolean includeEdges,
                                                           final DirectedType directedType) {
@@ -137,6 +222,32 @@ public final class GetElementsUtil {
     public static Stream<Element> applyView(final Stream<Element> elementStream,
                                             final Schema schema,
                                             final View view) {
+        return applyView(elementStream, schema, view, false);
+    }
+
+    /**
+     * Applies the view to the elements. The filters and transformers in a
+     * view are not thread safe, so if the stream is parallel then each thread
+     * uses its own copy of the view.
+     *
+     * @param elementStream the elements
+     * @param schema        the schema
+     * @param view          the view to apply
+     * @param parallel      true if the stream is parallel
+     * @return the filtered and transformed elements
+     */
+    public static Stream<Element> applyView(final Stream<Element> elementStream,
+                                            final Schema schema,
+                                            final View view,
+                                            final boolean parallel) {
+        final Supplier<View> viewSupplier;
+        if (parallel) {
+            final ThreadLocal<View> threadView = ThreadLocal.withInitial(view::clone);
+            viewSupplier = threadView::get;
+        } else {
+            viewSupplier = () -> view;
+        }
+
         final Set<String> viewGroups = view.getGroups();
         Stream<Element> stream = elementStream;
         // Check group is valid
@@ -147,19 +258,19 @@ public final class GetElementsUtil {
 
         // Apply pre-aggregation filter
         stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            final ViewElementDefinition ved = viewSupplier.get().getElement(e.getGroup());
             return ved.getPreAggregationFilter() == null || ved.getPreAggregationFilter().test(e);
         });
 
         // Apply post-aggregation filter
         stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            final ViewElementDefinition ved = viewSupplier.get().getElement(e.getGroup());
             return ved.getPostAggregationFilter() == null || ved.getPostAggregationFilter().test(e);
         });
 
         // Apply transform
         stream = stream.map(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            final ViewElementDefinition ved = viewSupplier.get().getElement(e.getGroup());
             final ElementTransformer transformer = ved.getTransformer();
             if (transformer != null) {
                 transformer.apply(e);
@@ -169,10 +280,24 @@ public final class GetElementsUtil {
 
         // Apply post transform filter
         stream = stream.filter(e -> {
-            final ViewElementDefinition ved = view.getElement(e.getGroup());
+            final ViewElementDefinition ved = viewSupplier.get().getElement(e.getGroup());
             return ved.getPostTransformFilter() == null || ved.getPostTransformFilter().test(e);
         });
 
         return stream;
     }
+
+    // Elements with visibilities that cannot be parsed are treated as not visible.
+    private static boolean isVisible(final Object visibility, final CachingVisibilityEvaluator evaluator) {
+        if (null == visibility) {
+            return true;
+        }
+
+        try {
+            return evaluator.evaluate(visibility.toString());
+        } catch (final VisibilityParseException e) {
+            LOGGER.warn("Unable to parse visibility {}", visibility, e);
+            return false;
+        }
+    }
 }
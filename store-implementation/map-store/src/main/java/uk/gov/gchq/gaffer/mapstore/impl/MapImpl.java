@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
@@ -36,6 +37,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -59,6 +61,7 @@ public class MapImpl {
     public static final String NON_AGG_ELEMENTS = "nonAggElements";
     public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
     public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+    public static final String ADJACENCY = "adjacency";
 
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
@@ -82,6 +85,12 @@ public class MapImpl {
      */
     private final MultiMap<EdgeId, Element> edgeIdToElements;
 
+    /**
+     * adjacency maps from an Edge group to a map from a vertex to the vertices adjacent to it via edges
+     * in that group
+     */
+    private final Map<String, MultiMap<Object, AdjacentVertex>> adjacency = new HashMap<>();
+
     private final MapFactory mapFactory;
     private final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
     private final Map<String, Set<String>> groupToNonGroupByProperties = new HashMap<>();
@@ -105,6 +114,9 @@ public class MapImpl {
         if (maintainIndex) {
             entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
             edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+            for (final String group : schema.getEdgeGroups()) {
+                adjacency.put(group, mapFactory.getMultiMap(group + "|" + ADJACENCY, Object.class, AdjacentVertex.class));
+            }
         } else {
             entityIdToElements = null;
             edgeIdToElements = null;
@@ -121,6 +133,7 @@ public class MapImpl {
         if (maintainIndex) {
             entityIdToElements.clear();
             edgeIdToElements.clear();
+            adjacency.values().forEach(MultiMap::clear);
         }
     }
 
@@ -177,10 +190,16 @@ public class MapImpl {
     }
 
     Stream<Element> getAllAggElements(final Set<String> groups) {
-        return aggElements.entrySet().stream()
-                .filter(entry -> groups.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .flatMap(map -> map.entrySet().stream())
+        return getAllAggElements(groups, null);
+    }
+
+    Stream<Element> getAllAggElements(final Set<String> groups, final Predicate<Element> isVisible) {
+        return getAllAggElements(groups, isVisible, false);
+    }
+
+    Stream<Element> getAllAggElements(final Set<String> groups, final Predicate<Element> isVisible, final boolean parallel) {
+        return getEntries(aggElements, groups, parallel)
+                .filter(x -> null == isVisible || isVisible.test(x.getKey()))
                 .map(x -> {
                     final Element element = x.getKey().emptyClone();
                     element.copyProperties(x.getKey().getProperties());
@@ -190,16 +209,66 @@ public class MapImpl {
     }
 
     Stream<Element> getAllNonAggElements(final Set<String> groups) {
-        return nonAggElements.entrySet().stream()
-                .filter(entry -> groups.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .flatMap(map -> map.entrySet().stream())
+        return getAllNonAggElements(groups, null);
+    }
+
+    Stream<Element> getAllNonAggElements(final Set<String> groups, final Predicate<Element> isVisible) {
+        return getAllNonAggElements(groups, isVisible, false);
+    }
+
+    Stream<Element> getAllNonAggElements(final Set<String> groups, final Predicate<Element> isVisible, final boolean parallel) {
+        return getEntries(nonAggElements, groups, parallel)
+                .filter(x -> null == isVisible || isVisible.test(x.getKey()))
                 .map(x -> new RepeatItemIterable<>(cloneElement(x.getKey(), schema), x.getValue()))
                 .flatMap(Streams::toStream);
     }
 
     Stream<Element> getAllElements(final Set<String> groups) {
-        return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
+        return getAllElements(groups, null);
+    }
+
+    /**
+     * Gets all the elements in the provided groups that pass the visibility
+     * predicate. The visibility is part of the key of both the aggregated and
+     * non aggregated elements, so the predicate is tested before the elements
+     * are built and cloned.
+     *
+     * @param groups    the groups to return
+     * @param isVisible the visibility predicate, or null to return all elements
+     * @return the elements
+     */
+    Stream<Element> getAllElements(final Set<String> groups, final Predicate<Element> isVisible) {
+        return getAllElements(groups, isVisible, false);
+    }
+
+    /**
+     * Gets all the elements in the provided groups that pass the visibility
+     * predicate. If parallel, the map for each group is split into chunks
+     * that are read in parallel.
+     *
+     * @param groups    the groups to return
+     * @param isVisible the visibility predicate, or null to return all elements
+     * @param parallel  true to return a parallel stream
+     * @return the elements
+     */
+    Stream<Element> getAllElements(final Set<String> groups, final Predicate<Element> isVisible, final boolean parallel) {
+        return Stream.concat(getAllAggElements(groups, isVisible, parallel), getAllNonAggElements(groups, isVisible, parallel));
+    }
+
+    private static <K, V> Stream<Map.Entry<K, V>> getEntries(final Map<String, Map<K, V>> groupMaps,
+                                                            final Set<String> groups,
+                                                            final boolean parallel) {
+        final Stream<Map<K, V>> maps = groupMaps.entrySet().stream()
+                .filter(entry -> groups.contains(entry.getKey()))
+                .map(Map.Entry::getValue);
+        if (!parallel) {
+            return maps.flatMap(map -> map.entrySet().stream());
+        }
+
+        // flatMap does not split the inner streams, so concatenate the parallel stream of each map instead
+        return maps.map(map -> map.entrySet().parallelStream())
+                .reduce(Stream::concat)
+                .orElseGet(Stream::empty);
     }
 
     void addIndex(final EntityId entityId, final Element element) {
@@ -210,6 +279,28 @@ public class MapImpl {
         edgeIdToElements.put(edgeId, element);
     }
 
+    void addAdjacency(final Edge edge) {
+        final MultiMap<Object, AdjacentVertex> groupAdjacency = adjacency.get(edge.getGroup());
+        if (null != groupAdjacency) {
+            final Object visibility = null != schema.getVisibilityProperty() ? edge.getProperty(schema.getVisibilityProperty()) : null;
+            groupAdjacency.put(edge.getSource(), new AdjacentVertex(edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE, visibility));
+            // A self loop is only indexed once, in the same way as the edge index
+            if (!edge.getSource().equals(edge.getDestination())) {
+                groupAdjacency.put(edge.getDestination(), new AdjacentVertex(edge.getSource(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, visibility));
+            }
+        }
+    }
+
+    Collection<AdjacentVertex> lookupAdjacentVertices(final Object vertex, final String group) {
+        final MultiMap<Object, AdjacentVertex> groupAdjacency = adjacency.get(group);
+        if (null == groupAdjacency) {
+            return Collections.emptySet();
+        }
+
+        final Collection<AdjacentVertex> results = groupAdjacency.get(vertex);
+        return null != results ? results : Collections.emptySet();
+    }
+
     boolean isMaintainIndex() {
         return maintainIndex;
     }
@@ -272,12 +363,15 @@ public class MapImpl {
 
     private void addToGroupByMap(final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
-        groupToGroupByProperties.put(group, sed.getGroupBy());
+        // The visibility is included in the group by so elements with
+        // different visibilities are stored separately.
+        final Set<String> groupBy = AggregatorUtil.getIngestGroupBy(group, schema);
+        groupToGroupByProperties.put(group, groupBy);
         if (!aggregatedGroups.contains(group)) {
             groupsWithNoAggregation.add(group);
         }
         final Set<String> nonGroupByProperties = new HashSet<>(sed.getProperties());
-        nonGroupByProperties.removeAll(sed.getGroupBy());
+        nonGroupByProperties.removeAll(groupBy);
         groupToNonGroupByProperties.put(group, nonGroupByProperties);
     }
 }
@@ -0,0 +1,422 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A {@code MapSnapshot} persists the contents of a {@link MapImpl} to a
+ * directory, so a {@link MapStore} can be restarted without re-ingesting all
+ * of its data.
+ * <p>
+ * A snapshot is a binary file containing every element, serialised using the
+ * schema serialisers. It is written to a temporary file which is then moved
+ * into place, so a failed write never corrupts the previous snapshot. If the
+ * ingest log is enabled then every element added after the last snapshot is
+ * also appended to a log file, which is cleared each time a snapshot is
+ * written.
+ * </p>
+ * <p>
+ * Each logged element is given a sequence number. The header of a snapshot
+ * holds the sequence number of the last logged element it contains, and the
+ * header of the ingest log holds the sequence number before its first
+ * element, so elements that are already in the snapshot are skipped when the
+ * log is replayed. This means the log is never replayed twice, even if the
+ * store stopped after a snapshot was written but before the log was cleared.
+ * </p>
+ * <p>
+ * When a store is initialised the snapshot is memory mapped and the elements
+ * are deserialised in parallel batches, then the ingest log is replayed.
+ * </p>
+ */
+public class MapSnapshot {
+    public static final String SNAPSHOT_FILE = "snapshot.bin";
+    public static final String INGEST_LOG_FILE = "ingest.log";
+    public static final int LOAD_BATCH_SIZE = 10000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapSnapshot.class);
+    private static final int MAGIC = 0x47414646;
+    private static final int VERSION = 2;
+    private static final int UNSEQUENCED_VERSION = 1;
+    private static final int END_OF_RECORDS = -1;
+
+    private final Schema schema;
+    private final Path directory;
+    private final boolean ingestLogEnabled;
+    private final ElementSerialiser serialiser;
+    private DataOutputStream ingestLog;
+    private long logSequence;
+
+    public MapSnapshot(final Schema schema, final Path directory, final boolean ingestLogEnabled) {
+        this.schema = schema;
+        this.directory = directory;
+        this.ingestLogEnabled = ingestLogEnabled;
+        this.serialiser = new ElementSerialiser(schema);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public boolean isIngestLogEnabled() {
+        return ingestLogEnabled;
+    }
+
+    /**
+     * Writes all of the elements in the map to a new snapshot, replacing the
+     * previous snapshot and clearing the ingest log. Elements cannot be added
+     * while the snapshot is being written.
+     *
+     * @param mapImpl the map to write
+     * @throws StoreException if the snapshot could not be written
+     */
+    public void write(final MapImpl mapImpl) throws StoreException {
+        final Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        final Path tmpFile = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        synchronized (mapImpl) {
+            long count = 0;
+            try {
+                Files.createDirectories(directory);
+                try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                    writeHeader(out, getLogSequence());
+                    final Iterator<Element> elements = mapImpl.getAllElements(schema.getGroups()).iterator();
+                    while (elements.hasNext()) {
+                        writeRecord(out, serialiser.serialise(elements.next()));
+                        count++;
+                    }
+                    out.writeInt(END_OF_RECORDS);
+                }
+                Files.move(tmpFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                clearIngestLog();
+            } catch (final IOException e) {
+                throw new StoreException("Failed to write snapshot to " + directory, e);
+            }
+            LOGGER.info("Written snapshot of {} elements to {}", count, snapshotFile);
+        }
+    }
+
+    /**
+     * Appends an element to the ingest log. This does nothing if the ingest
+     * log is not enabled.
+     *
+     * @param element the element to log
+     * @throws StoreException if the element could not be written to the log
+     */
+    public synchronized void log(final Element element) throws StoreException {
+        if (!ingestLogEnabled) {
+            return;
+        }
+
+        try {
+            if (null == ingestLog) {
+                ingestLog = openIngestLog();
+            }
+            writeRecord(ingestLog, serialiser.serialise(element));
+            logSequence++;
+        } catch (final IOException e) {
+            throw new StoreException("Failed to write element to the ingest log in " + directory, e);
+        }
+    }
+
+    /**
+     * Flushes any elements that have been logged to the ingest log file.
+     *
+     * @throws StoreException if the ingest log could not be flushed
+     */
+    public synchronized void flush() throws StoreException {
+        if (null != ingestLog) {
+            try {
+                ingestLog.flush();
+            } catch (final IOException e) {
+                throw new StoreException("Failed to flush the ingest log in " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot and then replays the ingest log into the store's
+     * map, skipping any logged elements that are already in the snapshot.
+     * Nothing is loaded if the map already contains elements, for example if
+     * it is a static map that has already been loaded, but the sequence
+     * number of the last logged element is still restored.
+     *
+     * @param store the store to load the elements into
+     * @throws StoreException if the snapshot or ingest log could not be read
+     */
+    public void load(final MapStore store) throws StoreException {
+        final MapImpl mapImpl = store.getMapImpl();
+        final boolean alreadyLoaded = mapImpl.countAggElements() > 0 || mapImpl.countNonAggElements() > 0;
+        if (alreadyLoaded) {
+            LOGGER.info("Map already contains elements, so the snapshot in {} will not be loaded", directory);
+        }
+
+        final Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        long snapshotCount = 0;
+        long snapshotSequence = 0;
+        if (Files.exists(snapshotFile)) {
+            try (final RecordReader reader = new RecordReader(snapshotFile)) {
+                snapshotSequence = reader.getSequence();
+                if (!alreadyLoaded) {
+                    snapshotCount = load(reader, 0, store);
+                }
+            } catch (final IOException e) {
+                throw new StoreException("Failed to read " + snapshotFile, e);
+            }
+        }
+
+        final Path logFile = directory.resolve(INGEST_LOG_FILE);
+        long logCount = 0;
+        long lastLogSequence = snapshotSequence;
+        if (Files.exists(logFile)) {
+            try (final RecordReader reader = new RecordReader(logFile)) {
+                // Skip the elements that were logged before the snapshot
+                final long skip = Math.max(0, snapshotSequence - reader.getSequence());
+                logCount = load(reader, alreadyLoaded ? Long.MAX_VALUE : skip, store);
+                lastLogSequence = Math.max(snapshotSequence, reader.getSequence() + reader.getCount());
+                if (!alreadyLoaded) {
+                    reader.truncate();
+                }
+            } catch (final IOException e) {
+                throw new StoreException("Failed to read " + logFile, e);
+            }
+        }
+
+        synchronized (this) {
+            logSequence = Math.max(logSequence, lastLogSequence);
+        }
+        if (!alreadyLoaded) {
+            LOGGER.info("Loaded {} elements from the snapshot and {} elements from the ingest log in {}", snapshotCount, logCount, directory);
+        }
+    }
+
+    public synchronized void close() throws StoreException {
+        if (null != ingestLog) {
+            try {
+                ingestLog.close();
+            } catch (final IOException e) {
+                throw new StoreException("Failed to close the ingest log in " + directory, e);
+            }
+            ingestLog = null;
+        }
+    }
+
+    private synchronized long getLogSequence() {
+        return logSequence;
+    }
+
+    // Loads the records after the first skip records in batches,
+    // deserialising each batch in parallel and then adding it to the map. All
+    // of the records are read, so the reader's count is the number of records.
+    private long load(final RecordReader reader, final long skip, final MapStore store) throws IOException, StoreException {
+        final AddElementsHandler handler = new AddElementsHandler();
+        long count = 0;
+        final List<byte[]> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        byte[] record = reader.next();
+        while (null != record) {
+            if (reader.getCount() > skip) {
+                batch.add(record);
+                if (batch.size() >= LOAD_BATCH_SIZE) {
+                    count += addBatch(batch, handler, store);
+                    batch.clear();
+                }
+            }
+            record = reader.next();
+        }
+        count += addBatch(batch, handler, store);
+        return count;
+    }
+
+    private int addBatch(final List<byte[]> batch, final AddElementsHandler handler, final MapStore store) throws StoreException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        final List<Element> elements = batch.parallelStream()
+                .map(this::deserialise)
+                .collect(Collectors.toList());
+        try {
+            handler.addElements(elements, store, false);
+        } catch (final OperationException e) {
+            throw new StoreException("Failed to add elements from " + directory, e);
+        }
+        return elements.size();
+    }
+
+    private Element deserialise(final byte[] bytes) {
+        try {
+            return serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("SerialisationException converting elements", e);
+        }
+    }
+
+    private DataOutputStream openIngestLog() throws IOException {
+        Files.createDirectories(directory);
+        final Path logFile = directory.resolve(INGEST_LOG_FILE);
+        final boolean isNew = !Files.exists(logFile) || 0 == Files.size(logFile);
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(logFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        if (isNew) {
+            writeHeader(out, logSequence);
+        }
+        return out;
+    }
+
+    private void clearIngestLog() throws IOException {
+        synchronized (this) {
+            if (null != ingestLog) {
+                ingestLog.close();
+                ingestLog = null;
+            }
+            Files.deleteIfExists(directory.resolve(INGEST_LOG_FILE));
+        }
+    }
+
+    private static void writeHeader(final DataOutputStream out, final long sequence) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sequence);
+    }
+
+    private static void writeRecord(final DataOutputStream out, final byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads the length prefixed records from a snapshot or ingest log file.
+     * The file is memory mapped in regions, so files larger than 2GB can be
+     * read. A truncated record at the end of the file, for example from an
+     * ingest log that was being written when the store stopped, is ignored
+     * and can be removed with {@link #truncate()}.
+     */
+    private static final class RecordReader implements Closeable {
+        private final Path file;
+        private final FileChannel channel;
+        private final long size;
+        private final long sequence;
+        private long regionStart;
+        private MappedByteBuffer region;
+        private long count;
+        private long end;
+
+        private RecordReader(final Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.size = channel.size();
+            map(0);
+            final int version = size < 2 * Integer.BYTES || MAGIC != region.getInt() ? -1 : region.getInt();
+            if (VERSION == version && size >= 2 * Integer.BYTES + Long.BYTES) {
+                sequence = region.getLong();
+            } else if (UNSEQUENCED_VERSION == version) {
+                sequence = 0;
+            } else {
+                channel.close();
+                throw new IOException(file + " is not a valid map store snapshot file");
+            }
+            end = region.position();
+        }
+
+        /**
+         * @return the sequence number from the header of the file
+         */
+        private long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * @return the number of records read so far
+         */
+        private long getCount() {
+            return count;
+        }
+
+        /**
+         * Removes anything after the last record read, so records appended to
+         * the file later are not hidden behind a truncated record.
+         */
+        private void truncate() throws IOException {
+            if (end < size) {
+                LOGGER.warn("Truncating {} to {} bytes", file, end);
+                try (final FileChannel writeChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    writeChannel.truncate(end);
+                }
+            }
+        }
+
+        private byte[] next() throws IOException {
+            final long position = regionStart + region.position();
+            if (size - position < Integer.BYTES) {
+                return null;
+            }
+            if (region.remaining() < Integer.BYTES) {
+                map(position);
+            }
+
+            final int length = region.getInt();
+            if (END_OF_RECORDS == length) {
+                return null;
+            }
+            if (length < 0 || size - position - Integer.BYTES < length) {
+                LOGGER.warn("Ignoring truncated record at position {} in {}", position, file);
+                return null;
+            }
+            if (region.remaining() < length) {
+                map(position + Integer.BYTES);
+            }
+
+            final byte[] bytes = new byte[length];
+            region.get(bytes);
+            count++;
+            end = regionStart + region.position();
+            return bytes;
+        }
+
+        private void map(final long position) throws IOException {
+            regionStart = position;
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(Integer.MAX_VALUE, size - position));
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
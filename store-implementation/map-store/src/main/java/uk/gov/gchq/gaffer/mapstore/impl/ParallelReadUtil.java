@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.operation.Operation;
+
+import java.util.stream.Stream;
+
+/**
+ * Utility methods for reading elements from the {@link MapStore} in parallel.
+ * <p>
+ * Parallel reads are enabled for all queries with the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStoreProperties#PARALLEL_READS} store
+ * property, or for a single query with the {@link #OPTION_PARALLEL} operation
+ * option. The operation options take precedence over the store properties.
+ * </p>
+ */
+public final class ParallelReadUtil {
+    /**
+     * Operation option to read the elements in parallel, either "true" or "false".
+     */
+    public static final String OPTION_PARALLEL = "gaffer.mapstore.operation.read.parallel";
+
+    /**
+     * Operation option to return the elements of a parallel read in the same
+     * order as a sequential read, either "true" or "false". Ordered reads
+     * can hold an unbounded number of elements in memory.
+     */
+    public static final String OPTION_ORDERED = "gaffer.mapstore.operation.read.parallel.ordered";
+
+    private ParallelReadUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static boolean isParallel(final Operation operation, final MapStore mapStore) {
+        final String parallel = operation.getOption(OPTION_PARALLEL);
+        return null != parallel ? Boolean.parseBoolean(parallel) : mapStore.getProperties().isParallelReads();
+    }
+
+    public static boolean isOrdered(final Operation operation, final MapStore mapStore) {
+        final String ordered = operation.getOption(OPTION_ORDERED);
+        return null != ordered ? Boolean.parseBoolean(ordered) : mapStore.getProperties().isParallelReadsOrdered();
+    }
+
+    /**
+     * Creates an iterator over the stream. If parallel, the stream is
+     * evaluated in parallel on the read pool of the store.
+     *
+     * @param stream   the stream
+     * @param parallel true if the stream should be evaluated in parallel
+     * @param ordered  true if a parallel stream should keep its encounter order
+     * @param mapStore the store
+     * @param <T>      the type of items in the stream
+     * @return the iterator
+     */
+    public static <T> CloseableIterator<T> toIterator(final Stream<T> stream,
+                                                      final boolean parallel,
+                                                      final boolean ordered,
+                                                      final MapStore mapStore) {
+        if (parallel) {
+            return new ParallelStreamIterator<>(stream, ordered, mapStore.getReadPool());
+        }
+        return new WrappedCloseableIterator<>(stream.iterator());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A {@code ParallelStreamIterator} evaluates a {@link Stream} in parallel on a
+ * {@link ForkJoinPool} and returns the results through a bounded buffer.
+ * <p>
+ * If unordered, each result is returned as soon as it is ready and the
+ * buffer limits the number of results held in memory. If ordered, the results
+ * are returned in the encounter order of the stream. The stream then holds
+ * the results that are ready but not yet next in order, so a slow part of the
+ * stream can cause an unbounded number of results to be held in memory
+ * regardless of the buffer size.
+ * </p>
+ * <p>
+ * The stream is not evaluated until {@link #hasNext()} or {@link #next()} is
+ * first called. The iterator should be closed if it is not fully consumed.
+ * If it is not, the threads evaluating the stream stop once no results have
+ * been taken from the full buffer for the idle timeout, and a consumer that
+ * resumes after this gets an {@link IllegalStateException} once it has taken
+ * the results already in the buffer.
+ * </p>
+ *
+ * @param <T> the type of items in the iterator
+ */
+public class ParallelStreamIterator<T> implements CloseableIterator<T> {
+    public static final int DEFAULT_BUFFER_SIZE = 10000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final Object END = new Object();
+    private static final Object NULL = new Object();
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final Stream<T> stream;
+    private final boolean ordered;
+    private final ForkJoinPool pool;
+    private final BlockingQueue<Object> buffer;
+    private final long idleTimeoutMillis;
+    private volatile boolean closed;
+    private volatile boolean abandoned;
+    private volatile Throwable failure;
+    private Future<?> producer;
+    private Object next;
+
+    public ParallelStreamIterator(final Stream<T> stream, final boolean ordered, final ForkJoinPool pool) {
+        this(stream, ordered, pool, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ParallelStreamIterator(final Stream<T> stream, final boolean ordered, final ForkJoinPool pool, final int bufferSize) {
+        this(stream, ordered, pool, bufferSize, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    public ParallelStreamIterator(final Stream<T> stream, final boolean ordered, final ForkJoinPool pool, final int bufferSize, final long idleTimeoutMillis) {
+        this.stream = stream;
+        this.ordered = ordered;
+        this.pool = pool;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+
+        if (null == next) {
+            if (null == producer) {
+                producer = pool.submit(this::produce);
+            }
+            try {
+                next = buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                while (null == next) {
+                    if (abandoned) {
+                        close();
+                        throw new IllegalStateException("The stream was stopped as no results were taken for " + idleTimeoutMillis + " ms");
+                    }
+                    next = buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the next result", e);
+            }
+        }
+
+        if (END == next) {
+            if (null != failure) {
+                throw new RuntimeException("Failed to read the results in parallel", failure);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Object result = next;
+        next = null;
+        return NULL == result ? null : (T) result;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (null != producer) {
+            producer.cancel(true);
+        }
+        buffer.clear();
+        stream.close();
+    }
+
+    private void produce() {
+        try {
+            if (ordered) {
+                stream.parallel().forEachOrdered(this::put);
+            } else {
+                stream.parallel().unordered().forEach(this::put);
+            }
+        } catch (final CancellationException e) {
+            // The iterator has been closed
+        } catch (final RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            if (!abandoned) {
+                try {
+                    put(END);
+                } catch (final CancellationException e) {
+                    // The iterator has been closed
+                }
+            }
+        }
+    }
+
+    private void put(final Object item) {
+        final Object bufferItem = null == item ? NULL : item;
+        final long idleSince = System.currentTimeMillis();
+        try {
+            while (!buffer.offer(bufferItem, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (closed || abandoned) {
+                    throw new CancellationException("The iterator has been closed");
+                }
+                if (System.currentTimeMillis() - idleSince >= idleTimeoutMillis) {
+                    abandoned = true;
+                    throw new CancellationException("No results have been taken for " + idleTimeoutMillis + " ms");
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while adding a result to the buffer");
+        }
+    }
+}
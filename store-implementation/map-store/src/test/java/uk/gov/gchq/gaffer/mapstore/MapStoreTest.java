@@ -24,8 +24,11 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 
 public class MapStoreTest {
 
@@ -39,7 +42,23 @@ public class MapStoreTest {
                 StoreTrait.POST_AGGREGATION_FILTERING,
                 StoreTrait.TRANSFORMATION,
                 StoreTrait.POST_TRANSFORMATION_FILTERING,
-                StoreTrait.MATCHED_VERTEX));
+                StoreTrait.MATCHED_VERTEX,
+                StoreTrait.VISIBILITY));
         assertEquals(expectedTraits, mapStore.getTraits());
     }
+
+    @Test
+    public void shouldShutDownTheReadPoolWhenReinitialised() throws StoreException {
+        // Given
+        final MapStore mapStore = new MapStore();
+        mapStore.initialise("graphId", new Schema(), new MapStoreProperties());
+        final ForkJoinPool readPool = mapStore.getReadPool();
+
+        // When
+        mapStore.initialise("graphId", new Schema(), new MapStoreProperties());
+
+        // Then
+        assertTrue(readPool.isShutdown());
+        assertNotSame(readPool, mapStore.getReadPool());
+    }
 }
@@ -15,20 +15,33 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.TreeSetStringSerialiser;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.binaryoperator.CollectionConcat;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -47,4 +60,50 @@ public class AddElementsHandlerTest {
         // When / Then - should not throw NPE
         handler.doOperation(addElements, context, store);
     }
+
+    @Test
+    public void shouldNotModifyThePropertiesOfTheInputElements() throws OperationException, StoreException {
+        shouldNotModifyThePropertiesOfTheInputElements(0);
+    }
+
+    @Test
+    public void shouldNotModifyThePropertiesOfTheInputElementsWhenBuffered() throws OperationException, StoreException {
+        shouldNotModifyThePropertiesOfTheInputElements(10);
+    }
+
+    private void shouldNotModifyThePropertiesOfTheInputElements(final int bufferSize) throws OperationException, StoreException {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .entity("BasicEntity", new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property("set", "set")
+                        .build())
+                .type("string", String.class)
+                .type("set", new TypeDefinition.Builder()
+                        .clazz(TreeSet.class)
+                        .aggregateFunction(new CollectionConcat<>())
+                        .serialiser(new TreeSetStringSerialiser())
+                        .build())
+                .build();
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setIngestBufferSize(bufferSize);
+        final MapStore store = new SingleUseMapStore();
+        store.initialise("graphId1", schema, properties);
+
+        final TreeSet<String> set1 = Sets.newTreeSet(Arrays.asList("a"));
+        final TreeSet<String> set2 = Sets.newTreeSet(Arrays.asList("b"));
+        final Entity entity1 = new Entity.Builder().group("BasicEntity").vertex("vertex").property("set", set1).build();
+        final Entity entity2 = new Entity.Builder().group("BasicEntity").vertex("vertex").property("set", set2).build();
+
+        // When
+        store.execute(new AddElements.Builder().input(entity1, entity2).build(), new Context(new User()));
+        store.execute(new AddElements.Builder().input(entity1).build(), new Context(new User()));
+
+        // Then
+        assertEquals(Sets.newTreeSet(Arrays.asList("a")), set1);
+        assertEquals(Sets.newTreeSet(Arrays.asList("b")), set2);
+        final List<Element> results = Lists.newArrayList(store.execute(new GetAllElements(), new Context(new User())));
+        assertEquals(1, results.size());
+        assertEquals(Sets.newTreeSet(Arrays.asList("a", "b")), results.get(0).getProperty("set"));
+    }
 }
@@ -21,20 +21,25 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static junit.framework.TestCase.assertTrue;
@@ -370,4 +375,99 @@ public class GetAdjacentIdsTest {
         expectedResults.remove(new EntitySeed("Y2"));
         assertEquals(expectedResults, resultsSet);
     }
+
+    @Test
+    public void shouldOnlyReturnAdjacentIdsOfEdgesVisibleToUser() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphWithVisibility();
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElementsWithVisibility())
+                .build(), new User());
+
+        // When
+        final GetAdjacentIds getAdjacentIds = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"))
+                .build();
+        final Set<EntityId> results = new HashSet<>();
+        Streams.toStream(graph.execute(getAdjacentIds, new User.Builder().dataAuth("public").build())).forEach(results::add);
+
+        // Then
+        assertEquals(Collections.singleton(new EntitySeed("B")), results);
+    }
+
+    @Test
+    public void shouldGetSameAdjacentIdsFromAdjacencyIndexAsFromEdges() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraph();
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+        // A filter that accepts every edge, so the edges have to be looked up
+        final ViewElementDefinition acceptAll = new ViewElementDefinition.Builder()
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select(GetAllElementsHandlerTest.COUNT)
+                        .execute(new Exists())
+                        .build())
+                .build();
+        final View view = new View.Builder()
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE1)
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE2)
+                .build();
+        final View filteredView = new View.Builder()
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE1, acceptAll)
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE2, acceptAll)
+                .build();
+
+        for (final DirectedType directedType : DirectedType.values()) {
+            for (final IncludeIncomingOutgoingType inOutType : IncludeIncomingOutgoingType.values()) {
+                // When
+                final Set<EntityId> results = getAdjacentIds(graph, view, directedType, inOutType);
+                final Set<EntityId> filteredResults = getAdjacentIds(graph, filteredView, directedType, inOutType);
+
+                // Then
+                assertEquals("directedType=" + directedType + ", inOutType=" + inOutType, filteredResults, results);
+            }
+        }
+    }
+
+    @Test
+    public void shouldLookUpLargeSeedSetsInParallel() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraph();
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+        final List<EntityId> seeds = new ArrayList<>();
+        for (int i = 0; i < GetAllElementsHandlerTest.NUM_LOOPS; i++) {
+            seeds.add(new EntitySeed("Y" + i));
+        }
+        for (int i = 0; seeds.size() < GetAdjacentIdsHandler.PARALLEL_LOOKUP_THRESHOLD; i++) {
+            seeds.add(new EntitySeed("NOT_PRESENT" + i));
+        }
+
+        // When
+        final CloseableIterable<? extends EntityId> results = graph.execute(new GetAdjacentIds.Builder()
+                .input(seeds)
+                .build(), new User());
+
+        // Then
+        final List<EntityId> resultsList = new ArrayList<>();
+        Streams.toStream(results).forEach(resultsList::add);
+        assertEquals(Collections.nCopies(GetAllElementsHandlerTest.NUM_LOOPS, new EntitySeed("X")), resultsList);
+    }
+
+    private Set<EntityId> getAdjacentIds(final Graph graph,
+                                         final View view,
+                                         final DirectedType directedType,
+                                         final IncludeIncomingOutgoingType inOutType) throws OperationException {
+        final GetAdjacentIds getAdjacentIds = new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B1"), new EntitySeed("X"), new EntitySeed("Y1"))
+                .view(view)
+                .directedType(directedType)
+                .inOutType(inOutType)
+                .build();
+        final Set<EntityId> results = new HashSet<>();
+        Streams.toStream(graph.execute(getAdjacentIds, new User())).forEach(results::add);
+        return results;
+    }
 }
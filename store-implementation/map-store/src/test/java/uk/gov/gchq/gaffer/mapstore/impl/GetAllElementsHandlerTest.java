@@ -40,6 +40,7 @@ import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -57,7 +58,8 @@ public class GetAllElementsHandlerTest {
     static final String PROPERTY1 = "property1";
     static final String PROPERTY2 = "property2";
     static final String COUNT = "count";
-    private static final int NUM_LOOPS = 10;
+    static final String VISIBILITY = "visibility";
+    static final int NUM_LOOPS = 10;
 
     @Test
     public void testAddAndGetAllElementsNoAggregation() throws StoreException, OperationException {
@@ -228,6 +230,46 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testGetAllElementsInParallel() throws OperationException {
+        // Given
+        final Graph graph = getGraph();
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        final View view = new View.Builder()
+                .entity(BASIC_ENTITY)
+                .edge(BASIC_EDGE1, new ViewElementDefinition.Builder()
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select(COUNT)
+                                .execute(new IsMoreThan(5))
+                                .build())
+                        .build())
+                .edge(BASIC_EDGE2)
+                .build();
+        final List<Element> sequentialResults = new ArrayList<>();
+        Streams.toStream(graph.execute(new GetAllElements.Builder()
+                .view(view)
+                .build(), new User())).forEach(sequentialResults::add);
+
+        // When
+        final List<Element> orderedResults = new ArrayList<>();
+        Streams.toStream(graph.execute(new GetAllElements.Builder()
+                .view(view)
+                .option(ParallelReadUtil.OPTION_PARALLEL, "true")
+                .option(ParallelReadUtil.OPTION_ORDERED, "true")
+                .build(), new User())).forEach(orderedResults::add);
+        final Set<Element> unorderedResults = new HashSet<>();
+        Streams.toStream(graph.execute(new GetAllElements.Builder()
+                .view(view)
+                .option(ParallelReadUtil.OPTION_PARALLEL, "true")
+                .build(), new User())).forEach(unorderedResults::add);
+
+        // Then
+        assertEquals(sequentialResults, orderedResults);
+        assertEquals(new HashSet<>(sequentialResults), unorderedResults);
+    }
+
     @Test
     public void testGetAllElementsWithAndWithEntities() throws OperationException {
         // Given
@@ -343,6 +385,27 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testGetAllElementsOnlyReturnsElementsVisibleToUser() throws OperationException {
+        // Given
+        final Graph graph = getGraphWithVisibility();
+        graph.execute(new AddElements.Builder()
+                .input(getElementsWithVisibility())
+                .build(), new User());
+
+        // When
+        final GetAllElements getAllElements = new GetAllElements.Builder().build();
+        final Set<Element> publicResults = new HashSet<>();
+        Streams.toStream(graph.execute(getAllElements, new User.Builder().dataAuth("public").build())).forEach(publicResults::add);
+        final Set<Element> allResults = new HashSet<>();
+        Streams.toStream(graph.execute(getAllElements, new User.Builder().dataAuths("public", "private").build())).forEach(allResults::add);
+
+        // Then
+        final List<Element> elements = getElementsWithVisibility();
+        assertEquals(new HashSet<>(Arrays.asList(elements.get(0), elements.get(2))), publicResults);
+        assertEquals(new HashSet<>(elements), allResults);
+    }
+
     public static Schema getSchema() {
         return Schema.fromJson(StreamUtil.schemas(GetAllElementsHandlerTest.class));
     }
@@ -407,6 +470,55 @@ public class GetAllElementsHandlerTest {
                 .build();
     }
 
+    static Graph getGraphWithVisibility() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithVisibility")
+                        .build())
+                .addSchema(Schema.fromJson(StreamUtil.openStreams(GetAllElementsHandlerTest.class, "schema-visibility")))
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    // Elements 0 and 2 are visible to a user with the "public" auth. Elements
+    // 0 and 1 only differ by their visibility so must not be aggregated.
+    static List<Element> getElementsWithVisibility() {
+        return Arrays.asList(
+                new Entity.Builder()
+                        .group(BASIC_ENTITY)
+                        .vertex("A")
+                        .property(PROPERTY1, "p")
+                        .property(COUNT, 1)
+                        .property(VISIBILITY, "public")
+                        .build(),
+                new Entity.Builder()
+                        .group(BASIC_ENTITY)
+                        .vertex("A")
+                        .property(PROPERTY1, "p")
+                        .property(COUNT, 2)
+                        .property(VISIBILITY, "private")
+                        .build(),
+                new Edge.Builder()
+                        .group(BASIC_EDGE1)
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .property(PROPERTY1, "q")
+                        .property(COUNT, 3)
+                        .property(VISIBILITY, "public|private")
+                        .build(),
+                new Edge.Builder()
+                        .group(BASIC_EDGE1)
+                        .source("A")
+                        .dest("C")
+                        .directed(true)
+                        .property(PROPERTY1, "q")
+                        .property(COUNT, 4)
+                        .property(VISIBILITY, "public&private")
+                        .build());
+    }
+
     static Graph getGraphNoAggregation() {
         final MapStoreProperties storeProperties = new MapStoreProperties();
         return new Graph.Builder()
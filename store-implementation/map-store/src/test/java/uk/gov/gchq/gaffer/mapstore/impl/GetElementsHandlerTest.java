@@ -32,6 +32,8 @@ import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
@@ -45,6 +47,7 @@ import uk.gov.gchq.koryphe.function.KorypheFunction;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -780,6 +783,56 @@ public class GetElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testGetElementsInParallel() throws OperationException {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelReads(true);
+        storeProperties.setParallelReadsOrdered(true);
+        storeProperties.setReadParallelism(4);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph1")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        final List<EntitySeed> seeds = new ArrayList<>();
+        seeds.add(new EntitySeed("A"));
+        seeds.add(new EntitySeed("X"));
+        IntStream.range(0, NUM_LOOPS).forEach(i -> seeds.add(new EntitySeed("B" + i)));
+        final View view = new View.Builder()
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE1, new ViewElementDefinition.Builder()
+                        .transformer(new ElementTransformer.Builder()
+                                .select(GetAllElementsHandlerTest.COUNT)
+                                .execute(new ExampleTransform())
+                                .project(GetAllElementsHandlerTest.COUNT)
+                                .build())
+                        .build())
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE2)
+                .build();
+        final List<Element> sequentialResults = new ArrayList<>();
+        Streams.toStream(graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .view(view)
+                .option(ParallelReadUtil.OPTION_PARALLEL, "false")
+                .build(), new User())).forEach(sequentialResults::add);
+
+        // When
+        final List<Element> parallelResults = new ArrayList<>();
+        Streams.toStream(graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .view(view)
+                .build(), new User())).forEach(parallelResults::add);
+
+        // Then
+        assertEquals(3 * NUM_LOOPS, sequentialResults.size());
+        assertEquals(sequentialResults, parallelResults);
+    }
+
     @Test
     public void testGetElementsIncludeEntitiesOption() throws OperationException {
         // Given
@@ -1139,6 +1192,26 @@ public class GetElementsHandlerTest {
         final CloseableIterable<? extends Element> results = graph.execute(getElements, new User());
     }
 
+    @Test
+    public void testGetElementsOnlyReturnsElementsVisibleToUser() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphWithVisibility();
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElementsWithVisibility())
+                .build(), new User());
+
+        // When
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .build();
+        final Set<Element> results = new HashSet<>();
+        Streams.toStream(graph.execute(getElements, new User.Builder().dataAuth("public").build())).forEach(results::add);
+
+        // Then
+        final List<Element> elements = GetAllElementsHandlerTest.getElementsWithVisibility();
+        assertEquals(new HashSet<>(Arrays.asList(elements.get(0), elements.get(2))), results);
+    }
+
     @Test
     public void testElementsAreClonedBeforeBeingReturned() throws OperationException {
         // Given
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MapSnapshotTest {
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldLoadElementsFromSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties(false);
+        final MapStore store = createStore(properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        store.writeSnapshot();
+
+        // When
+        final MapStore restartedStore = createStore(properties);
+
+        // Then
+        assertEquals(new HashSet<>(GetAllElementsHandlerTest.getElements()), getAllElements(restartedStore));
+        assertTrue(new File(properties.getSnapshotDirectory(), MapSnapshot.SNAPSHOT_FILE).exists());
+    }
+
+    @Test
+    public void shouldReplayIngestLog() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties(true);
+        final MapStore store = createStore(properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+
+        // When
+        final MapStore restartedStore = createStore(properties);
+
+        // Then
+        assertEquals(new HashSet<>(GetAllElementsHandlerTest.getElements()), getAllElements(restartedStore));
+        assertFalse(new File(properties.getSnapshotDirectory(), MapSnapshot.SNAPSHOT_FILE).exists());
+    }
+
+    @Test
+    public void shouldOnlyReplayElementsAddedSinceTheLastSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties(true);
+        final MapStore store = createStore(properties);
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        addElements(store, elements.subList(0, 10));
+        store.writeSnapshot();
+        addElements(store, elements.subList(10, elements.size()));
+        final Set<Element> expected = getAllElements(store);
+
+        // When
+        final MapStore restartedStore = createStore(properties);
+
+        // Then
+        assertEquals(expected, getAllElements(restartedStore));
+        assertEquals(new HashSet<>(elements), expected);
+    }
+
+    @Test
+    public void shouldNotReplayLoggedElementsThatAreAlreadyInTheSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties(true);
+        final MapStore store = createStore(properties);
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        addElements(store, elements);
+        final Set<Element> expected = getAllElements(store);
+        final Path logFile = new File(properties.getSnapshotDirectory(), MapSnapshot.INGEST_LOG_FILE).toPath();
+        final byte[] log = Files.readAllBytes(logFile);
+
+        // Simulate the store stopping after the snapshot was written but
+        // before the ingest log was cleared
+        store.writeSnapshot();
+        store.close();
+        Files.write(logFile, log);
+
+        // When
+        final MapStore restartedStore = createStore(properties);
+
+        // Then
+        assertEquals(expected, getAllElements(restartedStore));
+    }
+
+    @Test
+    public void shouldReplayElementsLoggedAfterATruncatedRecord() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties(true);
+        final MapStore store = createStore(properties);
+        final List<Element> elements = GetAllElementsHandlerTest.getElements();
+        addElements(store, elements.subList(0, 10));
+        store.close();
+        try (final DataOutputStream out = new DataOutputStream(Files.newOutputStream(
+                new File(properties.getSnapshotDirectory(), MapSnapshot.INGEST_LOG_FILE).toPath(), StandardOpenOption.APPEND))) {
+            out.writeInt(100);
+            out.write(new byte[]{1, 2, 3});
+        }
+        final MapStore restartedStore = createStore(properties);
+        addElements(restartedStore, elements.subList(10, elements.size()));
+        final Set<Element> expected = getAllElements(restartedStore);
+        restartedStore.close();
+
+        // When
+        final MapStore secondRestartedStore = createStore(properties);
+
+        // Then
+        assertEquals(expected, getAllElements(secondRestartedStore));
+        assertEquals(new HashSet<>(elements), expected);
+    }
+
+    @Test
+    public void shouldCloseTheSnapshotWhenTheStoreIsClosed() throws Exception {
+        // Given
+        final MapStore store = createStore(createProperties(true));
+
+        // When
+        store.close();
+
+        // Then
+        assertNull(store.getSnapshot());
+    }
+
+    @Test
+    public void shouldIgnoreTruncatedRecordAtEndOfIngestLog() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties(true);
+        final MapStore store = createStore(properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        try (final DataOutputStream out = new DataOutputStream(Files.newOutputStream(
+                new File(properties.getSnapshotDirectory(), MapSnapshot.INGEST_LOG_FILE).toPath(), StandardOpenOption.APPEND))) {
+            out.writeInt(100);
+            out.write(new byte[]{1, 2, 3});
+        }
+
+        // When
+        final MapStore restartedStore = createStore(properties);
+
+        // Then
+        assertEquals(new HashSet<>(GetAllElementsHandlerTest.getElements()), getAllElements(restartedStore));
+    }
+
+    @Test(expected = StoreException.class)
+    public void shouldThrowExceptionWhenWritingSnapshotIfSnapshotsAreDisabled() throws Exception {
+        // Given
+        final MapStore store = createStore(new MapStoreProperties());
+
+        // When / Then
+        store.writeSnapshot();
+    }
+
+    private MapStoreProperties createProperties(final boolean ingestLog) throws IOException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setSnapshotDirectory(testFolder.newFolder().getAbsolutePath());
+        properties.setSnapshotIngestLog(ingestLog);
+        return properties;
+    }
+
+    private MapStore createStore(final MapStoreProperties properties) throws StoreException {
+        final MapStore store = new MapStore();
+        store.initialise("graph1", GetAllElementsHandlerTest.getSchema(), properties);
+        return store;
+    }
+
+    private void addElements(final MapStore store, final List<Element> elements) throws OperationException {
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context());
+    }
+
+    private Set<Element> getAllElements(final MapStore store) throws OperationException {
+        final Set<Element> results = new HashSet<>();
+        store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entities(store.getSchema().getEntityGroups())
+                        .edges(store.getSchema().getEdgeGroups())
+                        .build())
+                .build(), new Context()).forEach(results::add);
+        return results;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelStreamIteratorTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnResultsInEncounterOrderWhenOrdered() {
+        // Given
+        final List<Integer> expected = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+
+        // When
+        final List<Integer> results = new ArrayList<>();
+        try (final ParallelStreamIterator<Integer> iterator = new ParallelStreamIterator<>(expected.stream().map(i -> i), true, POOL, 100)) {
+            iterator.forEachRemaining(results::add);
+        }
+
+        // Then
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void shouldReturnAllResultsWhenUnordered() {
+        // Given
+        final List<Integer> expected = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+
+        // When
+        final Set<Integer> results = new HashSet<>();
+        try (final ParallelStreamIterator<Integer> iterator = new ParallelStreamIterator<>(expected.stream(), false, POOL, 100)) {
+            iterator.forEachRemaining(results::add);
+        }
+
+        // Then
+        assertEquals(new HashSet<>(expected), results);
+    }
+
+    @Test
+    public void shouldReturnNullResults() {
+        // When
+        final List<String> results = new ArrayList<>();
+        try (final ParallelStreamIterator<String> iterator = new ParallelStreamIterator<>(Arrays.asList("a", null, "b").stream(), true, POOL)) {
+            iterator.forEachRemaining(results::add);
+        }
+
+        // Then
+        assertEquals(Arrays.asList("a", null, "b"), results);
+    }
+
+    @Test
+    public void shouldStopReadingWhenClosed() throws InterruptedException {
+        // Given
+        final AtomicInteger count = new AtomicInteger();
+        final ParallelStreamIterator<Integer> iterator = new ParallelStreamIterator<>(
+                IntStream.range(0, 1000000).boxed().peek(i -> count.incrementAndGet()), true, POOL, 10);
+
+        // When
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.close();
+        Thread.sleep(500);
+        final int countAfterClose = count.get();
+        Thread.sleep(500);
+
+        // Then
+        assertFalse(iterator.hasNext());
+        assertEquals(countAfterClose, count.get());
+        assertTrue(countAfterClose < 1000000);
+    }
+
+    @Test
+    public void shouldStopReadingWhenResultsAreNotTaken() throws InterruptedException {
+        // Given
+        final AtomicInteger count = new AtomicInteger();
+        final ParallelStreamIterator<Integer> iterator = new ParallelStreamIterator<>(
+                IntStream.range(0, 1000000).boxed().peek(i -> count.incrementAndGet()), false, POOL, 10, 200);
+        iterator.next();
+
+        // When
+        Thread.sleep(1000);
+        final int countAfterTimeout = count.get();
+        Thread.sleep(500);
+
+        // Then
+        assertEquals(countAfterTimeout, count.get());
+        assertTrue(countAfterTimeout < 1000000);
+        try {
+            iterator.forEachRemaining(i -> { });
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("The stream was stopped as no results were taken for 200 ms", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenStreamFails() {
+        // Given
+        final ParallelStreamIterator<Integer> iterator = new ParallelStreamIterator<>(
+                IntStream.range(0, 10).boxed().map(i -> {
+                    if (5 == i) {
+                        throw new IllegalArgumentException("Test failure");
+                    }
+                    return i;
+                }), true, POOL);
+
+        // When / Then
+        try {
+            iterator.forEachRemaining(i -> { });
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        } finally {
+            iterator.close();
+        }
+    }
+}
@@ -24,8 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
-import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
+import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.CachingVisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
@@ -63,7 +62,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
     private final String group;
     private final View view;
     private final Schema gafferSchema;
-    private final Authorisations auths;
+    private final CachingVisibilityEvaluator visibilityEvaluator;
     private final String visibility;
 
     public RetrieveElementsFromFile(final Path filePath,
@@ -88,9 +87,9 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
 
         if (user != null && user.getDataAuths() != null) {
             final Set<String> dataAuths = user.getDataAuths();
-            this.auths = new Authorisations(dataAuths.toArray(new String[dataAuths.size()]));
+            this.visibilityEvaluator = CachingVisibilityEvaluator.get(new Authorisations(dataAuths.toArray(new String[dataAuths.size()])));
         } else {
-            this.auths = new Authorisations();
+            this.visibilityEvaluator = CachingVisibilityEvaluator.get(new Authorisations());
         }
 
         this.queue = queue;
@@ -176,9 +175,7 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
 
     private Boolean isVisible(final Element e) throws VisibilityParseException {
         if (e.getProperty(visibility) != null) {
-            final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(auths);
-            final ElementVisibility elementVisibility = new ElementVisibility((String) e.getProperty(visibility));
-            return visibilityEvaluator.evaluate(elementVisibility);
+            return visibilityEvaluator.evaluate((String) e.getProperty(visibility));
         } else {
             e.putProperty(visibility, new String());
             return true;
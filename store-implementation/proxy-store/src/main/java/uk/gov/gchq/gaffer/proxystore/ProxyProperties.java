@@ -35,6 +35,7 @@ public class ProxyProperties extends StoreProperties {
     public static final String GAFFER_CONTEXT_ROOT = "gaffer.context-root";
     public static final String CONNECT_TIMEOUT = "gaffer.connect-timeout";
     public static final String READ_TIMEOUT = "gaffer.read-timeout";
+    public static final String USE_SMILE = "gaffer.use-smile";
 
     public static final String DEFAULT_GAFFER_HOST = "localhost";
     public static final String DEFAULT_GAFFER_CONTEXT_ROOT = "/rest";
@@ -94,6 +95,18 @@ public class ProxyProperties extends StoreProperties {
         set(READ_TIMEOUT, String.valueOf(timeout));
     }
 
+    /**
+     * @return true if the results of operations should be requested in the
+     * binary Smile format rather than JSON.
+     */
+    public boolean getUseSmile() {
+        return Boolean.parseBoolean(get(USE_SMILE, "false"));
+    }
+
+    public void setUseSmile(final boolean useSmile) {
+        set(USE_SMILE, String.valueOf(useSmile));
+    }
+
     public String getGafferHost() {
         return get(GAFFER_HOST, DEFAULT_GAFFER_HOST);
     }
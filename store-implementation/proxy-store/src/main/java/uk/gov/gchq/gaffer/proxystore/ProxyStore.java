@@ -79,6 +79,7 @@ import java.util.Set;
  */
 public class ProxyStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProxyStore.class);
+    private static final MediaType SMILE_MEDIA_TYPE = MediaType.valueOf(JSONSerialiser.SMILE_MEDIA_TYPE);
     private Client client;
     private Schema schema;
 
@@ -219,6 +220,10 @@ public class ProxyStore extends Store {
     protected <O> O handleResponse(final Response response,
                                    final TypeReference<O> outputTypeReference)
             throws StoreException {
+        if (isSmile(response)) {
+            return handleSmileResponse(response, outputTypeReference);
+        }
+
         final String outputJson = response.hasEntity() ? response.readEntity(String.class) : null;
         if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
             final Error error;
@@ -243,9 +248,44 @@ public class ProxyStore extends Store {
         return output;
     }
 
+    protected <O> O handleSmileResponse(final Response response,
+                                        final TypeReference<O> outputTypeReference)
+            throws StoreException {
+        final byte[] outputSmile = response.hasEntity() ? response.readEntity(byte[].class) : null;
+        if (Family.SUCCESSFUL != response.getStatusInfo().getFamily()) {
+            final Error error;
+            try {
+                error = JSONSerialiser.deserialiseSmile(outputSmile, Error.class);
+            } catch (final Exception e) {
+                LOGGER.warn("Gaffer bad status {}", response.getStatus());
+                throw new StoreException("Delegate Gaffer store returned status: " + response.getStatus());
+            }
+            throw new GafferWrappedErrorRuntimeException(error);
+        }
+
+        O output = null;
+        if (null != outputSmile && outputSmile.length > 0) {
+            try {
+                output = JSONSerialiser.deserialiseSmile(outputSmile, outputTypeReference);
+            } catch (final SerialisationException e) {
+                throw new StoreException(e.getMessage(), e);
+            }
+        }
+
+        return output;
+    }
+
+    protected boolean isSmile(final Response response) {
+        return null != response.getMediaType() && SMILE_MEDIA_TYPE.isCompatible(response.getMediaType());
+    }
+
     protected Invocation.Builder createRequest(final String body, final URL url, final Context context) {
         final Invocation.Builder request = client.target(url.toString())
                 .request();
+        if (getProperties().getUseSmile()) {
+            // Fall back to JSON if the REST API cannot produce Smile for this request
+            request.accept(JSONSerialiser.SMILE_MEDIA_TYPE, MediaType.APPLICATION_JSON + ";q=0.9");
+        }
         if (null != body) {
             request.header("Content", MediaType.APPLICATION_JSON_TYPE);
             request.build(body);
@@ -372,6 +412,11 @@ public class ProxyStore extends Store {
             return this;
         }
 
+        public Builder useSmile(final boolean useSmile) {
+            properties.setUseSmile(useSmile);
+            return this;
+        }
+
         public Builder jsonSerialiser(final Class<? extends JSONSerialiser> serialiserClass) {
             properties.setJsonSerialiserClass(serialiserClass);
             return this;
@@ -49,10 +49,12 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.proxystore.ProxyProperties;
 import uk.gov.gchq.gaffer.proxystore.ProxyStore;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
 import uk.gov.gchq.gaffer.rest.service.v2.RestApiV2TestClient;
 import uk.gov.gchq.gaffer.store.StoreTrait;
+import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
@@ -145,6 +147,28 @@ public class ProxyStoreBasicIT {
         assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
     }
 
+    @Test
+    public void shouldAddElementsAndGetAllElementsUsingSmile() throws Exception {
+        // Given
+        graph = new Graph.Builder()
+                .store(new ProxyStore.Builder()
+                        .graphId("graph1")
+                        .host("localhost")
+                        .port(8080)
+                        .contextRoot("rest")
+                        .useSmile(true)
+                        .build())
+                .build();
+        addDefaultElements();
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, Iterables.size(results));
+        assertThat((CloseableIterable<Element>) results, hasItems(DEFAULT_ELEMENTS));
+    }
+
     @Test
     public void shouldAddElementsAndGetRelatedElements() throws Exception {
         // Given
@@ -231,6 +255,29 @@ public class ProxyStoreBasicIT {
         assertEquals(expectedTraits, storeTraits);
     }
 
+    @Test
+    public void shouldAddElementsWithStatisticsEnabled() throws Exception {
+        // Given
+        final ProxyProperties properties = new ProxyProperties();
+        properties.setStoreClass(ProxyStore.class);
+        properties.setGafferHost("localhost");
+        properties.setGafferPort(8080);
+        properties.setGafferContextRoot("rest");
+        properties.setStatisticsEnabled(true);
+        final ProxyStore store = new ProxyStore();
+        store.initialise("graph1", new Schema(), properties);
+        graph = new Graph.Builder()
+                .store(store)
+                .build();
+
+        // When
+        addDefaultElements();
+        final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), USER);
+
+        // Then
+        assertEquals(DEFAULT_ELEMENTS.length, Iterables.size(results));
+    }
+
     private void addDefaultElements() throws OperationException {
         final AddElements add = new AddElements.Builder()
                 .input(DEFAULT_ELEMENTS)